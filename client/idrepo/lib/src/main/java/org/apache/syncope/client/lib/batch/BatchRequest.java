@@ -109,6 +109,23 @@ public class BatchRequest {
      * @return batch response
      */
     public BatchResponse commit(final boolean async) {
+        return commit(async, null);
+    }
+
+    /**
+     * Sends the current request, with items accumulated by invoking methods on proxies obtained via
+     * {@link #getService(java.lang.Class)}, to the Batch service, and awaits for a synchronous or asynchronous
+     * response, depending on the {@code async} parameter.
+     * Items are declared as independent from each other, so that up to {@code parallelism} of them can be processed
+     * concurrently; results can then be fetched in chunks via {@link BatchResponse#poll(int)}, even before the Batch
+     * process completes.
+     * It also clears out the accumulated items, in case of reuse of this instance for subsequent requests.
+     *
+     * @param async whether asynchronous Batch process is requested, or not
+     * @param parallelism maximum number of items to process concurrently
+     * @return batch response
+     */
+    public BatchResponse commit(final boolean async, final Integer parallelism) {
         String boundary = "--batch_" + UUID.randomUUID().toString();
 
         WebClient webClient = WebClient.create(bcfb.getAddress()).path("batch").
@@ -117,6 +134,9 @@ public class BatchRequest {
         if (async) {
             webClient.header(RESTHeaders.PREFER, Preference.RESPOND_ASYNC);
         }
+        if (parallelism != null) {
+            webClient.header(RESTHeaders.BATCH_PARALLELISM, parallelism);
+        }
         if (tlsClientParameters != null) {
             ClientConfiguration config = WebClient.getConfig(webClient);
             HTTPConduit httpConduit = (HTTPConduit) config.getConduit();
@@ -60,9 +60,34 @@ public class BatchResponse {
             final String boundary,
             final TLSClientParameters tlsClientParameters) {
 
+        return poll(monitor, jwt, boundary, tlsClientParameters, null);
+    }
+
+    /**
+     * If asynchronous processing was requested, queries the monitor URI for the given chunk of results; the total
+     * number of chunks is reported via the {@link RESTHeaders#BATCH_CHUNKS} header, once all are available.
+     *
+     * @param monitor monitor URI
+     * @param jwt authorization JWT
+     * @param boundary mutipart / mixed boundary
+     * @param tlsClientParameters (optional) TLS client parameters
+     * @param chunk (optional) chunk of results, starting from 0
+     *
+     * @return the last Response received from the Batch service
+     */
+    public static Response poll(
+            final URI monitor,
+            final String jwt,
+            final String boundary,
+            final TLSClientParameters tlsClientParameters,
+            final Integer chunk) {
+
         WebClient webClient = WebClient.create(monitor).
                 header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt).
                 type(RESTHeaders.multipartMixedWith(boundary.substring(2)));
+        if (chunk != null) {
+            webClient.header(RESTHeaders.BATCH_CHUNK, chunk);
+        }
         if (tlsClientParameters != null) {
             ClientConfiguration config = WebClient.getConfig(webClient);
             HTTPConduit httpConduit = (HTTPConduit) config.getConduit();
@@ -139,6 +164,17 @@ public class BatchResponse {
         return response;
     }
 
+    /**
+     * If parallel processing was requested, queries the monitor URI for the given chunk of results.
+     *
+     * @param chunk chunk of results, starting from 0
+     * @return the last Response received from the Batch service
+     */
+    public Response poll(final int chunk) {
+        response = poll(monitor, jwt, boundary, tlsClientParameters, chunk);
+        return response;
+    }
+
     /**
      * Parses the latest Response received into a list of {@link BatchResponseItem}s.
      *
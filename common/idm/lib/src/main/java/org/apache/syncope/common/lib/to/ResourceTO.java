@@ -57,6 +57,8 @@ public class ResourceTO implements EntityTO {
 
     private boolean enforceMandatoryCondition;
 
+    private boolean lightweightPropagation;
+
     private TraceLevel createTraceLevel = TraceLevel.ALL;
 
     private TraceLevel updateTraceLevel = TraceLevel.ALL;
@@ -138,6 +140,14 @@ public class ResourceTO implements EntityTO {
         this.randomPwdIfNotProvided = randomPwdIfNotProvided;
     }
 
+    public boolean isLightweightPropagation() {
+        return lightweightPropagation;
+    }
+
+    public void setLightweightPropagation(final boolean lightweightPropagation) {
+        this.lightweightPropagation = lightweightPropagation;
+    }
+
     public TraceLevel getCreateTraceLevel() {
         return createTraceLevel;
     }
@@ -280,6 +290,7 @@ public class ResourceTO implements EntityTO {
         return new EqualsBuilder().
                 append(randomPwdIfNotProvided, other.randomPwdIfNotProvided).
                 append(enforceMandatoryCondition, other.enforceMandatoryCondition).
+                append(lightweightPropagation, other.lightweightPropagation).
                 append(overrideCapabilities, other.overrideCapabilities).
                 append(key, other.key).
                 append(connector, other.connector).
@@ -315,6 +326,7 @@ public class ResourceTO implements EntityTO {
                 append(propagationPriority).
                 append(randomPwdIfNotProvided).
                 append(enforceMandatoryCondition).
+                append(lightweightPropagation).
                 append(createTraceLevel).
                 append(updateTraceLevel).
                 append(deleteTraceLevel).
@@ -22,7 +22,9 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.QueryParam;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
@@ -67,6 +69,16 @@ public class CSVPullSpec extends AbstractCSVSpec {
             instance.setPullCorrelationRule(pullCorrelationRule);
             return this;
         }
+
+        public Builder threadPoolSize(final int threadPoolSize) {
+            instance.setThreadPoolSize(threadPoolSize);
+            return this;
+        }
+
+        public Builder queueCapacity(final int queueCapacity) {
+            instance.setQueueCapacity(queueCapacity);
+            return this;
+        }
     }
 
     private String destinationRealm = SyncopeConstants.ROOT_REALM;
@@ -81,6 +93,10 @@ public class CSVPullSpec extends AbstractCSVSpec {
 
     private String pullCorrelationRule;
 
+    private int threadPoolSize = 1;
+
+    private int queueCapacity = 100;
+
     public String getDestinationRealm() {
         return destinationRealm;
     }
@@ -135,4 +151,26 @@ public class CSVPullSpec extends AbstractCSVSpec {
     public void setPullCorrelationRule(final String pullCorrelationRule) {
         this.pullCorrelationRule = pullCorrelationRule;
     }
+
+    public int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    @Min(1)
+    @QueryParam("threadPoolSize")
+    @DefaultValue("1")
+    public void setThreadPoolSize(final int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Min(1)
+    @QueryParam("queueCapacity")
+    @DefaultValue("100")
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
 }
@@ -18,6 +18,10 @@
  */
 package org.apache.syncope.common.rest.api.service;
 
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -28,10 +32,13 @@ import java.util.List;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.BeanParam;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import org.apache.syncope.common.lib.to.ProvisioningReport;
@@ -117,4 +124,56 @@ public interface ReconciliationService extends JAXRSService {
     @Consumes({ RESTHeaders.TEXT_CSV })
     @Produces({ MediaType.APPLICATION_JSON, RESTHeaders.APPLICATION_YAML, MediaType.APPLICATION_XML })
     List<ProvisioningReport> pull(@BeanParam CSVPullSpec spec, InputStream csv);
+
+    /**
+     * Stores the CSV input and schedules its pull into Syncope, according to the provided specification.
+     * While the pull is running, its progress is available from {@link TaskService#listJobs()}, as the custom job
+     * named after the key returned; reports are made available as soon as the related rows are handled, and kept
+     * until removed or expired, some time after the pull completed.
+     *
+     * @param spec CSV pull specification
+     * @param csv CSV input
+     * @return Response object featuring Location header of the scheduled pull
+     */
+    @ApiResponses(
+            @ApiResponse(responseCode = "201",
+                    description = "CSV pull successfully scheduled", headers = {
+                @Header(name = RESTHeaders.RESOURCE_KEY, schema =
+                        @Schema(type = "string"),
+                        description = "UUID generated for the pull, also name of the pulling job"),
+                @Header(name = HttpHeaders.LOCATION, schema =
+                        @Schema(type = "string"),
+                        description = "URL of the reports of the pull") }))
+    @POST
+    @Path("csv/pull/jobs")
+    @Consumes({ RESTHeaders.TEXT_CSV })
+    @Produces({ MediaType.APPLICATION_JSON, RESTHeaders.APPLICATION_YAML, MediaType.APPLICATION_XML })
+    Response schedulePull(@BeanParam CSVPullSpec spec, InputStream csv);
+
+    /**
+     * Returns the reports of the scheduled CSV pull matching the given key, as written so far.
+     *
+     * @param key scheduled CSV pull key
+     * @return pull report
+     */
+    @Parameter(name = "key", description = "scheduled CSV pull key", in = ParameterIn.PATH, schema =
+            @Schema(type = "string"))
+    @GET
+    @Path("csv/pull/jobs/{key}")
+    @Produces({ MediaType.APPLICATION_JSON, RESTHeaders.APPLICATION_YAML, MediaType.APPLICATION_XML })
+    List<ProvisioningReport> getPullReports(@NotNull @PathParam("key") String key);
+
+    /**
+     * Removes the scheduled CSV pull matching the given key, with its reports; the pull is interrupted if running.
+     *
+     * @param key scheduled CSV pull key
+     */
+    @Parameter(name = "key", description = "scheduled CSV pull key", in = ParameterIn.PATH, schema =
+            @Schema(type = "string"))
+    @ApiResponses(
+            @ApiResponse(responseCode = "204", description = "Operation was successful"))
+    @DELETE
+    @Path("csv/pull/jobs/{key}")
+    @Produces({ MediaType.APPLICATION_JSON, RESTHeaders.APPLICATION_YAML, MediaType.APPLICATION_XML })
+    void deletePull(@NotNull @PathParam("key") String key);
 }
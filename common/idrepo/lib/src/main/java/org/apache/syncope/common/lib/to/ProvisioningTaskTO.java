@@ -51,6 +51,10 @@ public abstract class ProvisioningTaskTO extends SchedTaskTO {
 
     private final List<String> actions = new ArrayList<>();
 
+    private int threadPoolSize = 1;
+
+    private int queueCapacity = 100;
+
     @JsonProperty(required = true)
     public String getResource() {
         return resource;
@@ -114,6 +118,24 @@ public abstract class ProvisioningTaskTO extends SchedTaskTO {
         this.matchingRule = matchigRule;
     }
 
+    @Schema(description = "number of workers concurrently handling pulled or pushed objects; 1 means sequential")
+    public int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    public void setThreadPoolSize(final int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize;
+    }
+
+    @Schema(description = "maximum number of pulled or pushed objects waiting to be handled by workers")
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().
@@ -126,6 +148,8 @@ public abstract class ProvisioningTaskTO extends SchedTaskTO {
                 append(unmatchingRule).
                 append(matchingRule).
                 append(actions).
+                append(threadPoolSize).
+                append(queueCapacity).
                 build();
     }
 
@@ -151,6 +175,8 @@ public abstract class ProvisioningTaskTO extends SchedTaskTO {
                 append(unmatchingRule, other.unmatchingRule).
                 append(matchingRule, other.matchingRule).
                 append(actions, other.actions).
+                append(threadPoolSize, other.threadPoolSize).
+                append(queueCapacity, other.queueCapacity).
                 build();
     }
 }
@@ -42,6 +42,22 @@ public final class RESTHeaders {
      */
     public static final String NULL_PRIORITY_ASYNC = "X-Syncope-Null-Priority-Async";
 
+    /**
+     * Declares the items of a batch request as independent from each other, so that up to the given number of them
+     * can be processed concurrently; results are also made available in chunks, as soon as ready.
+     */
+    public static final String BATCH_PARALLELISM = "X-Syncope-Batch-Parallelism";
+
+    /**
+     * Asks for the given chunk (starting from 0) of batch results.
+     */
+    public static final String BATCH_CHUNK = "X-Syncope-Batch-Chunk";
+
+    /**
+     * Declares the total number of chunks of batch results, once all of them are available.
+     */
+    public static final String BATCH_CHUNKS = "X-Syncope-Batch-Chunks";
+
     /**
      * Declares the type of exception being raised.
      *
@@ -28,6 +28,19 @@ public final class BatchPayloadGenerator {
     private static final String HTTP_1_1 = "HTTP/1.1";
 
     public static <T extends BatchItem> String generate(final List<T> items, final String boundary) {
+        return generateItems(items, boundary) + generateEnd(boundary);
+    }
+
+    /**
+     * Generates the payload for the given items, without the closing delimiter; results of several invocations can be
+     * concatenated and then completed via {@link #generateEnd(java.lang.String)}.
+     *
+     * @param <T> batch item type
+     * @param items batch items
+     * @param boundary multipart boundary, including leading dashes
+     * @return payload for the given items
+     */
+    public static <T extends BatchItem> String generateItems(final List<T> items, final String boundary) {
         StringBuilder payload = new StringBuilder();
 
         items.forEach(item -> {
@@ -64,11 +77,13 @@ public final class BatchPayloadGenerator {
             }
         });
 
-        payload.append(boundary).append(SyncopeConstants.DOUBLE_DASH).append('\n');
-
         return payload.toString();
     }
 
+    public static String generateEnd(final String boundary) {
+        return boundary + SyncopeConstants.DOUBLE_DASH + '\n';
+    }
+
     private BatchPayloadGenerator() {
         // private constructor for static utility class
     }
@@ -46,6 +46,11 @@ public class AnyQuery extends AbstractQuery {
             return this;
         }
 
+        public Builder estimatedCount(final boolean estimatedCount) {
+            getInstance().setEstimatedCount(estimatedCount);
+            return this;
+        }
+
         public Builder realm(final String realm) {
             getInstance().setRealm(realm);
             return this;
@@ -62,6 +67,8 @@ public class AnyQuery extends AbstractQuery {
 
     private Boolean details;
 
+    private Boolean estimatedCount;
+
     private String fiql;
 
     @Parameter(name = JAXRSService.PARAM_REALM, description = "realms define a hierarchical security domain tree, "
@@ -93,6 +100,20 @@ public class AnyQuery extends AbstractQuery {
         this.details = details;
     }
 
+    @Parameter(name = JAXRSService.PARAM_ESTIMATED_COUNT, description = "whether the total count of matching "
+            + "entities can be estimated rather than exactly computed, which is considerably faster on large result "
+            + "sets; when set, the reported total is only guaranteed to tell whether further pages are available",
+            schema = @Schema(implementation = Boolean.class))
+    public Boolean getEstimatedCount() {
+        return Optional.ofNullable(estimatedCount).orElse(Boolean.FALSE);
+    }
+
+    @QueryParam(JAXRSService.PARAM_ESTIMATED_COUNT)
+    @DefaultValue("false")
+    public void setEstimatedCount(final Boolean estimatedCount) {
+        this.estimatedCount = estimatedCount;
+    }
+
     public String getFiql() {
         return fiql;
     }
@@ -124,6 +145,7 @@ public class AnyQuery extends AbstractQuery {
                 appendSuper(super.equals(obj)).
                 append(realm, other.realm).
                 append(details, other.details).
+                append(estimatedCount, other.estimatedCount).
                 append(fiql, other.fiql).
                 build();
     }
@@ -134,6 +156,7 @@ public class AnyQuery extends AbstractQuery {
                 appendSuper(super.hashCode()).
                 append(realm).
                 append(details).
+                append(estimatedCount).
                 append(fiql).
                 build();
     }
@@ -73,6 +73,11 @@ public class AuditQuery extends AbstractQuery {
             getInstance().setResult(result);
             return this;
         }
+
+        public Builder cursor(final String cursor) {
+            getInstance().setCursor(cursor);
+            return this;
+        }
     }
 
     private String entityKey;
@@ -87,6 +92,8 @@ public class AuditQuery extends AbstractQuery {
 
     private AuditElements.Result result;
 
+    private String cursor;
+
     @Parameter(name = JAXRSService.PARAM_ENTITY_KEY, in = ParameterIn.QUERY,
             description = "audit entity key to match", schema =
             @Schema(implementation = String.class, example = "50592942-73ec-44c4-a377-e859524245e4"))
@@ -156,4 +163,16 @@ public class AuditQuery extends AbstractQuery {
             this.events.addAll(events);
         }
     }
+
+    @Parameter(name = "cursor", description = "only audit entries following the one with this cursor, most recent "
+            + "first, will be returned; set by the next link of the previous page, for keyset pagination", schema =
+            @Schema(implementation = String.class))
+    public String getCursor() {
+        return cursor;
+    }
+
+    @QueryParam("cursor")
+    public void setCursor(final String cursor) {
+        this.cursor = cursor;
+    }
 }
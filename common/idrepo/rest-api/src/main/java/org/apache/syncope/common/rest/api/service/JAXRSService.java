@@ -42,6 +42,8 @@ public interface JAXRSService {
 
     String PARAM_DETAILS = "details";
 
+    String PARAM_ESTIMATED_COUNT = "estimatedCount";
+
     String PARAM_CONNID_PAGED_RESULTS_COOKIE = "connIdPagedResultsCookie";
 
     String PARAM_MAX = "max";
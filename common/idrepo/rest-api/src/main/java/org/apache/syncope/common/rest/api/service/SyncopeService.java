@@ -101,6 +101,11 @@ public interface SyncopeService extends JAXRSService {
             description = "Allows client to specify a preference to process the batch request asynchronously",
             allowEmptyValue = true, schema =
             @Schema(defaultValue = "", allowableValues = { "respond-async" }))
+    @Parameter(name = RESTHeaders.BATCH_PARALLELISM, in = ParameterIn.HEADER,
+            description = "Declares the batch items as independent from each other, so that up to the given number "
+            + "of them can be processed concurrently; results are also made available in chunks, as soon as ready",
+            allowEmptyValue = true, schema =
+            @Schema(type = "integer"))
     @ApiResponses({
         @ApiResponse(responseCode = "200",
                 description = "Batch request processed, results returned as Response entity, "
@@ -127,9 +132,18 @@ public interface SyncopeService extends JAXRSService {
      * @return batch results as Response entity
      */
     @GET
+    @Parameter(name = RESTHeaders.BATCH_CHUNK, in = ParameterIn.HEADER,
+            description = "Asks for the given chunk (starting from 0) of batch results, if '"
+            + RESTHeaders.BATCH_PARALLELISM + "' was specified when requesting batch execution",
+            allowEmptyValue = true, schema =
+            @Schema(type = "integer"))
     @ApiResponses({
         @ApiResponse(responseCode = "200",
-                description = "Batch results available, returned as Response entity"),
+                description = "Batch results available, returned as Response entity", headers = {
+                    @Header(name = RESTHeaders.BATCH_CHUNKS, schema =
+                            @Schema(type = "integer"),
+                            description = "Total number of chunks of batch results, reported once all of them "
+                            + "are available, if '" + RESTHeaders.BATCH_CHUNK + "' was specified") }),
         @ApiResponse(responseCode = "202",
                 description = "Batch results not yet available, retry later", headers = {
                     @Header(name = HttpHeaders.LOCATION, schema =
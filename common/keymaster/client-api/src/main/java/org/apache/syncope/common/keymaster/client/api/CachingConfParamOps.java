@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ConfParamOps} decorator keeping in memory, for each domain, the configuration parameters as listed by the
+ * delegate, so that {@link #get(java.lang.String, java.lang.String, java.lang.Object, java.lang.Class)} does not
+ * require any round trip to Keymaster.
+ *
+ * The parameters of a domain are listed again when changed via this instance, when {@link #invalidate(String)} is
+ * invoked - typically upon notification from Keymaster - or, in any case, after the configured TTL has elapsed.
+ */
+public class CachingConfParamOps implements ConfParamOps {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(CachingConfParamOps.class);
+
+    protected static final ObjectMapper MAPPER = new ObjectMapper();
+
+    protected static class Snapshot {
+
+        protected final Map<String, Object> params;
+
+        protected final long loadedAt;
+
+        protected Snapshot(final Map<String, Object> params, final long loadedAt) {
+            this.params = params;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    protected final ConfParamOps delegate;
+
+    /**
+     * Elapsed time in milliseconds; values lower than 1 disable caching.
+     */
+    protected final long ttl;
+
+    protected final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented by each invalidation, to prevent storing parameters listed while the invalidation was taking place.
+     */
+    protected final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    protected final LongAdder hits = new LongAdder();
+
+    protected final LongAdder misses = new LongAdder();
+
+    /**
+     * @param delegate actual {@link ConfParamOps} implementation
+     * @param ttl elapsed time in seconds; values lower than 1 disable caching
+     */
+    public CachingConfParamOps(final ConfParamOps delegate, final long ttl) {
+        this.delegate = delegate;
+        this.ttl = ttl * 1000L;
+    }
+
+    protected AtomicLong generation(final String domain) {
+        return generations.computeIfAbsent(domain, d -> new AtomicLong());
+    }
+
+    protected Map<String, Object> load(final String domain) {
+        long generation = generation(domain).get();
+
+        Snapshot snapshot = new Snapshot(delegate.list(domain), System.currentTimeMillis());
+        if (ttl > 0) {
+            snapshots.compute(domain, (d, current) -> generation(d).get() == generation ? snapshot : current);
+        }
+
+        return snapshot.params;
+    }
+
+    protected Map<String, Object> params(final String domain) {
+        Snapshot snapshot = snapshots.get(domain);
+        if (snapshot != null && System.currentTimeMillis() - snapshot.loadedAt < ttl) {
+            hits.increment();
+            return snapshot.params;
+        }
+
+        misses.increment();
+        return load(domain);
+    }
+
+    @Override
+    public Map<String, Object> list(final String domain) {
+        return new TreeMap<>(load(domain));
+    }
+
+    @Override
+    public <T> T get(final String domain, final String key, final T defaultValue, final Class<T> reference) {
+        if (ttl <= 0) {
+            return delegate.get(domain, key, defaultValue, reference);
+        }
+
+        Object value = params(domain).get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        // values of immutable types are shared, all others are converted anew to prevent changes by the callers
+        if (reference.isInstance(value)
+                && (value instanceof String || value instanceof Number || value instanceof Boolean)) {
+
+            return reference.cast(value);
+        }
+        try {
+            return MAPPER.convertValue(value, reference);
+        } catch (IllegalArgumentException e) {
+            LOG.error("Could not convert {} to {}", value, reference.getName(), e);
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public <T> void set(final String domain, final String key, final T value) {
+        try {
+            delegate.set(domain, key, value);
+        } finally {
+            invalidate(domain);
+        }
+    }
+
+    @Override
+    public void remove(final String domain, final String key) {
+        try {
+            delegate.remove(domain, key);
+        } finally {
+            invalidate(domain);
+        }
+    }
+
+    /**
+     * Discards the cached configuration parameters for the given domain.
+     *
+     * @param domain domain
+     */
+    public void invalidate(final String domain) {
+        generation(domain).incrementAndGet();
+        snapshots.remove(domain);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = getHitCount();
+        long total = hitCount + getMissCount();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @param domain domain
+     * @return time elapsed, in milliseconds, since the cached configuration parameters for the given domain were
+     * listed; {@code -1} if none is cached
+     */
+    public long getStaleness(final String domain) {
+        Snapshot snapshot = snapshots.get(domain);
+        return snapshot == null ? -1 : System.currentTimeMillis() - snapshot.loadedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CachingConfParamOps{"
+                + "delegate=" + delegate.getClass().getName()
+                + ", domains=" + snapshots.keySet() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + '}';
+    }
+}
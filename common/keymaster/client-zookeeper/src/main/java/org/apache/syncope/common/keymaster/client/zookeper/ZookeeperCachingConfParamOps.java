@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.common.keymaster.client.zookeper;
+
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.syncope.common.keymaster.client.api.CachingConfParamOps;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * {@link CachingConfParamOps} for {@link ZookeeperConfParamOps}, invalidating the cached configuration parameters of
+ * a domain as soon as Zookeeper reports any change about them.
+ */
+public class ZookeeperCachingConfParamOps extends CachingConfParamOps implements InitializingBean, DisposableBean {
+
+    private final CuratorFramework client;
+
+    private CuratorCache cache;
+
+    public ZookeeperCachingConfParamOps(final CuratorFramework client, final long ttl) {
+        super(new ZookeeperConfParamOps(client), ttl);
+        this.client = client;
+    }
+
+    private static Optional<String> domain(final ChildData data) {
+        return Optional.ofNullable(data).
+                map(d -> StringUtils.substringBefore(
+                StringUtils.substringAfter(d.getPath(), ZookeeperConfParamOps.CONF_PATH + '/'), "/")).
+                filter(StringUtils::isNotBlank);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (ttl <= 0) {
+            return;
+        }
+
+        if (client.checkExists().forPath(ZookeeperConfParamOps.CONF_PATH) == null) {
+            client.create().creatingParentContainersIfNeeded().forPath(ZookeeperConfParamOps.CONF_PATH);
+        }
+
+        cache = CuratorCache.build(client, ZookeeperConfParamOps.CONF_PATH);
+        cache.listenable().addListener((type, oldData, newData) -> {
+            LOG.debug("Event {} received for {}", type, Optional.ofNullable(newData).orElse(oldData));
+
+            domain(oldData).ifPresent(this::invalidate);
+            domain(newData).ifPresent(this::invalidate);
+        });
+        cache.start();
+    }
+
+    @Override
+    public void destroy() {
+        Optional.ofNullable(cache).ifPresent(CuratorCache::close);
+    }
+}
@@ -28,6 +28,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import org.apache.curator.framework.CuratorFramework;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +42,9 @@ public class ZookeeperConfParamOpsITCase {
     @Autowired
     private ConfParamOps confParamOps;
 
+    @Autowired
+    private CuratorFramework client;
+
     @Test
     public void list() {
         Map<String, Object> confParams = confParamOps.list(DOMAIN);
@@ -119,4 +123,23 @@ public class ZookeeperConfParamOpsITCase {
         assertNull(confParamOps.get(DOMAIN, key, null, String.class));
         assertEquals("defaultValue", confParamOps.get(DOMAIN, key, "defaultValue", String.class));
     }
+
+    @Test
+    public void invalidatedOnChange() throws InterruptedException {
+        String key = UUID.randomUUID().toString();
+        assertNull(confParamOps.get(DOMAIN, key, null, String.class));
+
+        // change performed by someone else, e.g. another Syncope instance
+        new ZookeeperConfParamOps(client).set(DOMAIN, key, "stringValue");
+
+        String actualStringValue = null;
+        for (int i = 0; i < 50 && actualStringValue == null; i++) {
+            Thread.sleep(100);
+            actualStringValue = confParamOps.get(DOMAIN, key, null, String.class);
+        }
+        assertEquals("stringValue", actualStringValue);
+
+        confParamOps.remove(DOMAIN, key);
+        assertNull(confParamOps.get(DOMAIN, key, null, String.class));
+    }
 }
@@ -18,14 +18,17 @@
  */
 package org.apache.syncope.core.logic;
 
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.Attr;
@@ -60,7 +63,6 @@ import org.apache.syncope.common.lib.to.ProvisioningReport;
 import org.apache.syncope.common.lib.types.AnyEntitlement;
 import org.apache.syncope.common.lib.types.IdMEntitlement;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
-import org.apache.syncope.common.rest.api.beans.AbstractCSVSpec;
 import org.apache.syncope.common.rest.api.beans.CSVPushSpec;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
@@ -69,6 +71,8 @@ import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
+import org.apache.syncope.core.provisioning.java.job.CSVPullJob;
+import org.apache.syncope.core.provisioning.java.pushpull.stream.CSVPullSpool;
 import org.apache.syncope.core.provisioning.java.pushpull.stream.CSVStreamConnector;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopeSinglePullExecutor;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopeSinglePushExecutor;
@@ -84,7 +88,10 @@ import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.Uid;
 import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
@@ -143,6 +150,12 @@ public class ReconciliationLogic extends AbstractTransactionalLogic<EntityTO> {
     @Autowired
     private SyncopeStreamPullExecutor streamPullExecutor;
 
+    @Autowired
+    private CSVPullSpool csvPullSpool;
+
+    @Autowired
+    private SchedulerFactoryBean scheduler;
+
     private Provision getProvision(final String anyTypeKey, final String resourceKey) {
         AnyType anyType = anyTypeDAO.find(anyTypeKey);
         if (anyType == null) {
@@ -388,20 +401,6 @@ public class ReconciliationLogic extends AbstractTransactionalLogic<EntityTO> {
         }
     }
 
-    private CsvSchema.Builder csvSchema(final AbstractCSVSpec spec) {
-        CsvSchema.Builder schemaBuilder = new CsvSchema.Builder().setUseHeader(true).
-                setColumnSeparator(spec.getColumnSeparator()).
-                setArrayElementSeparator(spec.getArrayElementSeparator()).
-                setQuoteChar(spec.getQuoteChar()).
-                setLineSeparator(spec.getLineSeparator()).
-                setNullValue(spec.getNullValue()).
-                setAllowComments(spec.isAllowComments());
-        if (spec.getEscapeChar() != null) {
-            schemaBuilder.setEscapeChar(spec.getEscapeChar());
-        }
-        return schemaBuilder;
-    }
-
     @PreAuthorize("hasRole('" + IdRepoEntitlement.TASK_EXECUTE + "')")
     public List<ProvisioningReport> push(
             final SearchCond searchCond,
@@ -437,19 +436,22 @@ public class ReconciliationLogic extends AbstractTransactionalLogic<EntityTO> {
         Set<String> adminRealms = RealmUtils.getEffective(AuthContextUtils.getAuthorizations().get(entitlement), realm);
         SearchCond effectiveCond = searchCond == null ? anyUtils.dao().getAllMatchingCond() : searchCond;
 
-        List<Any<?>> matching;
+        // when ignoring paging, matching entities are read and pushed one batch at a time
+        Iterator<List<String>> batches;
         if (spec.getIgnorePaging()) {
-            matching = new ArrayList<>();
-
-            int count = searchDAO.count(adminRealms, effectiveCond, anyType.getKind());
-            int pages = (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1;
-
-            for (int p = 1; p <= pages; p++) {
-                matching.addAll(searchDAO.search(adminRealms, effectiveCond,
-                        p, AnyDAO.DEFAULT_PAGE_SIZE, orderBy, anyType.getKind()));
-            }
+            batches = orderBy.isEmpty()
+                    ? searchDAO.stream(adminRealms, effectiveCond, anyType.getKind(), AnyDAO.DEFAULT_PAGE_SIZE).
+                            iterator()
+                    : Stream.iterate(1, p -> p + 1).
+                            map(p -> searchDAO.<Any<?>>search(
+                            adminRealms, effectiveCond, p, AnyDAO.DEFAULT_PAGE_SIZE, orderBy, anyType.getKind()).
+                            stream().map(Any::getKey).collect(Collectors.toList())).
+                            takeWhile(keys -> !keys.isEmpty()).
+                            iterator();
         } else {
-            matching = searchDAO.search(adminRealms, effectiveCond, page, size, orderBy, anyType.getKind());
+            batches = List.of(searchDAO.<Any<?>>search(
+                    adminRealms, effectiveCond, page, size, orderBy, anyType.getKind()).
+                    stream().map(Any::getKey).collect(Collectors.toList())).iterator();
         }
 
         List<String> columns = new ArrayList<>();
@@ -490,14 +492,14 @@ public class ReconciliationLogic extends AbstractTransactionalLogic<EntityTO> {
         try (CSVStreamConnector connector = new CSVStreamConnector(
                 null,
                 spec.getArrayElementSeparator(),
-                csvSchema(spec),
+                CSVStreamConnector.csvSchema(spec),
                 null,
                 os,
                 columns.toArray(new String[columns.size()]))) {
 
             return streamPushExecutor.push(
                     anyType,
-                    matching,
+                    batches,
                     columns,
                     connector,
                     spec.getPropagationActions(),
@@ -511,8 +513,7 @@ public class ReconciliationLogic extends AbstractTransactionalLogic<EntityTO> {
         }
     }
 
-    @PreAuthorize("hasRole('" + IdRepoEntitlement.TASK_EXECUTE + "')")
-    public List<ProvisioningReport> pull(final CSVPullSpec spec, final InputStream csv) {
+    private AnyType checkPull(final CSVPullSpec spec) {
         AnyType anyType = anyTypeDAO.find(spec.getAnyTypeKey());
         if (anyType == null) {
             throw new NotFoundException("AnyType '" + spec.getAnyTypeKey() + "'");
@@ -522,32 +523,47 @@ public class ReconciliationLogic extends AbstractTransactionalLogic<EntityTO> {
             throw new NotFoundException("Realm " + spec.getDestinationRealm());
         }
 
+        return anyType;
+    }
+
+    private static List<String> checkColumns(final CSVPullSpec spec, final CSVStreamConnector connector)
+            throws IOException {
+
+        List<String> columns = connector.getColumns(spec);
+        if (!columns.contains(spec.getKeyColumn())) {
+            throw new NotFoundException("Key column '" + spec.getKeyColumn() + "'");
+        }
+        return columns;
+    }
+
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.TASK_EXECUTE + "')")
+    public List<ProvisioningReport> pull(final CSVPullSpec spec, final InputStream csv) {
+        AnyType anyType = checkPull(spec);
+
         PullTaskTO pullTask = new PullTaskTO();
         pullTask.setDestinationRealm(spec.getDestinationRealm());
         pullTask.setRemediation(spec.isRemediation());
         pullTask.setMatchingRule(spec.getMatchingRule());
         pullTask.setUnmatchingRule(spec.getUnmatchingRule());
         pullTask.getActions().addAll(spec.getProvisioningActions());
+        pullTask.setThreadPoolSize(spec.getThreadPoolSize());
+        pullTask.setQueueCapacity(spec.getQueueCapacity());
 
         try (CSVStreamConnector connector = new CSVStreamConnector(
                 spec.getKeyColumn(),
                 spec.getArrayElementSeparator(),
-                csvSchema(spec),
+                CSVStreamConnector.csvSchema(spec),
                 csv,
                 null)) {
 
-            List<String> columns = connector.getColumns(spec);
-            if (!columns.contains(spec.getKeyColumn())) {
-                throw new NotFoundException("Key column '" + spec.getKeyColumn() + "'");
-            }
-
             return streamPullExecutor.pull(anyType,
                     spec.getKeyColumn(),
-                    columns,
+                    checkColumns(spec, connector),
                     spec.getConflictResolutionAction(),
                     spec.getPullCorrelationRule(),
                     connector,
-                    pullTask);
+                    pullTask,
+                    AuthContextUtils.getUsername());
         } catch (NotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -558,6 +574,80 @@ public class ReconciliationLogic extends AbstractTransactionalLogic<EntityTO> {
         }
     }
 
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.TASK_EXECUTE + "')")
+    public String schedulePull(final CSVPullSpec spec, final InputStream csv) {
+        checkPull(spec);
+
+        String key = null;
+        try {
+            key = csvPullSpool.spool(csv);
+
+            try (InputStream spooled = csvPullSpool.getCSV(key).orElseThrow();
+                    CSVStreamConnector connector = new CSVStreamConnector(
+                            spec.getKeyColumn(),
+                            spec.getArrayElementSeparator(),
+                            CSVStreamConnector.csvSchema(spec),
+                            spooled,
+                            null)) {
+
+                checkColumns(spec, connector);
+            }
+
+            CSVPullJob.schedule(scheduler, key, spec, AuthContextUtils.getUsername());
+            return key;
+        } catch (Exception e) {
+            if (key != null) {
+                csvPullSpool.delete(key);
+            }
+
+            if (e instanceof NotFoundException) {
+                throw (NotFoundException) e;
+            }
+
+            LOG.error("Could not schedule pull from stream", e);
+            SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.Reconciliation);
+            sce.getElements().add(e.getMessage());
+            throw sce;
+        }
+    }
+
+    private static void checkPullKey(final String key) {
+        if (!SyncopeConstants.UUID_PATTERN.matcher(key).matches()) {
+            throw new NotFoundException("CSV pull " + key);
+        }
+    }
+
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.TASK_READ + "')")
+    public List<ProvisioningReport> getPullReports(final String key) {
+        checkPullKey(key);
+
+        return csvPullSpool.getReports(key).orElseThrow(() -> new NotFoundException("CSV pull " + key));
+    }
+
+    @PreAuthorize("hasRole('" + IdRepoEntitlement.TASK_DELETE + "')")
+    public void deletePull(final String key) {
+        checkPullKey(key);
+
+        boolean found;
+        try {
+            JobKey jobKey = new JobKey(key);
+            if (scheduler.getScheduler().checkExists(jobKey)) {
+                scheduler.getScheduler().interrupt(jobKey);
+            }
+
+            found = csvPullSpool.delete(key);
+        } catch (SchedulerException e) {
+            LOG.error("Could not remove CSV pull {}", key, e);
+            SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.Reconciliation);
+            sce.getElements().add(e.getMessage());
+            throw sce;
+        }
+
+        if (!found) {
+            throw new NotFoundException("CSV pull " + key);
+        }
+    }
+
     @Override
     protected EntityTO resolveReference(final Method method, final Object... os)
             throws UnresolvedReferenceException {
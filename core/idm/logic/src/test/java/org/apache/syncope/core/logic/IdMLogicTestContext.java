@@ -31,6 +31,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
 
 @Import({ SecurityContext.class, PersistenceContext.class, ProvisioningContext.class, WorkflowContext.class })
 @ComponentScan("org.apache.syncope.core.logic")
@@ -53,4 +54,9 @@ public class IdMLogicTestContext {
 
         return new DummyImplementationLookup();
     }
+
+    @Bean
+    public static TransactionalEventListenerFactory transactionalEventListenerFactory() {
+        return new TransactionalEventListenerFactory();
+    }
 }
@@ -19,6 +19,7 @@
 package org.apache.syncope.core.rest.cxf.service;
 
 import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import javax.validation.ValidationException;
 import javax.ws.rs.core.HttpHeaders;
@@ -102,4 +103,23 @@ public class ReconciliationServiceImpl extends AbstractServiceImpl implements Re
     public List<ProvisioningReport> pull(final CSVPullSpec spec, final InputStream csv) {
         return logic.pull(spec, csv);
     }
+
+    @Override
+    public Response schedulePull(final CSVPullSpec spec, final InputStream csv) {
+        String key = logic.schedulePull(spec, csv);
+        URI location = uriInfo.getAbsolutePathBuilder().path(key).build();
+        return Response.created(location).
+                header(RESTHeaders.RESOURCE_KEY, key).
+                build();
+    }
+
+    @Override
+    public List<ProvisioningReport> getPullReports(final String key) {
+        return logic.getPullReports(key);
+    }
+
+    @Override
+    public void deletePull(final String key) {
+        logic.deletePull(key);
+    }
 }
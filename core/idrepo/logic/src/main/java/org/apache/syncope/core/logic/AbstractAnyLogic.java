@@ -262,7 +262,8 @@ public abstract class AbstractAnyLogic<TO extends AnyTO, C extends AnyCR, U exte
             SearchCond searchCond,
             int page, int size, List<OrderByClause> orderBy,
             String realm,
-            boolean details);
+            boolean details,
+            boolean estimatedCount);
 
     public abstract ProvisioningResult<TO> update(U updateReq, boolean nullPriorityAsync);
 
@@ -155,22 +155,21 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupCR, GroupUR> {
             final SearchCond searchCond,
             final int page, final int size, final List<OrderByClause> orderBy,
             final String realm,
-            final boolean details) {
+            final boolean details,
+            final boolean estimatedCount) {
 
         Set<String> adminRealms = RealmUtils.getEffective(
                 AuthContextUtils.getAuthorizations().get(IdRepoEntitlement.GROUP_SEARCH), realm);
 
         SearchCond effectiveCond = searchCond == null ? groupDAO.getAllMatchingCond() : searchCond;
 
-        int count = searchDAO.count(adminRealms, effectiveCond, AnyTypeKind.GROUP);
-
-        List<Group> matching = searchDAO.search(
-                adminRealms, effectiveCond, page, size, orderBy, AnyTypeKind.GROUP);
-        List<GroupTO> result = matching.stream().
+        Pair<Integer, List<Group>> matching = searchDAO.searchAndCount(
+                adminRealms, effectiveCond, page, size, orderBy, AnyTypeKind.GROUP, estimatedCount);
+        List<GroupTO> result = matching.getRight().stream().
                 map(group -> binder.getGroupTO(group, details)).
                 collect(Collectors.toList());
 
-        return Pair.of(count, result);
+        return Pair.of(matching.getLeft(), result);
     }
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.GROUP_CREATE + "')")
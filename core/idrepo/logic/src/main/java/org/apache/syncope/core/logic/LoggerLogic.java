@@ -27,6 +27,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.LoggerContext;
@@ -402,7 +403,7 @@ public class LoggerLogic extends AbstractTransactionalLogic<EntityTO> {
 
     @PreAuthorize("hasRole('" + IdRepoEntitlement.AUDIT_SEARCH + "')")
     @Transactional(readOnly = true)
-    public Pair<Integer, List<AuditEntry>> search(
+    public Triple<Integer, List<AuditEntry>, String> search(
             final String entityKey,
             final int page,
             final int size,
@@ -411,12 +412,16 @@ public class LoggerLogic extends AbstractTransactionalLogic<EntityTO> {
             final String subcategory,
             final List<String> events,
             final AuditElements.Result result,
+            final String cursor,
             final List<OrderByClause> orderByClauses) {
 
-        int count = loggerDAO.countAuditEntries(entityKey, type, category, subcategory, events, result);
-        List<AuditEntry> matching = loggerDAO.findAuditEntries(
-                entityKey, page, size, type, category, subcategory, events, result, orderByClauses);
-        return Pair.of(count, matching);
+        int count = loggerDAO.countAuditEntries(entityKey, type, category, subcategory, events, result, cursor);
+        List<Pair<String, AuditEntry>> matching = loggerDAO.findAuditEntries(
+                entityKey, page, size, type, category, subcategory, events, result, cursor, orderByClauses);
+        return Triple.of(
+                count,
+                matching.stream().map(Pair::getRight).collect(Collectors.toList()),
+                matching.isEmpty() ? null : matching.get(matching.size() - 1).getLeft());
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -21,6 +21,8 @@ package org.apache.syncope.core.logic.audit;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 import javax.sql.DataSource;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Appender;
@@ -30,6 +32,7 @@ import org.apache.logging.log4j.core.appender.db.jdbc.AbstractConnectionSource;
 import org.apache.logging.log4j.core.appender.db.jdbc.JdbcAppender;
 import org.apache.syncope.core.persistence.api.DomainHolder;
 import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
+import org.apache.syncope.core.provisioning.java.AuditWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 
@@ -38,23 +41,38 @@ public class JdbcAuditAppender extends DefaultAuditAppender {
     @Autowired
     protected DomainHolder domainHolder;
 
+    @Autowired
+    protected AuditWriter auditWriter;
+
     @Override
     protected void initTargetAppender() {
         LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
 
-        ColumnMapping[] columnMappings = {
-            ColumnMapping.newBuilder().
-            setConfiguration(ctx.getConfiguration()).setName("EVENT_DATE").setType(Timestamp.class).build(),
-            ColumnMapping.newBuilder().
-            setConfiguration(ctx.getConfiguration()).setName("LOGGER_LEVEL").setPattern("%level").build(),
-            ColumnMapping.newBuilder().
-            setConfiguration(ctx.getConfiguration()).setName("LOGGER").setPattern("%logger").build(),
-            ColumnMapping.newBuilder().
-            setConfiguration(ctx.getConfiguration()).
-            setName(LoggerDAO.AUDIT_MESSAGE_COLUMN).setPattern("%message").build(),
-            ColumnMapping.newBuilder().
-            setConfiguration(ctx.getConfiguration()).setName("THROWABLE").setPattern("%ex{full}").build()
-        };
+        List<ColumnMapping> columnMappings = new ArrayList<>();
+        columnMappings.add(ColumnMapping.newBuilder().
+                setConfiguration(ctx.getConfiguration()).
+                setName(LoggerDAO.AUDIT_DATE_COLUMN).setType(Timestamp.class).build());
+        columnMappings.add(ColumnMapping.newBuilder().
+                setConfiguration(ctx.getConfiguration()).setName("LOGGER_LEVEL").setPattern("%level").build());
+        columnMappings.add(ColumnMapping.newBuilder().
+                setConfiguration(ctx.getConfiguration()).setName("LOGGER").setPattern("%logger").build());
+        // structured columns, as set by AuditManager in the logging context
+        for (String column : List.of(
+                LoggerDAO.AUDIT_ENTITY_KEY_COLUMN,
+                LoggerDAO.AUDIT_TYPE_COLUMN,
+                LoggerDAO.AUDIT_CATEGORY_COLUMN,
+                LoggerDAO.AUDIT_SUBCATEGORY_COLUMN,
+                LoggerDAO.AUDIT_EVENT_COLUMN,
+                LoggerDAO.AUDIT_RESULT_COLUMN)) {
+
+            columnMappings.add(ColumnMapping.newBuilder().
+                    setConfiguration(ctx.getConfiguration()).setName(column).setPattern("%X{" + column + '}').build());
+        }
+        columnMappings.add(ColumnMapping.newBuilder().
+                setConfiguration(ctx.getConfiguration()).
+                setName(LoggerDAO.AUDIT_MESSAGE_COLUMN).setPattern("%message").build());
+        columnMappings.add(ColumnMapping.newBuilder().
+                setConfiguration(ctx.getConfiguration()).setName("THROWABLE").setPattern("%ex{full}").build());
 
         Appender appender = ctx.getConfiguration().getAppender("audit_for_" + domain);
         if (appender == null) {
@@ -62,12 +80,18 @@ public class JdbcAuditAppender extends DefaultAuditAppender {
                     setName("audit_for_" + domain).
                     setIgnoreExceptions(false).
                     setConnectionSource(new DataSourceConnectionSource(domain, domainHolder.getDomains().get(domain))).
-                    setBufferSize(0).
+                    setBufferSize(auditWriter.getBatchSize() > 1 ? auditWriter.getBatchSize() : 0).
                     setTableName(LoggerDAO.AUDIT_TABLE).
-                    setColumnMappings(columnMappings).
+                    setColumnMappings(columnMappings.toArray(new ColumnMapping[0])).
                     build();
             appender.start();
             ctx.getConfiguration().addAppender(appender);
+
+            if (auditWriter.getBatchSize() > 1) {
+                // buffered entries are inserted with a single JDBC batch at the end of each audit writer batch
+                JdbcAppender jdbcAppender = (JdbcAppender) appender;
+                auditWriter.addFlushHook(() -> jdbcAppender.getManager().flush());
+            }
         }
         targetAppender = appender;
     }
@@ -23,8 +23,10 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -50,6 +52,12 @@ public class BatchItemRequest extends HttpServletRequestWrapper {
 
     private final ServletInputStream inputStream;
 
+    /**
+     * Attributes set while processing this item are kept here rather than on the wrapped request, which is shared by
+     * all items of the same batch, possibly processed concurrently.
+     */
+    private final Map<String, Object> attributes = new HashMap<>();
+
     public BatchItemRequest(
             final String basePath,
             final HttpServletRequest request,
@@ -196,6 +204,10 @@ public class BatchItemRequest extends HttpServletRequestWrapper {
 
     @Override
     public Object getAttribute(final String name) {
+        if (attributes.containsKey(name)) {
+            return attributes.get(name);
+        }
+
         try {
             return super.getAttribute(name);
         } catch (Exception e) {
@@ -204,6 +216,34 @@ public class BatchItemRequest extends HttpServletRequestWrapper {
         }
     }
 
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        Set<String> names = new HashSet<>();
+        try {
+            names.addAll(Collections.list(super.getAttributeNames()));
+        } catch (Exception e) {
+            LOG.debug("While delegating to wrapped request", e);
+        }
+        attributes.forEach((name, value) -> {
+            if (value == null) {
+                names.remove(name);
+            } else {
+                names.add(name);
+            }
+        });
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public void setAttribute(final String name, final Object o) {
+        attributes.put(name, o);
+    }
+
+    @Override
+    public void removeAttribute(final String name) {
+        attributes.put(name, null);
+    }
+
     @Override
     public String getCharacterEncoding() {
         try {
@@ -19,8 +19,14 @@
 package org.apache.syncope.core.rest.cxf.batch;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.annotation.Resource;
 import javax.servlet.ServletConfig;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.cxf.transport.http.AbstractHTTPDestination;
@@ -31,6 +37,8 @@ import org.apache.syncope.common.rest.api.batch.BatchRequestItem;
 import org.apache.syncope.common.rest.api.batch.BatchResponseItem;
 import org.apache.syncope.core.persistence.api.dao.BatchDAO;
 import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchChunk;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,9 +49,17 @@ public class BatchProcess implements Runnable {
 
     private static final Logger LOG = LoggerFactory.getLogger(BatchProcess.class);
 
+    private static final int CHUNK_SIZE = 100;
+
     @Autowired
     private BatchDAO batchDAO;
 
+    @Autowired
+    private EntityFactory entityFactory;
+
+    @Resource(name = "batchExecutor")
+    private Executor batchExecutor;
+
     private String boundary;
 
     private String basePath;
@@ -58,6 +74,12 @@ public class BatchProcess implements Runnable {
 
     private Authentication authentication;
 
+    private Integer parallelism;
+
+    private int stored;
+
+    private int chunks;
+
     public void setBoundary(final String boundary) {
         this.boundary = boundary;
     }
@@ -86,59 +108,168 @@ public class BatchProcess implements Runnable {
         this.authentication = authentication;
     }
 
+    public void setParallelism(final Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    private BatchResponseItem process(final BatchRequestItem reqItem) {
+        LOG.debug("Batch item:\n{}", reqItem);
+
+        AbstractHTTPDestination dest = destinationRegistry.getDestinationForPath(reqItem.getRequestURI(), true);
+        if (dest == null) {
+            dest = destinationRegistry.checkRestfulRequest(reqItem.getRequestURI());
+        }
+        LOG.debug("Destination found for {}: {}", reqItem.getRequestURI(), dest);
+
+        BatchResponseItem resItem = new BatchResponseItem();
+        if (dest == null) {
+            resItem.setStatus(404);
+        } else {
+            BatchItemRequest request = new BatchItemRequest(basePath, servletRequest, reqItem);
+            BatchItemResponse response = new BatchItemResponse();
+            try {
+                dest.invoke(servletConfig, servletConfig.getServletContext(), request, response);
+                LOG.debug("Returned:\nstatus: {}\nheaders: {}\nbody:\n{}", response.getStatus(),
+                        response.getHeaders(), new String(response.getUnderlyingOutputStream().toByteArray()));
+
+                resItem.setStatus(response.getStatus());
+                resItem.setHeaders(response.getHeaders());
+                String output = new String(response.getUnderlyingOutputStream().toByteArray());
+                if (output.length() > 0) {
+                    resItem.setContent(output);
+                }
+            } catch (IOException e) {
+                LOG.error("Invocation of {} failed", dest.getPath(), e);
+
+                resItem.setStatus(404);
+            }
+        }
+        return resItem;
+    }
+
     @Override
     public void run() {
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        List<BatchResponseItem> batchResponseItems = new ArrayList<>(batchRequestItems.size());
+        if (parallelism == null) {
+            runSequential();
+        } else {
+            runChunked();
+        }
+    }
 
-        batchRequestItems.forEach(reqItem -> {
-            LOG.debug("Batch item:\n{}", reqItem);
+    private void runSequential() {
+        List<BatchResponseItem> batchResponseItems = batchRequestItems.stream().
+                map(this::process).collect(Collectors.toList());
 
-            AbstractHTTPDestination dest = destinationRegistry.getDestinationForPath(reqItem.getRequestURI(), true);
-            if (dest == null) {
-                dest = destinationRegistry.checkRestfulRequest(reqItem.getRequestURI());
-            }
-            LOG.debug("Destination found for {}: {}", reqItem.getRequestURI(), dest);
+        String results = BatchPayloadGenerator.generate(batchResponseItems, SyncopeConstants.DOUBLE_DASH + boundary);
 
-            if (dest == null) {
-                BatchResponseItem resItem = new BatchResponseItem();
-                resItem.setStatus(404);
-                batchResponseItems.add(resItem);
-            } else {
-                BatchItemRequest request = new BatchItemRequest(basePath, servletRequest, reqItem);
-                BatchItemResponse response = new BatchItemResponse();
+        Batch batch = batchDAO.find(boundary);
+        if (batch == null) {
+            LOG.error("Could not find batch {}, cannot save results hence reporting here:\n{}", boundary, results);
+        } else {
+            batch.setResults(results);
+            batchDAO.save(batch);
+        }
+    }
+
+    /**
+     * Processes up to {@link #parallelism} items concurrently, and stores results in chunks as soon as they are
+     * available, in request order.
+     * The current thread processes items as well, so that the batch completes even when no thread is available from
+     * {@link #batchExecutor}.
+     */
+    private void runChunked() {
+        BatchResponseItem[] results = new BatchResponseItem[batchRequestItems.size()];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch processed = new CountDownLatch(results.length);
+
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < results.length; i = next.getAndIncrement()) {
+                BatchResponseItem resItem;
                 try {
-                    dest.invoke(servletConfig, servletConfig.getServletContext(), request, response);
-                    LOG.debug("Returned:\nstatus: {}\nheaders: {}\nbody:\n{}", response.getStatus(),
-                            response.getHeaders(), new String(response.getUnderlyingOutputStream().toByteArray()));
-
-                    BatchResponseItem resItem = new BatchResponseItem();
-                    resItem.setStatus(response.getStatus());
-                    resItem.setHeaders(response.getHeaders());
-                    String output = new String(response.getUnderlyingOutputStream().toByteArray());
-                    if (output.length() > 0) {
-                        resItem.setContent(output);
-                    }
-                    batchResponseItems.add(resItem);
-                } catch (IOException e) {
-                    LOG.error("Invocation of {} failed", dest.getPath(), e);
+                    resItem = process(batchRequestItems.get(i));
+                } catch (Throwable t) {
+                    LOG.error("While processing {}", batchRequestItems.get(i), t);
 
-                    BatchResponseItem resItem = new BatchResponseItem();
-                    resItem.setStatus(404);
-                    batchResponseItems.add(resItem);
+                    resItem = new BatchResponseItem();
+                    resItem.setStatus(500);
+                }
+
+                try {
+                    synchronized (results) {
+                        results[i] = resItem;
+                        store(results);
+                    }
+                } finally {
+                    processed.countDown();
                 }
             }
-        });
+        };
 
-        String results = BatchPayloadGenerator.generate(batchResponseItems, SyncopeConstants.DOUBLE_DASH + boundary);
+        for (int i = 1; i < Math.min(parallelism, results.length); i++) {
+            batchExecutor.execute(() -> {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                try {
+                    worker.run();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+        worker.run();
+
+        try {
+            processed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while waiting for batch {} to complete", boundary, e);
+            return;
+        }
 
         Batch batch = batchDAO.find(boundary);
         if (batch == null) {
-            LOG.error("Could not find batch {}, cannot save results hence reporting here:\n{}", boundary, results);
+            LOG.error("Could not find batch {}, cannot complete", boundary);
         } else {
-            batch.setResults(results);
+            batch.setChunks(chunks);
             batchDAO.save(batch);
         }
     }
+
+    /**
+     * Stores the results processed since the last invocation, in chunks of {@link #CHUNK_SIZE} items; the last chunk
+     * is stored as soon as all results are available.
+     *
+     * @param results results so far, {@code null} for items not yet processed
+     */
+    private void store(final BatchResponseItem[] results) {
+        int ready = stored;
+        while (ready < results.length && results[ready] != null) {
+            ready++;
+        }
+
+        while (ready - stored >= CHUNK_SIZE || (ready == results.length && ready > stored)) {
+            int end = Math.min(stored + CHUNK_SIZE, ready);
+            String content = BatchPayloadGenerator.generateItems(
+                    Arrays.asList(results).subList(stored, end), SyncopeConstants.DOUBLE_DASH + boundary);
+
+            Batch batch = batchDAO.find(boundary);
+            if (batch == null) {
+                LOG.error("Could not find batch {}, cannot save results hence reporting here:\n{}", boundary, content);
+            } else {
+                BatchChunk chunk = entityFactory.newEntity(BatchChunk.class);
+                chunk.setBatch(batch);
+                chunk.setIndex(chunks);
+                chunk.setContent(content);
+                batchDAO.save(chunk);
+
+                batch.setExpiryTime(new Date(System.currentTimeMillis() + 5 * 60 * 1000));
+                batchDAO.save(batch);
+            }
+
+            chunks++;
+            Arrays.fill(results, stored, end, null);
+            stored = end;
+        }
+    }
 }
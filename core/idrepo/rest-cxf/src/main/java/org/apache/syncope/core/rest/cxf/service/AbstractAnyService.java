@@ -135,7 +135,8 @@ public abstract class AbstractAnyService<TO extends AnyTO, CR extends AnyCR, UR
                 anyQuery.getSize(),
                 getOrderByClauses(anyQuery.getOrderBy()),
                 isAssignableCond ? SyncopeConstants.ROOT_REALM : realm,
-                anyQuery.getDetails());
+                anyQuery.getDetails(),
+                anyQuery.getEstimatedCount());
 
         return buildPagedResult(result.getRight(), anyQuery.getPage(), anyQuery.getSize(), result.getLeft());
     }
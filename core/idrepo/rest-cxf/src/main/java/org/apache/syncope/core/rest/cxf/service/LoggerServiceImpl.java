@@ -21,7 +21,9 @@ package org.apache.syncope.core.rest.cxf.service;
 import java.text.ParseException;
 import java.util.List;
 import javax.ws.rs.BadRequestException;
-import org.apache.commons.lang3.tuple.Pair;
+import javax.ws.rs.core.UriBuilder;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Triple;
 import org.apache.syncope.common.lib.log.AuditEntry;
 import org.apache.syncope.common.lib.log.EventCategory;
 import org.apache.syncope.common.lib.log.LogAppender;
@@ -134,7 +136,7 @@ public class LoggerServiceImpl extends AbstractServiceImpl implements LoggerServ
 
     @Override
     public PagedResult<AuditEntry> search(final AuditQuery auditQuery) {
-        Pair<Integer, List<AuditEntry>> result = logic.search(
+        Triple<Integer, List<AuditEntry>, String> result = logic.search(
                 auditQuery.getEntityKey(),
                 auditQuery.getPage(),
                 auditQuery.getSize(),
@@ -143,8 +145,21 @@ public class LoggerServiceImpl extends AbstractServiceImpl implements LoggerServ
                 auditQuery.getSubcategory(),
                 auditQuery.getEvents(),
                 auditQuery.getResult(),
+                auditQuery.getCursor(),
                 getOrderByClauses(auditQuery.getOrderBy()));
 
-        return buildPagedResult(result.getRight(), auditQuery.getPage(), auditQuery.getSize(), result.getLeft());
+        PagedResult<AuditEntry> pagedResult = buildPagedResult(
+                result.getMiddle(), auditQuery.getPage(), auditQuery.getSize(), result.getLeft());
+        // with default ordering, the next page is linked as the first one following the last entry returned
+        if (pagedResult.getNext() != null && result.getRight() != null
+                && StringUtils.isBlank(auditQuery.getOrderBy())) {
+
+
+            pagedResult.setNext(UriBuilder.fromUri(pagedResult.getNext()).
+                    replaceQueryParam(PARAM_PAGE, 1).
+                    replaceQueryParam("cursor", result.getRight()).
+                    build());
+        }
+        return pagedResult;
     }
 }
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import javax.annotation.Resource;
 import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.NotFoundException;
@@ -30,6 +31,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.cxf.Bus;
 import org.apache.cxf.transport.DestinationFactoryManager;
@@ -46,6 +48,7 @@ import org.apache.syncope.common.lib.to.TypeExtensionTO;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.common.rest.api.Preference;
 import org.apache.syncope.common.rest.api.RESTHeaders;
+import org.apache.syncope.common.rest.api.batch.BatchPayloadGenerator;
 import org.apache.syncope.common.rest.api.batch.BatchPayloadParser;
 import org.apache.syncope.common.rest.api.batch.BatchRequestItem;
 import org.apache.syncope.common.rest.api.service.SyncopeService;
@@ -55,6 +58,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.apache.syncope.core.persistence.api.dao.BatchDAO;
 import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchChunk;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -159,6 +163,10 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
         batchProcess.setServletConfig(messageContext.getServletConfig());
         batchProcess.setServletRequest(messageContext.getHttpServletRequest());
         batchProcess.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        Optional.ofNullable(messageContext.getHttpServletRequest().getHeader(RESTHeaders.BATCH_PARALLELISM)).
+                map(parallelism -> Math.max(1, Math.min(
+                NumberUtils.toInt(parallelism, 1), batchExecutor.getCorePoolSize()))).
+                ifPresent(batchProcess::setParallelism);
 
         // manage synchronous Vs asynchronous batch processing
         if (getPreference() == Preference.RESPOND_ASYNC) {
@@ -180,16 +188,43 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
         MediaType mediaType = MediaType.valueOf(messageContext.getHttpServletRequest().getContentType());
         String boundary = mediaType.getParameters().get(RESTHeaders.BOUNDARY_PARAMETER);
 
+        // look for the requested chunk before the batch, to get an up-to-date total number of chunks
+        String chunkIndex = messageContext.getHttpServletRequest().getHeader(RESTHeaders.BATCH_CHUNK);
+        BatchChunk chunk = chunkIndex == null
+                ? null
+                : batchDAO.findChunk(boundary, NumberUtils.toInt(chunkIndex, 0));
+
         Batch batch = batchDAO.find(boundary);
         if (batch == null) {
             throw new NotFoundException("Batch " + boundary);
         }
 
+        if (chunkIndex != null) {
+            return batchChunk(batch, chunk, NumberUtils.toInt(chunkIndex, 0));
+        }
+
+        if (batch.getResults() == null && batch.getChunks() == null) {
+            return batchAccepted(boundary);
+        }
+
         if (batch.getResults() == null) {
-            return Response.accepted().
+            // chunks are loaded one at a time while streaming, and removed once all were sent
+            int chunks = batch.getChunks();
+            StreamingOutput sout = (os) -> {
+                for (int i = 0; i < chunks; i++) {
+                    BatchChunk c = batchDAO.findChunk(boundary, i);
+                    if (c == null) {
+                        LOG.error("Could not find chunk {} of batch {}", i, boundary);
+                    } else {
+                        os.write(c.getContent().getBytes());
+                    }
+                }
+                os.write(BatchPayloadGenerator.generateEnd(SyncopeConstants.DOUBLE_DASH + boundary).getBytes());
+
+                batchDAO.delete(boundary);
+            };
+            return Response.ok(sout).
                     type(RESTHeaders.multipartMixedWith(boundary)).
-                    header(HttpHeaders.RETRY_AFTER, 5).
-                    header(HttpHeaders.LOCATION, uriInfo.getAbsolutePathBuilder().build()).
                     build();
         }
 
@@ -202,6 +237,36 @@ public class SyncopeServiceImpl extends AbstractServiceImpl implements SyncopeSe
         return response;
     }
 
+    private Response batchAccepted(final String boundary) {
+        return Response.accepted().
+                type(RESTHeaders.multipartMixedWith(boundary)).
+                header(HttpHeaders.RETRY_AFTER, 5).
+                header(HttpHeaders.LOCATION, uriInfo.getAbsolutePathBuilder().build()).
+                build();
+    }
+
+    private Response batchChunk(final Batch batch, final BatchChunk chunk, final int index) {
+        if (chunk == null) {
+            if (batch.getChunks() == null) {
+                return batchAccepted(batch.getKey());
+            }
+
+            throw new NotFoundException("Batch " + batch.getKey() + " chunk " + index);
+        }
+
+        Response.ResponseBuilder builder = Response.ok(chunk.getContent()
+                + BatchPayloadGenerator.generateEnd(SyncopeConstants.DOUBLE_DASH + batch.getKey())).
+                type(RESTHeaders.multipartMixedWith(batch.getKey()));
+        if (batch.getChunks() != null) {
+            builder.header(RESTHeaders.BATCH_CHUNKS, batch.getChunks());
+
+            if (index >= batch.getChunks() - 1) {
+                batchDAO.delete(batch.getKey());
+            }
+        }
+        return builder.build();
+    }
+
     @Override
     public Response exportInternalStorageContent() {
         StreamingOutput sout = (os) -> logic.exportInternalStorageContent(os);
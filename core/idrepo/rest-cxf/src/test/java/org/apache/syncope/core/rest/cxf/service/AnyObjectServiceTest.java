@@ -129,7 +129,8 @@ public class AnyObjectServiceTest {
             AnyObjectDAO anyObjectDAO = mock(AnyObjectDAO.class);
 
             AnyObjectLogic logic = mock(AnyObjectLogic.class);
-            when(logic.search(any(SearchCond.class), anyInt(), anyInt(), anyList(), anyString(), anyBoolean())).
+            when(logic.search(
+                    any(SearchCond.class), anyInt(), anyInt(), anyList(), anyString(), anyBoolean(), anyBoolean())).
                     thenAnswer(ic -> {
                         AnyObjectTO printer1 = new AnyObjectTO();
                         printer1.setKey(UUID.randomUUID().toString());
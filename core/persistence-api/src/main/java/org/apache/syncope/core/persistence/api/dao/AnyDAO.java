@@ -93,6 +93,16 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
      */
     List<String> findAllKeys(int page, int itemsPerPage);
 
+    /**
+     * Find any objects' keys without any limitation, sorted by key and strictly greater than the given last key;
+     * differently from {@link #findAllKeys(int, int)}, the cost of each invocation does not grow with the position.
+     *
+     * @param lastKey last key returned by the previous invocation, or {@code null} to start from the beginning
+     * @param itemsPerPage maximum number of keys to return
+     * @return any objects' keys following the provided last key
+     */
+    List<String> findAllKeys(String lastKey, int itemsPerPage);
+
     <S extends Schema> AllowedSchemas<S> findAllowedSchemas(A any, Class<S> reference);
 
     A save(A any);
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.function.Predicate;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 
@@ -32,4 +33,17 @@ public interface AnyMatchDAO extends DAO<Any<?>> {
      * @return true if any matches cond
      */
     <T extends Any<?>> boolean matches(T any, SearchCond cond);
+
+    /**
+     * Returns a predicate verifying if the given any matches search conditions: memberships, relationships, roles,
+     * resources, dynamic realms and attributes of the given any are read at most once, so that any number of
+     * conditions can be evaluated without further queries.
+     *
+     * The returned predicate is meant to be used within the current transaction.
+     *
+     * @param any to be checked
+     * @param <T> any
+     * @return predicate verifying if any matches the search condition provided
+     */
+    <T extends Any<?>> Predicate<SearchCond> matcher(T any);
 }
@@ -20,6 +20,8 @@ package org.apache.syncope.core.persistence.api.dao;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
@@ -65,4 +67,64 @@ public interface AnySearchDAO extends DAO<Any<?>> {
     <T extends Any<?>> List<T> search(
             Set<String> adminRealms, SearchCond searchCondition, int page, int itemsPerPage,
             List<OrderByClause> orderBy, AnyTypeKind kind);
+
+    /**
+     * Combines {@link #count(java.util.Set, SearchCond, AnyTypeKind)} and
+     * {@link #search(java.util.Set, SearchCond, int, int, java.util.List, AnyTypeKind)}: whenever possible, both
+     * the total count and the requested page are computed within the same query.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param page position of the first result, start from 1
+     * @param itemsPerPage number of results per page
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @param estimatedCount whether the total count can be estimated rather than exactly computed; when true, the
+     * returned count is only guaranteed to be greater than the last item in the given page if more items follow
+     * @param <T> any
+     * @return the total number of any objects matching the given search condition, and the list of any objects
+     * matching the given search condition (in the given page)
+     */
+    <T extends Any<?>> Pair<Integer, List<T>> searchAndCount(
+            Set<String> adminRealms, SearchCond searchCondition, int page, int itemsPerPage,
+            List<OrderByClause> orderBy, AnyTypeKind kind, boolean estimatedCount);
+
+    /**
+     * Keyset (seek) variant of search: rather than skipping the first {@code (page - 1) * itemsPerPage} results,
+     * this method only considers keys strictly greater than the given {@code lastKey}, so that the cost of each
+     * invocation does not depend on how deep the caller is into the result set.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param lastKey last key returned by the previous invocation, or {@code null} to start from the beginning
+     * @param itemsPerPage maximum number of keys to return
+     * @param kind any object
+     * @return the keys of any objects matching the given search condition, sorted by key
+     */
+    List<String> seek(
+            Set<String> adminRealms, SearchCond searchCondition, String lastKey, int itemsPerPage, AnyTypeKind kind);
+
+    /**
+     * Lazily walks the whole result set of the given search condition, by means of subsequent invocations of
+     * {@link #seek(java.util.Set, SearchCond, java.lang.String, int, AnyTypeKind)}.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param kind any object
+     * @param batchSize maximum number of keys in each batch
+     * @return stream of batches of keys of any objects matching the given search condition, sorted by key
+     */
+    default Stream<List<String>> stream(
+            final Set<String> adminRealms,
+            final SearchCond searchCondition,
+            final AnyTypeKind kind,
+            final int batchSize) {
+
+        return Stream.iterate(
+                seek(adminRealms, searchCondition, null, batchSize, kind),
+                keys -> !keys.isEmpty(),
+                keys -> keys.size() < batchSize
+                ? List.of()
+                : seek(adminRealms, searchCondition, keys.get(keys.size() - 1), batchSize, kind));
+    }
 }
@@ -18,7 +18,9 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.List;
 import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchChunk;
 
 public interface BatchDAO extends DAO<Batch> {
 
@@ -26,6 +28,12 @@ public interface BatchDAO extends DAO<Batch> {
 
     Batch save(Batch batch);
 
+    BatchChunk findChunk(String key, int index);
+
+    List<BatchChunk> findChunks(String key);
+
+    BatchChunk save(BatchChunk chunk);
+
     void delete(String key);
 
     int deleteExpired();
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.dao;
+
+import java.util.List;
+import org.apache.syncope.core.persistence.api.entity.CSVPull;
+
+public interface CSVPullDAO extends DAO<CSVPull> {
+
+    CSVPull find(String key);
+
+    /**
+     * Saves the given CSV pull in its own transaction, so that it is available straight away to the job pulling it,
+     * whichever node it runs on.
+     *
+     * @param csvPull CSV pull
+     * @return saved CSV pull
+     */
+    CSVPull save(CSVPull csvPull);
+
+    /**
+     * Stores a report of the given CSV pull in its own transaction, so that it can be read straight away.
+     *
+     * @param key CSV pull key
+     * @param report report, serialized as JSON
+     * @return whether the given CSV pull exists, hence the report was stored
+     */
+    boolean addReport(String key, String report);
+
+    /**
+     * @param key CSV pull key
+     * @return reports stored so far for the given CSV pull, serialized as JSON, ordered by storage time
+     */
+    List<String> findReports(String key);
+
+    void delete(String key);
+
+    int deleteExpired();
+}
@@ -26,5 +26,10 @@ public interface DAO<E extends Entity> {
 
     void detach(E entity);
 
+    /**
+     * Synchronizes pending changes to the database, if running within a transaction.
+     */
+    void flush();
+
     void clear();
 }
@@ -18,7 +18,9 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.Date;
 import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.log.AuditEntry;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.LoggerType;
@@ -31,6 +33,22 @@ public interface LoggerDAO extends DAO<Logger> {
 
     String AUDIT_MESSAGE_COLUMN = "MESSAGE";
 
+    String AUDIT_DATE_COLUMN = "EVENT_DATE";
+
+    String AUDIT_ID_COLUMN = "EVENT_ID";
+
+    String AUDIT_ENTITY_KEY_COLUMN = "ENTITY_KEY";
+
+    String AUDIT_TYPE_COLUMN = "EVENT_TYPE";
+
+    String AUDIT_CATEGORY_COLUMN = "EVENT_CATEGORY";
+
+    String AUDIT_SUBCATEGORY_COLUMN = "EVENT_SUBCATEGORY";
+
+    String AUDIT_EVENT_COLUMN = "EVENT_NAME";
+
+    String AUDIT_RESULT_COLUMN = "EVENT_RESULT";
+
     Logger find(String key);
 
     List<Logger> findAll(LoggerType type);
@@ -41,7 +59,24 @@ public interface LoggerDAO extends DAO<Logger> {
 
     void delete(Logger logger);
 
-    List<AuditEntry> findAuditEntries(
+    /**
+     * Finds the audit entries matching the given criteria, by looking at the dedicated columns populated when each
+     * entry is written.
+     *
+     * @param entityKey key of the entity the audit entries are about, or {@code null}
+     * @param page page to return
+     * @param size number of entries per page
+     * @param type event type, or {@code null}
+     * @param category event category, or {@code null}
+     * @param subcategory event subcategory, or {@code null}
+     * @param events event names, any of which shall match; ignored if empty
+     * @param result event result, or {@code null}
+     * @param cursor if not {@code null}, only entries following the one with this cursor, most recent first, are
+     * returned: passing the cursor of the last entry of the previous page, with page 1, allows keyset pagination
+     * @param orderByClauses ordering; most recent entries first, if empty
+     * @return matching audit entries, each with its cursor
+     */
+    List<Pair<String, AuditEntry>> findAuditEntries(
             String entityKey,
             int page,
             int size,
@@ -50,12 +85,41 @@ public interface LoggerDAO extends DAO<Logger> {
             String subcategory,
             List<String> events,
             AuditElements.Result result,
+            String cursor,
             List<OrderByClause> orderByClauses);
 
-    int countAuditEntries(String entityKey,
-                          AuditElements.EventCategoryType type,
-                          String category,
-                          String subcategory,
-                          List<String> events,
-                          AuditElements.Result result);
+    int countAuditEntries(
+            String entityKey,
+            AuditElements.EventCategoryType type,
+            String category,
+            String subcategory,
+            List<String> events,
+            AuditElements.Result result,
+            String cursor);
+
+    /**
+     * Deletes all audit entries strictly older than the given date.
+     *
+     * @param before date before which audit entries are deleted
+     * @return number of deleted audit entries
+     */
+    int deleteAuditEntries(Date before);
+
+    /**
+     * Finds the id of the latest audit entry.
+     *
+     * @return id of the latest audit entry, or {@code null} if none was found
+     */
+    Long findLastAuditEntryId();
+
+    /**
+     * Fills the dedicated columns of audit entries written before such columns were available, out of their message.
+     * Entries are considered by increasing id, within the given range; those whose message cannot be read are skipped.
+     *
+     * @param after only entries with larger id are considered
+     * @param upTo only entries with smaller or equal id are considered
+     * @param max maximum number of entries to consider
+     * @return id of the last entry considered, to be passed to the next invocation; {@code null} when none was found
+     */
+    Long fillAuditColumns(long after, long upTo, int max);
 }
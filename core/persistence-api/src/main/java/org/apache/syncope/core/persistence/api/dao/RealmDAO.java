@@ -53,6 +53,22 @@ public interface RealmDAO extends DAO<Realm> {
 
     List<Realm> findDescendants(Realm realm);
 
+    /**
+     * Same as {@link #findDescendants(Realm)}, but only returning keys, with no need to load any realm.
+     *
+     * @param realm realm
+     * @return keys of the given realm and all of its descendants
+     */
+    List<String> findDescendantKeys(Realm realm);
+
+    /**
+     * Same as {@link #findDescendants(Realm)}, but only returning full paths, with no need to load any realm.
+     *
+     * @param realm realm
+     * @return full paths of the given realm and all of its descendants
+     */
+    List<String> findDescendantFullPaths(Realm realm);
+
     List<Realm> findAll();
 
     Realm save(Realm realm);
@@ -67,6 +67,15 @@ public interface TaskDAO extends DAO<Task> {
 
     <T extends Task> T save(T task);
 
+    /**
+     * Persists the given, newly created, tasks at once, so that they can be flushed together.
+     *
+     * @param <T> actual task type
+     * @param tasks new tasks
+     * @return persisted tasks
+     */
+    <T extends Task> List<T> saveAll(List<T> tasks);
+
     void delete(String key);
 
     void delete(Task task);
@@ -29,4 +29,11 @@ public interface Batch extends ProvidedKeyEntity {
     String getResults();
 
     void setResults(String results);
+
+    /**
+     * @return total number of {@link BatchChunk}s, once all results were stored as such; {@code null} otherwise
+     */
+    Integer getChunks();
+
+    void setChunks(Integer chunks);
 }
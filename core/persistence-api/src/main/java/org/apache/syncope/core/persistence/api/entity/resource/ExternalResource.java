@@ -102,6 +102,10 @@ public interface ExternalResource extends ProvidedKeyEntity {
 
     void setRandomPwdIfNotProvided(boolean condition);
 
+    boolean isLightweightPropagation();
+
+    void setLightweightPropagation(boolean lightweightPropagation);
+
     boolean add(Provision provision);
 
     Optional<? extends Provision> getProvision(String anyType);
@@ -57,4 +57,12 @@ public interface ProvisioningTask extends SchedTask {
     boolean isSyncStatus();
 
     void setSyncStatus(boolean syncStatus);
+
+    int getThreadPoolSize();
+
+    void setThreadPoolSize(int threadPoolSize);
+
+    int getQueueCapacity();
+
+    void setQueueCapacity(int queueCapacity);
 }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.search;
+
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+
+/**
+ * Keeps, for each domain, a bounded number of {@link SearchCond} instances as parsed from FIQL expressions, to avoid
+ * parsing the same expression over and over - as it happens with dynamic memberships, push filters, notification
+ * recipients and about conditions.
+ *
+ * Returned instances are shared among callers and must not be modified.
+ */
+public interface SearchCondCache {
+
+    /**
+     * Returns the {@link SearchCond} for the given FIQL expression, parsing it via {@link SearchCondConverter} only
+     * if not found for the current domain.
+     *
+     * @param fiql FIQL string
+     * @param realms optional realm to provide to {@link SearchCondVisitor}
+     * @return {@link SearchCond} instance for given FIQL expression
+     */
+    SearchCond get(String fiql, String... realms);
+
+    /**
+     * Discards all the {@link SearchCond} instances cached for the given domain.
+     *
+     * @param domain domain
+     */
+    void invalidate(String domain);
+}
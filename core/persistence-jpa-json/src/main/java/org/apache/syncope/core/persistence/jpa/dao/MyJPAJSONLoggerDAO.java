@@ -18,42 +18,8 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import java.util.List;
-import java.util.stream.Collectors;
-import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
-
-public class MyJPAJSONLoggerDAO extends AbstractJPAJSONLoggerDAO {
-
-    private static class MyMessageCriteriaBuilder extends JSONMessageCriteriaBuilder {
-
-        @Override
-        protected String doBuild(final List<ObjectNode> containers) {
-            if (entityKey != null) {
-                query.append('(').append(AUDIT_MESSAGE_COLUMN).append("->'$.before' LIKE '%").append(entityKey).
-                        append("%' OR ").append(AUDIT_MESSAGE_COLUMN).append("->'$.input' LIKE '%").append(entityKey).
-                        append("%' OR ").append(AUDIT_MESSAGE_COLUMN).append("->'$.output' LIKE '%").append(entityKey).
-                        append("%')");
-            }
-
-            if (!containers.isEmpty()) {
-                if (entityKey != null) {
-                    query.append(" AND (");
-                }
-                query.append(containers.stream().map(container -> "JSON_CONTAINS(" + AUDIT_MESSAGE_COLUMN + ", '"
-                        + POJOHelper.serialize(container).replace("'", "''")
-                        + "')").collect(Collectors.joining(" OR ")));
-                if (entityKey != null) {
-                    query.append(')');
-                }
-            }
-
-            return query.toString();
-        }
-    }
-
-    @Override
-    protected MessageCriteriaBuilder messageCriteriaBuilder(final String entityKey) {
-        return new MyMessageCriteriaBuilder().entityKey(entityKey);
-    }
+/**
+ * Audit entries are searched via the dedicated columns, as with any other database; the JSON message is only read.
+ */
+public class MyJPAJSONLoggerDAO extends JPALoggerDAO {
 }
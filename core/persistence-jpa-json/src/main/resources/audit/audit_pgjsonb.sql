@@ -22,4 +22,16 @@ CREATE TABLE IF NOT EXISTS SYNCOPEAUDIT (
   MESSAGE JSONB NOT NULL,
   THROWABLE TEXT
 );
-CREATE INDEX SYNCOPEAUDIT_idx ON SYNCOPEAUDIT USING gin ((MESSAGE) jsonb_path_ops)
+
+-- structured columns and indexes, also applied to tables created by previous versions;
+-- EVENT_ID is a unique tie-breaker among entries sharing the same EVENT_DATE, generated for existing rows as well
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_ID BIGSERIAL;
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS ENTITY_KEY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_TYPE VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_CATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_SUBCATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_NAME VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD COLUMN IF NOT EXISTS EVENT_RESULT VARCHAR(255);
+CREATE INDEX IF NOT EXISTS SYNCOPEAUDIT_DATE_IDX ON SYNCOPEAUDIT(EVENT_DATE, EVENT_ID);
+CREATE INDEX IF NOT EXISTS SYNCOPEAUDIT_ENTITY_IDX ON SYNCOPEAUDIT(ENTITY_KEY, EVENT_DATE, EVENT_ID);
+CREATE INDEX IF NOT EXISTS SYNCOPEAUDIT_EVENT_IDX ON SYNCOPEAUDIT(EVENT_CATEGORY, EVENT_SUBCATEGORY, EVENT_NAME, EVENT_DATE, EVENT_ID);
@@ -32,7 +32,9 @@ import org.apache.syncope.core.persistence.api.dao.PlainAttrValueDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
 import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.jpa.dao.DefaultSearchCondCache;
 import org.apache.syncope.core.persistence.jpa.spring.CommonEntityManagerFactoryConf;
 import org.apache.syncope.core.persistence.jpa.spring.DomainTransactionInterceptorInjector;
 import org.apache.syncope.core.persistence.jpa.spring.MultiJarAwarePersistenceUnitPostProcessor;
@@ -155,6 +157,13 @@ public class PersistenceContext implements EnvironmentAware {
         return (SearchCondVisitor) Class.forName(env.getProperty("any.search.visitor")).getConstructor().newInstance();
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public SearchCondCache searchCondCache(final SearchCondVisitor anySearchVisitor) {
+        return new DefaultSearchCondCache(
+                anySearchVisitor, env.getProperty("searchCondCache.maxSize", Integer.class, 1000));
+    }
+
     @ConditionalOnMissingBean(name = "userDAO")
     @Bean
     public UserDAO userDAO()
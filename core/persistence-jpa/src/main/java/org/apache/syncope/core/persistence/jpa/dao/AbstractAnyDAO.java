@@ -132,6 +132,22 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return result;
     }
 
+    protected List<String> findAllKeys(final String table, final String lastKey, final int itemsPerPage) {
+        Query query = entityManager().createNativeQuery(
+                "SELECT id FROM " + table + (lastKey == null ? "" : " WHERE id > ?") + " ORDER BY id", String.class);
+        if (lastKey != null) {
+            query.setParameter(1, lastKey);
+        }
+        query.setMaxResults(itemsPerPage);
+
+        List<String> result = new ArrayList<>();
+        query.getResultList().stream().map(resultKey -> resultKey instanceof Object[]
+                ? (String) ((Object[]) resultKey)[0]
+                : ((String) resultKey)).
+                forEach(actualKey -> result.add(actualKey.toString()));
+        return result;
+    }
+
     protected Date findLastChange(final String key, final String table) {
         Query query = entityManager().createNativeQuery(
                 "SELECT creationDate, lastChangeDate FROM " + table + " WHERE id=?");
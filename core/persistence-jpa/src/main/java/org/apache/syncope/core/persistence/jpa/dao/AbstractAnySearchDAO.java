@@ -136,6 +136,19 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
         return search(SyncopeConstants.FULL_ADMIN_REALMS, cond, -1, -1, orderBy, kind);
     }
 
+    protected static List<OrderByClause> effectiveOrderBy(final List<OrderByClause> orderBy, final AnyTypeKind kind) {
+        if (orderBy.isEmpty()) {
+            OrderByClause keyClause = new OrderByClause();
+            keyClause.setField(kind == AnyTypeKind.USER ? "username" : "name");
+            keyClause.setDirection(OrderByClause.Direction.ASC);
+            return List.of(keyClause);
+        }
+
+        return orderBy.stream().
+                filter(clause -> !ArrayUtils.contains(ORDER_BY_NOT_ALLOWED, clause.getField())).
+                collect(Collectors.toList());
+    }
+
     protected abstract <T extends Any<?>> List<T> doSearch(
             Set<String> adminRealms,
             SearchCond searchCondition,
@@ -144,6 +157,35 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
             List<OrderByClause> orderBy,
             AnyTypeKind kind);
 
+    protected abstract List<String> doSeek(
+            Set<String> adminRealms,
+            SearchCond searchCondition,
+            String lastKey,
+            int itemsPerPage,
+            AnyTypeKind kind);
+
+    @Override
+    public List<String> seek(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final String lastKey,
+            final int itemsPerPage,
+            final AnyTypeKind kind) {
+
+        if (adminRealms == null || adminRealms.isEmpty()) {
+            LOG.error("No realms provided");
+            return List.of();
+        }
+
+        LOG.debug("Search condition:\n{}", cond);
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return List.of();
+        }
+
+        return doSeek(adminRealms, cond, lastKey, itemsPerPage, kind);
+    }
+
     protected Pair<PlainSchema, PlainAttrValue> check(final AttrCond cond, final AnyTypeKind kind) {
         AnyUtils anyUtils = anyUtilsFactory.getInstance(kind);
 
@@ -333,18 +375,64 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
             return List.of();
         }
 
-        List<OrderByClause> effectiveOrderBy;
-        if (orderBy.isEmpty()) {
-            OrderByClause keyClause = new OrderByClause();
-            keyClause.setField(kind == AnyTypeKind.USER ? "username" : "name");
-            keyClause.setDirection(OrderByClause.Direction.ASC);
-            effectiveOrderBy = List.of(keyClause);
-        } else {
-            effectiveOrderBy = orderBy.stream().
-                    filter(clause -> !ArrayUtils.contains(ORDER_BY_NOT_ALLOWED, clause.getField())).
-                    collect(Collectors.toList());
+        return doSearch(adminRealms, cond, page, itemsPerPage, effectiveOrderBy(orderBy, kind), kind);
+    }
+
+    /**
+     * Default implementation, running one query for the count and another one for the actual search; meant to be
+     * overridden by subclasses able to compute both at once.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param cond the search condition
+     * @param page position of the first result, start from 1
+     * @param itemsPerPage number of results per page
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @param estimatedCount whether the total count can be estimated rather than exactly computed
+     * @param <T> any
+     * @return the total number of any objects matching the given search condition, and the given page
+     */
+    protected <T extends Any<?>> Pair<Integer, List<T>> doSearchAndCount(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind,
+            final boolean estimatedCount) {
+
+        List<T> result = doSearch(adminRealms, cond, page, itemsPerPage, orderBy, kind);
+        if (estimatedCount && itemsPerPage > 0) {
+            // a full page might be followed by more items: report one more than the ones seen so far
+            int offset = itemsPerPage * (page <= 0 ? 0 : page - 1);
+            return Pair.of(offset + result.size() + (result.size() < itemsPerPage ? 0 : 1), result);
+        }
+
+        return Pair.of(doCount(adminRealms, cond, kind), result);
+    }
+
+    @Override
+    public <T extends Any<?>> Pair<Integer, List<T>> searchAndCount(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind,
+            final boolean estimatedCount) {
+
+        if (adminRealms == null || adminRealms.isEmpty()) {
+            LOG.error("No realms provided");
+            return Pair.of(0, List.of());
+        }
+
+        LOG.debug("Search condition:\n{}", cond);
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return Pair.of(0, List.of());
         }
 
-        return doSearch(adminRealms, cond, page, itemsPerPage, effectiveOrderBy, kind);
+        return doSearchAndCount(
+                adminRealms, cond, page, itemsPerPage, effectiveOrderBy(orderBy, kind), kind, estimatedCount);
     }
 }
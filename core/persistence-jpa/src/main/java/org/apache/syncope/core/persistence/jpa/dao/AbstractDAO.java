@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Configurable
 public abstract class AbstractDAO<E extends Entity> implements DAO<E> {
@@ -54,6 +55,13 @@ public abstract class AbstractDAO<E extends Entity> implements DAO<E> {
         entityManager().detach(entity);
     }
 
+    @Override
+    public void flush() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager().flush();
+        }
+    }
+
     @Override
     public void clear() {
         entityManager().clear();
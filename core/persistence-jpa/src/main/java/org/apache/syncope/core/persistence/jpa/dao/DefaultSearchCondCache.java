@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.provisioning.api.event.SchemaChangedEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * {@link SearchCondCache} holding, for each domain, a size-bounded LRU map keyed by FIQL expression and realm.
+ *
+ * Invalid expressions are not cached; all entries of a domain are discarded upon {@link SchemaChangedEvent}, as the
+ * outcome of parsing depends on the schemas defined.
+ */
+public class DefaultSearchCondCache implements SearchCondCache {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(SearchCondCache.class);
+
+    protected class Domain {
+
+        protected final LinkedHashMap<Pair<String, String>, SearchCond> entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = -3466412578211457021L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Pair<String, String>, SearchCond> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    protected final SearchCondVisitor visitor;
+
+    /**
+     * Maximum number of entries per domain; values lower than 1 disable caching.
+     */
+    protected final int maxSize;
+
+    protected final Map<String, Domain> domains = new ConcurrentHashMap<>();
+
+    protected final LongAdder hits = new LongAdder();
+
+    protected final LongAdder misses = new LongAdder();
+
+    public DefaultSearchCondCache(final SearchCondVisitor visitor, final int maxSize) {
+        this.visitor = visitor;
+        this.maxSize = maxSize;
+    }
+
+    protected SearchCond parse(final String fiql, final String realm) {
+        // always reset, as the visitor keeps the realm in a thread-local variable
+        visitor.setRealm(realm);
+        return SearchCondConverter.convert(visitor, fiql);
+    }
+
+    @Override
+    public SearchCond get(final String fiql, final String... realms) {
+        String realm = realms != null && realms.length > 0 ? realms[0] : null;
+        if (maxSize <= 0) {
+            return parse(fiql, realm);
+        }
+
+        Pair<String, String> key = Pair.of(fiql, realm);
+        Domain domain = domains.computeIfAbsent(AuthContextUtils.getDomain(), d -> new Domain());
+
+        SearchCond cond;
+        synchronized (domain) {
+            cond = domain.entries.get(key);
+        }
+        if (cond != null) {
+            hits.increment();
+            return cond;
+        }
+
+        misses.increment();
+        cond = parse(fiql, realm);
+        synchronized (domain) {
+            domain.entries.put(key, cond);
+        }
+        return cond;
+    }
+
+    @Override
+    public void invalidate(final String domain) {
+        domains.remove(domain);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void schemaChanged(final SchemaChangedEvent event) {
+        LOG.debug("Schemas changed for domain {}, invalidating", event.getDomain());
+        invalidate(event.getDomain());
+    }
+
+    public long size() {
+        return domains.values().stream().mapToLong(domain -> {
+            synchronized (domain) {
+                return domain.entries.size();
+            }
+        }).sum();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultSearchCondCache{"
+                + "domains=" + domains.keySet() + ", size=" + size()
+                + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + '}';
+    }
+}
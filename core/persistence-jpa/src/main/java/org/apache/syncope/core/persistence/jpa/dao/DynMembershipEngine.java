@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.DynMembership;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
+
+/**
+ * Incremental refresh of dynamic memberships.
+ *
+ * FIQL conditions are parsed via {@link SearchCondCache}, hence only once until schemas change; the current
+ * memberships are read with a single query and only the resulting delta is written back, with at most one
+ * {@code DELETE} and one {@code INSERT ... SELECT} statement for each chunk of keys.
+ */
+public class DynMembershipEngine {
+
+    private static final int IN_CHUNK_SIZE = 500;
+
+    /**
+     * Describes a dynamic membership table, as {@code UDynGroupMembers} or {@code DynRoleMembers}.
+     */
+    public static class Table {
+
+        private final String name;
+
+        private final String ownerTable;
+
+        private final String ownerColumn;
+
+        private final boolean withAnyType;
+
+        public Table(
+                final String name,
+                final String ownerTable,
+                final String ownerColumn,
+                final boolean withAnyType) {
+
+            this.name = name;
+            this.ownerTable = ownerTable;
+            this.ownerColumn = ownerColumn;
+            this.withAnyType = withAnyType;
+        }
+    }
+
+    /**
+     * Returns the search condition for the given dynamic membership.
+     *
+     * @param memb dynamic membership
+     * @param searchCondCache search condition cache
+     * @return search condition for the given dynamic membership
+     */
+    public SearchCond getCond(final DynMembership<?> memb, final SearchCondCache searchCondCache) {
+        return searchCondCache.get(memb.getFIQLCond());
+    }
+
+    /**
+     * Finds the owners the given entity is currently dynamic member of.
+     *
+     * @param entityManager entity manager
+     * @param table dynamic membership table
+     * @param anyKey entity key
+     * @return owner keys
+     */
+    @SuppressWarnings("unchecked")
+    public Set<String> findOwners(final EntityManager entityManager, final Table table, final String anyKey) {
+        Query query = entityManager.createNativeQuery(
+                "SELECT " + table.ownerColumn + " FROM " + table.name + " WHERE any_id=?");
+        query.setParameter(1, anyKey);
+
+        return ((List<Object>) query.getResultList()).stream().map(key -> key instanceof Object[]
+                ? (String) ((Object[]) key)[0]
+                : ((String) key)).
+                collect(Collectors.toSet());
+    }
+
+    /**
+     * Evaluates the given candidate owners against the given entity, then aligns the dynamic membership table with
+     * the outcome.
+     *
+     * @param <O> owner type
+     * @param entityManager entity manager
+     * @param table dynamic membership table
+     * @param anyTypeKey entity type key, only used when the table keeps track of it
+     * @param anyKey entity key
+     * @param candidates owners to evaluate, with their keys
+     * @param matches whether the entity matches the dynamic condition of each owner
+     * @return owner keys before and after refresh
+     */
+    public <O> Pair<Set<String>, Set<String>> refresh(
+            final EntityManager entityManager,
+            final Table table,
+            final String anyTypeKey,
+            final String anyKey,
+            final Map<String, O> candidates,
+            final Predicate<O> matches) {
+
+        Set<String> before = findOwners(entityManager, table, anyKey);
+        before.retainAll(candidates.keySet());
+
+        Set<String> after = new HashSet<>();
+        candidates.forEach((ownerKey, owner) -> {
+            if (matches.test(owner)) {
+                after.add(ownerKey);
+            }
+        });
+
+        Set<String> toRemove = new HashSet<>(before);
+        toRemove.removeAll(after);
+        delete(entityManager, table, anyKey, toRemove);
+
+        Set<String> toAdd = new HashSet<>(after);
+        toAdd.removeAll(before);
+        insert(entityManager, table, anyTypeKey, anyKey, toAdd);
+
+        return Pair.of(before, after);
+    }
+
+    /**
+     * Finds the entities which are currently dynamic members of the given owner.
+     *
+     * @param entityManager entity manager
+     * @param table dynamic membership table
+     * @param ownerKey owner key
+     * @return entity keys
+     */
+    @SuppressWarnings("unchecked")
+    public Set<String> findMembers(final EntityManager entityManager, final Table table, final String ownerKey) {
+        Query query = entityManager.createNativeQuery(
+                "SELECT any_id FROM " + table.name + " WHERE " + table.ownerColumn + "=?");
+        query.setParameter(1, ownerKey);
+
+        return ((List<Object>) query.getResultList()).stream().map(key -> key instanceof Object[]
+                ? (String) ((Object[]) key)[0]
+                : ((String) key)).
+                collect(Collectors.toSet());
+    }
+
+    /**
+     * Aligns the dynamic members of the given owner with the provided set of matching entities, by removing and
+     * adding only the entities for which membership changed.
+     *
+     * @param entityManager entity manager
+     * @param table dynamic membership table
+     * @param anyTable table holding the entities, as {@code SyncopeUser} or {@code AnyObject}
+     * @param ownerKey owner key
+     * @param before keys of current dynamic members
+     * @param after keys of entities matching the dynamic condition
+     * @return keys of entities which were either added or removed
+     */
+    public Set<String> rebuild(
+            final EntityManager entityManager,
+            final Table table,
+            final String anyTable,
+            final String ownerKey,
+            final Set<String> before,
+            final Set<String> after) {
+
+        Set<String> toRemove = new HashSet<>(before);
+        toRemove.removeAll(after);
+        ListUtils.partition(new ArrayList<>(toRemove), IN_CHUNK_SIZE).forEach(chunk -> {
+            Query delete = entityManager.createNativeQuery(
+                    "DELETE FROM " + table.name + " WHERE " + table.ownerColumn + "=? "
+                    + "AND any_id IN (" + placeholders(chunk.size()) + ")");
+            delete.setParameter(1, ownerKey);
+            for (int i = 0; i < chunk.size(); i++) {
+                delete.setParameter(i + 2, chunk.get(i));
+            }
+            delete.executeUpdate();
+        });
+
+        Set<String> toAdd = new HashSet<>(after);
+        toAdd.removeAll(before);
+        ListUtils.partition(new ArrayList<>(toAdd), IN_CHUNK_SIZE).forEach(chunk -> {
+            Query insert = entityManager.createNativeQuery(
+                    "INSERT INTO " + table.name + '('
+                    + (table.withAnyType ? "anyType_id, " : "") + "any_id, " + table.ownerColumn + ") "
+                    + "SELECT " + (table.withAnyType ? "type_id, " : "") + "id, ? FROM " + anyTable
+                    + " WHERE id IN (" + placeholders(chunk.size()) + ")");
+            insert.setParameter(1, ownerKey);
+            for (int i = 0; i < chunk.size(); i++) {
+                insert.setParameter(i + 2, chunk.get(i));
+            }
+            insert.executeUpdate();
+        });
+
+        Set<String> changed = new HashSet<>(toRemove);
+        changed.addAll(toAdd);
+        return changed;
+    }
+
+    private static String placeholders(final int size) {
+        return String.join(",", Collections.nCopies(size, "?"));
+    }
+
+    private static void delete(
+            final EntityManager entityManager,
+            final Table table,
+            final String anyKey,
+            final Collection<String> ownerKeys) {
+
+        ListUtils.partition(new ArrayList<>(ownerKeys), IN_CHUNK_SIZE).forEach(chunk -> {
+            Query delete = entityManager.createNativeQuery(
+                    "DELETE FROM " + table.name + " WHERE any_id=? "
+                    + "AND " + table.ownerColumn + " IN (" + placeholders(chunk.size()) + ")");
+            delete.setParameter(1, anyKey);
+            for (int i = 0; i < chunk.size(); i++) {
+                delete.setParameter(i + 2, chunk.get(i));
+            }
+            delete.executeUpdate();
+        });
+    }
+
+    private static void insert(
+            final EntityManager entityManager,
+            final Table table,
+            final String anyTypeKey,
+            final String anyKey,
+            final Collection<String> ownerKeys) {
+
+        ListUtils.partition(new ArrayList<>(ownerKeys), IN_CHUNK_SIZE).forEach(chunk -> {
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table.name).append('(');
+            if (table.withAnyType) {
+                sql.append("anyType_id, ");
+            }
+            sql.append("any_id, ").append(table.ownerColumn).append(") SELECT ");
+            if (table.withAnyType) {
+                sql.append("?, ");
+            }
+            sql.append("?, id FROM ").append(table.ownerTable).
+                    append(" WHERE id IN (").append(placeholders(chunk.size())).append(')');
+
+            Query insert = entityManager.createNativeQuery(sql.toString());
+            int index = 1;
+            if (table.withAnyType) {
+                insert.setParameter(index++, anyTypeKey);
+            }
+            insert.setParameter(index++, anyKey);
+            for (String ownerKey : chunk) {
+                insert.setParameter(index++, ownerKey);
+            }
+            insert.executeUpdate();
+        });
+    }
+}
@@ -23,15 +23,24 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.persistence.Entity;
 import javax.validation.ValidationException;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
@@ -56,8 +65,10 @@ import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
 import org.apache.syncope.core.persistence.api.entity.GroupableRelatable;
 import org.apache.syncope.core.persistence.api.entity.PlainAttr;
-import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -72,6 +83,40 @@ import org.springframework.beans.BeanUtils;
 @Component
 public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
 
+    private static final int LIKE_PATTERNS_MAX_SIZE = 1000;
+
+    /**
+     * Entity field read by an {@link AnyCond}, with the schema type its value shall be compared as.
+     */
+    private static class AnyField {
+
+        private final PropertyDescriptor pd;
+
+        private final AttrSchemaType type;
+
+        AnyField(final PropertyDescriptor pd, final AttrSchemaType type) {
+            this.pd = pd;
+            this.type = type;
+        }
+    }
+
+    /**
+     * Fields resolved so far, by entity class and {@link AnyCond} schema; search conditions are never modified, as
+     * they may be shared - see {@link org.apache.syncope.core.persistence.api.search.SearchCondCache}.
+     */
+    private static final Map<Pair<Class<?>, String>, Optional<AnyField>> ANY_FIELDS = new ConcurrentHashMap<>();
+
+    private static final Map<Pair<AttrCond.Type, String>, Pattern> LIKE_PATTERNS =
+            new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 5371287519622484346L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Pair<AttrCond.Type, String>, Pattern> eldest) {
+            return size() > LIKE_PATTERNS_MAX_SIZE;
+        }
+    };
+
     @Autowired
     private UserDAO userDAO;
 
@@ -91,16 +136,176 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
     private AnyUtilsFactory anyUtilsFactory;
 
     /**
-     * Verify if any matches the given search condition.
-     *
-     * @param any to be checked
-     * @param cond to be verified
-     * @param <T> any
-     * @return true if any matches cond
+     * What is known about an entity for the purpose of evaluating search conditions: each kind of information is
+     * loaded at most once, when first needed, then all conditions are evaluated in memory.
      */
+    private class Facts {
+
+        private final Any<?> any;
+
+        private Map<String, PlainAttr<?>> plainAttrs;
+
+        private Set<String> groupKeys;
+
+        private Set<String> groupNames;
+
+        private Set<String> relatedKeys;
+
+        private Set<String> relatedNames;
+
+        private Set<String> relationshipTypes;
+
+        private Set<String> roles;
+
+        private Set<String> dynRealms;
+
+        private Set<String> resources;
+
+        private Set<String> members;
+
+        private final Map<String, Optional<PlainSchema>> plainSchemas = new HashMap<>();
+
+        private final Map<String, Boolean> realms = new HashMap<>();
+
+        Facts(final Any<?> any) {
+            this.any = any;
+        }
+
+        Map<String, PlainAttr<?>> plainAttrs() {
+            if (plainAttrs == null) {
+                plainAttrs = new HashMap<>();
+                any.getPlainAttrs().forEach(attr -> plainAttrs.putIfAbsent(attr.getSchema().getKey(), attr));
+            }
+            return plainAttrs;
+        }
+
+        private void loadGroups() {
+            groupKeys = new HashSet<>();
+            groupNames = new HashSet<>();
+            if (any instanceof GroupableRelatable) {
+                ((GroupableRelatable<?, ?, ?, ?, ?>) any).getMemberships().forEach(memb -> {
+                    groupKeys.add(memb.getRightEnd().getKey());
+                    groupNames.add(memb.getRightEnd().getName());
+                });
+                (any instanceof User
+                        ? userDAO.findDynGroups(any.getKey())
+                        : anyObjectDAO.findDynGroups(any.getKey())).forEach(group -> {
+                            groupKeys.add(group.getKey());
+                            groupNames.add(group.getName());
+                        });
+            }
+        }
+
+        Set<String> groupKeys() {
+            if (groupKeys == null) {
+                loadGroups();
+            }
+            return groupKeys;
+        }
+
+        Set<String> groupNames() {
+            if (groupNames == null) {
+                loadGroups();
+            }
+            return groupNames;
+        }
+
+        private void loadRelationships() {
+            relatedKeys = new HashSet<>();
+            relatedNames = new HashSet<>();
+            relationshipTypes = new HashSet<>();
+            if (any instanceof GroupableRelatable) {
+                ((GroupableRelatable<?, ?, ?, ?, ?>) any).getRelationships().forEach(rel -> {
+                    relatedKeys.add(rel.getRightEnd().getKey());
+                    relatedNames.add(((AnyObject) rel.getRightEnd()).getName());
+                    relationshipTypes.add(rel.getType().getKey());
+                });
+            }
+        }
+
+        Set<String> relatedKeys() {
+            if (relatedKeys == null) {
+                loadRelationships();
+            }
+            return relatedKeys;
+        }
+
+        Set<String> relatedNames() {
+            if (relatedNames == null) {
+                loadRelationships();
+            }
+            return relatedNames;
+        }
+
+        Set<String> relationshipTypes() {
+            if (relationshipTypes == null) {
+                loadRelationships();
+            }
+            return relationshipTypes;
+        }
+
+        Set<String> roles() {
+            if (roles == null) {
+                roles = any instanceof User
+                        ? userDAO.findAllRoles((User) any).stream().map(Role::getKey).collect(Collectors.toSet())
+                        : Set.of();
+            }
+            return roles;
+        }
+
+        Set<String> dynRealms() {
+            if (dynRealms == null) {
+                dynRealms = new HashSet<>(anyUtilsFactory.getInstance(any).dao().findDynRealms(any.getKey()));
+            }
+            return dynRealms;
+        }
+
+        Set<String> resources() {
+            if (resources == null) {
+                resources = anyUtilsFactory.getInstance(any).getAllResources(any).stream().
+                        map(ExternalResource::getKey).collect(Collectors.toSet());
+            }
+            return resources;
+        }
+
+        Set<String> members() {
+            if (members == null) {
+                members = new HashSet<>();
+                if (any instanceof Group) {
+                    Group group = (Group) any;
+                    groupDAO.findUMemberships(group).forEach(memb -> members.add(memb.getLeftEnd().getKey()));
+                    members.addAll(groupDAO.findUDynMembers(group));
+                    groupDAO.findAMemberships(group).forEach(memb -> members.add(memb.getLeftEnd().getKey()));
+                    members.addAll(groupDAO.findADynMembers(group));
+                }
+            }
+            return members;
+        }
+
+        Optional<PlainSchema> plainSchema(final String key) {
+            return plainSchemas.computeIfAbsent(key, k -> Optional.ofNullable(plainSchemaDAO.find(k)));
+        }
+
+        boolean realmExists(final String fullPath) {
+            return realms.computeIfAbsent(fullPath, p -> realmDAO.findByFullPath(p) != null);
+        }
+    }
+
     @Transactional(readOnly = true)
     @Override
     public <T extends Any<?>> boolean matches(final T any, final SearchCond cond) {
+        return matches(new Facts(any), cond);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public <T extends Any<?>> Predicate<SearchCond> matcher(final T any) {
+        Facts facts = new Facts(any);
+        return cond -> matches(facts, cond);
+    }
+
+    private boolean matches(final Facts facts, final SearchCond cond) {
+        Any<?> any = facts.any;
         boolean not = cond.getType() == SearchCond.Type.NOT_LEAF;
         switch (cond.getType()) {
             case LEAF:
@@ -113,53 +318,53 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
                 if (match == null) {
                     match = cond.getLeaf(RelationshipTypeCond.class).
                             filter(leaf -> any instanceof GroupableRelatable).
-                            map(leaf -> matches((GroupableRelatable) any, leaf, not)).
+                            map(leaf -> matches(facts, leaf, not)).
                             orElse(null);
                 }
 
                 if (match == null) {
                     match = cond.getLeaf(RelationshipCond.class).
                             filter(leaf -> any instanceof GroupableRelatable).
-                            map(leaf -> matches((GroupableRelatable) any, leaf, not)).
+                            map(leaf -> matches(facts, leaf, not)).
                             orElse(null);
                 }
 
                 if (match == null) {
                     match = cond.getLeaf(MembershipCond.class).
                             filter(leaf -> any instanceof GroupableRelatable).
-                            map(leaf -> matches((GroupableRelatable) any, leaf, not)).
+                            map(leaf -> matches(facts, leaf, not)).
                             orElse(null);
                 }
 
                 if (match == null) {
                     match = cond.getLeaf(AssignableCond.class).
-                            map(leaf -> matches(any, leaf, not)).
+                            map(leaf -> matches(facts, leaf, not)).
                             orElse(null);
                 }
 
                 if (match == null) {
                     match = cond.getLeaf(RoleCond.class).
                             filter(leaf -> any instanceof User).
-                            map(leaf -> matches((User) any, leaf, not)).
+                            map(leaf -> matches(facts, leaf, not)).
                             orElse(null);
                 }
 
                 if (match == null) {
                     match = cond.getLeaf(DynRealmCond.class).
-                            map(leaf -> matches(any, leaf, not)).
+                            map(leaf -> matches(facts, leaf, not)).
                             orElse(null);
                 }
 
                 if (match == null) {
                     match = cond.getLeaf(MemberCond.class).
                             filter(leaf -> any instanceof Group).
-                            map(leaf -> matches((Group) any, leaf, not)).
+                            map(leaf -> matches(facts, leaf, not)).
                             orElse(null);
                 }
 
                 if (match == null) {
                     match = cond.getLeaf(ResourceCond.class).
-                            map(leaf -> matches(any, leaf, not)).
+                            map(leaf -> matches(facts, leaf, not)).
                             orElse(null);
                 }
 
@@ -169,24 +374,24 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
                         match = matches(any, anyCond.get(), not);
                     } else {
                         match = cond.getLeaf(AttrCond.class).
-                                map(leaf -> matches(any, leaf, not)).
+                                map(leaf -> matches(facts, leaf, not)).
                                 orElse(null);
                     }
                 }
 
                 if (match == null) {
                     match = cond.getLeaf(AttrCond.class).
-                            map(leaf -> matches(any, leaf, not)).
+                            map(leaf -> matches(facts, leaf, not)).
                             orElse(null);
                 }
 
                 return BooleanUtils.toBoolean(match);
 
             case AND:
-                return matches(any, cond.getLeft()) && matches(any, cond.getRight());
+                return matches(facts, cond.getLeft()) && matches(facts, cond.getRight());
 
             case OR:
-                return matches(any, cond.getLeft()) || matches(any, cond.getRight());
+                return matches(facts, cond.getLeft()) || matches(facts, cond.getRight());
 
             default:
         }
@@ -199,84 +404,93 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
         return not ? !equals : equals;
     }
 
-    private static boolean matches(
-        final GroupableRelatable<?, ?, ?, ?, ?> any, final RelationshipTypeCond cond, final boolean not) {
+    private static boolean matches(final Facts facts, final RelationshipTypeCond cond, final boolean not) {
+        boolean found = facts.relationshipTypes().contains(cond.getRelationshipTypeKey());
+        return not ? !found : found;
+    }
 
-        boolean found = any.getRelationships().stream().
-                anyMatch(rel -> rel.getType().getKey().equals(cond.getRelationshipTypeKey()));
+    private static boolean matches(final Facts facts, final RelationshipCond cond, final boolean not) {
+        boolean found = SyncopeConstants.UUID_PATTERN.matcher(cond.getAnyObject()).matches()
+                ? facts.relatedKeys().contains(cond.getAnyObject())
+                : facts.relatedNames().contains(cond.getAnyObject());
         return not ? !found : found;
     }
 
-    private boolean matches(
-            final GroupableRelatable<?, ?, ?, ?, ?> any, final RelationshipCond cond, final boolean not) {
+    private static boolean matches(final Facts facts, final MembershipCond cond, final boolean not) {
+        boolean found = SyncopeConstants.UUID_PATTERN.matcher(cond.getGroup()).matches()
+                ? facts.groupKeys().contains(cond.getGroup())
+                : facts.groupNames().contains(cond.getGroup());
+        return not ? !found : found;
+    }
 
-        String anyObject = cond.getAnyObject();
-        if (!SyncopeConstants.UUID_PATTERN.matcher(cond.getAnyObject()).matches()) {
-            anyObject = anyObjectDAO.findKey(anyObject);
-        }
+    private static boolean matches(final Facts facts, final AssignableCond cond, final boolean not) {
+        String realm = facts.any.getRealm().getFullPath();
+        String condRealm = cond.getRealmFullPath();
 
-        boolean found = !any.getRelationships(anyObject).isEmpty();
+        // assignable from group: the entity's realm is condition's realm or any of its descendants;
+        // otherwise: the entity's realm is condition's realm or any of its ancestors
+        boolean found = condRealm != null && (cond.isFromGroup()
+                ? isSameOrDescendant(realm, condRealm)
+                : isSameOrDescendant(condRealm, realm) && facts.realmExists(condRealm));
         return not ? !found : found;
     }
 
-    private boolean matches(
-            final GroupableRelatable<?, ?, ?, ?, ?> any, final MembershipCond cond, final boolean not) {
-
-        final String group = SyncopeConstants.UUID_PATTERN.matcher(cond.getGroup()).matches()
-                ? cond.getGroup()
-                : groupDAO.findKey(cond.getGroup());
+    private static boolean isSameOrDescendant(final String fullPath, final String ancestor) {
+        return SyncopeConstants.ROOT_REALM.equals(ancestor)
+                || fullPath.equals(ancestor)
+                || fullPath.startsWith(ancestor + '/');
+    }
 
-        boolean found = any.getMembership(group).isPresent()
-                || (any instanceof User
-                        ? userDAO.findDynGroups(any.getKey())
-                        : anyObjectDAO.findDynGroups(any.getKey())).stream().
-                        anyMatch(item -> item.getKey().equals(group));
+    private static boolean matches(final Facts facts, final RoleCond cond, final boolean not) {
+        boolean found = facts.roles().contains(cond.getRole());
         return not ? !found : found;
     }
 
-    private boolean matches(final Any<?> any, final AssignableCond cond, final boolean not) {
-        Realm realm = realmDAO.findByFullPath(cond.getRealmFullPath());
-        boolean found = Optional.ofNullable(realm)
-            .filter(realm1 -> (cond.isFromGroup() ? realmDAO.findDescendants(realm1) : realmDAO.findAncestors(realm1)).
-            stream().anyMatch(item -> item.equals(any.getRealm()))).isPresent();
+    private static boolean matches(final Facts facts, final DynRealmCond cond, final boolean not) {
+        boolean found = facts.dynRealms().contains(cond.getDynRealm());
         return not ? !found : found;
     }
 
-    private boolean matches(final User user, final RoleCond cond, final boolean not) {
-        boolean found = userDAO.findAllRoles(user).stream().anyMatch(role -> role.getKey().equals(cond.getRole()));
+    private static boolean matches(final Facts facts, final MemberCond cond, final boolean not) {
+        boolean found = facts.members().contains(cond.getMember());
         return not ? !found : found;
     }
 
-    private boolean matches(final Any<?> any, final DynRealmCond cond, final boolean not) {
-        boolean found = anyUtilsFactory.getInstance(any).dao().findDynRealms(any.getKey()).stream().
-                anyMatch(dynRealm -> dynRealm.equals(cond.getDynRealm()));
+    private static boolean matches(final Facts facts, final ResourceCond cond, final boolean not) {
+        boolean found = facts.resources().contains(cond.getResourceKey());
         return not ? !found : found;
     }
 
-    private boolean matches(final Group group, final MemberCond cond, final boolean not) {
-        boolean found = false;
-
-        GroupableRelatable<?, ?, ?, ?, ?> any = userDAO.find(cond.getMember());
-        if (any == null) {
-            any = anyObjectDAO.find(cond.getMember());
-            if (any != null) {
-                found = groupDAO.findAMemberships(group).stream().
-                        anyMatch(memb -> memb.getLeftEnd().getKey().equals(cond.getMember()))
-                        || groupDAO.findADynMembers(group).contains(cond.getMember());
+    private static Pattern likePattern(final AttrCond cond) {
+        Pair<AttrCond.Type, String> key = Pair.of(cond.getType(), cond.getExpression());
+        synchronized (LIKE_PATTERNS) {
+            Pattern pattern = LIKE_PATTERNS.get(key);
+            if (pattern != null) {
+                return pattern;
             }
-        } else {
-            found = groupDAO.findUMemberships(group).stream().
-                    anyMatch(memb -> memb.getLeftEnd().getKey().equals(cond.getMember()))
-                    || groupDAO.findUDynMembers(group).contains(cond.getMember());
         }
 
-        return not ? !found : found;
-    }
+        StringBuilder output = new StringBuilder();
+        for (char c : cond.getExpression().toLowerCase().toCharArray()) {
+            if (c == '%') {
+                output.append(".*");
+            } else if (Character.isLetter(c)) {
+                output.append('[').
+                        append(c).
+                        append(Character.toUpperCase(c)).
+                        append(']');
+            } else {
+                output.append(c);
+            }
+        }
+        Pattern pattern = cond.getType() == AttrCond.Type.LIKE
+                ? Pattern.compile(output.toString())
+                : Pattern.compile(output.toString(), Pattern.CASE_INSENSITIVE);
 
-    private boolean matches(final Any<?> any, final ResourceCond cond, final boolean not) {
-        boolean found = anyUtilsFactory.getInstance(any).getAllResources(any).stream().
-                anyMatch(resource -> resource.getKey().equals(cond.getResourceKey()));
-        return not ? !found : found;
+        synchronized (LIKE_PATTERNS) {
+            LIKE_PATTERNS.put(key, pattern);
+        }
+        return pattern;
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -302,23 +516,7 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
                 case LIKE:
                 case ILIKE:
                     if (schema.getType() == AttrSchemaType.String || schema.getType() == AttrSchemaType.Enum) {
-                        StringBuilder output = new StringBuilder();
-                        for (char c : cond.getExpression().toLowerCase().toCharArray()) {
-                            if (c == '%') {
-                                output.append(".*");
-                            } else if (Character.isLetter(c)) {
-                                output.append('[').
-                                        append(c).
-                                        append(Character.toUpperCase(c)).
-                                        append(']');
-                            } else {
-                                output.append(c);
-                            }
-                        }
-                        return (cond.getType() == AttrCond.Type.LIKE
-                                ? Pattern.compile(output.toString())
-                                : Pattern.compile(output.toString(), Pattern.CASE_INSENSITIVE)).
-                                matcher(item.getStringValue()).matches();
+                        return likePattern(cond).matcher(item.getStringValue()).matches();
                     } else {
                         LOG.error("LIKE is only compatible with string or enum schemas");
                         return false;
@@ -342,15 +540,14 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
         });
     }
 
-    private boolean matches(final Any<?> any, final AttrCond cond, final boolean not) {
-        PlainSchema schema = plainSchemaDAO.find(cond.getSchema());
+    private boolean matches(final Facts facts, final AttrCond cond, final boolean not) {
+        PlainSchema schema = facts.plainSchema(cond.getSchema()).orElse(null);
         if (schema == null) {
             LOG.warn("Ignoring invalid schema '{}'", cond.getSchema());
             return false;
         }
 
-        @SuppressWarnings("unchecked")
-        Optional<PlainAttr<?>> attr = (Optional<PlainAttr<?>>) any.getPlainAttr(cond.getSchema());
+        Optional<PlainAttr<?>> attr = Optional.ofNullable(facts.plainAttrs().get(cond.getSchema()));
 
         boolean found;
         switch (cond.getType()) {
@@ -363,7 +560,7 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
                 break;
 
             default:
-                PlainAttrValue attrValue = anyUtilsFactory.getInstance(any).newPlainAttrValue();
+                PlainAttrValue attrValue = anyUtilsFactory.getInstance(facts.any).newPlainAttrValue();
                 try {
                     if (cond.getType() != AttrCond.Type.LIKE
                             && cond.getType() != AttrCond.Type.ILIKE
@@ -382,21 +579,64 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
         return not ? !found : found;
     }
 
+    private static Optional<AnyField> resolve(final Class<?> anyClass, final String fieldName) {
+        // entity fields are read via getters, hence "key" rather than the JPA @Id field "id"
+        PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(anyClass, "id".equals(fieldName) ? "key" : fieldName);
+        if (pd == null || pd.getReadMethod() == null) {
+            return Optional.empty();
+        }
+
+        AttrSchemaType type = null;
+        for (AttrSchemaType attrSchemaType : AttrSchemaType.values()) {
+            if (pd.getPropertyType().isAssignableFrom(attrSchemaType.getType())) {
+                type = attrSchemaType;
+            }
+        }
+
+        // Deal with any Integer fields logically mapping to boolean values
+        boolean foundBooleanMin = false;
+        boolean foundBooleanMax = false;
+        if (Integer.class.equals(pd.getPropertyType())) {
+            for (Annotation annotation : pd.getPropertyType().getAnnotations()) {
+                if (Min.class.equals(annotation.annotationType())) {
+                    foundBooleanMin = ((Min) annotation).value() == 0;
+                } else if (Max.class.equals(annotation.annotationType())) {
+                    foundBooleanMax = ((Max) annotation).value() == 1;
+                }
+            }
+        }
+        if (foundBooleanMin && foundBooleanMax) {
+            type = AttrSchemaType.Boolean;
+        }
+
+        // Deal with any fields representing relationships to other entities
+        if (pd.getPropertyType().getAnnotation(Entity.class) != null) {
+            Method relMethod = null;
+            try {
+                relMethod = ClassUtils.getPublicMethod(pd.getPropertyType(), "getKey", new Class<?>[0]);
+            } catch (Exception e) {
+                LOG.error("Could not find {}#getKey", pd.getPropertyType(), e);
+            }
+
+            if (relMethod != null && String.class.isAssignableFrom(relMethod.getReturnType())) {
+                type = AttrSchemaType.String;
+            }
+        }
+
+        return Optional.of(new AnyField(pd, type));
+    }
+
     private boolean matches(final Any<?> any, final AnyCond cond, final boolean not) {
-        // Keeps track of difference between entity's getKey() and JPA @Id fields
-        if ("key".equals(cond.getSchema())) {
-            cond.setSchema("id");
+        Optional<AnyField> field = ANY_FIELDS.computeIfAbsent(
+                Pair.of(any.getClass(), cond.getSchema()), k -> resolve(k.getLeft(), k.getRight()));
+        if (field.isEmpty()) {
+            LOG.warn("Ignoring invalid schema '{}'", cond.getSchema());
+            return false;
         }
+        PropertyDescriptor pd = field.get().pd;
 
-        PropertyDescriptor pd;
         Object anyAttrValue;
         try {
-            pd = BeanUtils.getPropertyDescriptor(any.getClass(), cond.getSchema());
-            if (pd == null) {
-                LOG.warn("Ignoring invalid schema '{}'", cond.getSchema());
-                return false;
-            }
-
             anyAttrValue = pd.getReadMethod().invoke(any);
         } catch (Exception e) {
             LOG.error("While accessing {}.{}", any, cond.getSchema(), e);
@@ -416,41 +656,8 @@ public class JPAAnyMatchDAO extends AbstractDAO<Any<?>> implements AnyMatchDAO {
             default:
                 PlainSchema schema = new JPAPlainSchema();
                 schema.setKey(pd.getName());
-                for (AttrSchemaType attrSchemaType : AttrSchemaType.values()) {
-                    if (pd.getPropertyType().isAssignableFrom(attrSchemaType.getType())) {
-                        schema.setType(attrSchemaType);
-                    }
-                }
-
-                // Deal with any Integer fields logically mapping to boolean values
-                boolean foundBooleanMin = false;
-                boolean foundBooleanMax = false;
-                if (Integer.class.equals(pd.getPropertyType())) {
-                    for (Annotation annotation : pd.getPropertyType().getAnnotations()) {
-                        if (Min.class.equals(annotation.annotationType())) {
-                            foundBooleanMin = ((Min) annotation).value() == 0;
-                        } else if (Max.class.equals(annotation.annotationType())) {
-                            foundBooleanMax = ((Max) annotation).value() == 1;
-                        }
-                    }
-                }
-                if (foundBooleanMin && foundBooleanMax) {
-                    schema.setType(AttrSchemaType.Boolean);
-                }
-
-                // Deal with any fields representing relationships to other entities
-                if (pd.getPropertyType().getAnnotation(Entity.class) != null) {
-                    Method relMethod = null;
-                    try {
-                        relMethod = ClassUtils.getPublicMethod(pd.getPropertyType(), "getKey", new Class<?>[0]);
-                    } catch (Exception e) {
-                        LOG.error("Could not find {}#getKey", pd.getPropertyType(), e);
-                    }
-
-                    if (relMethod != null && String.class.isAssignableFrom(relMethod.getReturnType())) {
-                        cond.setSchema(cond.getSchema() + "_id");
-                        schema.setType(AttrSchemaType.String);
-                    }
+                if (field.get().type != null) {
+                    schema.setType(field.get().type);
                 }
 
                 AnyUtils anyUtils = anyUtilsFactory.getInstance(any);
@@ -201,6 +201,11 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
         return findAllKeys(JPAAnyObject.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String lastKey, final int itemsPerPage) {
+        return findAllKeys(JPAAnyObject.TABLE, lastKey, itemsPerPage);
+    }
+
     protected Pair<AnyObject, Pair<Set<String>, Set<String>>> doSave(final AnyObject anyObject) {
         AnyObject merged = super.save(anyObject);
         publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, merged, AuthContextUtils.getDomain()));
@@ -27,6 +27,13 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
+import org.apache.openjpa.jdbc.conf.JDBCConfiguration;
+import org.apache.openjpa.jdbc.sql.DBDictionary;
+import org.apache.openjpa.jdbc.sql.H2Dictionary;
+import org.apache.openjpa.jdbc.sql.MySQLDictionary;
+import org.apache.openjpa.jdbc.sql.OracleDictionary;
+import org.apache.openjpa.jdbc.sql.PostgresDictionary;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerSPI;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -52,7 +59,6 @@ import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.DynRealm;
-import org.apache.syncope.core.persistence.api.entity.Entity;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.Realm;
@@ -92,8 +98,7 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                     noRealm.getElements().add("Invalid realm specified: " + realmPath);
                     throw noRealm;
                 } else {
-                    realmKeys.addAll(realmDAO.findDescendants(realm).stream().
-                            map(Entity::getKey).collect(Collectors.toSet()));
+                    realmKeys.addAll(realmDAO.findDescendantKeys(realm));
                 }
             } else {
                 DynRealm dynRealm = dynRealmDAO.find(realmPath);
@@ -105,8 +110,7 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             }
         });
         if (!dynRealmKeys.isEmpty()) {
-            realmKeys.addAll(realmDAO.findAll().stream().
-                    map(Entity::getKey).collect(Collectors.toSet()));
+            realmKeys.addAll(realmDAO.findDescendantKeys(realmDAO.getRoot()));
         }
 
         return Pair.of(buildAdminRealmsFilter(realmKeys, svs, parameters), dynRealmKeys);
@@ -144,6 +148,78 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return ((Number) countQuery.getSingleResult()).intValue();
     }
 
+    /**
+     * Tells whether the database backing the current domain is known to support {@code COUNT(*) OVER()}, thus
+     * allowing to compute the total count of matching entities together with the requested page.
+     *
+     * @return whether {@code COUNT(*) OVER()} can be used
+     */
+    protected boolean supportsWindowCount() {
+        DBDictionary dict = ((JDBCConfiguration) entityManager().unwrap(OpenJPAEntityManagerSPI.class).
+                getConfiguration()).getDBDictionaryInstance();
+        return dict instanceof PostgresDictionary
+                || dict instanceof OracleDictionary
+                || dict instanceof H2Dictionary
+                || (dict instanceof MySQLDictionary && dict.getMajorVersion() >= 8);
+    }
+
+    private Query buildSearchQuery(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind,
+            final boolean windowCount) {
+
+        List<Object> parameters = new ArrayList<>();
+
+        SearchSupport svs = buildSearchSupport(kind);
+
+        Pair<String, Set<String>> filter = getAdminRealmsFilter(adminRealms, svs, parameters);
+
+        // 1. get the query string from the search condition
+        Pair<StringBuilder, Set<String>> queryInfo =
+                getQuery(buildEffectiveCond(cond, filter.getRight()), parameters, svs);
+
+        StringBuilder queryString = queryInfo.getLeft();
+
+        LOG.debug("Query: {}, parameters: {}", queryString, parameters);
+
+        // 2. take into account realms and ordering
+        OrderBySupport obs = parseOrderBy(svs, orderBy);
+        StringBuilder select = windowCount ? buildWindowCountSelect(obs) : buildSelect(obs);
+        if (queryString.charAt(0) == '(') {
+            queryString.insert(0, select);
+            queryString.append(buildWhere(svs, obs));
+        } else {
+            queryString.insert(0, select.append('('));
+            queryString.append(')').append(buildWhere(svs, obs));
+        }
+        queryString.append(filter.getLeft());
+        if (windowCount) {
+            queryString.append(buildGroupBy(obs));
+        }
+        queryString.append(buildOrderBy(obs));
+
+        LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
+
+        // 3. prepare the search query
+        Query query = entityManager().createNativeQuery(queryString.toString());
+
+        // 4. page starts from 1, while setFirtResult() starts from 0
+        query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
+
+        if (itemsPerPage >= 0) {
+            query.setMaxResults(itemsPerPage);
+        }
+
+        // 5. populate the search query with parameter values
+        fillWithParameters(query, parameters);
+
+        return query;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected <T extends Any<?>> List<T> doSearch(
@@ -154,6 +230,68 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
             final List<OrderByClause> orderBy,
             final AnyTypeKind kind) {
 
+        try {
+            Query query = buildSearchQuery(adminRealms, cond, page, itemsPerPage, orderBy, kind, false);
+
+            // 6. Prepare the result (avoiding duplicates)
+            return buildResult(query.getResultList(), kind);
+        } catch (SyncopeClientException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("While searching for {}", kind, e);
+        }
+
+        return List.of();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T extends Any<?>> Pair<Integer, List<T>> doSearchAndCount(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int page,
+            final int itemsPerPage,
+            final List<OrderByClause> orderBy,
+            final AnyTypeKind kind,
+            final boolean estimatedCount) {
+
+        if (estimatedCount || !supportsWindowCount()) {
+            return super.doSearchAndCount(adminRealms, cond, page, itemsPerPage, orderBy, kind, estimatedCount);
+        }
+
+        try {
+            Query query = buildSearchQuery(adminRealms, cond, page, itemsPerPage, orderBy, kind, true);
+
+            List<Object> raw = query.getResultList();
+
+            // the total count is repeated as last column of each row: when the requested page is past the end
+            // of the result set, no row is available and a separate count query is needed
+            int count;
+            if (raw.isEmpty()) {
+                count = page <= 1 ? 0 : doCount(adminRealms, cond, kind);
+            } else {
+                Object[] first = (Object[]) raw.get(0);
+                count = ((Number) first[first.length - 1]).intValue();
+            }
+
+            return Pair.of(count, buildResult(raw, kind));
+        } catch (SyncopeClientException e) {
+            throw e;
+        } catch (Exception e) {
+            LOG.error("While searching for {}", kind, e);
+        }
+
+        return Pair.of(0, List.of());
+    }
+
+    @Override
+    protected List<String> doSeek(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final String lastKey,
+            final int itemsPerPage,
+            final AnyTypeKind kind) {
+
         try {
             List<Object> parameters = new ArrayList<>();
 
@@ -167,42 +305,34 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
 
             StringBuilder queryString = queryInfo.getLeft();
 
-            LOG.debug("Query: {}, parameters: {}", queryString, parameters);
-
-            // 2. take into account realms and ordering
-            OrderBySupport obs = parseOrderBy(svs, orderBy);
-            if (queryString.charAt(0) == '(') {
-                queryString.insert(0, buildSelect(obs));
-                queryString.append(buildWhere(svs, obs));
-            } else {
-                queryString.insert(0, buildSelect(obs).append('('));
-                queryString.append(')').append(buildWhere(svs, obs));
+            // 2. take into account administrative realms and the last key seen, always sorting by key
+            queryString.insert(0, "SELECT DISTINCT u.any_id FROM (");
+            queryString.append(") u WHERE ").append(filter.getLeft());
+            if (lastKey != null) {
+                queryString.append(" AND u.any_id > ?").append(setParameter(parameters, lastKey));
             }
-            queryString.
-                    append(filter.getLeft()).
-                    append(buildOrderBy(obs));
+            queryString.append(" ORDER BY u.any_id");
 
-            LOG.debug("Query with auth and order by statements: {}, parameters: {}", queryString, parameters);
+            LOG.debug("Seek query: {}, parameters: {}", queryString, parameters);
 
-            // 3. prepare the search query
+            // 3. prepare the seek query: no offset is needed, as the last key seen takes care of that
             Query query = entityManager().createNativeQuery(queryString.toString());
-
-            // 4. page starts from 1, while setFirtResult() starts from 0
-            query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
-
             if (itemsPerPage >= 0) {
                 query.setMaxResults(itemsPerPage);
             }
 
-            // 5. populate the search query with parameter values
+            // 4. populate the seek query with parameter values
             fillWithParameters(query, parameters);
 
-            // 6. Prepare the result (avoiding duplicates)
-            return buildResult(query.getResultList(), kind);
+            @SuppressWarnings("unchecked")
+            List<Object> raw = query.getResultList();
+            return raw.stream().
+                    map(key -> key instanceof Object[] ? (String) ((Object[]) key)[0] : ((String) key)).
+                    collect(Collectors.toList());
         } catch (SyncopeClientException e) {
             throw e;
         } catch (Exception e) {
-            LOG.error("While searching for {}", kind, e);
+            LOG.error("While seeking for {}", kind, e);
         }
 
         return List.of();
@@ -236,6 +366,30 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return select;
     }
 
+    /**
+     * Window functions are evaluated before {@code DISTINCT}: duplicates are removed via {@code GROUP BY} instead,
+     * so that {@code COUNT(*) OVER()} only counts distinct rows.
+     *
+     * @param obs order by support
+     * @return select clause including the total count
+     */
+    private static StringBuilder buildWindowCountSelect(final OrderBySupport obs) {
+        StringBuilder select = new StringBuilder("SELECT u.any_id");
+
+        obs.items.forEach(item -> select.append(',').append(item.select));
+        select.append(", COUNT(*) OVER() AS total_count FROM ");
+
+        return select;
+    }
+
+    private static StringBuilder buildGroupBy(final OrderBySupport obs) {
+        StringBuilder groupBy = new StringBuilder(" GROUP BY u.any_id");
+
+        obs.items.forEach(item -> groupBy.append(',').append(StringUtils.substringBefore(item.select, " AS ")));
+
+        return groupBy;
+    }
+
     protected void processOBS(
             final SearchSupport svs,
             final OrderBySupport obs,
@@ -819,8 +973,8 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         StringBuilder query = new StringBuilder("SELECT DISTINCT any_id FROM ").
                 append(svs.field().name).append(" WHERE (");
         if (cond.isFromGroup()) {
-            realmDAO.findDescendants(realm).forEach(current -> query.append("realm_id=?")
-                    .append(setParameter(parameters, current.getKey())).append(" OR "));
+            realmDAO.findDescendantKeys(realm).forEach(current -> query.append("realm_id=?")
+                    .append(setParameter(parameters, current)).append(" OR "));
             query.setLength(query.length() - 4);
         } else {
             for (Realm current = realm; current.getParent() != null; current = current.getParent()) {
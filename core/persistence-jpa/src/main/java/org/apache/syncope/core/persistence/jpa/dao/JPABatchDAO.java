@@ -19,10 +19,15 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.Date;
+import java.util.List;
+import javax.persistence.NoResultException;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import org.apache.syncope.core.persistence.api.dao.BatchDAO;
 import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchChunk;
 import org.apache.syncope.core.persistence.jpa.entity.JPABatch;
+import org.apache.syncope.core.persistence.jpa.entity.JPABatchChunk;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,6 +46,38 @@ public class JPABatchDAO extends AbstractDAO<Batch> implements BatchDAO {
         return entityManager().merge(batch);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public BatchChunk findChunk(final String key, final int index) {
+        TypedQuery<BatchChunk> query = entityManager().createQuery(
+                "SELECT e FROM " + JPABatchChunk.class.getSimpleName() + " e "
+                + "WHERE e.batch.id = :batch AND e.chunkIndex = :index", BatchChunk.class);
+        query.setParameter("batch", key);
+        query.setParameter("index", index);
+
+        try {
+            return query.getSingleResult();
+        } catch (NoResultException e) {
+            LOG.debug("No chunk {} found for batch {}", index, key, e);
+            return null;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BatchChunk> findChunks(final String key) {
+        TypedQuery<BatchChunk> query = entityManager().createQuery(
+                "SELECT e FROM " + JPABatchChunk.class.getSimpleName() + " e "
+                + "WHERE e.batch.id = :batch ORDER BY e.chunkIndex", BatchChunk.class);
+        query.setParameter("batch", key);
+        return query.getResultList();
+    }
+
+    @Override
+    public BatchChunk save(final BatchChunk chunk) {
+        return entityManager().merge(chunk);
+    }
+
     @Override
     public void delete(final String key) {
         Batch batch = find(key);
@@ -48,14 +85,27 @@ public class JPABatchDAO extends AbstractDAO<Batch> implements BatchDAO {
             return;
         }
 
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPABatchChunk.class.getSimpleName() + " e WHERE e.batch.id = :batch");
+        query.setParameter("batch", key);
+        query.executeUpdate();
+
         entityManager().remove(batch);
     }
 
     @Override
     public int deleteExpired() {
+        Date now = new Date();
+
         Query query = entityManager().createQuery(
+                "DELETE FROM " + JPABatchChunk.class.getSimpleName() + " e WHERE e.batch.id IN "
+                + "(SELECT b.id FROM " + JPABatch.class.getSimpleName() + " b WHERE b.expiryTime < :now)");
+        query.setParameter("now", now);
+        query.executeUpdate();
+
+        query = entityManager().createQuery(
                 "DELETE FROM " + JPABatch.class.getSimpleName() + " e WHERE e.expiryTime < :now");
-        query.setParameter("now", new Date());
+        query.setParameter("now", now);
         return query.executeUpdate();
     }
 }
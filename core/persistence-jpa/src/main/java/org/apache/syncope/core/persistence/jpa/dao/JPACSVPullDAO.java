@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.Date;
+import java.util.List;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import org.apache.syncope.core.persistence.api.dao.CSVPullDAO;
+import org.apache.syncope.core.persistence.api.entity.CSVPull;
+import org.apache.syncope.core.persistence.jpa.entity.JPACSVPull;
+import org.apache.syncope.core.persistence.jpa.entity.JPACSVPullReport;
+import org.apache.syncope.core.spring.security.SecureRandomUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional(rollbackFor = Throwable.class)
+@Repository
+public class JPACSVPullDAO extends AbstractDAO<CSVPull> implements CSVPullDAO {
+
+    @Transactional(readOnly = true)
+    @Override
+    public CSVPull find(final String key) {
+        return entityManager().find(JPACSVPull.class, key);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Throwable.class)
+    @Override
+    public CSVPull save(final CSVPull csvPull) {
+        return entityManager().merge(csvPull);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Throwable.class)
+    @Override
+    public boolean addReport(final String key, final String report) {
+        JPACSVPull csvPull = entityManager().find(JPACSVPull.class, key);
+        if (csvPull == null) {
+            return false;
+        }
+
+        JPACSVPullReport csvPullReport = new JPACSVPullReport();
+        csvPullReport.setKey(SecureRandomUtils.generateRandomUUID().toString());
+        csvPullReport.setCSVPull(csvPull);
+        csvPullReport.setWritten(new Date());
+        csvPullReport.setContent(report);
+        entityManager().persist(csvPullReport);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<String> findReports(final String key) {
+        TypedQuery<String> query = entityManager().createQuery(
+                "SELECT e.content FROM " + JPACSVPullReport.class.getSimpleName() + " e "
+                + "WHERE e.csvPull.id = :csvPull ORDER BY e.written", String.class);
+        query.setParameter("csvPull", key);
+        return query.getResultList();
+    }
+
+    @Override
+    public void delete(final String key) {
+        CSVPull csvPull = find(key);
+        if (csvPull == null) {
+            return;
+        }
+
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPACSVPullReport.class.getSimpleName() + " e WHERE e.csvPull.id = :csvPull");
+        query.setParameter("csvPull", key);
+        query.executeUpdate();
+
+        entityManager().remove(csvPull);
+    }
+
+    @Override
+    public int deleteExpired() {
+        Date now = new Date();
+
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPACSVPullReport.class.getSimpleName() + " e WHERE e.csvPull.id IN "
+                + "(SELECT c.id FROM " + JPACSVPull.class.getSimpleName() + " c WHERE c.expiryTime < :now)");
+        query.setParameter("now", now);
+        query.executeUpdate();
+
+        query = entityManager().createQuery(
+                "DELETE FROM " + JPACSVPull.class.getSimpleName() + " e WHERE e.expiryTime < :now");
+        query.setParameter("now", now);
+        return query.executeUpdate();
+    }
+}
@@ -26,13 +26,19 @@ import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
 import org.apache.syncope.core.persistence.jpa.entity.JPADerSchema;
+import org.apache.syncope.core.provisioning.api.event.SchemaChangedEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class JPADerSchemaDAO extends AbstractDAO<DerSchema> implements DerSchemaDAO {
 
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
     @Autowired
     @Lazy
     private ExternalResourceDAO resourceDAO;
@@ -75,7 +81,11 @@ public class JPADerSchemaDAO extends AbstractDAO<DerSchema> implements DerSchema
 
     @Override
     public DerSchema save(final DerSchema derSchema) {
-        return entityManager().merge(derSchema);
+        DerSchema merged = entityManager().merge(derSchema);
+
+        publisher.publishEvent(new SchemaChangedEvent(this, AuthContextUtils.getDomain()));
+
+        return merged;
     }
 
     @Override
@@ -94,5 +104,7 @@ public class JPADerSchemaDAO extends AbstractDAO<DerSchema> implements DerSchema
         }
 
         entityManager().remove(schema);
+
+        publisher.publishEvent(new SchemaChangedEvent(this, AuthContextUtils.getDomain()));
     }
 }
@@ -19,14 +19,17 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.DynRealm;
-import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.entity.DynRealmMembership;
 import org.apache.syncope.core.persistence.jpa.entity.JPADynRealm;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -38,13 +41,19 @@ import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
-import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
 
 @Repository
 public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO {
 
     public static final String DYNMEMB_TABLE = "DynRealmMembers";
 
+    private static final DynMembershipEngine.Table DYNMEMB_TABLE_DEF =
+            new DynMembershipEngine.Table(DYNMEMB_TABLE, JPADynRealm.TABLE, "dynRealm_id", false);
+
+    private static final DynMembershipEngine DYN_MEMBERSHIP_ENGINE = new DynMembershipEngine();
+
     @Autowired
     private ApplicationEventPublisher publisher;
 
@@ -64,7 +73,7 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
     private AnyMatchDAO anyMatchDAO;
 
     @Autowired
-    private SearchCondVisitor searchCondVisitor;
+    private SearchCondCache searchCondCache;
 
     @Override
     public DynRealm find(final String key) {
@@ -125,7 +134,7 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
         List<String> cleared = clearDynMembers(merged);
 
         merged.getDynMemberships().stream().map(memb -> searchDAO.search(
-                SearchCondConverter.convert(searchCondVisitor, memb.getFIQLCond()), memb.getAnyType().getKind())).
+                searchCondCache.get(memb.getFIQLCond()), memb.getAnyType().getKind())).
                 forEach(matching -> matching.forEach(any -> {
 
             Query insert = entityManager().createNativeQuery("INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
@@ -157,29 +166,18 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
     @Transactional
     @Override
     public void refreshDynMemberships(final Any<?> any) {
-        findAll().forEach(dynRealm -> dynRealm.getDynMembership(any.getType()).ifPresent(memb -> {
-            boolean matches = anyMatchDAO.matches(
-                    any, SearchCondConverter.convert(searchCondVisitor, memb.getFIQLCond()));
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT dynRealm_id FROM " + DYNMEMB_TABLE + " WHERE any_id=?");
-            find.setParameter(1, any.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-
-            if (matches && !existing) {
-                Query insert = entityManager().
-                        createNativeQuery("INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, any.getKey());
-                insert.setParameter(2, dynRealm.getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=? AND any_id=?");
-                delete.setParameter(1, dynRealm.getKey());
-                delete.setParameter(2, any.getKey());
-                delete.executeUpdate();
-            }
-        }));
+        Map<String, DynRealmMembership> candidates = new HashMap<>();
+        findAll().forEach(dynRealm -> dynRealm.getDynMembership(any.getType()).
+                ifPresent(memb -> candidates.put(dynRealm.getKey(), memb)));
+
+        Predicate<SearchCond> matcher = anyMatchDAO.matcher(any);
+        DYN_MEMBERSHIP_ENGINE.refresh(
+                entityManager(),
+                DYNMEMB_TABLE_DEF,
+                null,
+                any.getKey(),
+                candidates,
+                memb -> matcher.test(DYN_MEMBERSHIP_ENGINE.getCond(memb, searchCondCache)));
     }
 
     @Override
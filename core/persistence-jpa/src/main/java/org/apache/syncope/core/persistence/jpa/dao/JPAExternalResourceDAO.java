@@ -51,15 +51,20 @@ import org.apache.syncope.core.persistence.jpa.entity.resource.JPAExternalResour
 import org.apache.syncope.core.persistence.jpa.entity.resource.JPAMapping;
 import org.apache.syncope.core.persistence.jpa.entity.resource.JPAProvision;
 import org.apache.syncope.core.provisioning.api.ConnectorRegistry;
+import org.apache.syncope.core.provisioning.api.event.MappingChangedEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implements ExternalResourceDAO {
 
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
     @Autowired
     private ConnectorRegistry connRegistry;
 
@@ -198,6 +203,7 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
         } catch (NotFoundException e) {
             LOG.error("While registering connector for resource", e);
         }
+        publisher.publishEvent(new MappingChangedEvent(this, AuthContextUtils.getDomain()));
         return merged;
     }
 
@@ -221,6 +227,8 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
         // Make empty query cache for *MappingItem and related *Mapping
         entityManager().getEntityManagerFactory().getCache().evict(JPAMappingItem.class);
         entityManager().getEntityManagerFactory().getCache().evict(JPAMapping.class);
+
+        publisher.publishEvent(new MappingChangedEvent(this, AuthContextUtils.getDomain()));
     }
 
     @Override
@@ -270,5 +278,7 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
         resource.setConnector(null);
 
         entityManager().remove(resource);
+
+        publisher.publishEvent(new MappingChangedEvent(this, AuthContextUtils.getDomain()));
     }
 }
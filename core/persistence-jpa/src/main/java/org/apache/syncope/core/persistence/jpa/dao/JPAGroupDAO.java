@@ -25,10 +25,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import org.apache.commons.collections4.SetUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.IdRepoEntitlement;
@@ -44,6 +47,7 @@ import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
+import org.apache.syncope.core.persistence.api.entity.DynGroupMembership;
 import org.apache.syncope.core.persistence.api.entity.Entity;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.anyobject.ADynGroupMembership;
@@ -54,16 +58,18 @@ import org.apache.syncope.core.persistence.api.entity.group.TypeExtension;
 import org.apache.syncope.core.persistence.api.entity.user.UDynGroupMembership;
 import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.User;
-import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
-import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAADynGroupMembership;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAnyObject;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAMembership;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPATypeExtension;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUDynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
+import org.apache.syncope.core.provisioning.api.event.DynGroupMembersChangedEvent;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
@@ -76,6 +82,14 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
 
     public static final String ADYNMEMB_TABLE = "ADynGroupMembers";
 
+    private static final DynMembershipEngine.Table UDYNMEMB_TABLE_DEF =
+            new DynMembershipEngine.Table(UDYNMEMB_TABLE, JPAGroup.TABLE, "group_id", false);
+
+    private static final DynMembershipEngine.Table ADYNMEMB_TABLE_DEF =
+            new DynMembershipEngine.Table(ADYNMEMB_TABLE, JPAGroup.TABLE, "group_id", true);
+
+    private static final DynMembershipEngine DYN_MEMBERSHIP_ENGINE = new DynMembershipEngine();
+
     @Autowired
     private AnyMatchDAO anyMatchDAO;
 
@@ -92,7 +106,7 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
     private AnySearchDAO searchDAO;
 
     @Autowired
-    private SearchCondVisitor searchCondVisitor;
+    private SearchCondCache searchCondCache;
 
     @Override
     protected AnyUtils init() {
@@ -235,14 +249,25 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return findAllKeys(JPAGroup.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String lastKey, final int itemsPerPage) {
+        return findAllKeys(JPAGroup.TABLE, lastKey, itemsPerPage);
+    }
+
     private SearchCond buildDynMembershipCond(final String baseCondFIQL, final Realm groupRealm) {
+        return buildDynMembershipCond(searchCondCache.get(baseCondFIQL), groupRealm);
+    }
+
+    private SearchCond buildDynMembershipCond(final DynGroupMembership<?> memb, final Realm groupRealm) {
+        return buildDynMembershipCond(DYN_MEMBERSHIP_ENGINE.getCond(memb, searchCondCache), groupRealm);
+    }
+
+    private static SearchCond buildDynMembershipCond(final SearchCond baseCond, final Realm groupRealm) {
         AssignableCond cond = new AssignableCond();
         cond.setRealmFullPath(groupRealm.getFullPath());
         cond.setFromGroup(true);
 
-        return SearchCond.getAnd(
-                SearchCond.getLeaf(cond),
-                SearchCondConverter.convert(searchCondVisitor, baseCondFIQL));
+        return SearchCond.getAnd(SearchCond.getLeaf(cond), baseCond);
     }
 
     @Override
@@ -251,54 +276,44 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, merged, AuthContextUtils.getDomain()));
 
         // refresh dynamic memberships
-        clearUDynMembers(merged);
+        Set<String> udynMembers = new HashSet<>();
         if (merged.getUDynMembership() != null) {
             SearchCond cond = buildDynMembershipCond(merged.getUDynMembership().getFIQLCond(), merged.getRealm());
-            int count = searchDAO.count(Set.of(merged.getRealm().getFullPath()), cond, AnyTypeKind.USER);
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                List<User> matching = searchDAO.search(
-                        Set.of(merged.getRealm().getFullPath()),
-                        cond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.USER);
-
-                matching.forEach(user -> {
-                    Query insert = entityManager().createNativeQuery("INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                    insert.setParameter(1, user.getKey());
-                    insert.setParameter(2, merged.getKey());
-                    insert.executeUpdate();
-
-                    publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, user, AuthContextUtils.getDomain()));
-                });
-            }
+            searchDAO.stream(
+                    Set.of(merged.getRealm().getFullPath()),
+                    cond,
+                    AnyTypeKind.USER,
+                    AnyDAO.DEFAULT_PAGE_SIZE).forEach(udynMembers::addAll);
         }
-        clearADynMembers(merged);
+        Set<String> userKeys = DYN_MEMBERSHIP_ENGINE.rebuild(
+                entityManager(),
+                UDYNMEMB_TABLE_DEF,
+                JPAUser.TABLE,
+                merged.getKey(),
+                DYN_MEMBERSHIP_ENGINE.findMembers(entityManager(), UDYNMEMB_TABLE_DEF, merged.getKey()),
+                udynMembers);
+
+        Set<String> adynMembers = new HashSet<>();
         merged.getADynMemberships().forEach(memb -> {
             SearchCond cond = buildDynMembershipCond(memb.getFIQLCond(), merged.getRealm());
-            int count = searchDAO.count(Set.of(merged.getRealm().getFullPath()), cond, AnyTypeKind.ANY_OBJECT);
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                List<AnyObject> matching = searchDAO.search(
-                        Set.of(merged.getRealm().getFullPath()),
-                        cond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.ANY_OBJECT);
-
-                matching.forEach(anyObject -> {
-                    Query insert = entityManager().createNativeQuery(
-                            "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
-                    insert.setParameter(1, anyObject.getType().getKey());
-                    insert.setParameter(2, anyObject.getKey());
-                    insert.setParameter(3, merged.getKey());
-                    insert.executeUpdate();
-
-                    publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, anyObject, AuthContextUtils.getDomain()));
-                });
-            }
+            searchDAO.stream(
+                    Set.of(merged.getRealm().getFullPath()),
+                    cond,
+                    AnyTypeKind.ANY_OBJECT,
+                    AnyDAO.DEFAULT_PAGE_SIZE).forEach(adynMembers::addAll);
         });
+        Set<String> anyObjectKeys = DYN_MEMBERSHIP_ENGINE.rebuild(
+                entityManager(),
+                ADYNMEMB_TABLE_DEF,
+                JPAAnyObject.TABLE,
+                merged.getKey(),
+                DYN_MEMBERSHIP_ENGINE.findMembers(entityManager(), ADYNMEMB_TABLE_DEF, merged.getKey()),
+                adynMembers);
+
+        if (!userKeys.isEmpty() || !anyObjectKeys.isEmpty()) {
+            publisher.publishEvent(new DynGroupMembersChangedEvent(
+                    this, merged.getKey(), userKeys, anyObjectKeys, AuthContextUtils.getDomain()));
+        }
 
         dynRealmDAO.refreshDynMemberships(merged);
 
@@ -437,48 +452,21 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
     @Transactional
     @Override
     public Pair<Set<String>, Set<String>> refreshDynMemberships(final AnyObject anyObject) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT group_id FROM " + JPAGroupDAO.ADYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, anyObject.getKey());
+        Map<String, ADynGroupMembership> candidates = findWithADynMemberships(anyObject.getType()).stream().
+                collect(Collectors.toMap(memb -> memb.getGroup().getKey(), Function.identity(), (m1, m2) -> m1));
 
-        Set<String> before = new HashSet<>();
-        Set<String> after = new HashSet<>();
-        findWithADynMemberships(anyObject.getType()).forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(
-                    anyObject,
-                    buildDynMembershipCond(memb.getFIQLCond(), memb.getGroup().getRealm()));
-            if (matches) {
-                after.add(memb.getGroup().getKey());
-            }
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-            find.setParameter(1, memb.getGroup().getKey());
-            find.setParameter(2, anyObject.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-            if (existing) {
-                before.add(memb.getGroup().getKey());
-            }
-
-            if (matches && !existing) {
-                Query insert = entityManager().createNativeQuery(
-                        "INSERT INTO " + ADYNMEMB_TABLE + " VALUES(?, ?, ?)");
-                insert.setParameter(1, anyObject.getType().getKey());
-                insert.setParameter(2, anyObject.getKey());
-                insert.setParameter(3, memb.getGroup().getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + ADYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-                delete.setParameter(1, memb.getGroup().getKey());
-                delete.setParameter(2, anyObject.getKey());
-                delete.executeUpdate();
-            }
-
-            publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, memb.getGroup(), AuthContextUtils.getDomain()));
-        });
+        Predicate<SearchCond> matcher = anyMatchDAO.matcher(anyObject);
+        Pair<Set<String>, Set<String>> result = DYN_MEMBERSHIP_ENGINE.refresh(
+                entityManager(),
+                ADYNMEMB_TABLE_DEF,
+                anyObject.getType().getKey(),
+                anyObject.getKey(),
+                candidates,
+                memb -> matcher.test(buildDynMembershipCond(memb, memb.getGroup().getRealm())));
+
+        publishDynMembershipChanges(result, candidates);
 
-        return Pair.of(before, after);
+        return result;
     }
 
     @Override
@@ -525,6 +513,14 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         delete.executeUpdate();
     }
 
+    private void publishDynMembershipChanges(
+            final Pair<Set<String>, Set<String>> result,
+            final Map<String, ? extends DynGroupMembership<?>> candidates) {
+
+        SetUtils.disjunction(result.getLeft(), result.getRight()).forEach(groupKey -> publisher.publishEvent(
+                new AnyCreatedUpdatedEvent<>(this, candidates.get(groupKey).getGroup(), AuthContextUtils.getDomain())));
+    }
+
     private List<UDynGroupMembership> findWithUDynMemberships() {
         TypedQuery<UDynGroupMembership> query = entityManager().createQuery(
                 "SELECT e FROM " + JPAUDynGroupMembership.class.getSimpleName() + " e",
@@ -536,47 +532,21 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
     @Transactional
     @Override
     public Pair<Set<String>, Set<String>> refreshDynMemberships(final User user) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT group_id FROM " + JPAGroupDAO.UDYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, user.getKey());
+        Map<String, UDynGroupMembership> candidates = findWithUDynMemberships().stream().
+                collect(Collectors.toMap(memb -> memb.getGroup().getKey(), Function.identity(), (m1, m2) -> m1));
 
-        Set<String> before = new HashSet<>();
-        Set<String> after = new HashSet<>();
-        findWithUDynMemberships().forEach(memb -> {
-            boolean matches = anyMatchDAO.matches(
-                    user,
-                    buildDynMembershipCond(memb.getFIQLCond(), memb.getGroup().getRealm()));
-            if (matches) {
-                after.add(memb.getGroup().getKey());
-            }
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + UDYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-            find.setParameter(1, memb.getGroup().getKey());
-            find.setParameter(2, user.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-            if (existing) {
-                before.add(memb.getGroup().getKey());
-            }
-
-            if (matches && !existing) {
-                Query insert = entityManager().createNativeQuery(
-                        "INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, user.getKey());
-                insert.setParameter(2, memb.getGroup().getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + UDYNMEMB_TABLE + " WHERE group_id=? AND any_id=?");
-                delete.setParameter(1, memb.getGroup().getKey());
-                delete.setParameter(2, user.getKey());
-                delete.executeUpdate();
-            }
-
-            publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, memb.getGroup(), AuthContextUtils.getDomain()));
-        });
+        Predicate<SearchCond> matcher = anyMatchDAO.matcher(user);
+        Pair<Set<String>, Set<String>> result = DYN_MEMBERSHIP_ENGINE.refresh(
+                entityManager(),
+                UDYNMEMB_TABLE_DEF,
+                null,
+                user.getKey(),
+                candidates,
+                memb -> matcher.test(buildDynMembershipCond(memb, memb.getGroup().getRealm())));
+
+        publishDynMembershipChanges(result, candidates);
 
-        return Pair.of(before, after);
+        return result;
     }
 
     @Override
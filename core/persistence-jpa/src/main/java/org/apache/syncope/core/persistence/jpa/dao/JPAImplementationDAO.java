@@ -23,13 +23,20 @@ import javax.persistence.TypedQuery;
 import org.apache.syncope.core.persistence.api.dao.ImplementationDAO;
 import org.apache.syncope.core.persistence.api.entity.Implementation;
 import org.apache.syncope.core.persistence.jpa.entity.JPAImplementation;
+import org.apache.syncope.core.provisioning.api.event.MappingChangedEvent;
 import org.apache.syncope.core.spring.ImplementationManager;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public class JPAImplementationDAO extends AbstractDAO<Implementation> implements ImplementationDAO {
 
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
     @Transactional(readOnly = true)
     @Override
     public Implementation find(final String key) {
@@ -57,6 +64,7 @@ public class JPAImplementationDAO extends AbstractDAO<Implementation> implements
         Implementation merged = entityManager().merge(implementation);
 
         ImplementationManager.purge(merged.getKey());
+        publisher.publishEvent(new MappingChangedEvent(this, AuthContextUtils.getDomain()));
 
         return merged;
     }
@@ -70,6 +78,7 @@ public class JPAImplementationDAO extends AbstractDAO<Implementation> implements
 
         entityManager().remove(implementation);
         ImplementationManager.purge(key);
+        publisher.publishEvent(new MappingChangedEvent(this, AuthContextUtils.getDomain()));
     }
 
 }
@@ -18,79 +18,132 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.sql.Clob;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.persistence.Query;
+import javax.persistence.TemporalType;
 import javax.persistence.TypedQuery;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.SyncopeClientException;
+import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.log.AuditEntry;
 import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.common.lib.types.LoggerLevel;
 import org.apache.syncope.common.lib.types.LoggerType;
 import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.Logger;
 import org.apache.syncope.core.persistence.jpa.entity.JPALogger;
+import org.apache.syncope.core.provisioning.api.event.AuditNotificationChangedEvent;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
 
 public class JPALoggerDAO extends AbstractDAO<Logger> implements LoggerDAO {
 
-    protected static class MessageCriteriaBuilder {
+    protected static final ObjectMapper MAPPER = new ObjectMapper();
 
-        protected final StringBuilder query = new StringBuilder();
+    protected static final String CURSOR_SEPARATOR = "_";
 
-        protected MessageCriteriaBuilder entityKey(final String entityKey) {
-            if (entityKey == null) {
-                query.append(" 1=1");
-            } else {
-                query.append(' ').append(AUDIT_MESSAGE_COLUMN).append(" LIKE '%key%").append(entityKey).append("%'");
-            }
-            return this;
+    /**
+     * Builds the cursor of an audit entry, out of its stored event date and unique id.
+     *
+     * @param date stored event date
+     * @param id stored id
+     * @return cursor
+     */
+    protected static String cursor(final Date date, final long id) {
+        return date.getTime() + CURSOR_SEPARATOR + id;
+    }
+
+    protected static Pair<Date, Long> parseCursor(final String cursor) {
+        try {
+            String[] split = cursor.split(CURSOR_SEPARATOR);
+            return Pair.of(new Date(Long.parseLong(split[0])), Long.valueOf(split[1]));
+        } catch (RuntimeException e) {
+            SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.InvalidValues);
+            sce.getElements().add("Invalid audit cursor: " + cursor);
+            throw sce;
         }
+    }
 
-        public MessageCriteriaBuilder type(final AuditElements.EventCategoryType type) {
-            if (type != null) {
-                query.append(" AND ").append(AUDIT_MESSAGE_COLUMN).
-                        append(" LIKE '%\"type\":\"").append(type.name()).append("\"%'");
+    /**
+     * Builds the WHERE clause on the dedicated audit columns, collecting the related query parameters.
+     */
+    protected static class AuditCriteriaBuilder {
+
+        protected final StringBuilder query = new StringBuilder(" 1=1");
+
+        protected final List<Object> parameters = new ArrayList<>();
+
+        protected AuditCriteriaBuilder equal(final String column, final String value) {
+            if (StringUtils.isNotBlank(value)) {
+                parameters.add(value);
+                query.append(" AND ").append(column).append("=?").append(parameters.size());
             }
             return this;
         }
 
-        public MessageCriteriaBuilder category(final String category) {
-            if (StringUtils.isNotBlank(category)) {
-                query.append(" AND ").append(AUDIT_MESSAGE_COLUMN).
-                        append(" LIKE '%\"category\":\"").append(category).append("\"%'");
-            }
-            return this;
+        public AuditCriteriaBuilder entityKey(final String entityKey) {
+            return equal(AUDIT_ENTITY_KEY_COLUMN, entityKey);
         }
 
-        public MessageCriteriaBuilder subcategory(final String subcategory) {
-            if (StringUtils.isNotBlank(subcategory)) {
-                query.append(" AND ").append(AUDIT_MESSAGE_COLUMN).
-                        append(" LIKE '%\"subcategory\":\"").append(subcategory).append("\"%'");
-            }
-            return this;
+        public AuditCriteriaBuilder type(final AuditElements.EventCategoryType type) {
+            return equal(AUDIT_TYPE_COLUMN, type == null ? null : type.name());
         }
 
-        public MessageCriteriaBuilder events(final List<String> events) {
-            if (!events.isEmpty()) {
-                query.append(" AND ( ").
-                        append(events.stream().
-                                map(event -> AUDIT_MESSAGE_COLUMN + " LIKE '%\"event\":\"" + event + "\"%'").
-                                collect(Collectors.joining(" OR "))).
-                        append(" )");
+        public AuditCriteriaBuilder category(final String category) {
+            return equal(AUDIT_CATEGORY_COLUMN, category);
+        }
+
+        public AuditCriteriaBuilder subcategory(final String subcategory) {
+            return equal(AUDIT_SUBCATEGORY_COLUMN, subcategory);
+        }
+
+        public AuditCriteriaBuilder events(final List<String> events) {
+            if (!CollectionUtils.isEmpty(events)) {
+                query.append(" AND ").append(AUDIT_EVENT_COLUMN).append(" IN (").
+                        append(events.stream().map(event -> {
+                            parameters.add(event);
+                            return "?" + parameters.size();
+                        }).collect(Collectors.joining(","))).
+                        append(')');
             }
             return this;
         }
 
-        public MessageCriteriaBuilder result(final AuditElements.Result result) {
-            if (result != null) {
-                query.append(" AND ").append(AUDIT_MESSAGE_COLUMN).
-                        append(" LIKE '%\"result\":\"").append(result.name()).append("\"%' ");
+        public AuditCriteriaBuilder result(final AuditElements.Result result) {
+            return equal(AUDIT_RESULT_COLUMN, result == null ? null : result.name());
+        }
+
+        public AuditCriteriaBuilder cursor(final String cursor) {
+            if (cursor != null) {
+                Pair<Date, Long> position = parseCursor(cursor);
+
+                // entries sharing the same date are told apart by id, as dates might be stored with no milliseconds
+                parameters.add(position.getLeft());
+                query.append(" AND (").append(AUDIT_DATE_COLUMN).append("<?").append(parameters.size());
+                parameters.add(position.getLeft());
+                query.append(" OR ").append(AUDIT_DATE_COLUMN).append("=?").append(parameters.size());
+                parameters.add(position.getRight());
+                query.append(" AND ").append(AUDIT_ID_COLUMN).append("<?").append(parameters.size()).append(')');
             }
             return this;
         }
@@ -98,8 +151,21 @@ public class JPALoggerDAO extends AbstractDAO<Logger> implements LoggerDAO {
         public String build() {
             return query.toString();
         }
+
+        public void fill(final Query nativeQuery) {
+            for (int i = 0; i < parameters.size(); i++) {
+                if (parameters.get(i) instanceof Date) {
+                    nativeQuery.setParameter(i + 1, (Date) parameters.get(i), TemporalType.TIMESTAMP);
+                } else {
+                    nativeQuery.setParameter(i + 1, parameters.get(i));
+                }
+            }
+        }
     }
 
+    @Autowired
+    protected ApplicationEventPublisher publisher;
+
     @Override
     public Logger find(final String key) {
         return entityManager().find(JPALogger.class, key);
@@ -119,12 +185,19 @@ public class JPALoggerDAO extends AbstractDAO<Logger> implements LoggerDAO {
         if (LoggerType.AUDIT == logger.getType() && LoggerLevel.OFF != logger.getLevel()) {
             logger.setLevel(LoggerLevel.DEBUG);
         }
-        return entityManager().merge(logger);
+        Logger merged = entityManager().merge(logger);
+        if (LoggerType.AUDIT == merged.getType()) {
+            publisher.publishEvent(new AuditNotificationChangedEvent(this, AuthContextUtils.getDomain()));
+        }
+        return merged;
     }
 
     @Override
     public void delete(final Logger logger) {
         entityManager().remove(logger);
+        if (LoggerType.AUDIT == logger.getType()) {
+            publisher.publishEvent(new AuditNotificationChangedEvent(this, AuthContextUtils.getDomain()));
+        }
     }
 
     @Override
@@ -137,26 +210,41 @@ public class JPALoggerDAO extends AbstractDAO<Logger> implements LoggerDAO {
         delete(logger);
     }
 
-    protected MessageCriteriaBuilder messageCriteriaBuilder(final String entityKey) {
-        return new MessageCriteriaBuilder().entityKey(entityKey);
+    protected AuditCriteriaBuilder auditCriteriaBuilder(
+            final String entityKey,
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String subcategory,
+            final List<String> events,
+            final AuditElements.Result result,
+            final String cursor) {
+
+        return new AuditCriteriaBuilder().
+                entityKey(entityKey).
+                type(type).
+                category(category).
+                subcategory(subcategory).
+                events(events).
+                result(result).
+                cursor(cursor);
     }
 
     @Override
-    public int countAuditEntries(final String entityKey,
+    public int countAuditEntries(
+            final String entityKey,
             final AuditElements.EventCategoryType type,
             final String category,
             final String subcategory,
             final List<String> events,
-            final AuditElements.Result result) {
-        String queryString = "SELECT COUNT(0) FROM " + AUDIT_TABLE
-                + " WHERE " + messageCriteriaBuilder(entityKey).
-                        type(type).
-                        category(category).
-                        subcategory(subcategory).
-                        result(result).
-                        events(events).
-                        build();
-        Query countQuery = entityManager().createNativeQuery(queryString);
+            final AuditElements.Result result,
+            final String cursor) {
+
+        AuditCriteriaBuilder criteria =
+                auditCriteriaBuilder(entityKey, type, category, subcategory, events, result, cursor);
+
+        Query countQuery = entityManager().createNativeQuery(
+                "SELECT COUNT(0) FROM " + AUDIT_TABLE + " WHERE" + criteria.build());
+        criteria.fill(countQuery);
 
         return ((Number) countQuery.getSingleResult()).intValue();
     }
@@ -165,9 +253,22 @@ public class JPALoggerDAO extends AbstractDAO<Logger> implements LoggerDAO {
         return AUDIT_MESSAGE_COLUMN;
     }
 
+    protected String message(final Object value) {
+        if (value instanceof Clob) {
+            Clob clob = (Clob) value;
+            try {
+                return clob.getSubString(1, (int) clob.length());
+            } catch (SQLException e) {
+                LOG.error("Unexpected error reading Audit Entry message", e);
+                return null;
+            }
+        }
+        return value == null ? null : value.toString();
+    }
+
     @Transactional(readOnly = true)
     @Override
-    public List<AuditEntry> findAuditEntries(
+    public List<Pair<String, AuditEntry>> findAuditEntries(
             final String entityKey,
             final int page,
             final int itemsPerPage,
@@ -176,45 +277,179 @@ public class JPALoggerDAO extends AbstractDAO<Logger> implements LoggerDAO {
             final String subcategory,
             final List<String> events,
             final AuditElements.Result result,
+            final String cursor,
             final List<OrderByClause> orderByClauses) {
 
-        String queryString = "SELECT " + select()
+        AuditCriteriaBuilder criteria =
+                auditCriteriaBuilder(entityKey, type, category, subcategory, events, result, cursor);
+
+        String queryString = "SELECT " + AUDIT_DATE_COLUMN + ',' + AUDIT_ID_COLUMN + ',' + select()
                 + " FROM " + AUDIT_TABLE
-                + " WHERE " + messageCriteriaBuilder(entityKey).
-                        type(type).
-                        category(category).
-                        subcategory(subcategory).
-                        result(result).
-                        events(events).
-                        build();
-        if (!orderByClauses.isEmpty()) {
-            queryString += " ORDER BY " + orderByClauses.stream().
-                    map(orderBy -> orderBy.getField() + ' ' + orderBy.getDirection().name()).
-                    collect(Collectors.joining(","));
-        }
+                + " WHERE" + criteria.build()
+                + " ORDER BY " + (orderByClauses.isEmpty()
+                ? AUDIT_DATE_COLUMN + " DESC"
+                : orderByClauses.stream().
+                        map(orderBy -> orderBy.getField() + ' ' + orderBy.getDirection().name()).
+                        collect(Collectors.joining(",")))
+                + ',' + AUDIT_ID_COLUMN + " DESC";
 
         Query query = entityManager().createNativeQuery(queryString);
+        criteria.fill(query);
         query.setFirstResult(itemsPerPage * (page <= 0 ? 0 : page - 1));
         if (itemsPerPage >= 0) {
             query.setMaxResults(itemsPerPage);
         }
 
         @SuppressWarnings("unchecked")
-        List<Object> entries = query.getResultList();
+        List<Object[]> entries = query.getResultList();
         return entries.stream().map(row -> {
-            String value;
-            if (row instanceof Clob) {
-                Clob clob = (Clob) row;
-                try {
-                    value = clob.getSubString(1, (int) clob.length());
-                } catch (SQLException e) {
-                    LOG.error("Unexpected error reading Audit Entry for entity key {}", entityKey, e);
-                    return null;
-                }
-            } else {
-                value = row.toString();
+            String value = message(row[2]);
+            if (value == null) {
+                return null;
             }
-            return POJOHelper.deserialize(value, AuditEntry.class);
+
+            String entryCursor = row[0] instanceof Date && row[1] instanceof Number
+                    ? cursor((Date) row[0], ((Number) row[1]).longValue())
+                    : null;
+            return Pair.of(entryCursor, POJOHelper.deserialize(value, AuditEntry.class));
         }).filter(Objects::nonNull).collect(Collectors.toList());
     }
+
+    @Override
+    public int deleteAuditEntries(final Date before) {
+        Query query = entityManager().createNativeQuery(
+                "DELETE FROM " + AUDIT_TABLE + " WHERE " + AUDIT_DATE_COLUMN + "<?1");
+        query.setParameter(1, before, TemporalType.TIMESTAMP);
+        return query.executeUpdate();
+    }
+
+    /**
+     * Finds the key of the entity an audit entry is about, as stored by previous versions in the message only: the
+     * output is looked at first, then the entity as it was before the event, and finally the input.
+     *
+     * @param auditEntry audit entry
+     * @return the key of the entity the audit entry is about, or {@code null} if not found
+     */
+    protected static String entityKey(final AuditEntry auditEntry) {
+        return Stream.concat(
+                Stream.of(auditEntry.getOutput(), auditEntry.getBefore()),
+                auditEntry.getInputs().stream()).
+                filter(Objects::nonNull).
+                map(serialized -> {
+                    JsonNode node;
+                    try {
+                        node = MAPPER.readTree(serialized);
+                    } catch (JsonProcessingException e) {
+                        return null;
+                    }
+
+                    if (node.isTextual()) {
+                        return SyncopeConstants.UUID_PATTERN.matcher(node.asText()).matches() ? node.asText() : null;
+                    }
+                    JsonNode entity = node.has("entity") ? node.get("entity") : node;
+                    return entity.hasNonNull("key") && entity.get("key").isTextual()
+                            ? entity.get("key").asText()
+                            : null;
+                }).
+                filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Long findLastAuditEntryId() {
+        Object result = entityManager().createNativeQuery(
+                "SELECT MAX(" + AUDIT_ID_COLUMN + ") FROM " + AUDIT_TABLE).getSingleResult();
+        return result instanceof Number ? ((Number) result).longValue() : null;
+    }
+
+    /**
+     * Fills the dedicated columns of the given audit entries with a single statement: the entity key is set per entry,
+     * the other columns to the same values for all entries.
+     *
+     * @param columns values of the dedicated columns other than the entity key, shared by all entries
+     * @param entityKeys entity key of each entry, by id
+     */
+    protected void fillAuditColumns(final Map<String, String> columns, final Map<Long, String> entityKeys) {
+        List<Object> parameters = new ArrayList<>();
+
+        StringBuilder update = new StringBuilder("UPDATE ").append(AUDIT_TABLE).append(" SET ").
+                append(columns.entrySet().stream().map(column -> {
+                    parameters.add(column.getValue());
+                    return column.getKey() + "=?" + parameters.size();
+                }).collect(Collectors.joining(",")));
+
+        // null values are left out, as not all databases can bind untyped nulls
+        Map<Long, String> notNullEntityKeys = entityKeys.entrySet().stream().
+                filter(entityKey -> entityKey.getValue() != null).
+                collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (!notNullEntityKeys.isEmpty()) {
+            update.append(',').append(AUDIT_ENTITY_KEY_COLUMN).append("=CASE ").append(AUDIT_ID_COLUMN);
+            notNullEntityKeys.forEach((id, entityKey) -> {
+                parameters.add(id);
+                update.append(" WHEN ?").append(parameters.size());
+                parameters.add(entityKey);
+                update.append(" THEN ?").append(parameters.size());
+            });
+            update.append(" ELSE ").append(AUDIT_ENTITY_KEY_COLUMN).append(" END");
+        }
+
+        update.append(" WHERE ").append(AUDIT_ID_COLUMN).append(" IN (").
+                append(entityKeys.keySet().stream().map(id -> {
+                    parameters.add(id);
+                    return "?" + parameters.size();
+                }).collect(Collectors.joining(","))).
+                append(')');
+
+        Query query = entityManager().createNativeQuery(update.toString());
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        query.executeUpdate();
+    }
+
+    @Transactional(rollbackFor = Throwable.class)
+    @Override
+    public Long fillAuditColumns(final long after, final long upTo, final int max) {
+        // the range on id is what bounds the scan, as there is no index on the dedicated columns being null
+        Query query = entityManager().createNativeQuery(
+                "SELECT " + AUDIT_ID_COLUMN + ',' + select() + " FROM " + AUDIT_TABLE
+                + " WHERE " + AUDIT_ID_COLUMN + ">?1 AND " + AUDIT_ID_COLUMN + "<=?2"
+                + " AND " + AUDIT_TYPE_COLUMN + " IS NULL"
+                + " ORDER BY " + AUDIT_ID_COLUMN);
+        query.setParameter(1, after);
+        query.setParameter(2, upTo);
+        query.setMaxResults(max);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+
+        // entries sharing the same values for the columns other than the entity key are updated together
+        Map<Map<String, String>, Map<Long, String>> groups = new LinkedHashMap<>();
+        Long last = null;
+        for (Object[] row : rows) {
+            last = ((Number) row[0]).longValue();
+
+            AuditEntry auditEntry = Optional.ofNullable(message(row[1])).
+                    map(value -> POJOHelper.deserialize(value, AuditEntry.class)).orElse(null);
+            if (auditEntry == null || auditEntry.getLogger() == null || auditEntry.getLogger().getType() == null) {
+                LOG.warn("Could not fill audit columns for entry {}, skipping", last);
+                continue;
+            }
+
+            Map<String, String> columns = new LinkedHashMap<>();
+            columns.put(AUDIT_TYPE_COLUMN, auditEntry.getLogger().getType().name());
+            columns.put(AUDIT_CATEGORY_COLUMN, auditEntry.getLogger().getCategory());
+            columns.put(AUDIT_SUBCATEGORY_COLUMN, auditEntry.getLogger().getSubcategory());
+            columns.put(AUDIT_EVENT_COLUMN, auditEntry.getLogger().getEvent());
+            columns.put(AUDIT_RESULT_COLUMN, Optional.ofNullable(auditEntry.getLogger().getResult()).
+                    map(Enum::name).orElse(null));
+            columns.values().removeIf(Objects::isNull);
+
+            groups.computeIfAbsent(columns, k -> new LinkedHashMap<>()).put(last, entityKey(auditEntry));
+        }
+
+        groups.forEach(this::fillAuditColumns);
+
+        return last;
+    }
 }
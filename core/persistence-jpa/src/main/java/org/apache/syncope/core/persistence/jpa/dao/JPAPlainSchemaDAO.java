@@ -37,11 +37,17 @@ import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttr;
+import org.apache.syncope.core.provisioning.api.event.SchemaChangedEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 
 public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements PlainSchemaDAO {
 
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
     @Autowired
     private AnyUtilsFactory anyUtilsFactory;
 
@@ -122,7 +128,11 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
 
     @Override
     public PlainSchema save(final PlainSchema schema) {
-        return entityManager().merge(schema);
+        PlainSchema merged = entityManager().merge(schema);
+
+        publisher.publishEvent(new SchemaChangedEvent(this, AuthContextUtils.getDomain()));
+
+        return merged;
     }
 
     protected void deleteAttrs(final PlainSchema schema) {
@@ -150,6 +160,8 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
         }
 
         entityManager().remove(schema);
+
+        publisher.publishEvent(new SchemaChangedEvent(this, AuthContextUtils.getDomain()));
     }
 
     private <T extends PlainAttr<?>> String getPlainAttrTable(final Class<T> plainAttrClass) {
@@ -21,8 +21,14 @@ package org.apache.syncope.core.persistence.jpa.dao;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import javax.persistence.NoResultException;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
@@ -39,12 +45,26 @@ import org.apache.syncope.core.persistence.api.entity.policy.Policy;
 import org.apache.syncope.core.persistence.api.entity.policy.ProvisioningPolicy;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
+import org.apache.syncope.core.provisioning.api.event.RealmChangedEvent;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.apache.syncope.core.persistence.api.entity.policy.AuthPolicy;
-
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Realm lookups by key, full path, ancestors and descendants are served via an in-memory {@link RealmTree} for each
+ * domain, built on first access and then kept up to date via {@link RealmChangedEvent} once changes are committed,
+ * either locally or on another node of the same cluster.
+ *
+ * Within transactions which have changed any realm, lookups are performed against the database instead, for
+ * uncommitted changes to be visible.
+ */
 @Repository
 public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
@@ -52,8 +72,134 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
     @Lazy
     private RoleDAO roleDAO;
 
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    private final Map<String, RealmTree> trees = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private static String dirtyKey(final String domain) {
+        return JPARealmDAO.class.getName() + '.' + domain;
+    }
+
+    private void markDirty() {
+        String dirtyKey = dirtyKey(AuthContextUtils.getDomain());
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(dirtyKey)) {
+
+            TransactionSynchronizationManager.bindResource(dirtyKey, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(dirtyKey);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the realm tree for the current domain, building it if needed.
+     *
+     * @return realm tree, or empty if any realm was changed within the current transaction
+     */
+    protected Optional<RealmTree> tree() {
+        String domain = AuthContextUtils.getDomain();
+        if (TransactionSynchronizationManager.hasResource(dirtyKey(domain))) {
+            return Optional.empty();
+        }
+
+        RealmTree tree = trees.get(domain);
+        if (tree == null) {
+            AtomicLong generation = generations.computeIfAbsent(domain, k -> new AtomicLong());
+            long expected = generation.get();
+
+            Query query = entityManager().createQuery(
+                    "SELECT e.id, e.name, p.id FROM " + JPARealm.class.getSimpleName() + " e LEFT JOIN e.parent p");
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = query.getResultList();
+            RealmTree built = RealmTree.build(rows);
+
+            // do not store if any change was committed meanwhile
+            tree = built == null
+                    ? null
+                    : trees.compute(domain, (k, current) -> current != null
+                    ? current
+                    : generation.get() == expected ? built : null);
+            if (tree == null) {
+                tree = built;
+            }
+        }
+
+        return Optional.ofNullable(tree);
+    }
+
+    /**
+     * Discards the realm tree for the given domain, to be rebuilt on next access.
+     *
+     * @param domain domain
+     */
+    protected void invalidate(final String domain) {
+        generations.computeIfAbsent(domain, k -> new AtomicLong()).incrementAndGet();
+        trees.remove(domain);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void realmChanged(final RealmChangedEvent event) {
+        if (event.getKey() == null) {
+            LOG.debug("Realms changed for domain {}, invalidating", event.getDomain());
+            invalidate(event.getDomain());
+            return;
+        }
+
+        generations.computeIfAbsent(event.getDomain(), k -> new AtomicLong()).incrementAndGet();
+        trees.computeIfPresent(event.getDomain(), (domain, tree) -> event.isDeleted()
+                ? tree.delete(event.getKey())
+                : tree.save(event.getKey(), event.getName(), event.getParentKey()));
+    }
+
+    /**
+     * Loads the realms with given keys from the tree; if any is not found, the tree is discarded as not aligned to the
+     * database anymore.
+     *
+     * @param keys realm keys
+     * @return realms, in the same order as the given keys, or empty if any is not found
+     */
+    private Optional<List<Realm>> load(final List<String> keys) {
+        List<Realm> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Realm realm = entityManager().find(JPARealm.class, key);
+            if (realm == null) {
+                LOG.warn("Realm {} not found, invalidating", key);
+                invalidate(AuthContextUtils.getDomain());
+                return Optional.empty();
+            }
+            result.add(realm);
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Finds the tree node matching the given realm, as long as it is aligned to the given realm's current parent.
+     *
+     * @param realm realm
+     * @return tree node, if found and aligned
+     */
+    private Optional<RealmTree.Node> node(final Realm realm) {
+        String parentKey = Optional.ofNullable(realm.getParent()).map(Realm::getKey).orElse(null);
+        return tree().flatMap(tree -> tree.get(realm.getKey())).
+                filter(node -> node.getName().equals(realm.getName())
+                && (parentKey == null ? node.getParentKey() == null : parentKey.equals(node.getParentKey())));
+    }
+
     @Override
     public Realm getRoot() {
+        Optional<Realm> root = tree().flatMap(tree -> load(List.of(tree.getRootKey()))).map(realms -> realms.get(0));
+        if (root.isPresent()) {
+            return root.get();
+        }
+
         TypedQuery<Realm> query = entityManager().createQuery(
                 "SELECT e FROM " + JPARealm.class.getSimpleName() + " e WHERE e.parent IS NULL", Realm.class);
 
@@ -84,6 +230,18 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
             throw new MalformedPathException(fullPath);
         }
 
+        Optional<RealmTree> tree = tree();
+        if (tree.isPresent()) {
+            Optional<RealmTree.Node> node = tree.get().getByFullPath(fullPath);
+            if (node.isEmpty()) {
+                return null;
+            }
+            Optional<List<Realm>> realm = load(List.of(node.get().getKey()));
+            if (realm.isPresent()) {
+                return realm.get().get(0);
+            }
+        }
+
         Realm root = getRoot();
         if (root == null) {
             return null;
@@ -196,6 +354,11 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
     @Override
     public List<Realm> findAncestors(final Realm realm) {
+        Optional<List<Realm>> ancestors = node(realm).flatMap(node -> load(node.getAncestors()));
+        if (ancestors.isPresent()) {
+            return ancestors.get();
+        }
+
         List<Realm> result = new ArrayList<>();
         result.add(realm);
         findAncestors(result, realm);
@@ -221,11 +384,38 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
     @Override
     public List<Realm> findDescendants(final Realm realm) {
+        Optional<List<Realm>> descendants = node(realm).flatMap(node -> tree().
+                flatMap(tree -> load(tree.getDescendants(node.getKey()).stream().
+                map(RealmTree.Node::getKey).collect(Collectors.toList()))));
+        if (descendants.isPresent()) {
+            return descendants.get();
+        }
+
         List<Realm> result = new ArrayList<>();
         findDescendants(result, realm);
         return result;
     }
 
+    private List<String> findDescendants(
+            final Realm realm,
+            final Function<RealmTree.Node, String> fromTree,
+            final Function<Realm, String> fromRealm) {
+
+        return node(realm).flatMap(node -> tree()).
+                map(tree -> tree.getDescendants(realm.getKey()).stream().map(fromTree).collect(Collectors.toList())).
+                orElseGet(() -> findDescendants(realm).stream().map(fromRealm).collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<String> findDescendantKeys(final Realm realm) {
+        return findDescendants(realm, RealmTree.Node::getKey, Realm::getKey);
+    }
+
+    @Override
+    public List<String> findDescendantFullPaths(final Realm realm) {
+        return findDescendants(realm, RealmTree.Node::getFullPath, Realm::getFullPath);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<Realm> findAll() {
@@ -234,7 +424,18 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
     @Override
     public Realm save(final Realm realm) {
-        return entityManager().merge(realm);
+        Realm merged = entityManager().merge(realm);
+
+        markDirty();
+        publisher.publishEvent(new RealmChangedEvent(
+                this,
+                AuthContextUtils.getDomain(),
+                merged.getKey(),
+                merged.getName(),
+                Optional.ofNullable(merged.getParent()).map(Realm::getKey).orElse(null),
+                false));
+
+        return merged;
     }
 
     @Override
@@ -246,6 +447,10 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
             entityManager().remove(toBeDeleted);
         });
+
+        markDirty();
+        publisher.publishEvent(new RealmChangedEvent(
+                this, AuthContextUtils.getDomain(), realm.getKey(), null, null, true));
     }
 
     @Override
@@ -20,21 +20,25 @@ package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyMatchDAO;
-import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.api.dao.RoleDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Privilege;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.Role;
 import org.apache.syncope.core.persistence.api.entity.user.User;
-import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
 import org.apache.syncope.core.persistence.jpa.entity.JPARole;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
+import org.apache.syncope.core.provisioning.api.event.PrincipalChangedEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
@@ -46,6 +50,11 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
 
     public static final String DYNMEMB_TABLE = "DynRoleMembers";
 
+    private static final DynMembershipEngine.Table DYNMEMB_TABLE_DEF =
+            new DynMembershipEngine.Table(DYNMEMB_TABLE, JPARole.TABLE, "role_id", false);
+
+    private static final DynMembershipEngine DYN_MEMBERSHIP_ENGINE = new DynMembershipEngine();
+
     @Autowired
     private AnyMatchDAO anyMatchDAO;
 
@@ -56,7 +65,7 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
     private AnySearchDAO searchDAO;
 
     @Autowired
-    private SearchCondVisitor searchCondVisitor;
+    private SearchCondCache searchCondCache;
 
     @Override
     public int count() {
@@ -96,7 +105,9 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
 
     @Override
     public Role save(final Role role) {
-        return entityManager().merge(role);
+        Role merged = entityManager().merge(role);
+        publisher.publishEvent(new PrincipalChangedEvent(this, AuthContextUtils.getDomain(), null, null));
+        return merged;
     }
 
     @Override
@@ -107,7 +118,7 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
         clearDynMembers(merged);
         if (merged.getDynMembership() != null) {
             List<User> matching = searchDAO.search(
-                    SearchCondConverter.convert(searchCondVisitor, merged.getDynMembership().getFIQLCond()),
+                    searchCondCache.get(merged.getDynMembership().getFIQLCond()),
                     AnyTypeKind.USER);
 
             matching.forEach((user) -> {
@@ -137,6 +148,7 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
         clearDynMembers(role);
 
         entityManager().remove(role);
+        publisher.publishEvent(new PrincipalChangedEvent(this, AuthContextUtils.getDomain(), null, null));
     }
 
     @Override
@@ -177,33 +189,17 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
     @Transactional
     @Override
     public void refreshDynMemberships(final User user) {
-        Query query = entityManager().createNativeQuery(
-                "SELECT role_id FROM " + DYNMEMB_TABLE + " WHERE any_id=?");
-        query.setParameter(1, user.getKey());
-
-        findAll().stream().filter(role -> role.getDynMembership() != null).forEach(role -> {
-            boolean matches = anyMatchDAO.matches(
-                    user, SearchCondConverter.convert(searchCondVisitor, role.getDynMembership().getFIQLCond()));
-
-            Query find = entityManager().createNativeQuery(
-                    "SELECT any_id FROM " + DYNMEMB_TABLE + " WHERE role_id=?");
-            find.setParameter(1, role.getKey());
-            boolean existing = !find.getResultList().isEmpty();
-
-            if (matches && !existing) {
-                Query insert = entityManager().createNativeQuery(
-                        "INSERT INTO " + DYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, user.getKey());
-                insert.setParameter(2, role.getKey());
-                insert.executeUpdate();
-            } else if (!matches && existing) {
-                Query delete = entityManager().createNativeQuery(
-                        "DELETE FROM " + DYNMEMB_TABLE + " WHERE role_id=? AND any_id=?");
-                delete.setParameter(1, role.getKey());
-                delete.setParameter(2, user.getKey());
-                delete.executeUpdate();
-            }
-        });
+        TypedQuery<Role> query = entityManager().createQuery(
+                "SELECT e FROM " + JPARole.class.getSimpleName() + " e WHERE e.dynMembership IS NOT NULL", Role.class);
+
+        Predicate<SearchCond> matcher = anyMatchDAO.matcher(user);
+        DYN_MEMBERSHIP_ENGINE.refresh(
+                entityManager(),
+                DYNMEMB_TABLE_DEF,
+                null,
+                user.getKey(),
+                query.getResultList().stream().collect(Collectors.toMap(Role::getKey, Function.identity())),
+                role -> matcher.test(DYN_MEMBERSHIP_ENGINE.getCond(role.getDynMembership(), searchCondCache)));
     }
 
     @Override
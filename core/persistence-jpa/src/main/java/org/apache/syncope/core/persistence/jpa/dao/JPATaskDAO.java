@@ -439,6 +439,13 @@ public class JPATaskDAO extends AbstractDAO<Task> implements TaskDAO {
         return entityManager().merge(task);
     }
 
+    @Transactional(rollbackFor = { Throwable.class })
+    @Override
+    public <T extends Task> List<T> saveAll(final List<T> tasks) {
+        tasks.forEach(entityManager()::persist);
+        return tasks;
+    }
+
     @Override
     public void delete(final String id) {
         Task task = find(id);
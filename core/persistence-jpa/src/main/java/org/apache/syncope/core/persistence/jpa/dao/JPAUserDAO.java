@@ -262,6 +262,11 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return findAllKeys(JPAUser.TABLE, page, itemsPerPage);
     }
 
+    @Override
+    public List<String> findAllKeys(final String lastKey, final int itemsPerPage) {
+        return findAllKeys(JPAUser.TABLE, lastKey, itemsPerPage);
+    }
+
     protected List<AccountPolicy> getAccountPolicies(final User user) {
         List<AccountPolicy> policies = new ArrayList<>();
 
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import org.apache.syncope.common.lib.SyncopeConstants;
+
+/**
+ * Immutable snapshot of the realm hierarchy of a domain, indexed by key and full path, with ancestors materialized
+ * for each realm.
+ *
+ * Changes are applied copy-on-write: {@link #save(String, String, String)} and {@link #delete(String)} return a new
+ * tree, sharing all the nodes which were not affected, or {@code null} when the change cannot be applied and the
+ * tree needs to be reloaded.
+ */
+final class RealmTree {
+
+    static final class Node {
+
+        private final String key;
+
+        private final String name;
+
+        private final String parentKey;
+
+        private final String fullPath;
+
+        /**
+         * The realm itself first, then its parent and so on up to the root.
+         */
+        private final List<String> ancestors;
+
+        private final List<String> children;
+
+        private Node(
+                final String key,
+                final String name,
+                final Node parent,
+                final List<String> children) {
+
+            this.key = key;
+            this.name = name;
+            this.parentKey = Optional.ofNullable(parent).map(Node::getKey).orElse(null);
+            this.fullPath = parent == null
+                    ? SyncopeConstants.ROOT_REALM
+                    : SyncopeConstants.ROOT_REALM.equals(parent.fullPath)
+                    ? parent.fullPath + name
+                    : parent.fullPath + '/' + name;
+
+            List<String> path = new ArrayList<>();
+            path.add(key);
+            Optional.ofNullable(parent).ifPresent(p -> path.addAll(p.ancestors));
+            this.ancestors = Collections.unmodifiableList(path);
+
+            this.children = Collections.unmodifiableList(children);
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getParentKey() {
+            return parentKey;
+        }
+
+        public String getFullPath() {
+            return fullPath;
+        }
+
+        public List<String> getAncestors() {
+            return ancestors;
+        }
+
+        public List<String> getChildren() {
+            return children;
+        }
+    }
+
+    /**
+     * Builds the tree out of the given rows, made of realm key, name and parent key; realms not reachable from the
+     * root are ignored.
+     *
+     * @param rows realm key, name and parent key
+     * @return tree, or {@code null} if no root realm is found
+     */
+    static RealmTree build(final List<Object[]> rows) {
+        String rootKey = null;
+        Map<String, String> names = new HashMap<>();
+        Map<String, List<String>> children = new HashMap<>();
+        for (Object[] row : rows) {
+            String key = row[0].toString();
+            names.put(key, row[1].toString());
+            if (row[2] == null) {
+                rootKey = key;
+            } else {
+                children.computeIfAbsent(row[2].toString(), k -> new ArrayList<>()).add(key);
+            }
+        }
+        if (rootKey == null) {
+            return null;
+        }
+
+        Map<String, Node> byKey = new HashMap<>();
+        Map<String, String> byFullPath = new HashMap<>();
+        place(byKey, byFullPath, rootKey, names.get(rootKey), null, k -> children.getOrDefault(k, List.of()), names);
+        return new RealmTree(rootKey, byKey, byFullPath);
+    }
+
+    private static void place(
+            final Map<String, Node> byKey,
+            final Map<String, String> byFullPath,
+            final String key,
+            final String name,
+            final Node parent,
+            final Function<String, List<String>> children,
+            final Map<String, String> names) {
+
+        Node node = new Node(key, name, parent, children.apply(key));
+        byKey.put(key, node);
+        byFullPath.put(node.getFullPath(), key);
+
+        node.getChildren().forEach(child -> place(byKey, byFullPath, child, names.get(child), node, children, names));
+    }
+
+    private final String rootKey;
+
+    private final Map<String, Node> byKey;
+
+    private final Map<String, String> byFullPath;
+
+    private RealmTree(final String rootKey, final Map<String, Node> byKey, final Map<String, String> byFullPath) {
+        this.rootKey = rootKey;
+        this.byKey = byKey;
+        this.byFullPath = byFullPath;
+    }
+
+    public String getRootKey() {
+        return rootKey;
+    }
+
+    public Optional<Node> get(final String key) {
+        return Optional.ofNullable(key).map(byKey::get);
+    }
+
+    public Optional<Node> getByFullPath(final String fullPath) {
+        return Optional.ofNullable(byFullPath.get(fullPath)).map(byKey::get);
+    }
+
+    /**
+     * Returns the given realm and all of its descendants, in pre-order.
+     *
+     * @param key realm key
+     * @return the given realm and all of its descendants, or empty list if the given realm is not found
+     */
+    public List<Node> getDescendants(final String key) {
+        List<Node> result = new ArrayList<>();
+        get(key).ifPresent(node -> descendants(result, node));
+        return result;
+    }
+
+    private void descendants(final List<Node> result, final Node node) {
+        result.add(node);
+        node.getChildren().forEach(child -> descendants(result, byKey.get(child)));
+    }
+
+    private void unlink(final Map<String, Node> nodes, final Node node) {
+        Node parent = nodes.get(node.getParentKey());
+        if (parent != null) {
+            List<String> siblings = new ArrayList<>(parent.getChildren());
+            siblings.remove(node.getKey());
+            nodes.put(parent.getKey(), new Node(
+                    parent.getKey(), parent.getName(), nodes.get(parent.getParentKey()), siblings));
+        }
+    }
+
+    /**
+     * Returns a new tree where the given realm is created, or updated with the given name and parent.
+     *
+     * @param key realm key
+     * @param name realm name
+     * @param parentKey parent realm key, {@code null} for root
+     * @return new tree, or {@code null} if the given change cannot be applied
+     */
+    public RealmTree save(final String key, final String name, final String parentKey) {
+        Optional<Node> previous = get(key);
+        if (previous.isPresent()
+                && previous.get().getName().equals(name)
+                && Objects.equals(previous.get().getParentKey(), parentKey)) {
+
+            return this;
+        }
+        if (parentKey == null
+                ? !key.equals(rootKey)
+                : !byKey.containsKey(parentKey) || byKey.get(parentKey).getAncestors().contains(key)) {
+
+            return null;
+        }
+
+        Map<String, Node> nodes = new HashMap<>(byKey);
+        Map<String, String> paths = new HashMap<>(byFullPath);
+        previous.ifPresent(node -> {
+            getDescendants(key).forEach(descendant -> paths.remove(descendant.getFullPath()));
+            unlink(nodes, node);
+        });
+
+        Node parent = nodes.get(parentKey);
+        if (parent != null) {
+            List<String> siblings = new ArrayList<>(parent.getChildren());
+            siblings.add(key);
+            parent = new Node(parent.getKey(), parent.getName(), nodes.get(parent.getParentKey()), siblings);
+            nodes.put(parent.getKey(), parent);
+        }
+
+        Map<String, String> names = new HashMap<>();
+        names.put(key, name);
+        getDescendants(key).stream().skip(1).
+                forEach(descendant -> names.put(descendant.getKey(), descendant.getName()));
+        place(nodes, paths, key, name, parent,
+                k -> get(k).map(Node::getChildren).orElse(List.of()), names);
+        if (nodes.size() != paths.size()) {
+            // another realm with same full path was found
+            return null;
+        }
+
+        return new RealmTree(rootKey, nodes, paths);
+    }
+
+    /**
+     * Returns a new tree where the given realm and all of its descendants are removed.
+     *
+     * @param key realm key
+     * @return new tree, or {@code null} if the given change cannot be applied
+     */
+    public RealmTree delete(final String key) {
+        Optional<Node> node = get(key);
+        if (node.isEmpty()) {
+            return this;
+        }
+        if (key.equals(rootKey)) {
+            return null;
+        }
+
+        Map<String, Node> nodes = new HashMap<>(byKey);
+        Map<String, String> paths = new HashMap<>(byFullPath);
+        getDescendants(key).forEach(descendant -> {
+            nodes.remove(descendant.getKey());
+            paths.remove(descendant.getFullPath());
+        });
+        unlink(nodes, node.get());
+
+        return new RealmTree(rootKey, nodes, paths);
+    }
+
+    public int size() {
+        return byKey.size();
+    }
+}
@@ -42,6 +42,8 @@ public class JPABatch extends AbstractProvidedKeyEntity implements Batch {
     @Lob
     private String results;
 
+    private Integer chunks;
+
     @Override
     public Date getExpiryTime() {
         return Optional.ofNullable(expiryTime).map(time -> new Date(time.getTime())).orElse(null);
@@ -65,4 +67,14 @@ public class JPABatch extends AbstractProvidedKeyEntity implements Batch {
     public void setResults(final String results) {
         this.results = results;
     }
+
+    @Override
+    public Integer getChunks() {
+        return chunks;
+    }
+
+    @Override
+    public void setChunks(final Integer chunks) {
+        this.chunks = chunks;
+    }
 }
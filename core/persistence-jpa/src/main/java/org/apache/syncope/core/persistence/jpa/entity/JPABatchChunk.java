@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import javax.persistence.Entity;
+import javax.persistence.Lob;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.NotNull;
+import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchChunk;
+
+@Entity
+@Table(name = JPABatchChunk.TABLE, uniqueConstraints =
+        @UniqueConstraint(columnNames = { "batch_id", "chunkIndex" }))
+public class JPABatchChunk extends AbstractGeneratedKeyEntity implements BatchChunk {
+
+    private static final long serialVersionUID = -2364216097233409476L;
+
+    public static final String TABLE = "SyncopeBatchChunk";
+
+    @NotNull
+    @ManyToOne
+    private JPABatch batch;
+
+    private int chunkIndex;
+
+    @NotNull
+    @Lob
+    private String content;
+
+    @Override
+    public Batch getBatch() {
+        return batch;
+    }
+
+    @Override
+    public void setBatch(final Batch batch) {
+        checkType(batch, JPABatch.class);
+        this.batch = (JPABatch) batch;
+    }
+
+    @Override
+    public int getIndex() {
+        return chunkIndex;
+    }
+
+    @Override
+    public void setIndex(final int index) {
+        this.chunkIndex = index;
+    }
+
+    @Override
+    public String getContent() {
+        return content;
+    }
+
+    @Override
+    public void setContent(final String content) {
+        this.content = content;
+    }
+}
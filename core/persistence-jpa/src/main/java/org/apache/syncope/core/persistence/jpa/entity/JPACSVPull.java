@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import java.util.Date;
+import java.util.Optional;
+import javax.persistence.Basic;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.syncope.core.persistence.api.entity.CSVPull;
+
+@Entity
+@Table(name = JPACSVPull.TABLE)
+public class JPACSVPull extends AbstractProvidedKeyEntity implements CSVPull {
+
+    private static final long serialVersionUID = -4238311093829461137L;
+
+    public static final String TABLE = "CSVPull";
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date expiryTime;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    private Byte[] csv;
+
+    @Override
+    public Date getExpiryTime() {
+        return Optional.ofNullable(expiryTime).map(time -> new Date(time.getTime())).orElse(null);
+    }
+
+    @Override
+    public void setExpiryTime(final Date expiryTime) {
+        this.expiryTime = Optional.ofNullable(expiryTime).map(time -> new Date(time.getTime())).orElse(null);
+    }
+
+    @Override
+    public byte[] getCSV() {
+        return Optional.ofNullable(csv).map(ArrayUtils::toPrimitive).orElse(null);
+    }
+
+    @Override
+    public void setCSV(final byte[] csv) {
+        this.csv = Optional.ofNullable(csv).map(ArrayUtils::toObject).orElse(null);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import java.util.Date;
+import java.util.Optional;
+import javax.persistence.Entity;
+import javax.persistence.Lob;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Report of a {@link JPACSVPull}, stored as soon as the related row is handled.
+ */
+@Entity
+@Table(name = JPACSVPullReport.TABLE)
+public class JPACSVPullReport extends AbstractGeneratedKeyEntity {
+
+    private static final long serialVersionUID = 2853624530458719836L;
+
+    public static final String TABLE = "CSVPullReport";
+
+    @NotNull
+    @ManyToOne
+    private JPACSVPull csvPull;
+
+    @NotNull
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date written;
+
+    @NotNull
+    @Lob
+    private String content;
+
+    public JPACSVPull getCSVPull() {
+        return csvPull;
+    }
+
+    public void setCSVPull(final JPACSVPull csvPull) {
+        this.csvPull = csvPull;
+    }
+
+    public Date getWritten() {
+        return Optional.ofNullable(written).map(time -> new Date(time.getTime())).orElse(null);
+    }
+
+    public void setWritten(final Date written) {
+        this.written = Optional.ofNullable(written).map(time -> new Date(time.getTime())).orElse(null);
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(final String content) {
+        this.content = content;
+    }
+}
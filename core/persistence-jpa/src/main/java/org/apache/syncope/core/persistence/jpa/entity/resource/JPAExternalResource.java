@@ -41,6 +41,7 @@ import javax.persistence.OneToOne;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
@@ -108,6 +109,11 @@ public class JPAExternalResource extends AbstractProvidedKeyEntity implements Ex
     @NotNull
     private Boolean randomPwdIfNotProvided = false;
 
+    /**
+     * Read remote objects only for the propagated attributes before propagation, and never after.
+     */
+    private Boolean lightweightPropagation;
+
     @Enumerated(EnumType.STRING)
     @NotNull
     private TraceLevel createTraceLevel = TraceLevel.FAILURES;
@@ -247,6 +253,16 @@ public class JPAExternalResource extends AbstractProvidedKeyEntity implements Ex
         this.randomPwdIfNotProvided = randomPwdIfNotProvided;
     }
 
+    @Override
+    public boolean isLightweightPropagation() {
+        return BooleanUtils.isTrue(lightweightPropagation);
+    }
+
+    @Override
+    public void setLightweightPropagation(final boolean lightweightPropagation) {
+        this.lightweightPropagation = lightweightPropagation;
+    }
+
     @Override
     public TraceLevel getCreateTraceLevel() {
         return createTraceLevel;
@@ -18,10 +18,12 @@
  */
 package org.apache.syncope.core.persistence.jpa.entity.task;
 
+import java.util.Optional;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.ManyToOne;
 import javax.persistence.MappedSuperclass;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import org.apache.syncope.common.lib.types.MatchingRule;
 import org.apache.syncope.common.lib.types.UnmatchingRule;
@@ -68,6 +70,12 @@ public abstract class AbstractProvisioningTask extends JPASchedTask implements P
     @Enumerated(EnumType.STRING)
     protected MatchingRule matchingRule;
 
+    @Min(1)
+    private Integer threadPoolSize;
+
+    @Min(1)
+    private Integer queueCapacity;
+
     @Override
     public ExternalResource getResource() {
         return resource;
@@ -141,4 +149,24 @@ public abstract class AbstractProvisioningTask extends JPASchedTask implements P
     public void setMatchingRule(final MatchingRule matchigRule) {
         this.matchingRule = matchigRule;
     }
+
+    @Override
+    public int getThreadPoolSize() {
+        return Optional.ofNullable(threadPoolSize).orElse(1);
+    }
+
+    @Override
+    public void setThreadPoolSize(final int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize;
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return Optional.ofNullable(queueCapacity).orElse(100);
+    }
+
+    @Override
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
 }
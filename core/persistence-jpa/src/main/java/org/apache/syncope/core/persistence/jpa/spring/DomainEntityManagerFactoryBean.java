@@ -18,16 +18,31 @@
  */
 package org.apache.syncope.core.persistence.jpa.spring;
 
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.spi.PersistenceUnitInfo;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 
 /**
  * Extension of {@link LocalContainerEntityManagerFactoryBean} relying on {@link CommonEntityManagerFactoryConf} for
  * common configuration options.
+ *
+ * Commits performed by other nodes of the same cluster are republished via {@link RemoteCommitEventPublisher}.
  */
-public class DomainEntityManagerFactoryBean extends LocalContainerEntityManagerFactoryBean {
+public class DomainEntityManagerFactoryBean extends LocalContainerEntityManagerFactoryBean
+        implements ApplicationEventPublisherAware {
 
     private static final long serialVersionUID = 49152547930966545L;
 
+    private transient ApplicationEventPublisher publisher;
+
+    @Override
+    public void setApplicationEventPublisher(final ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
     public void setCommonEntityManagerFactoryConf(final CommonEntityManagerFactoryConf commonEMFConf) {
         super.setJpaPropertyMap(commonEMFConf.getJpaPropertyMap());
 
@@ -43,4 +58,14 @@ public class DomainEntityManagerFactoryBean extends LocalContainerEntityManagerF
 
         commonEMFConf.getDomains().put(this.getPersistenceUnitName(), this.getDataSource());
     }
+
+    @Override
+    protected void postProcessEntityManagerFactory(final EntityManagerFactory emf, final PersistenceUnitInfo pui) {
+        super.postProcessEntityManagerFactory(emf, pui);
+
+        if (publisher != null && emf instanceof OpenJPAEntityManagerFactorySPI) {
+            ((OpenJPAEntityManagerFactorySPI) emf).getConfiguration().getRemoteCommitEventManager().
+                    addListener(new RemoteCommitEventPublisher(pui.getPersistenceUnitName(), publisher));
+        }
+    }
 }
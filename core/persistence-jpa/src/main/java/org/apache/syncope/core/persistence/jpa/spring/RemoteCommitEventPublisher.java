@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.spring;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitListener;
+import org.apache.openjpa.util.OpenJPAId;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAccessToken;
+import org.apache.syncope.core.persistence.jpa.entity.JPADerSchema;
+import org.apache.syncope.core.persistence.jpa.entity.JPAImplementation;
+import org.apache.syncope.core.persistence.jpa.entity.JPALogger;
+import org.apache.syncope.core.persistence.jpa.entity.JPANotification;
+import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
+import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
+import org.apache.syncope.core.persistence.jpa.entity.JPARole;
+import org.apache.syncope.core.persistence.jpa.entity.JPAVirSchema;
+import org.apache.syncope.core.persistence.jpa.entity.resource.JPAExternalResource;
+import org.apache.syncope.core.persistence.jpa.entity.resource.JPAMapping;
+import org.apache.syncope.core.persistence.jpa.entity.resource.JPAMappingItem;
+import org.apache.syncope.core.persistence.jpa.entity.resource.JPAOrgUnit;
+import org.apache.syncope.core.persistence.jpa.entity.resource.JPAOrgUnitItem;
+import org.apache.syncope.core.persistence.jpa.entity.resource.JPAProvision;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
+import org.apache.syncope.core.provisioning.api.event.AuditNotificationChangedEvent;
+import org.apache.syncope.core.provisioning.api.event.MappingChangedEvent;
+import org.apache.syncope.core.provisioning.api.event.PrincipalChangedEvent;
+import org.apache.syncope.core.provisioning.api.event.RealmChangedEvent;
+import org.apache.syncope.core.provisioning.api.event.SchemaChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Republishes the commits performed by other nodes of the same cluster (as notified via the configured OpenJPA
+ * {@code RemoteCommitProvider}) as {@link AuditNotificationChangedEvent}, {@link PrincipalChangedEvent},
+ * {@link SchemaChangedEvent}, {@link RealmChangedEvent} and {@link MappingChangedEvent}, for in-memory information
+ * derived from the related entities to be reloaded.
+ */
+public class RemoteCommitEventPublisher implements RemoteCommitListener {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(RemoteCommitEventPublisher.class);
+
+    protected static Optional<Class<?>> type(final Object typeName) {
+        try {
+            return Optional.of(ClassUtils.getClass(typeName.toString()));
+        } catch (ClassNotFoundException e) {
+            LOG.debug("Could not load {}", typeName, e);
+            return Optional.empty();
+        }
+    }
+
+    protected static Stream<?> stream(final Collection<?> collection) {
+        return collection == null ? Stream.empty() : collection.stream();
+    }
+
+    protected static boolean isAuditNotification(final Class<?> type) {
+        return JPALogger.class.isAssignableFrom(type) || JPANotification.class.isAssignableFrom(type);
+    }
+
+    protected static boolean isPrincipal(final Class<?> type) {
+        return JPAUser.class.isAssignableFrom(type)
+                || JPAAccessToken.class.isAssignableFrom(type)
+                || JPARole.class.isAssignableFrom(type);
+    }
+
+    protected static boolean isSchema(final Class<?> type) {
+        return JPAPlainSchema.class.isAssignableFrom(type)
+                || JPADerSchema.class.isAssignableFrom(type)
+                || JPAVirSchema.class.isAssignableFrom(type);
+    }
+
+    protected static boolean isRealm(final Class<?> type) {
+        return JPARealm.class.isAssignableFrom(type);
+    }
+
+    protected static boolean isMapping(final Class<?> type) {
+        return JPAExternalResource.class.isAssignableFrom(type)
+                || JPAProvision.class.isAssignableFrom(type)
+                || JPAMapping.class.isAssignableFrom(type)
+                || JPAMappingItem.class.isAssignableFrom(type)
+                || JPAOrgUnit.class.isAssignableFrom(type)
+                || JPAOrgUnitItem.class.isAssignableFrom(type)
+                || JPAImplementation.class.isAssignableFrom(type);
+    }
+
+    protected final String domain;
+
+    protected final ApplicationEventPublisher publisher;
+
+    public RemoteCommitEventPublisher(final String domain, final ApplicationEventPublisher publisher) {
+        this.domain = domain;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void afterCommit(final RemoteCommitEvent event) {
+        Class<?>[] persisted = stream(event.getPersistedTypeNames()).
+                map(RemoteCommitEventPublisher::type).flatMap(Optional::stream).
+                toArray(Class<?>[]::new);
+        boolean auditNotification = Stream.of(persisted).anyMatch(RemoteCommitEventPublisher::isAuditNotification);
+        boolean schema = Stream.of(persisted).anyMatch(RemoteCommitEventPublisher::isSchema);
+        boolean realm = Stream.of(persisted).anyMatch(RemoteCommitEventPublisher::isRealm);
+        boolean mapping = Stream.of(persisted).anyMatch(RemoteCommitEventPublisher::isMapping);
+
+        if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+            Class<?>[] types = Stream.concat(stream(event.getUpdatedTypeNames()), stream(event.getDeletedTypeNames())).
+                    map(RemoteCommitEventPublisher::type).flatMap(Optional::stream).
+                    toArray(Class<?>[]::new);
+
+            auditNotification |= Stream.of(types).anyMatch(RemoteCommitEventPublisher::isAuditNotification);
+            schema |= Stream.of(types).anyMatch(RemoteCommitEventPublisher::isSchema);
+            realm |= Stream.of(types).anyMatch(RemoteCommitEventPublisher::isRealm);
+            mapping |= Stream.of(types).anyMatch(RemoteCommitEventPublisher::isMapping);
+            if (Stream.of(types).anyMatch(RemoteCommitEventPublisher::isPrincipal)) {
+                publisher.publishEvent(new PrincipalChangedEvent(this, domain, null, null));
+            }
+        } else {
+            OpenJPAId[] oids = Stream.concat(stream(event.getUpdatedObjectIds()), stream(event.getDeletedObjectIds())).
+                    filter(OpenJPAId.class::isInstance).map(OpenJPAId.class::cast).
+                    toArray(OpenJPAId[]::new);
+
+            for (OpenJPAId oid : oids) {
+                Class<?> type = oid.getType();
+                auditNotification |= isAuditNotification(type);
+                schema |= isSchema(type);
+                realm |= isRealm(type);
+                mapping |= isMapping(type);
+
+                if (JPAUser.class.isAssignableFrom(type)) {
+                    publisher.publishEvent(new PrincipalChangedEvent(
+                            this, domain, oid.getIdObject().toString(), null));
+                } else if (JPAAccessToken.class.isAssignableFrom(type)) {
+                    publisher.publishEvent(new PrincipalChangedEvent(
+                            this, domain, null, oid.getIdObject().toString()));
+                } else if (JPARole.class.isAssignableFrom(type)) {
+                    publisher.publishEvent(new PrincipalChangedEvent(this, domain, null, null));
+                }
+            }
+        }
+
+        if (auditNotification) {
+            publisher.publishEvent(new AuditNotificationChangedEvent(this, domain));
+        }
+        if (schema) {
+            publisher.publishEvent(new SchemaChangedEvent(this, domain));
+        }
+        if (realm) {
+            publisher.publishEvent(new RealmChangedEvent(this, domain));
+        }
+        if (mapping) {
+            publisher.publishEvent(new MappingChangedEvent(this, domain));
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to do
+    }
+}
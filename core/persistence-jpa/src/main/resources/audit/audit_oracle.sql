@@ -22,3 +22,16 @@ CREATE TABLE SYNCOPEAUDIT (
   MESSAGE CLOB NOT NULL,
   THROWABLE CLOB
 );
+
+-- structured columns and indexes, also applied to tables created by previous versions;
+-- EVENT_ID is a unique tie-breaker among entries sharing the same EVENT_DATE, generated for existing rows as well
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_ID NUMBER(19) GENERATED BY DEFAULT ON NULL AS IDENTITY;
+ALTER TABLE SYNCOPEAUDIT ADD ENTITY_KEY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_TYPE VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_CATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_SUBCATEGORY VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_NAME VARCHAR(255);
+ALTER TABLE SYNCOPEAUDIT ADD EVENT_RESULT VARCHAR(255);
+CREATE INDEX SYNCOPEAUDIT_DATE_IDX ON SYNCOPEAUDIT(EVENT_DATE, EVENT_ID);
+CREATE INDEX SYNCOPEAUDIT_ENTITY_IDX ON SYNCOPEAUDIT(ENTITY_KEY, EVENT_DATE, EVENT_ID);
+CREATE INDEX SYNCOPEAUDIT_EVENT_IDX ON SYNCOPEAUDIT(EVENT_CATEGORY, EVENT_SUBCATEGORY, EVENT_NAME, EVENT_DATE, EVENT_ID);
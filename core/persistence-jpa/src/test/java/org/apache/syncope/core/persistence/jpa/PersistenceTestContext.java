@@ -28,6 +28,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
 
 @PropertySource("classpath:security.properties")
 @Import(PersistenceContext.class)
@@ -67,4 +68,10 @@ public class PersistenceTestContext {
     public PasswordGenerator passwordGenerator() {
         return new DefaultPasswordGenerator();
     }
+
+    // as with @EnableTransactionManagement at runtime: @TransactionalEventListener methods run after commit
+    @Bean
+    public static TransactionalEventListenerFactory transactionalEventListenerFactory() {
+        return new TransactionalEventListenerFactory();
+    }
 }
@@ -18,13 +18,18 @@
  */
 package org.apache.syncope.core.persistence.jpa.inner;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AssignableCond;
 import org.apache.syncope.core.persistence.api.dao.search.AttrCond;
 import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
 import org.apache.syncope.core.persistence.api.dao.search.RelationshipCond;
@@ -128,4 +133,63 @@ public class AnyMatchTest extends AbstractTest {
         attrCond.setType(AttrCond.Type.ISNOTNULL);
         assertTrue(anyMatcher.matches(group, SearchCond.getLeaf(attrCond)));
     }
+
+    @Test
+    public void sharedCond() {
+        User user = userDAO.findByUsername("rossini");
+        assertNotNull(user);
+
+        AnyCond anyCond = new AnyCond();
+        anyCond.setSchema("key");
+        anyCond.setExpression(user.getKey());
+        anyCond.setType(AttrCond.Type.EQ);
+        SearchCond cond = SearchCond.getLeaf(anyCond);
+
+        // the same condition instance can be evaluated over and over, as it is never modified
+        assertTrue(anyMatcher.matches(user, cond));
+        assertTrue(anyMatcher.matches(user, cond));
+        assertEquals("key", anyCond.getSchema());
+        assertFalse(anyMatcher.matches(userDAO.findByUsername("verdi"), cond));
+    }
+
+    @Test
+    public void matcher() {
+        User user = userDAO.find("1417acbe-cbf6-4277-9372-e75e04f97000");
+        assertNotNull(user);
+
+        Predicate<SearchCond> matcher = anyMatcher.matcher(user);
+
+        MembershipCond groupCond = new MembershipCond();
+        groupCond.setGroup("root");
+        RoleCond roleCond = new RoleCond();
+        roleCond.setRole("Other");
+        ResourceCond resourceCond = new ResourceCond();
+        resourceCond.setResourceKey("resource-testdb2");
+        AssignableCond assignableCond = new AssignableCond();
+        assignableCond.setRealmFullPath("/");
+        assignableCond.setFromGroup(true);
+
+        assertTrue(matcher.test(SearchCond.getAnd(new ArrayList<>(List.of(
+                SearchCond.getLeaf(groupCond),
+                SearchCond.getLeaf(roleCond),
+                SearchCond.getLeaf(resourceCond),
+                SearchCond.getLeaf(assignableCond))))));
+
+        groupCond.setGroup("37d15e4c-cdc1-460b-a591-8505c8133806");
+        assertTrue(matcher.test(SearchCond.getLeaf(groupCond)));
+        assertFalse(matcher.test(SearchCond.getNotLeaf(groupCond)));
+
+        groupCond.setGroup("secretary");
+        assertFalse(matcher.test(SearchCond.getLeaf(groupCond)));
+
+        resourceCond.setResourceKey("ws-target-resource-delete");
+        assertFalse(matcher.test(SearchCond.getLeaf(resourceCond)));
+
+        assignableCond.setRealmFullPath("/even/two");
+        assertFalse(matcher.test(SearchCond.getLeaf(assignableCond)));
+        assignableCond.setFromGroup(false);
+        assertTrue(matcher.test(SearchCond.getLeaf(assignableCond)));
+        assignableCond.setRealmFullPath("/even/missing");
+        assertFalse(matcher.test(SearchCond.getLeaf(assignableCond)));
+    }
 }
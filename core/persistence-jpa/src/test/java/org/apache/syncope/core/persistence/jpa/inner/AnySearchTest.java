@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.time.DateUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
@@ -236,6 +237,46 @@ public class AnySearchTest extends AbstractTest {
         assertTrue(users.isEmpty());
     }
 
+    @Test
+    public void searchAndCount() {
+        AttrCond fullnameCond = new AttrCond(AttrCond.Type.ISNOTNULL);
+        fullnameCond.setSchema("fullname");
+        SearchCond cond = SearchCond.getLeaf(fullnameCond);
+
+        OrderByClause orderByClause = new OrderByClause();
+        orderByClause.setField("surname");
+        orderByClause.setDirection(OrderByClause.Direction.DESC);
+        List<OrderByClause> orderBy = List.of(orderByClause);
+
+        Pair<Integer, List<User>> result = searchDAO.searchAndCount(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, 1, 2, orderBy, AnyTypeKind.USER, false);
+        assertEquals(5, result.getLeft());
+        assertEquals(
+                searchDAO.search(SyncopeConstants.FULL_ADMIN_REALMS, cond, 1, 2, orderBy, AnyTypeKind.USER),
+                result.getRight());
+
+        result = searchDAO.searchAndCount(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, 3, 2, orderBy, AnyTypeKind.USER, false);
+        assertEquals(5, result.getLeft());
+        assertEquals(1, result.getRight().size());
+
+        result = searchDAO.searchAndCount(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, 4, 2, orderBy, AnyTypeKind.USER, false);
+        assertEquals(5, result.getLeft());
+        assertTrue(result.getRight().isEmpty());
+
+        // estimated count only tells whether more pages might follow
+        result = searchDAO.searchAndCount(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, 1, 2, orderBy, AnyTypeKind.USER, true);
+        assertEquals(3, result.getLeft());
+        assertEquals(2, result.getRight().size());
+
+        result = searchDAO.searchAndCount(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, 3, 2, orderBy, AnyTypeKind.USER, true);
+        assertEquals(5, result.getLeft());
+        assertEquals(1, result.getRight().size());
+    }
+
     @Test
     public void searchByGroup() {
         MembershipCond groupCond = new MembershipCond();
@@ -746,6 +787,38 @@ public class AnySearchTest extends AbstractTest {
         assertTrue(users.isEmpty());
     }
 
+    @Test
+    public void seek() {
+        AttrCond fullnameCond = new AttrCond(AttrCond.Type.ISNOTNULL);
+        fullnameCond.setSchema("fullname");
+        SearchCond cond = SearchCond.getLeaf(fullnameCond);
+
+        List<String> first = searchDAO.seek(SyncopeConstants.FULL_ADMIN_REALMS, cond, null, 2, AnyTypeKind.USER);
+        assertEquals(2, first.size());
+        assertTrue(first.get(0).compareTo(first.get(1)) < 0);
+
+        List<String> next = searchDAO.seek(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, first.get(1), 2, AnyTypeKind.USER);
+        assertEquals(2, next.size());
+        assertTrue(next.stream().allMatch(key -> key.compareTo(first.get(1)) > 0));
+    }
+
+    @Test
+    public void stream() {
+        AttrCond fullnameCond = new AttrCond(AttrCond.Type.ISNOTNULL);
+        fullnameCond.setSchema("fullname");
+        SearchCond cond = SearchCond.getLeaf(fullnameCond);
+
+        List<List<String>> batches = searchDAO.stream(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER, 2).collect(Collectors.toList());
+        assertEquals(3, batches.size());
+
+        List<User> users = searchDAO.search(cond, AnyTypeKind.USER);
+        assertEquals(
+                users.stream().map(User::getKey).sorted().collect(Collectors.toList()),
+                batches.stream().flatMap(List::stream).collect(Collectors.toList()));
+    }
+
     @Test
     public void issueSYNCOPE1419() {
         AttrCond loginDateCond = new AttrCond(AttrCond.Type.EQ);
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.Query;
+import javax.persistence.TemporalType;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.log.AuditEntry;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class AuditTest extends AbstractTest {
+
+    private static final String USER_KEY = "1417acbe-cbf6-4277-9372-e75e04f97000";
+
+    private static final String GROUP_KEY = "37d15e4c-cdc1-460b-a591-8505c8133806";
+
+    @Autowired
+    private LoggerDAO loggerDAO;
+
+    private void audit(
+            final Date date,
+            final String entityKey,
+            final String category,
+            final String event,
+            final AuditElements.Result result) {
+
+        AuditEntry entry = new AuditEntry();
+        entry.setWho("admin");
+        entry.setDate(date);
+        entry.setLogger(new AuditLoggerName(
+                AuditElements.EventCategoryType.LOGIC, category, null, event, result));
+        entry.setOutput(entityKey);
+
+        Query query = entityManager().createNativeQuery("INSERT INTO " + LoggerDAO.AUDIT_TABLE + '('
+                + LoggerDAO.AUDIT_DATE_COLUMN + ",LOGGER_LEVEL,LOGGER,"
+                + LoggerDAO.AUDIT_ENTITY_KEY_COLUMN + ','
+                + LoggerDAO.AUDIT_TYPE_COLUMN + ','
+                + LoggerDAO.AUDIT_CATEGORY_COLUMN + ','
+                + LoggerDAO.AUDIT_EVENT_COLUMN + ','
+                + LoggerDAO.AUDIT_RESULT_COLUMN + ','
+                + LoggerDAO.AUDIT_MESSAGE_COLUMN + ") VALUES (?1,'DEBUG','syncope.audit.Master',?2,?3,?4,?5,?6,?7)");
+        query.setParameter(1, date, TemporalType.TIMESTAMP);
+        query.setParameter(2, entityKey);
+        query.setParameter(3, AuditElements.EventCategoryType.LOGIC.name());
+        query.setParameter(4, category);
+        query.setParameter(5, event);
+        query.setParameter(6, result.name());
+        query.setParameter(7, POJOHelper.serialize(entry));
+        query.executeUpdate();
+    }
+
+    @BeforeEach
+    public void populate() {
+        audit(new Date(1000000L), USER_KEY, "UserLogic", "create", AuditElements.Result.SUCCESS);
+        audit(new Date(2000000L), USER_KEY, "UserLogic", "update", AuditElements.Result.SUCCESS);
+        audit(new Date(3000000L), USER_KEY, "UserLogic", "update", AuditElements.Result.FAILURE);
+        audit(new Date(4000000L), GROUP_KEY, "GroupLogic", "create", AuditElements.Result.SUCCESS);
+    }
+
+    private List<Pair<String, AuditEntry>> page(
+            final String entityKey,
+            final String cursor,
+            final int size) {
+
+        return loggerDAO.findAuditEntries(
+                entityKey, 1, size, null, null, null, List.of(), null, cursor, List.of());
+    }
+
+    private List<AuditEntry> find(
+            final String entityKey,
+            final String category,
+            final List<String> events,
+            final AuditElements.Result result,
+            final int size) {
+
+        return loggerDAO.findAuditEntries(
+                entityKey, 1, size, null, category, null, events, result, null, List.of()).
+                stream().map(Pair::getRight).collect(Collectors.toList());
+    }
+
+    @Test
+    public void findAuditEntries() {
+        List<AuditEntry> entries = find(USER_KEY, null, List.of(), null, 10);
+        assertEquals(3, entries.size());
+        // most recent first
+        assertEquals(List.of(3000000L, 2000000L, 1000000L),
+                entries.stream().map(entry -> entry.getDate().getTime()).collect(Collectors.toList()));
+        assertEquals(3, loggerDAO.countAuditEntries(USER_KEY, null, null, null, List.of(), null, null));
+
+        entries = find(null, "UserLogic", List.of("update"), AuditElements.Result.SUCCESS, 10);
+        assertEquals(1, entries.size());
+        assertEquals(2000000L, entries.get(0).getDate().getTime());
+
+        entries = find(null, null, List.of("create", "update"), null, 10);
+        assertTrue(entries.size() >= 4);
+
+        assertEquals(1, loggerDAO.countAuditEntries(GROUP_KEY, null, "GroupLogic", null, List.of(), null, null));
+        assertEquals(0, loggerDAO.countAuditEntries(GROUP_KEY, null, "UserLogic", null, List.of(), null, null));
+    }
+
+    @Test
+    public void keysetPagination() {
+        List<Pair<String, AuditEntry>> page = page(USER_KEY, null, 2);
+        assertEquals(2, page.size());
+        assertEquals(3000000L, page.get(0).getRight().getDate().getTime());
+        assertEquals(2000000L, page.get(1).getRight().getDate().getTime());
+
+        page = page(USER_KEY, page.get(1).getLeft(), 2);
+        assertEquals(1, page.size());
+        assertEquals(1000000L, page.get(0).getRight().getDate().getTime());
+
+        assertEquals(0, page(USER_KEY, page.get(0).getLeft(), 2).size());
+    }
+
+    @Test
+    public void keysetPaginationWithSameDate() {
+        String entityKey = "c9b2dec2-00a7-4855-97c0-d854842b4b24";
+        // same stored date, as with databases keeping whole seconds only
+        Date date = new Date(5000000L);
+        for (int i = 0; i < 5; i++) {
+            audit(date, entityKey, "UserLogic", "update", AuditElements.Result.SUCCESS);
+        }
+        audit(new Date(4000000L), entityKey, "UserLogic", "create", AuditElements.Result.SUCCESS);
+
+        List<String> events = new ArrayList<>();
+        Set<String> cursors = new HashSet<>();
+        String cursor = null;
+        List<Pair<String, AuditEntry>> page;
+        do {
+            page = page(entityKey, cursor, 2);
+            for (Pair<String, AuditEntry> entry : page) {
+                assertTrue(cursors.add(entry.getLeft()));
+                events.add(entry.getRight().getLogger().getEvent());
+            }
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1).getLeft();
+                assertEquals(
+                        6 - cursors.size(),
+                        loggerDAO.countAuditEntries(entityKey, null, null, null, List.of(), null, cursor));
+            }
+        } while (!page.isEmpty());
+
+        assertEquals(List.of("update", "update", "update", "update", "update", "create"), events);
+    }
+
+    @Test
+    public void dateNotReplaced() {
+        Date date = new Date(6000123L);
+        audit(date, GROUP_KEY, "GroupLogic", "update", AuditElements.Result.SUCCESS);
+
+        // the serialized date is returned, even though the stored one might have been truncated
+        Query query = entityManager().createNativeQuery("UPDATE " + LoggerDAO.AUDIT_TABLE
+                + " SET " + LoggerDAO.AUDIT_DATE_COLUMN + "=?1 WHERE " + LoggerDAO.AUDIT_DATE_COLUMN + "=?2");
+        query.setParameter(1, new Date(6000000L), TemporalType.TIMESTAMP);
+        query.setParameter(2, date, TemporalType.TIMESTAMP);
+        assertEquals(1, query.executeUpdate());
+
+        assertEquals(date, find(GROUP_KEY, "GroupLogic", List.of("update"), null, 10).get(0).getDate());
+    }
+
+    private void insertLegacy(final Date date, final String message) {
+        // as written by previous versions, with no dedicated columns
+        Query query = entityManager().createNativeQuery("INSERT INTO " + LoggerDAO.AUDIT_TABLE + '('
+                + LoggerDAO.AUDIT_DATE_COLUMN + ",LOGGER_LEVEL,LOGGER," + LoggerDAO.AUDIT_MESSAGE_COLUMN
+                + ") VALUES (?1,'DEBUG','syncope.audit.Master',?2)");
+        query.setParameter(1, date, TemporalType.TIMESTAMP);
+        query.setParameter(2, message);
+        query.executeUpdate();
+    }
+
+    @Test
+    public void fillAuditColumns() {
+        Long before = loggerDAO.findLastAuditEntryId();
+        assertNotNull(before);
+
+        AuditEntry entry = new AuditEntry();
+        entry.setWho("admin");
+        entry.setDate(new Date(7000000L));
+        entry.setLogger(new AuditLoggerName(
+                AuditElements.EventCategoryType.LOGIC, "UserLogic", null, "delete", AuditElements.Result.SUCCESS));
+        entry.getInputs().add(POJOHelper.serialize(USER_KEY));
+        insertLegacy(entry.getDate(), POJOHelper.serialize(entry));
+
+        insertLegacy(new Date(7500000L), "not an audit entry");
+
+        AuditEntry other = new AuditEntry();
+        other.setWho("admin");
+        other.setDate(new Date(8000000L));
+        other.setLogger(entry.getLogger());
+        other.getInputs().add(POJOHelper.serialize(GROUP_KEY));
+        insertLegacy(other.getDate(), POJOHelper.serialize(other));
+
+        long upTo = loggerDAO.findLastAuditEntryId();
+
+        // not in range
+        AuditEntry later = new AuditEntry();
+        later.setWho("admin");
+        later.setDate(new Date(9000000L));
+        later.setLogger(entry.getLogger());
+        later.getInputs().add(POJOHelper.serialize(USER_KEY));
+        insertLegacy(later.getDate(), POJOHelper.serialize(later));
+
+        assertTrue(find(USER_KEY, null, List.of("delete"), null, 10).isEmpty());
+
+        // the entry which cannot be read is considered, then skipped
+        Long last = loggerDAO.fillAuditColumns(before, upTo, 2);
+        assertNotNull(last);
+        assertEquals(1, find(USER_KEY, null, List.of("delete"), null, 10).size());
+
+        assertEquals(upTo, loggerDAO.fillAuditColumns(last, upTo, 2));
+        assertNull(loggerDAO.fillAuditColumns(upTo, upTo, 2));
+
+        List<AuditEntry> entries = find(USER_KEY, "UserLogic", List.of("delete"), AuditElements.Result.SUCCESS, 10);
+        assertEquals(1, entries.size());
+        assertEquals(entry.getDate(), entries.get(0).getDate());
+        assertEquals(entry.getInputs(), entries.get(0).getInputs());
+
+        entries = find(GROUP_KEY, "UserLogic", List.of("delete"), AuditElements.Result.SUCCESS, 10);
+        assertEquals(1, entries.size());
+        assertEquals(other.getInputs(), entries.get(0).getInputs());
+    }
+
+    @Test
+    public void deleteAuditEntries() {
+        assertEquals(2, loggerDAO.deleteAuditEntries(new Date(2500000L)));
+        assertEquals(1, loggerDAO.countAuditEntries(USER_KEY, null, null, null, List.of(), null, null));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.syncope.core.persistence.api.dao.BatchDAO;
+import org.apache.syncope.core.persistence.api.entity.Batch;
+import org.apache.syncope.core.persistence.api.entity.BatchChunk;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class BatchTest extends AbstractTest {
+
+    @Autowired
+    private BatchDAO batchDAO;
+
+    private Batch batch(final Date expiryTime) {
+        Batch batch = entityFactory.newEntity(Batch.class);
+        batch.setKey(UUID.randomUUID().toString());
+        batch.setExpiryTime(expiryTime);
+        batch = batchDAO.save(batch);
+
+        for (int i = 2; i >= 0; i--) {
+            BatchChunk chunk = entityFactory.newEntity(BatchChunk.class);
+            chunk.setBatch(batch);
+            chunk.setIndex(i);
+            chunk.setContent("chunk" + i);
+            batchDAO.save(chunk);
+        }
+
+        batch.setChunks(3);
+        batch = batchDAO.save(batch);
+
+        entityManager().flush();
+        return batch;
+    }
+
+    @Test
+    public void chunks() {
+        Batch batch = batch(new Date(System.currentTimeMillis() + 60000));
+        assertEquals(3, batchDAO.find(batch.getKey()).getChunks());
+
+        assertEquals("chunk1", batchDAO.findChunk(batch.getKey(), 1).getContent());
+        assertNull(batchDAO.findChunk(batch.getKey(), 3));
+
+        List<String> contents = batchDAO.findChunks(batch.getKey()).stream().
+                map(BatchChunk::getContent).collect(Collectors.toList());
+        assertEquals(List.of("chunk0", "chunk1", "chunk2"), contents);
+
+        batchDAO.delete(batch.getKey());
+        entityManager().flush();
+
+        assertNull(batchDAO.find(batch.getKey()));
+        assertTrue(batchDAO.findChunks(batch.getKey()).isEmpty());
+    }
+
+    @Test
+    public void deleteExpired() {
+        Batch expired = batch(new Date(System.currentTimeMillis() - 60000));
+        Batch valid = batch(new Date(System.currentTimeMillis() + 60000));
+
+        assertEquals(1, batchDAO.deleteExpired());
+        entityManager().clear();
+
+        assertNull(batchDAO.find(expired.getKey()));
+        assertTrue(batchDAO.findChunks(expired.getKey()).isEmpty());
+        assertNotNull(batchDAO.find(valid.getKey()));
+        assertEquals(3, batchDAO.findChunks(valid.getKey()).size());
+    }
+}
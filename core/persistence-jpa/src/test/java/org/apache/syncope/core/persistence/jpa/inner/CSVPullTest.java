@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+import org.apache.syncope.core.persistence.api.dao.CSVPullDAO;
+import org.apache.syncope.core.persistence.api.entity.CSVPull;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class CSVPullTest extends AbstractTest {
+
+    @Autowired
+    private CSVPullDAO csvPullDAO;
+
+    private CSVPull csvPull(final Date expiryTime) {
+        CSVPull csvPull = entityFactory.newEntity(CSVPull.class);
+        csvPull.setKey(UUID.randomUUID().toString());
+        csvPull.setExpiryTime(expiryTime);
+        csvPull.setCSV("username\nrossini\nverdi\n".getBytes(StandardCharsets.UTF_8));
+        csvPull = csvPullDAO.save(csvPull);
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(csvPullDAO.addReport(csvPull.getKey(), "report" + i));
+        }
+        return csvPull;
+    }
+
+    @Test
+    public void reports() {
+        CSVPull csvPull = csvPull(new Date(System.currentTimeMillis() + 60000));
+        assertArrayEquals(
+                "username\nrossini\nverdi\n".getBytes(StandardCharsets.UTF_8),
+                csvPullDAO.find(csvPull.getKey()).getCSV());
+        assertEquals(Set.of("report0", "report1"), Set.copyOf(csvPullDAO.findReports(csvPull.getKey())));
+
+        csvPullDAO.delete(csvPull.getKey());
+        entityManager().flush();
+
+        assertNull(csvPullDAO.find(csvPull.getKey()));
+        assertTrue(csvPullDAO.findReports(csvPull.getKey()).isEmpty());
+        assertFalse(csvPullDAO.addReport(csvPull.getKey(), "report2"));
+    }
+
+    @Test
+    public void deleteExpired() {
+        CSVPull expired = csvPull(new Date(System.currentTimeMillis() - 60000));
+        CSVPull valid = csvPull(new Date(System.currentTimeMillis() + 60000));
+
+        assertEquals(1, csvPullDAO.deleteExpired());
+        entityManager().clear();
+
+        assertNull(csvPullDAO.find(expired.getKey()));
+        assertTrue(csvPullDAO.findReports(expired.getKey()).isEmpty());
+        assertNotNull(csvPullDAO.find(valid.getKey()));
+        assertEquals(2, csvPullDAO.findReports(valid.getKey()).size());
+    }
+}
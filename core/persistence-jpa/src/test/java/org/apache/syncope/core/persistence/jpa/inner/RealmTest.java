@@ -27,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
@@ -101,6 +102,34 @@ public class RealmTest extends AbstractTest {
         list.forEach(Assertions::assertNotNull);
     }
 
+    @Test
+    public void findAncestorsAndDescendants() {
+        Realm two = realmDAO.findByFullPath("/even/two");
+        assertEquals(
+                List.of("/even/two", "/even", SyncopeConstants.ROOT_REALM),
+                realmDAO.findAncestors(two).stream().map(Realm::getFullPath).collect(Collectors.toList()));
+
+        Realm even = realmDAO.findByFullPath("/even");
+        assertEquals(List.of("/even", "/even/two"), realmDAO.findDescendantFullPaths(even));
+        assertEquals(
+                realmDAO.findDescendants(even).stream().map(Realm::getKey).collect(Collectors.toList()),
+                realmDAO.findDescendantKeys(even));
+
+        List<String> all = realmDAO.findDescendantFullPaths(realmDAO.getRoot());
+        assertEquals(SyncopeConstants.ROOT_REALM, all.get(0));
+        assertTrue(all.containsAll(List.of("/odd", "/even", "/even/two")));
+        assertEquals(realmDAO.findAll().size(), all.size());
+
+        // changes within the current transaction are visible
+        Realm last = entityFactory.newEntity(Realm.class);
+        last.setName("last");
+        last.setParent(two);
+        last = realmDAO.save(last);
+
+        assertEquals(List.of("/even", "/even/two", "/even/two/last"), realmDAO.findDescendantFullPaths(even));
+        assertEquals(last, realmDAO.findByFullPath("/even/two/last"));
+    }
+
     @Test
     public void save() {
         Realm realm = entityFactory.newEntity(Realm.class);
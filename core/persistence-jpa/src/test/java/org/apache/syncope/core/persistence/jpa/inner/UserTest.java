@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -96,6 +97,20 @@ public class UserTest extends AbstractTest {
         assertEquals(users.size(), userKeys.size());
     }
 
+    @Test
+    public void findAllKeysByLastKey() {
+        List<String> keys = new ArrayList<>();
+
+        List<String> batch = userDAO.findAllKeys(null, 2);
+        while (!batch.isEmpty()) {
+            assertTrue(batch.size() <= 2);
+            keys.addAll(batch);
+            batch = userDAO.findAllKeys(batch.get(batch.size() - 1), 2);
+        }
+
+        assertEquals(userDAO.findAllKeys(1, 100), keys);
+    }
+
     @Test
     public void count() {
         int count = userDAO.count();
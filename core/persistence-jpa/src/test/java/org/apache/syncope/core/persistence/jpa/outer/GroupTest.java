@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.persistence.Query;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
@@ -267,6 +268,98 @@ public class GroupTest extends AbstractTest {
         assertTrue(dynGroupMemberships.isEmpty());
     }
 
+    @Test
+    public void udynMembershipRebuild() {
+        Group group = entityFactory.newEntity(Group.class);
+        group.setRealm(realmDAO.getRoot());
+        group.setName("new");
+
+        UDynGroupMembership dynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+        dynMembership.setFIQLCond("cool==true");
+        dynMembership.setGroup(group);
+
+        group.setUDynMembership(dynMembership);
+
+        group = groupDAO.saveAndRefreshDynMemberships(group);
+
+        entityManager().flush();
+
+        assertEquals(List.of("c9b2dec2-00a7-4855-97c0-d854842b4b24"), groupDAO.findUDynMembers(group));
+
+        // change condition: previous member is removed, new one is added
+        group.getUDynMembership().setFIQLCond("username==rossini");
+        group = groupDAO.saveAndRefreshDynMemberships(group);
+
+        entityManager().flush();
+
+        assertEquals(List.of("1417acbe-cbf6-4277-9372-e75e04f97000"), groupDAO.findUDynMembers(group));
+
+        // remove dynamic membership: all members are removed
+        group.setUDynMembership(null);
+        group = groupDAO.saveAndRefreshDynMemberships(group);
+
+        entityManager().flush();
+
+        Query query = entityManager().createNativeQuery(
+                "SELECT any_id FROM " + JPAGroupDAO.UDYNMEMB_TABLE + " WHERE group_id=?");
+        query.setParameter(1, group.getKey());
+        assertTrue(query.getResultList().isEmpty());
+    }
+
+    @Test
+    public void udynMembershipRefresh() {
+        // 0. create group with dynamic membership
+        Group group = entityFactory.newEntity(Group.class);
+        group.setRealm(realmDAO.getRoot());
+        group.setName("new");
+
+        UDynGroupMembership dynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+        dynMembership.setFIQLCond("cool==true");
+        dynMembership.setGroup(group);
+
+        group.setUDynMembership(dynMembership);
+
+        group = groupDAO.saveAndRefreshDynMemberships(group);
+        String groupKey = group.getKey();
+
+        // 1. create user matching the condition above: dynamic membership is added
+        User user = entityFactory.newEntity(User.class);
+        user.setUsername("username");
+        user.setRealm(realmDAO.findByFullPath("/even/two"));
+        user.add(anyTypeClassDAO.find("other"));
+
+        UPlainAttr attr = entityFactory.newEntity(UPlainAttr.class);
+        attr.setOwner(user);
+        attr.setSchema(plainSchemaDAO.find("cool"));
+        attr.add("true", anyUtilsFactory.getInstance(AnyTypeKind.USER));
+        user.add(attr);
+
+        user = userDAO.save(user);
+
+        entityManager().flush();
+
+        assertEquals(List.of(groupKey), findDynGroups(user).stream().map(Group::getKey).collect(Collectors.toList()));
+
+        // 2. refresh again with no changes: nothing flips
+        Pair<Set<String>, Set<String>> refreshed = groupDAO.refreshDynMemberships(user);
+        assertTrue(refreshed.getLeft().contains(groupKey));
+        assertTrue(refreshed.getRight().contains(groupKey));
+
+        // 3. make user no longer match: dynamic membership is removed
+        UPlainAttr cool = user.getPlainAttr("cool").get();
+        cool.getValues().clear();
+        cool.add("false", anyUtilsFactory.getInstance(AnyTypeKind.USER));
+
+        refreshed = groupDAO.refreshDynMemberships(user);
+        assertTrue(refreshed.getLeft().contains(groupKey));
+        assertFalse(refreshed.getRight().contains(groupKey));
+
+        entityManager().flush();
+
+        assertTrue(findDynGroups(user).isEmpty());
+        assertFalse(groupDAO.findUDynMembers(groupDAO.find(groupKey)).contains(user.getKey()));
+    }
+
     /**
      * Static copy of {@link org.apache.syncope.core.persistence.jpa.dao.JPAAnyObjectDAO} method with same signature:
      * required for avoiding creating of a new transaction - good for general use case but bad for the way how
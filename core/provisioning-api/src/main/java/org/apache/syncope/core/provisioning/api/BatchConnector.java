@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api;
+
+import java.util.List;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+
+/**
+ * {@link Connector} able to perform several create / update / delete operations with a single request to the
+ * underlying system.
+ *
+ * Propagation groups the operations to be performed on the same connector and object class, and dispatches them via
+ * {@link #batch(org.identityconnectors.framework.common.objects.ObjectClass, java.util.List)} instead of invoking
+ * {@link Connector#create}, {@link Connector#update} or {@link Connector#delete} once per object.
+ *
+ * Implementations can be plugged via the {@code connector} property, in place of the default
+ * {@code ConnectorFacadeProxy}.
+ */
+public interface BatchConnector extends Connector {
+
+    /**
+     * Tells whether operations on the given object class can actually be batched by this connector instance: when
+     * not, propagation invokes {@link Connector#create}, {@link Connector#update} or {@link Connector#delete} once
+     * per object, as for any other {@link Connector}.
+     *
+     * @param objectClass ConnId's object class
+     * @return whether operations on the given object class can be batched
+     */
+    default boolean isBatchSupported(ObjectClass objectClass) {
+        return true;
+    }
+
+    /**
+     * Performs the given operations; the outcome of each operation is to be reported via
+     * {@link BatchConnectorOperation#succeeded(org.identityconnectors.framework.common.objects.Uid)} or
+     * {@link BatchConnectorOperation#failed(java.lang.RuntimeException)}.
+     * Operations with no outcome reported when this method returns are considered failed.
+     *
+     * @param objectClass ConnId's object class
+     * @param operations operations to perform
+     */
+    void batch(ObjectClass objectClass, List<BatchConnectorOperation> operations);
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.Uid;
+
+/**
+ * Single create / update / delete operation to be performed by {@link BatchConnector}.
+ */
+public class BatchConnectorOperation {
+
+    private final ResourceOperation type;
+
+    private final Uid uid;
+
+    private final Set<Attribute> attrs;
+
+    private final OperationOptions options;
+
+    private final AtomicReference<Boolean> propagationAttempted;
+
+    private final CompletableFuture<Uid> result = new CompletableFuture<>();
+
+    public BatchConnectorOperation(
+            final ResourceOperation type,
+            final Uid uid,
+            final Set<Attribute> attrs,
+            final OperationOptions options,
+            final AtomicReference<Boolean> propagationAttempted) {
+
+        this.type = type;
+        this.uid = uid;
+        this.attrs = attrs;
+        this.options = options;
+        this.propagationAttempted = propagationAttempted;
+    }
+
+    public ResourceOperation getType() {
+        return type;
+    }
+
+    /**
+     * @return object to update or delete; {@code null} for create
+     */
+    public Uid getUid() {
+        return uid;
+    }
+
+    /**
+     * @return attributes to create or update; {@code null} for delete
+     */
+    public Set<Attribute> getAttrs() {
+        return attrs;
+    }
+
+    public OperationOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * @return flag to be set when the operation is actually performed (based on connector instance's capabilities)
+     */
+    public AtomicReference<Boolean> getPropagationAttempted() {
+        return propagationAttempted;
+    }
+
+    public CompletableFuture<Uid> getResult() {
+        return result;
+    }
+
+    public void succeeded(final Uid uid) {
+        result.complete(uid);
+    }
+
+    public void failed(final RuntimeException e) {
+        result.completeExceptionally(e);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchConnectorOperation{" + "type=" + type + ", uid=" + uid + '}';
+    }
+}
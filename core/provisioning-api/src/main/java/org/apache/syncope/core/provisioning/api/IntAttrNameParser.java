@@ -19,6 +19,9 @@
 package org.apache.syncope.core.provisioning.api;
 
 import java.text.ParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.tuple.Pair;
@@ -33,9 +36,18 @@ import org.apache.syncope.core.persistence.api.entity.Schema;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Parses internal attribute names as found in mapping items.
+ *
+ * The outcome of parsing is cached by expression and any type kind, with no reference to schema entities: only the
+ * matching schema, if any, is looked up at each invocation, by key and type; whenever such lookup fails - e.g. the
+ * schema was removed, or is defined with different type in another domain - the expression is parsed again.
+ */
 @SuppressWarnings({ "squid:S4784", "squid:S3776" })
 public class IntAttrNameParser {
-    
+
+    private static final int PARSED_MAX_SIZE = 1000;
+
     private static final String END_PATTERN = ")\\]\\.(.+)";
 
     private static final Pattern PRIVILEGE_PATTERN = Pattern.compile(
@@ -69,6 +81,17 @@ public class IntAttrNameParser {
     @Autowired
     private AnyUtilsFactory anyUtilsFactory;
 
+    private final Map<Pair<String, AnyTypeKind>, Pair<IntAttrName, String>> parsed = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 6381530473629580143L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Pair<String, AnyTypeKind>, Pair<IntAttrName, String>> e) {
+            return size() > PARSED_MAX_SIZE;
+        }
+    });
+
     private Pair<Schema, SchemaType> find(final String key) {
         Schema schema = plainSchemaDAO.find(key);
         if (schema == null) {
@@ -104,8 +127,65 @@ public class IntAttrNameParser {
         }
     }
 
+    private Schema find(final String key, final SchemaType schemaType) {
+        switch (schemaType) {
+            case DERIVED:
+                return derSchemaDAO.find(key);
+
+            case VIRTUAL:
+                return virSchemaDAO.find(key);
+
+            case PLAIN:
+            default:
+                return plainSchemaDAO.find(key);
+        }
+    }
+
+    private static IntAttrName copy(final IntAttrName original, final Schema schema) {
+        IntAttrName copy = new IntAttrName();
+        copy.setAnyTypeKind(original.getAnyTypeKind());
+        copy.setField(original.getField());
+        copy.setSchemaType(original.getSchemaType());
+        copy.setSchema(schema);
+        copy.setEnclosingGroup(original.getEnclosingGroup());
+        copy.setRelatedUser(original.getRelatedUser());
+        copy.setRelatedAnyObject(original.getRelatedAnyObject());
+        copy.setMembershipOfGroup(original.getMembershipOfGroup());
+        copy.setPrivilegesOfApplication(original.getPrivilegesOfApplication());
+        copy.setRelationshipType(original.getRelationshipType());
+        copy.setRelationshipAnyType(original.getRelationshipAnyType());
+        return copy;
+    }
+
     @Transactional(readOnly = true)
     public IntAttrName parse(final String intAttrName, final AnyTypeKind provisionAnyTypeKind) throws ParseException {
+        Pair<String, AnyTypeKind> key = Pair.of(intAttrName, provisionAnyTypeKind);
+
+        Pair<IntAttrName, String> cached = parsed.get(key);
+        if (cached != null) {
+            if (cached.getRight() == null) {
+                return copy(cached.getLeft(), null);
+            }
+
+            Schema schema = find(cached.getRight(), cached.getLeft().getSchemaType());
+            if (schema != null) {
+                return copy(cached.getLeft(), schema);
+            }
+            parsed.remove(key);
+        }
+
+        IntAttrName result = doParse(intAttrName, provisionAnyTypeKind);
+        // do not cache unresolved names, as a matching schema might be defined later
+        if (result.getField() != null || result.getSchema() != null || result.getPrivilegesOfApplication() != null) {
+            parsed.put(key, Pair.of(
+                    copy(result, null), result.getSchema() == null ? null : result.getSchema().getKey()));
+        }
+        return result;
+    }
+
+    protected IntAttrName doParse(final String intAttrName, final AnyTypeKind provisionAnyTypeKind)
+            throws ParseException {
+
         IntAttrName result = new IntAttrName();
 
         Matcher matcher;
@@ -38,6 +38,15 @@ public interface VirAttrCache {
      */
     void expire(String type, String key, String schemaKey);
 
+    /**
+     * Force expiring of all entries about the given any object.
+     *
+     * @param type any object, or {@code null} to match any type
+     * @param key any object key
+     */
+    default void expire(String type, String key) {
+    }
+
     /**
      * Retrieve cached value. Return null in case of virtual attribute not cached.
      *
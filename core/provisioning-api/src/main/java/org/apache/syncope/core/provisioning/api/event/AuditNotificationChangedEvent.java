@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Raised when audit loggers or notifications are created, updated or deleted for the given domain, either locally or
+ * on another node of the same cluster: any information derived from them (as the set of audited or notifiable events)
+ * shall be reloaded.
+ */
+public class AuditNotificationChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = -3265717207282651524L;
+
+    private final String domain;
+
+    public AuditNotificationChangedEvent(final Object source, final String domain) {
+        super(source);
+        this.domain = domain;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.event;
+
+import java.util.Set;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published once per group whenever the dynamic members of the group are rebuilt, reporting all the users and any
+ * objects which were either added or removed.
+ */
+public class DynGroupMembersChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = -2618404512442355012L;
+
+    private final String groupKey;
+
+    private final Set<String> userKeys;
+
+    private final Set<String> anyObjectKeys;
+
+    private final String domain;
+
+    public DynGroupMembersChangedEvent(
+            final Object source,
+            final String groupKey,
+            final Set<String> userKeys,
+            final Set<String> anyObjectKeys,
+            final String domain) {
+
+        super(source);
+        this.groupKey = groupKey;
+        this.userKeys = userKeys;
+        this.anyObjectKeys = anyObjectKeys;
+        this.domain = domain;
+    }
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public Set<String> getUserKeys() {
+        return userKeys;
+    }
+
+    public Set<String> getAnyObjectKeys() {
+        return anyObjectKeys;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+}
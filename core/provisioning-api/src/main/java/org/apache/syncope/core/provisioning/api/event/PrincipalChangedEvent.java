@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Raised when users, access tokens or roles are changed for the given domain, either locally or on another node of
+ * the same cluster: any authentication information cached for the given user or access token - or for the whole
+ * domain, when neither is provided - shall be discarded.
+ */
+public class PrincipalChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 4419468640434741129L;
+
+    private final String domain;
+
+    private final String userKey;
+
+    private final String accessTokenKey;
+
+    public PrincipalChangedEvent(
+            final Object source,
+            final String domain,
+            final String userKey,
+            final String accessTokenKey) {
+
+        super(source);
+        this.domain = domain;
+        this.userKey = userKey;
+        this.accessTokenKey = accessTokenKey;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public String getUserKey() {
+        return userKey;
+    }
+
+    public String getAccessTokenKey() {
+        return accessTokenKey;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Raised when a realm is created, updated or deleted for the given domain, either locally or on another node of the
+ * same cluster; when no realm key is provided, the whole realm hierarchy of the domain shall be reloaded.
+ */
+public class RealmChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = -3146419872542215305L;
+
+    private final String domain;
+
+    private final String key;
+
+    private final String name;
+
+    private final String parentKey;
+
+    private final boolean deleted;
+
+    public RealmChangedEvent(final Object source, final String domain) {
+        this(source, domain, null, null, null, false);
+    }
+
+    public RealmChangedEvent(
+            final Object source,
+            final String domain,
+            final String key,
+            final String name,
+            final String parentKey,
+            final boolean deleted) {
+
+        super(source);
+        this.domain = domain;
+        this.key = key;
+        this.name = name;
+        this.parentKey = parentKey;
+        this.deleted = deleted;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getParentKey() {
+        return parentKey;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
@@ -35,6 +35,7 @@ public interface SyncopeStreamPullExecutor {
             ConflictResolutionAction conflictResolutionAction,
             String pullCorrelationRule,
             Connector connector,
-            PullTaskTO pullTaskTO)
+            PullTaskTO pullTaskTO,
+            String executor)
             throws JobExecutionException;
 }
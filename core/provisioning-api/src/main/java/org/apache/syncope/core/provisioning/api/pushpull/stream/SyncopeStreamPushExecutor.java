@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api.pushpull.stream;
 
+import java.util.Iterator;
 import java.util.List;
 import org.apache.syncope.common.lib.to.ProvisioningReport;
 import org.apache.syncope.common.lib.to.PushTaskTO;
@@ -37,4 +38,29 @@ public interface SyncopeStreamPushExecutor {
             PushTaskTO pushTaskTO,
             String executor)
             throws JobExecutionException;
+
+    /**
+     * Same as {@link #push(AnyType, List, List, Connector, List, PushTaskTO, String)}, but only loading one batch of
+     * entities at a time: each batch is pushed and then released from the persistence context before the next is read,
+     * so that memory does not grow with the number of entities being pushed.
+     *
+     * @param anyType any type
+     * @param batches keys of the entities to push, in batches
+     * @param columns columns
+     * @param connector connector
+     * @param propagationActions propagation actions
+     * @param pushTaskTO push task
+     * @param executor executor
+     * @return reports
+     * @throws JobExecutionException if anything goes wrong
+     */
+    List<ProvisioningReport> push(
+            AnyType anyType,
+            Iterator<List<String>> batches,
+            List<String> columns,
+            Connector connector,
+            List<String> propagationActions,
+            PushTaskTO pushTaskTO,
+            String executor)
+            throws JobExecutionException;
 }
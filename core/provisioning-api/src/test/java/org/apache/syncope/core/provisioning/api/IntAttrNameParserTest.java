@@ -28,6 +28,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -353,6 +356,34 @@ public class IntAttrNameParserTest extends AbstractTest {
         assertNull(intAttrName.getRelatedUser());
     }
 
+    @Test
+    public void cached() throws ParseException {
+        IntAttrName intAttrName = intAttrNameParser.parse("groups[readers].cn", AnyTypeKind.USER);
+        assertEquals(SchemaType.DERIVED, intAttrName.getSchemaType());
+        assertEquals("readers", intAttrName.getEnclosingGroup());
+
+        IntAttrName again = intAttrNameParser.parse("groups[readers].cn", AnyTypeKind.USER);
+        assertEquals(intAttrName.getSchemaType(), again.getSchemaType());
+        assertEquals(intAttrName.getSchema().getKey(), again.getSchema().getKey());
+        assertEquals(intAttrName.getEnclosingGroup(), again.getEnclosingGroup());
+
+        // second invocation only looks up the derived schema
+        verify(plainSchemaDAO, times(1)).find("cn");
+        verify(derSchemaDAO, times(2)).find("cn");
+        verify(virSchemaDAO, never()).find("cn");
+
+        // schema type changed meanwhile: parse again
+        when(derSchemaDAO.find("cn")).thenReturn(null);
+        when(virSchemaDAO.find("cn")).thenAnswer(ic -> {
+            VirSchema schema = mock(VirSchema.class);
+            lenient().when(schema.getKey()).thenReturn("cn");
+            return schema;
+        });
+        again = intAttrNameParser.parse("groups[readers].cn", AnyTypeKind.USER);
+        assertEquals(SchemaType.VIRTUAL, again.getSchemaType());
+        assertEquals("cn", again.getSchema().getKey());
+    }
+
     @Test
     public void invalid() {
         try {
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Decouples writing audit entries from the threads generating them.
+ *
+ * When the configured queue capacity is positive, audit entries are put in a bounded queue and written by a
+ * background thread, in batches: a batch is complete as soon as it reaches the configured size or, otherwise, when
+ * the configured flush interval since its first entry has elapsed; after each batch, all registered flush hooks are
+ * invoked, so that buffering appenders can write the whole batch at once.
+ * When the queue is full, the configured {@link OverflowPolicy} applies.
+ *
+ * Otherwise, audit entries are written synchronously by the calling thread.
+ */
+public class AuditWriter implements DisposableBean {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(AuditWriter.class);
+
+    public enum OverflowPolicy {
+        /**
+         * The calling thread waits until there is room in the queue.
+         */
+        BLOCK,
+        /**
+         * The audit entry is discarded, and counted.
+         */
+        DROP,
+        /**
+         * The audit entry is serialized by the calling thread and appended, one JSON per line, to a local file.
+         */
+        SPILL
+
+    }
+
+    /**
+     * An audit entry waiting to be written.
+     */
+    public interface AuditWrite {
+
+        /**
+         * Serializes the audit entry and sends it to the configured appenders.
+         */
+        void write();
+
+        /**
+         * @return the serialized audit entry
+         */
+        String serialize();
+    }
+
+    protected static final AuditWrite END = new AuditWrite() {
+
+        @Override
+        public void write() {
+            // nothing to do
+        }
+
+        @Override
+        public String serialize() {
+            return null;
+        }
+    };
+
+    protected final int batchSize;
+
+    protected final long flushInterval;
+
+    protected final OverflowPolicy overflowPolicy;
+
+    protected final Path spillFile;
+
+    protected final BlockingQueue<AuditWrite> queue;
+
+    protected final List<Runnable> flushHooks = new CopyOnWriteArrayList<>();
+
+    protected final AtomicLong dropped = new AtomicLong();
+
+    protected final Thread worker;
+
+    protected volatile boolean stopped;
+
+    /**
+     * @param queueCapacity maximum number of audit entries waiting to be written; values lower than 1 make audit
+     * entries written synchronously
+     * @param batchSize maximum number of audit entries per batch
+     * @param flushInterval maximum time, in milliseconds, to wait for further audit entries to be added to a batch
+     * @param overflowPolicy what to do when the queue is full
+     * @param spillFile where audit entries are appended with {@link OverflowPolicy#SPILL}
+     */
+    public AuditWriter(
+            final int queueCapacity,
+            final int batchSize,
+            final long flushInterval,
+            final OverflowPolicy overflowPolicy,
+            final Path spillFile) {
+
+        this.batchSize = Math.max(1, batchSize);
+        this.flushInterval = Math.max(1, flushInterval);
+        this.overflowPolicy = overflowPolicy;
+        this.spillFile = spillFile;
+
+        if (queueCapacity > 0) {
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+            worker = new Thread(this::work, "auditWriter");
+            worker.setDaemon(true);
+            worker.start();
+        } else {
+            queue = null;
+            worker = null;
+        }
+    }
+
+    public boolean isAsync() {
+        return queue != null;
+    }
+
+    /**
+     * @return the number of audit entries per batch, when asynchronous; 1 otherwise
+     */
+    public int getBatchSize() {
+        return isAsync() ? batchSize : 1;
+    }
+
+    /**
+     * @return the number of audit entries discarded so far because of full queue
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Registers an action to perform after each batch of audit entries was written.
+     *
+     * @param flushHook action to perform
+     */
+    public void addFlushHook(final Runnable flushHook) {
+        flushHooks.add(flushHook);
+    }
+
+    public void submit(final AuditWrite write) {
+        if (!isAsync()) {
+            write.write();
+            return;
+        }
+        if (stopped) {
+            // appenders might still be buffering: flush right away, as no further batch will follow
+            write.write();
+            flush();
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case DROP:
+                if (!queue.offer(write)) {
+                    long count = dropped.incrementAndGet();
+                    if (count % 1000 == 1) {
+                        LOG.warn("Audit queue is full, {} audit entries dropped so far", count);
+                    }
+                }
+                break;
+
+            case SPILL:
+                if (!queue.offer(write)) {
+                    spill(write);
+                }
+                break;
+
+            case BLOCK:
+            default:
+                try {
+                    queue.put(write);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    write.write();
+                }
+        }
+    }
+
+    protected void spill(final AuditWrite write) {
+        String serialized = write.serialize() + System.lineSeparator();
+        synchronized (spillFile) {
+            try {
+                Files.write(
+                        spillFile,
+                        serialized.getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                LOG.error("Could not spill audit entry to {}: {}", spillFile, serialized, e);
+            }
+        }
+    }
+
+    protected void work() {
+        List<AuditWrite> batch = new ArrayList<>(batchSize);
+        boolean end = false;
+        while (!end) {
+            try {
+                AuditWrite first = queue.take();
+                if (first == END) {
+                    end = true;
+                } else {
+                    batch.add(first);
+
+                    long deadline = System.currentTimeMillis() + flushInterval;
+                    while (batch.size() < batchSize) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        AuditWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                        if (next == null) {
+                            break;
+                        }
+                        if (next == END) {
+                            end = true;
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                end = true;
+            }
+
+            write(batch);
+        }
+    }
+
+    protected void write(final List<AuditWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        batch.forEach(write -> {
+            try {
+                write.write();
+            } catch (Throwable t) {
+                LOG.error("While writing audit entry {}", write.serialize(), t);
+            }
+        });
+        batch.clear();
+
+        flush();
+    }
+
+    protected void flush() {
+        flushHooks.forEach(flushHook -> {
+            try {
+                flushHook.run();
+            } catch (Throwable t) {
+                LOG.error("While flushing audit entries", t);
+            }
+        });
+    }
+
+    /**
+     * Stops accepting audit entries in the queue, then waits for all queued entries to be written.
+     */
+    @Override
+    public void destroy() {
+        if (!isAsync() || stopped) {
+            return;
+        }
+        stopped = true;
+
+        try {
+            if (queue.offer(END, flushInterval + TimeUnit.SECONDS.toMillis(10), TimeUnit.MILLISECONDS)) {
+                worker.join(TimeUnit.MINUTES.toMillis(1));
+            } else {
+                LOG.warn("Could not signal the end of audit entries, queue is still full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            LOG.warn("Audit entries still queued could not be written: {}", queue.size());
+        } else {
+            // entries possibly queued while stopping
+            List<AuditWrite> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            rest.remove(END);
+            write(rest);
+        }
+    }
+}
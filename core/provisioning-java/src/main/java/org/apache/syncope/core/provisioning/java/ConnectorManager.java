@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -139,9 +140,30 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory {
         return override;
     }
 
+    /**
+     * Instantiates the {@link Connector} implementation configured via the {@code connector} property - defaulting to
+     * {@link ConnectorFacadeProxy} - which is required to provide a public constructor taking {@link ConnInstance}.
+     *
+     * @param connInstance connector instance
+     * @return new connector
+     */
     @Override
     public Connector createConnector(final ConnInstance connInstance) {
-        Connector connector = new ConnectorFacadeProxy(connInstance);
+        String connectorClass = ApplicationContextProvider.getApplicationContext().getEnvironment().
+                getProperty("connector", ConnectorFacadeProxy.class.getName());
+
+        Connector connector;
+        try {
+            connector = (Connector) Class.forName(connectorClass).
+                    getConstructor(ConnInstance.class).newInstance(connInstance);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Could not instantiate " + connectorClass, e.getCause());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Could not instantiate " + connectorClass, e);
+        }
         ApplicationContextProvider.getBeanFactory().autowireBean(connector);
 
         return connector;
@@ -20,27 +20,43 @@ package org.apache.syncope.core.provisioning.java;
 
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.log.AuditEntry;
+import org.apache.syncope.common.lib.request.AnyUR;
 import org.apache.syncope.common.lib.request.UserCR;
 import org.apache.syncope.common.lib.request.UserUR;
+import org.apache.syncope.common.lib.to.EntityTO;
+import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.AuditElements.Result;
 import org.apache.syncope.common.lib.types.AuditLoggerName;
 import org.apache.syncope.common.lib.types.LoggerLevel;
+import org.apache.syncope.common.lib.types.LoggerType;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
 import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
+import org.apache.syncope.core.provisioning.api.event.AuditNotificationChangedEvent;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Transactional(readOnly = true)
 public class DefaultAuditManager implements AuditManager {
@@ -76,9 +92,85 @@ public class DefaultAuditManager implements AuditManager {
         return masked;
     }
 
+    /**
+     * Finds the key of the entity an audit event is about, by looking at the output first, then at the entity as it
+     * was before the event, and finally at the input.
+     *
+     * @param before entity before the event
+     * @param output event output
+     * @param input event input
+     * @return the key of the entity the audit event is about, or {@code null} if not found
+     */
+    protected static String entityKey(final Object before, final Object output, final Object... input) {
+        Stream<Object> candidates = Stream.concat(
+                Stream.of(output, before),
+                input == null ? Stream.empty() : Arrays.stream(input));
+        return candidates.map(object -> {
+            Object candidate = object instanceof ProvisioningResult
+                    ? ((ProvisioningResult<?>) object).getEntity()
+                    : object;
+
+            if (candidate instanceof EntityTO) {
+                return ((EntityTO) candidate).getKey();
+            }
+            if (candidate instanceof AnyUR) {
+                return ((AnyUR) candidate).getKey();
+            }
+            if (candidate instanceof String && SyncopeConstants.UUID_PATTERN.matcher((String) candidate).matches()) {
+                return (String) candidate;
+            }
+            return null;
+        }).filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
     @Autowired
     private LoggerDAO loggerDAO;
 
+    @Autowired
+    private AuditWriter auditWriter;
+
+    /**
+     * Names of the audit loggers enabled, per domain; reloaded upon changes.
+     */
+    protected final Map<String, Set<String>> audited = new ConcurrentHashMap<>();
+
+    /**
+     * Number of changes notified so far, per domain.
+     */
+    protected final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    protected Set<String> audited() {
+        String domain = AuthContextUtils.getDomain();
+
+        Set<String> loggerNames = audited.get(domain);
+        if (loggerNames == null) {
+            AtomicLong generation = generations.computeIfAbsent(domain, k -> new AtomicLong());
+            long expected = generation.get();
+
+            Set<String> loaded = loggerDAO.findAll(LoggerType.AUDIT).stream().
+                    filter(logger -> logger.getLevel() == LoggerLevel.DEBUG).
+                    map(org.apache.syncope.core.persistence.api.entity.Logger::getKey).
+                    collect(Collectors.toSet());
+
+            // do not store if any change was notified meanwhile
+            loggerNames = audited.compute(domain, (k, current) -> current != null
+                    ? current
+                    : generation.get() == expected ? loaded : null);
+            if (loggerNames == null) {
+                loggerNames = loaded;
+            }
+        }
+
+        return loggerNames;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void reload(final AuditNotificationChangedEvent event) {
+        generations.computeIfAbsent(event.getDomain(), k -> new AtomicLong()).incrementAndGet();
+        audited.remove(event.getDomain());
+    }
+
     @Override
     public boolean auditRequested(
             final String who,
@@ -87,25 +179,11 @@ public class DefaultAuditManager implements AuditManager {
             final String subcategory,
             final String event) {
 
-        AuditEntry auditEntry = new AuditEntry();
-        auditEntry.setWho(who);
-        auditEntry.setLogger(new AuditLoggerName(type, category, subcategory, event, Result.SUCCESS));
-        auditEntry.setDate(new Date());
-
-        org.apache.syncope.core.persistence.api.entity.Logger syncopeLogger =
-                loggerDAO.find(auditEntry.getLogger().toLoggerName());
-        boolean auditRequested = syncopeLogger != null && syncopeLogger.getLevel() == LoggerLevel.DEBUG;
-
-        if (auditRequested) {
-            return true;
-        }
-
-        auditEntry.setLogger(new AuditLoggerName(type, category, subcategory, event, Result.FAILURE));
-
-        syncopeLogger = loggerDAO.find(auditEntry.getLogger().toLoggerName());
-        auditRequested = syncopeLogger != null && syncopeLogger.getLevel() == LoggerLevel.DEBUG;
-
-        return auditRequested;
+        Set<String> loggerNames = audited();
+        return loggerNames.contains(
+                new AuditLoggerName(type, category, subcategory, event, Result.SUCCESS).toLoggerName())
+                || loggerNames.contains(
+                        new AuditLoggerName(type, category, subcategory, event, Result.FAILURE).toLoggerName());
     }
 
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
@@ -136,37 +214,83 @@ public class DefaultAuditManager implements AuditManager {
             final Object output,
             final Object... input) {
 
-        Throwable throwable = null;
-        if (output instanceof Throwable) {
-            throwable = (Throwable) output;
+        String domain = AuthContextUtils.getDomain();
+        AuditLoggerName auditLoggerName = new AuditLoggerName(type, category, subcategory, event, condition);
+        if (!audited().contains(auditLoggerName.toLoggerName())) {
+            return;
         }
 
+        Date date = new Date();
+        auditWriter.submit(new AuditWriter.AuditWrite() {
+
+            @Override
+            public void write() {
+                DefaultAuditManager.this.write(domain, auditEntry(who, auditLoggerName, date, before, output, input),
+                        output instanceof Throwable ? (Throwable) output : null,
+                        entityKey(before, output, input));
+            }
+
+            @Override
+            public String serialize() {
+                return POJOHelper.serialize(auditEntry(who, auditLoggerName, date, before, output, input));
+            }
+        });
+    }
+
+    protected AuditEntry auditEntry(
+            final String who,
+            final AuditLoggerName auditLoggerName,
+            final Date date,
+            final Object before,
+            final Object output,
+            final Object... input) {
+
         AuditEntry auditEntry = new AuditEntry();
         auditEntry.setWho(who);
-        auditEntry.setLogger(new AuditLoggerName(type, category, subcategory, event, condition));
-        auditEntry.setDate(new Date());
+        auditEntry.setLogger(auditLoggerName);
+        auditEntry.setDate(date);
         auditEntry.setBefore(POJOHelper.serialize((maskSensitive(before))));
-        if (throwable == null) {
-            auditEntry.setOutput(POJOHelper.serialize((maskSensitive(output))));
+        if (output instanceof Throwable) {
+            auditEntry.setOutput(((Throwable) output).getMessage());
+            auditEntry.setThrowable(ExceptionUtils2.getFullStackTrace((Throwable) output));
         } else {
-            auditEntry.setOutput(throwable.getMessage());
-            auditEntry.setThrowable(ExceptionUtils2.getFullStackTrace(throwable));
+            auditEntry.setOutput(POJOHelper.serialize((maskSensitive(output))));
         }
         if (input != null) {
             auditEntry.getInputs().addAll(Arrays.stream(input).
                     map(DefaultAuditManager::maskSensitive).map(POJOHelper::serialize).
                     collect(Collectors.toList()));
         }
+        return auditEntry;
+    }
 
-        org.apache.syncope.core.persistence.api.entity.Logger syncopeLogger =
-                loggerDAO.find(auditEntry.getLogger().toLoggerName());
-        if (syncopeLogger != null && syncopeLogger.getLevel() == LoggerLevel.DEBUG) {
-            Logger logger = LoggerFactory.getLogger(
-                    AuditLoggerName.getAuditLoggerName(AuthContextUtils.getDomain()));
-            Logger eventLogger = LoggerFactory.getLogger(
-                    AuditLoggerName.getAuditEventLoggerName(AuthContextUtils.getDomain(), syncopeLogger.getKey()));
-            String serializedAuditEntry = POJOHelper.serialize(auditEntry);
+    protected void write(
+            final String domain,
+            final AuditEntry auditEntry,
+            final Throwable throwable,
+            final String entityKey) {
 
+        String loggerName = auditEntry.getLogger().toLoggerName();
+        Logger logger = LoggerFactory.getLogger(AuditLoggerName.getAuditLoggerName(domain));
+        Logger eventLogger = LoggerFactory.getLogger(AuditLoggerName.getAuditEventLoggerName(domain, loggerName));
+        String serializedAuditEntry = POJOHelper.serialize(auditEntry);
+
+        // made available to audit appenders, for storing in dedicated columns
+        Map<String, String> columns = new HashMap<>();
+        columns.put(LoggerDAO.AUDIT_ENTITY_KEY_COLUMN, entityKey);
+        columns.put(LoggerDAO.AUDIT_TYPE_COLUMN, Optional.ofNullable(auditEntry.getLogger().getType()).
+                map(Enum::name).orElse(null));
+        columns.put(LoggerDAO.AUDIT_CATEGORY_COLUMN, auditEntry.getLogger().getCategory());
+        columns.put(LoggerDAO.AUDIT_SUBCATEGORY_COLUMN, auditEntry.getLogger().getSubcategory());
+        columns.put(LoggerDAO.AUDIT_EVENT_COLUMN, auditEntry.getLogger().getEvent());
+        columns.put(LoggerDAO.AUDIT_RESULT_COLUMN, Optional.ofNullable(auditEntry.getLogger().getResult()).
+                map(Enum::name).orElse(null));
+        columns.forEach((column, value) -> {
+            if (value != null) {
+                MDC.put(column, value);
+            }
+        });
+        try {
             if (throwable == null) {
                 logger.debug(serializedAuditEntry);
                 eventLogger.debug(serializedAuditEntry);
@@ -174,6 +298,8 @@ public class DefaultAuditManager implements AuditManager {
                 logger.debug(serializedAuditEntry, throwable);
                 eventLogger.debug(serializedAuditEntry, throwable);
             }
+        } finally {
+            columns.keySet().forEach(MDC::remove);
         }
     }
 }
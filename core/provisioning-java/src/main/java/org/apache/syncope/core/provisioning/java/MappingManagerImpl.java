@@ -88,6 +88,7 @@ import org.apache.syncope.core.provisioning.api.MappingManager;
 import org.apache.syncope.core.provisioning.api.PlainAttrGetter;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
+import org.apache.syncope.core.provisioning.java.cache.ItemTransformerCache;
 import org.apache.syncope.core.provisioning.java.utils.ConnObjectUtils;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.apache.syncope.core.spring.policy.InvalidPasswordRuleConf;
@@ -154,6 +155,9 @@ public class MappingManagerImpl implements MappingManager {
     @Autowired
     private IntAttrNameParser intAttrNameParser;
 
+    @Autowired
+    private ItemTransformerCache itemTransformerCache;
+
     protected String processPreparedAttr(final Pair<String, Attribute> preparedAttr, final Set<Attribute> attributes) {
         String connObjectKey = null;
 
@@ -841,7 +845,7 @@ public class MappingManagerImpl implements MappingManager {
 
         Pair<AttrSchemaType, List<PlainAttrValue>> trans = Pair.of(schemaType, values);
         if (transform) {
-            for (ItemTransformer transformer : MappingUtils.getItemTransformers(mapItem)) {
+            for (ItemTransformer transformer : itemTransformerCache.get(mapItem)) {
                 trans = transformer.beforePropagation(mapItem, any, trans.getLeft(), trans.getRight());
             }
             LOG.debug("Transformed values: {}", values);
@@ -915,7 +919,7 @@ public class MappingManagerImpl implements MappingManager {
         List<Object> values = null;
         if (attr != null) {
             values = attr.getValue();
-            for (ItemTransformer transformer : MappingUtils.getItemTransformers(mapItem)) {
+            for (ItemTransformer transformer : itemTransformerCache.get(mapItem)) {
                 values = transformer.beforePull(mapItem, anyTO, values);
             }
         }
@@ -1072,7 +1076,7 @@ public class MappingManagerImpl implements MappingManager {
         List<Object> values = null;
         if (attr != null) {
             values = attr.getValue();
-            for (ItemTransformer transformer : MappingUtils.getItemTransformers(orgUnitItem)) {
+            for (ItemTransformer transformer : itemTransformerCache.get(orgUnitItem)) {
                 values = transformer.beforePull(orgUnitItem, realmTO, values);
             }
         }
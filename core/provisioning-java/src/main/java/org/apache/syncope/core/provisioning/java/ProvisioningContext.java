@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Enumeration;
 import java.util.Properties;
 import java.util.concurrent.Executor;
@@ -47,11 +49,14 @@ import org.apache.syncope.core.provisioning.api.job.JobManager;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationManager;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.java.cache.ItemTransformerCache;
 import org.apache.syncope.core.provisioning.java.job.AutowiringSpringBeanJobFactory;
 import org.apache.syncope.core.provisioning.java.job.JobManagerImpl;
 import org.apache.syncope.core.provisioning.java.job.SchedulerDBInit;
 import org.apache.syncope.core.provisioning.java.job.SchedulerShutdown;
+import org.apache.syncope.core.provisioning.java.propagation.PropagationBatcher;
 import org.apache.syncope.core.provisioning.java.propagation.PropagationManagerImpl;
+import org.apache.syncope.core.provisioning.java.pushpull.stream.CSVPullSpool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -146,6 +151,13 @@ public class ProvisioningContext implements EnvironmentAware, AsyncConfigurer {
         return executor;
     }
 
+    @Bean
+    public PropagationBatcher propagationBatcher() {
+        return new PropagationBatcher(
+                env.getProperty("propagationTaskExecutor.batchSize", Integer.class, 1),
+                env.getProperty("propagationTaskExecutor.batchWindow", Long.class, 50L));
+    }
+
     @Bean
     public SchedulerDBInit quartzDataSourceInit() {
         SchedulerDBInit init = new SchedulerDBInit();
@@ -296,6 +308,12 @@ public class ProvisioningContext implements EnvironmentAware, AsyncConfigurer {
         return new IntAttrNameParser();
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public ItemTransformerCache itemTransformerCache() {
+        return new ItemTransformerCache();
+    }
+
     @Bean
     public PropagationTaskExecutor propagationTaskExecutor()
             throws ClassNotFoundException, InstantiationException, IllegalAccessException, NoSuchMethodException,
@@ -350,6 +368,25 @@ public class ProvisioningContext implements EnvironmentAware, AsyncConfigurer {
                 getConstructor().newInstance();
     }
 
+    @Bean
+    public AuditWriter auditWriter() {
+        String spillFile = env.getProperty("auditWriter.spillFile");
+        return new AuditWriter(
+                env.getProperty("auditWriter.queueCapacity", Integer.class, 0),
+                env.getProperty("auditWriter.batchSize", Integer.class, 100),
+                env.getProperty("auditWriter.flushInterval", Long.class, 1000L),
+                env.getProperty("auditWriter.overflowPolicy", AuditWriter.OverflowPolicy.class,
+                        AuditWriter.OverflowPolicy.BLOCK),
+                StringUtils.isBlank(spillFile)
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "syncope-audit-spill.json")
+                : Paths.get(spillFile));
+    }
+
+    @Bean
+    public CSVPullSpool csvPullSpool() {
+        return new CSVPullSpool(Duration.ofDays(env.getProperty("csvPull.retentionDays", Long.class, 7L)));
+    }
+
     @Bean
     public AuditManager auditManager()
             throws ClassNotFoundException, InstantiationException, IllegalAccessException, NoSuchMethodException,
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.entity.resource.Item;
+import org.apache.syncope.core.provisioning.api.data.ItemTransformer;
+import org.apache.syncope.core.provisioning.api.event.MappingChangedEvent;
+import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds, for each domain, the {@link ItemTransformer} chain built for each mapping item, so that JEXL and custom
+ * transformers are instantiated once rather than for every value being propagated or pulled.
+ *
+ * Mapping items are re-created whenever their mapping is updated, hence entries are keyed by item key; all entries of a
+ * domain are anyway discarded upon {@link MappingChangedEvent}, as implementations of custom transformers might have
+ * changed as well.
+ */
+public class ItemTransformerCache {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(ItemTransformerCache.class);
+
+    protected final Map<String, Map<String, List<ItemTransformer>>> domains = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the transformers configured for the given item; instances are shared and shall not hold any state
+     * related to single invocations.
+     *
+     * @param item mapping item
+     * @return transformers configured for the given item
+     */
+    public List<ItemTransformer> get(final Item item) {
+        // nothing to build: also avoids caching items of transient mappings, as with stream push / pull
+        if (StringUtils.isBlank(item.getPropagationJEXLTransformer())
+                && StringUtils.isBlank(item.getPullJEXLTransformer())
+                && item.getTransformers().isEmpty()) {
+
+            return List.of();
+        }
+        if (item.getKey() == null) {
+            return MappingUtils.getItemTransformers(item);
+        }
+
+        return domains.computeIfAbsent(AuthContextUtils.getDomain(), domain -> new ConcurrentHashMap<>()).
+                computeIfAbsent(item.getKey(), key -> List.copyOf(MappingUtils.getItemTransformers(item)));
+    }
+
+    public void invalidate(final String domain) {
+        domains.remove(domain);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void mappingChanged(final MappingChangedEvent event) {
+        LOG.debug("Mappings changed for domain {}, invalidating", event.getDomain());
+        invalidate(event.getDomain());
+    }
+}
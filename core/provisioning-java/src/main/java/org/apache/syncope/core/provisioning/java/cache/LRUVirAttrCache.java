@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheKey;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+/**
+ * In-memory virtual attribute value cache, split into segments each holding a size-bounded LRU map, with
+ * expire-after-write and optional TTL override per virtual schema.
+ *
+ * Entries about the same any object are held by the same segment, so that all of them can be invalidated at once.
+ * The following properties are read from the environment:
+ * <ul>
+ * <li>{@code virAttrCache.ttl} - default TTL, in seconds</li>
+ * <li>{@code virAttrCache.maxCacheSize} - maximum number of entries</li>
+ * <li>{@code virAttrCache.schemaTtl} - comma-separated list of {@code schemaKey:seconds} TTL overrides</li>
+ * </ul>
+ */
+public class LRUVirAttrCache implements VirAttrCache, EnvironmentAware {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(LRUVirAttrCache.class);
+
+    protected static final int SEGMENTS = 16;
+
+    protected static class Entry {
+
+        protected final VirAttrCacheValue value;
+
+        protected final long expireAt;
+
+        protected Entry(final VirAttrCacheValue value, final long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        protected boolean isExpired(final long now) {
+            return now >= expireAt || value.getCreationDate().getTime() == 0;
+        }
+    }
+
+    protected class Segment {
+
+        protected final Map<String, Set<VirAttrCacheKey>> byAnyKey = new HashMap<>();
+
+        protected final LinkedHashMap<VirAttrCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 2843620571548129427L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<VirAttrCacheKey, Entry> eldest) {
+                if (size() > Math.max(1, maxCacheSize / SEGMENTS)) {
+                    unindex(eldest.getKey());
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        protected void unindex(final VirAttrCacheKey cacheKey) {
+            Set<VirAttrCacheKey> keys = byAnyKey.get(cacheKey.getKey());
+            if (keys != null) {
+                keys.remove(cacheKey);
+                if (keys.isEmpty()) {
+                    byAnyKey.remove(cacheKey.getKey());
+                }
+            }
+        }
+
+        protected void remove(final VirAttrCacheKey cacheKey) {
+            if (entries.remove(cacheKey) != null) {
+                unindex(cacheKey);
+            }
+        }
+    }
+
+    protected final Segment[] segments = new Segment[SEGMENTS];
+
+    protected final Map<String, Integer> schemaTtls = new ConcurrentHashMap<>();
+
+    protected final LongAdder hits = new LongAdder();
+
+    protected final LongAdder misses = new LongAdder();
+
+    protected final LongAdder evictions = new LongAdder();
+
+    /**
+     * Elapsed time in seconds.
+     */
+    protected volatile int ttl = 60;
+
+    /**
+     * Max cache size.
+     */
+    protected volatile int maxCacheSize = 5000;
+
+    public LRUVirAttrCache() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @Override
+    public void setEnvironment(final Environment env) {
+        Optional.ofNullable(env.getProperty("virAttrCache.ttl", Integer.class)).ifPresent(this::setTtl);
+        Optional.ofNullable(env.getProperty("virAttrCache.maxCacheSize", Integer.class)).
+                ifPresent(this::setMaxCacheSize);
+        for (String schemaTtl : StringUtils.split(env.getProperty("virAttrCache.schemaTtl", ""), ',')) {
+            String[] split = StringUtils.split(schemaTtl.trim(), ':');
+            try {
+                setTtl(split[0].trim(), Integer.parseInt(split[1].trim()));
+            } catch (Exception e) {
+                LOG.error("Invalid TTL override: {}", schemaTtl, e);
+            }
+        }
+    }
+
+    @Override
+    public void setTtl(final int ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * Overrides the TTL for the given virtual schema.
+     *
+     * @param schemaKey virtual schema
+     * @param ttl elapsed time in seconds
+     */
+    public void setTtl(final String schemaKey, final int ttl) {
+        schemaTtls.put(schemaKey, ttl);
+    }
+
+    @Override
+    public void setMaxCacheSize(final int maxCacheSize) {
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    protected Segment segment(final String key) {
+        return segments[Math.floorMod(key.hashCode(), SEGMENTS)];
+    }
+
+    protected int ttl(final String schemaKey) {
+        return schemaTtls.getOrDefault(schemaKey, ttl);
+    }
+
+    @Override
+    public void put(
+            final String type,
+            final String key,
+            final String schemaKey,
+            final VirAttrCacheValue value) {
+
+        VirAttrCacheKey cacheKey = new VirAttrCacheKey(type, key, schemaKey);
+        Entry entry = new Entry(value, System.currentTimeMillis() + ttl(schemaKey) * 1000L);
+
+        Segment segment = segment(key);
+        synchronized (segment) {
+            segment.entries.put(cacheKey, entry);
+            segment.byAnyKey.computeIfAbsent(key, k -> new HashSet<>()).add(cacheKey);
+        }
+    }
+
+    @Override
+    public VirAttrCacheValue get(final String type, final String key, final String schemaKey) {
+        VirAttrCacheKey cacheKey = new VirAttrCacheKey(type, key, schemaKey);
+
+        Segment segment = segment(key);
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.entries.get(cacheKey);
+            if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+                segment.remove(cacheKey);
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.value;
+    }
+
+    @Override
+    public void expire(final String type, final String key, final String schemaKey) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            segment.remove(new VirAttrCacheKey(type, key, schemaKey));
+        }
+    }
+
+    @Override
+    public void expire(final String type, final String key) {
+        Segment segment = segment(key);
+        synchronized (segment) {
+            Set<VirAttrCacheKey> keys = segment.byAnyKey.get(key);
+            if (keys != null) {
+                new HashSet<>(keys).stream().
+                        filter(cacheKey -> type == null || type.equals(cacheKey.getKind())).
+                        forEach(segment::remove);
+            }
+        }
+    }
+
+    /**
+     * Values returned by {@link #get(java.lang.String, java.lang.String, java.lang.String)} are already checked
+     * against the TTL of their virtual schema; this method only rejects missing, forcibly expired or outdated values.
+     *
+     * @param value cache entry value.
+     * @return TRUE if the value is valid; FALSE otherwise.
+     */
+    @Override
+    public boolean isValidEntry(final VirAttrCacheValue value) {
+        if (value == null || value.getCreationDate().getTime() == 0) {
+            return false;
+        }
+
+        int maxTtl = schemaTtls.values().stream().reduce(ttl, Math::max);
+        return value.getCreationDate().getTime() + maxTtl * 1000L > System.currentTimeMillis();
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "LRUVirAttrCache{"
+                + "size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount()
+                + '}';
+    }
+}
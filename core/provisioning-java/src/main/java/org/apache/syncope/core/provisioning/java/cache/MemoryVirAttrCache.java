@@ -22,6 +22,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheKey;
@@ -47,6 +49,11 @@ public class MemoryVirAttrCache implements VirAttrCache {
      */
     protected final Map<VirAttrCacheKey, VirAttrCacheValue> cache = new HashMap<>();
 
+    /**
+     * Cache keys, by any object key: allows to expire all entries about an any object without scanning the cache.
+     */
+    protected final Map<String, Set<VirAttrCacheKey>> byAnyKey = new HashMap<>();
+
     @Override
     public void setTtl(final int ttl) {
         this.ttl = ttl;
@@ -70,7 +77,9 @@ public class MemoryVirAttrCache implements VirAttrCache {
                 free();
             }
 
-            cache.put(new VirAttrCacheKey(type, key, schemaKey), value);
+            VirAttrCacheKey cacheKey = new VirAttrCacheKey(type, key, schemaKey);
+            cache.put(cacheKey, value);
+            byAnyKey.computeIfAbsent(key, k -> new HashSet<>()).add(cacheKey);
         }
     }
 
@@ -89,6 +98,17 @@ public class MemoryVirAttrCache implements VirAttrCache {
         }
     }
 
+    @Override
+    public void expire(final String type, final String key) {
+        synchronized (cache) {
+            Optional.ofNullable(byAnyKey.get(key)).ifPresent(keys -> keys.stream().
+                    filter(cacheKey -> type == null || type.equals(cacheKey.getKind())).
+                    map(cache::get).
+                    filter(Objects::nonNull).
+                    forEach(VirAttrCacheValue::forceExpiring));
+        }
+    }
+
     /**
      * Remove expired entries if exist. If required, one entry at least (the latest recently used) will be taken off.
      * This method is not thread safe: the caller have to take care to synchronize the call.
@@ -111,11 +131,20 @@ public class MemoryVirAttrCache implements VirAttrCache {
 
         if (toBeRemoved.isEmpty() && latest != null) {
             // remove the oldest entry
-            cache.remove(latest.getKey());
-        } else {
-            // remove expired entries
-            cache.keySet().removeAll(toBeRemoved);
+            toBeRemoved.add(latest.getKey());
         }
+
+        // remove expired entries, or the oldest one
+        cache.keySet().removeAll(toBeRemoved);
+        toBeRemoved.forEach(cacheKey -> {
+            Set<VirAttrCacheKey> keys = byAnyKey.get(cacheKey.getKey());
+            if (keys != null) {
+                keys.remove(cacheKey);
+                if (keys.isEmpty()) {
+                    byAnyKey.remove(cacheKey.getKey());
+                }
+            }
+        });
     }
 
     /**
@@ -131,6 +131,8 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
 
         resource.setRandomPwdIfNotProvided(resourceTO.isRandomPwdIfNotProvided());
 
+        resource.setLightweightPropagation(resourceTO.isLightweightPropagation());
+
         // 1. add or update all (valid) provisions from TO
         resourceTO.getProvisions().forEach(provisionTO -> {
             AnyType anyType = anyTypeDAO.find(provisionTO.getAnyType());
@@ -667,6 +669,8 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
 
         resourceTO.setRandomPwdIfNotProvided(resource.isRandomPwdIfNotProvided());
 
+        resourceTO.setLightweightPropagation(resource.isLightweightPropagation());
+
         resourceTO.setCreateTraceLevel(resource.getCreateTraceLevel());
         resourceTO.setUpdateTraceLevel(resource.getUpdateTraceLevel());
         resourceTO.setDeleteTraceLevel(resource.getDeleteTraceLevel());
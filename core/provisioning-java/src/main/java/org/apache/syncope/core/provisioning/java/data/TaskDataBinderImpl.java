@@ -222,6 +222,8 @@ public class TaskDataBinderImpl implements TaskDataBinder {
         provisioningTask.setPerformUpdate(provisioningTaskTO.isPerformUpdate());
         provisioningTask.setPerformDelete(provisioningTaskTO.isPerformDelete());
         provisioningTask.setSyncStatus(provisioningTaskTO.isSyncStatus());
+        provisioningTask.setThreadPoolSize(provisioningTaskTO.getThreadPoolSize());
+        provisioningTask.setQueueCapacity(provisioningTaskTO.getQueueCapacity());
 
         provisioningTaskTO.getActions().forEach(action -> {
             Implementation implementation = implementationDAO.find(action);
@@ -357,6 +359,8 @@ public class TaskDataBinderImpl implements TaskDataBinder {
             provisioningTaskTO.setPerformUpdate(provisioningTask.isPerformUpdate());
             provisioningTaskTO.setPerformDelete(provisioningTask.isPerformDelete());
             provisioningTaskTO.setSyncStatus(provisioningTask.isSyncStatus());
+            provisioningTaskTO.setThreadPoolSize(provisioningTask.getThreadPoolSize());
+            provisioningTaskTO.setQueueCapacity(provisioningTask.getQueueCapacity());
         }
     }
 
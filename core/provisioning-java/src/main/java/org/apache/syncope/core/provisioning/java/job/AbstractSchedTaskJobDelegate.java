@@ -82,7 +82,7 @@ public abstract class AbstractSchedTaskJobDelegate implements SchedTaskJobDelega
 
     protected final AtomicReference<String> status = new AtomicReference<>();
 
-    protected boolean interrupt;
+    protected volatile boolean interrupt;
 
     protected boolean interrupted;
 
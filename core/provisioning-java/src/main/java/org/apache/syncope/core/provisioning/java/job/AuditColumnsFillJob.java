@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.util.Optional;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
+import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Fills, in batches, the dedicated columns of audit entries written by previous versions, out of their message.
+ * Progress is kept as configuration parameters of the domain, so that entries are considered only once, even across
+ * restarts; entries written after the first execution are not considered, as they come with such columns filled.
+ */
+public class AuditColumnsFillJob extends AbstractInterruptableJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditColumnsFillJob.class);
+
+    public static final String UP_TO_CONF_PARAM = "audit.fillColumns.upTo";
+
+    public static final String LAST_CONF_PARAM = "audit.fillColumns.last";
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Tells whether all audit entries of the given domain were already considered.
+     *
+     * @param confParamOps configuration parameters
+     * @param domain domain
+     * @return whether all audit entries of the given domain were already considered
+     */
+    public static boolean isCompleted(final ConfParamOps confParamOps, final String domain) {
+        Long upTo = confParamOps.get(domain, UP_TO_CONF_PARAM, null, Long.class);
+        return upTo != null && confParamOps.get(domain, LAST_CONF_PARAM, 0L, Long.class) >= upTo;
+    }
+
+    @Autowired
+    private ConfParamOps confParamOps;
+
+    @Autowired
+    private LoggerDAO loggerDAO;
+
+    private volatile boolean interrupt;
+
+    @Override
+    public void execute(final JobExecutionContext context) throws JobExecutionException {
+        String domain = context.getMergedJobDataMap().getString(JobManager.DOMAIN_KEY);
+        try {
+            AuthContextUtils.callAsAdmin(domain, () -> {
+                Long upTo = confParamOps.get(domain, UP_TO_CONF_PARAM, null, Long.class);
+                if (upTo == null) {
+                    upTo = Optional.ofNullable(loggerDAO.findLastAuditEntryId()).orElse(0L);
+                    confParamOps.set(domain, UP_TO_CONF_PARAM, upTo);
+                }
+
+                long last = confParamOps.get(domain, LAST_CONF_PARAM, 0L, Long.class);
+                while (last < upTo && !interrupt) {
+                    Long filled = loggerDAO.fillAuditColumns(last, upTo, BATCH_SIZE);
+                    last = filled == null ? upTo : filled;
+                    confParamOps.set(domain, LAST_CONF_PARAM, last);
+
+                    LOG.debug("Audit columns filled for domain {} up to entry {} of {}", domain, last, upTo);
+                }
+
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw new JobExecutionException("While filling audit columns for domain " + domain, e);
+        }
+    }
+
+    @Override
+    public void interrupt() {
+        interrupt = true;
+    }
+}
@@ -24,6 +24,7 @@ import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.MutablePropertyValues;
 import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.scheduling.quartz.SpringBeanJobFactory;
@@ -31,6 +32,8 @@ import org.springframework.scheduling.quartz.SpringBeanJobFactory;
 /**
  * An implementation of SpringBeanJobFactory that retrieves the bean from the Spring context so that autowiring and
  * transactions work.
+ * Jobs not registered as beans on the current node - as {@link CSVPullJob}, which can fire on any node of the
+ * cluster - are instead created and autowired.
  */
 public class AutowiringSpringBeanJobFactory extends SpringBeanJobFactory implements ApplicationContextAware {
 
@@ -60,7 +63,11 @@ public class AutowiringSpringBeanJobFactory extends SpringBeanJobFactory impleme
 
     @Override
     protected Object createJobInstance(final TriggerFiredBundle bundle) throws Exception {
-        Object job = beanFactory.getBean(bundle.getJobDetail().getKey().getName());
+        String jobName = bundle.getJobDetail().getKey().getName();
+        Object job = beanFactory.containsBean(jobName)
+                ? beanFactory.getBean(jobName)
+                : beanFactory.createBean(
+                        bundle.getJobDetail().getJobClass(), AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false);
         if (isEligibleForPropertyPopulation(job)) {
             BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(job);
             MutablePropertyValues pvs = new MutablePropertyValues();
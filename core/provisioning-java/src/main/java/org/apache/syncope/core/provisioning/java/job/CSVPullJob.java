@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.common.lib.to.PullTaskTO;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.rest.api.beans.CSVPullSpec;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.provisioning.api.job.JobDelegate;
+import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.provisioning.api.job.JobNamer;
+import org.apache.syncope.core.provisioning.java.pushpull.stream.CSVPullSpool;
+import org.apache.syncope.core.provisioning.java.pushpull.stream.CSVStreamConnector;
+import org.apache.syncope.core.provisioning.java.pushpull.stream.StreamPullJobDelegate;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.UnableToInterruptJobException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+/**
+ * Quartz job for pulling asynchronously a CSV file previously stored by {@link CSVPullSpool}; the job is named after
+ * the spool key.
+ * As the spool, the job is not bound to the node which scheduled it: the instance is created by
+ * {@link AutowiringSpringBeanJobFactory} on the node where the job fires, and registered there only while running,
+ * for its progress to be reported by the job status. Reports are added to the spool as rows are handled; the pull is
+ * stopped as soon as the spool is found removed, whichever node it was removed from.
+ */
+public class CSVPullJob extends AbstractInterruptableJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CSVPullJob.class);
+
+    public static final String SPEC_KEY = "spec";
+
+    public static void schedule(
+            final SchedulerFactoryBean scheduler,
+            final String key,
+            final CSVPullSpec spec,
+            final String executor) throws SchedulerException {
+
+        Map<String, Object> jobMap = new HashMap<>();
+        jobMap.put(JobManager.DOMAIN_KEY, AuthContextUtils.getDomain());
+        jobMap.put(JobManager.EXECUTOR_KEY, executor);
+        jobMap.put(SPEC_KEY, spec);
+
+        JobBuilder jobDetailBuilder = JobBuilder.newJob(CSVPullJob.class).
+                withIdentity(key).
+                usingJobData(new JobDataMap(jobMap));
+
+        TriggerBuilder<Trigger> triggerBuilder = TriggerBuilder.newTrigger().
+                withIdentity(JobNamer.getTriggerName(key)).
+                startNow();
+
+        scheduler.getScheduler().scheduleJob(jobDetailBuilder.build(), triggerBuilder.build());
+    }
+
+    @Autowired
+    private AnyTypeDAO anyTypeDAO;
+
+    @Autowired
+    private CSVPullSpool spool;
+
+    private StreamPullJobDelegate delegate;
+
+    @Override
+    public JobDelegate getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void interrupt() throws UnableToInterruptJobException {
+        if (delegate != null) {
+            delegate.interrupt();
+        }
+    }
+
+    @Override
+    public void execute(final JobExecutionContext context) throws JobExecutionException {
+        String key = context.getJobDetail().getKey().getName();
+        String domain = context.getMergedJobDataMap().getString(JobManager.DOMAIN_KEY);
+        CSVPullSpec spec = (CSVPullSpec) context.getMergedJobDataMap().get(SPEC_KEY);
+
+        PullTaskTO pullTask = new PullTaskTO();
+        pullTask.setDestinationRealm(spec.getDestinationRealm());
+        pullTask.setRemediation(spec.isRemediation());
+        pullTask.setMatchingRule(spec.getMatchingRule());
+        pullTask.setUnmatchingRule(spec.getUnmatchingRule());
+        pullTask.getActions().addAll(spec.getProvisioningActions());
+        pullTask.setThreadPoolSize(spec.getThreadPoolSize());
+        pullTask.setQueueCapacity(spec.getQueueCapacity());
+
+        delegate = (StreamPullJobDelegate) ApplicationContextProvider.getBeanFactory().
+                createBean(StreamPullJobDelegate.class, AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false);
+        delegate.setReportConsumer(report -> {
+            if (!spool.report(key, report)) {
+                LOG.info("CSV pull {} was removed, stopping", key);
+                delegate.interrupt();
+            }
+        });
+
+        ApplicationContextProvider.getBeanFactory().registerSingleton(key, this);
+        try {
+            AuthContextUtils.callAsAdmin(domain, () -> {
+                Optional<InputStream> spooled = spool.getCSV(key);
+                if (spooled.isEmpty()) {
+                    LOG.warn("CSV pull {} was removed before starting", key);
+                    return null;
+                }
+
+                try (InputStream csv = spooled.get();
+                        CSVStreamConnector connector = new CSVStreamConnector(
+                                spec.getKeyColumn(),
+                                spec.getArrayElementSeparator(),
+                                CSVStreamConnector.csvSchema(spec),
+                                csv,
+                                null)) {
+
+                    delegate.pull(
+                            anyTypeDAO.find(spec.getAnyTypeKey()),
+                            spec.getKeyColumn(),
+                            connector.getColumns(spec),
+                            spec.getConflictResolutionAction(),
+                            spec.getPullCorrelationRule(),
+                            connector,
+                            pullTask,
+                            context.getMergedJobDataMap().getString(JobManager.EXECUTOR_KEY));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            LOG.error("While pulling CSV {}", key, e);
+
+            // let clients reading the reports know that the remaining rows were not pulled
+            ProvisioningReport failure = new ProvisioningReport();
+            failure.setAnyType(spec.getAnyTypeKey());
+            failure.setOperation(ResourceOperation.NONE);
+            failure.setStatus(ProvisioningReport.Status.FAILURE);
+            failure.setMessage(ExceptionUtils.getRootCauseMessage(e));
+            AuthContextUtils.callAsAdmin(domain, () -> spool.report(key, failure));
+
+            throw new JobExecutionException("While pulling CSV " + key, e);
+        } finally {
+            try {
+                AuthContextUtils.callAsAdmin(domain, () -> {
+                    spool.completed(key);
+                    return null;
+                });
+            } catch (Exception e) {
+                LOG.error("Could not complete CSV pull {}", key, e);
+            }
+
+            ApplicationContextProvider.getBeanFactory().destroySingleton(key);
+        }
+    }
+}
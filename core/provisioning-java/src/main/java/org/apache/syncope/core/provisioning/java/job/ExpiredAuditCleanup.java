@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
+import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Deletes the audit entries older than the number of days set by the {@code audit.retention.days} configuration
+ * parameter; nothing is deleted if such parameter is not set or not positive.
+ */
+public class ExpiredAuditCleanup extends AbstractSchedTaskJobDelegate {
+
+    @Autowired
+    private ConfParamOps confParamOps;
+
+    @Autowired
+    private LoggerDAO loggerDAO;
+
+    @Override
+    protected String doExecute(final boolean dryRun, final String executor) throws JobExecutionException {
+        long retentionDays = confParamOps.get(AuthContextUtils.getDomain(), "audit.retention.days", 0L, Long.class);
+        if (!dryRun && retentionDays > 0) {
+            int deleted = loggerDAO.deleteAuditEntries(
+                    Date.from(Instant.now().minus(retentionDays, ChronoUnit.DAYS)));
+            LOG.debug("Successfully deleted {} audit entries older than {} days", deleted, retentionDays);
+        }
+
+        return "SUCCESS";
+    }
+}
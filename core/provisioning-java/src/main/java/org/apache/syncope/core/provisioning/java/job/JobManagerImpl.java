@@ -376,8 +376,31 @@ public class JobManagerImpl implements JobManager, SyncopeCoreLoader {
             return null;
         });
 
+        // 3. AuditColumnsFillJob, run once in background until all audit entries written by previous versions
+        // were considered
+        AuthContextUtils.callAsAdmin(domain, () -> {
+            if (!AuditColumnsFillJob.isCompleted(confParamOps, domain)) {
+                LOG.debug("Registering {} for domain {}", AuditColumnsFillJob.class, domain);
+                try {
+                    AuditColumnsFillJob job = createSpringBean(AuditColumnsFillJob.class);
+                    Map<String, Object> jobData = createJobMapForExecutionContext(adminUser);
+                    registerJob(
+                            StringUtils.uncapitalize(AuditColumnsFillJob.class.getSimpleName()) + '_' + domain,
+                            job,
+                            null,
+                            new Date(),
+                            jobData);
+                } catch (Exception e) {
+                    LOG.error("While loading {} instance for domain {}",
+                            AuditColumnsFillJob.class.getSimpleName(), domain, e);
+                }
+            }
+
+            return null;
+        });
+
         if (SyncopeConstants.MASTER_DOMAIN.equals(domain)) {
-            // 3. NotificationJob
+            // 4. NotificationJob
             if (StringUtils.isBlank(conf.getLeft())) {
                 LOG.debug("Empty value provided for {}'s cron, not registering anything on Quartz",
                         NotificationJob.class.getSimpleName());
@@ -399,7 +422,7 @@ public class JobManagerImpl implements JobManager, SyncopeCoreLoader {
                 }
             }
 
-            // 4. SystemLoadReporterJob (fixed schedule, every minute)
+            // 5. SystemLoadReporterJob (fixed schedule, every minute)
             LOG.debug("Registering {}", SystemLoadReporterJob.class);
             try {
                 SystemLoadReporterJob job = createSpringBean(SystemLoadReporterJob.class);
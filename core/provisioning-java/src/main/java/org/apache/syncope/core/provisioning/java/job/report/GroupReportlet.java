@@ -19,6 +19,7 @@
 package org.apache.syncope.core.provisioning.java.job.report;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
@@ -34,12 +35,12 @@ import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
-import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.ReportletConfClass;
 import org.apache.syncope.core.persistence.api.entity.user.UMembership;
-import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
 import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.xml.sax.ContentHandler;
@@ -59,7 +60,7 @@ public class GroupReportlet extends AbstractReportlet {
     private GroupDataBinder groupDataBinder;
 
     @Autowired
-    private SearchCondVisitor searchCondVisitor;
+    private SearchCondCache searchCondCache;
 
     private GroupReportletConf conf;
 
@@ -288,7 +289,7 @@ public class GroupReportlet extends AbstractReportlet {
         return StringUtils.isBlank(conf.getMatchingCond())
                 ? groupDAO.count()
                 : searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS,
-                        SearchCondConverter.convert(searchCondVisitor, conf.getMatchingCond()), AnyTypeKind.GROUP);
+                        searchCondCache.get(conf.getMatchingCond()), AnyTypeKind.GROUP);
     }
 
     @Override
@@ -311,23 +312,15 @@ public class GroupReportlet extends AbstractReportlet {
 
         status.set("Processing " + total + " groups in " + pages + " pages");
 
-        for (int page = 1; page <= pages; page++) {
+        SearchCond cond = StringUtils.isBlank(this.conf.getMatchingCond())
+                ? groupDAO.getAllMatchingCond()
+                : searchCondCache.get(this.conf.getMatchingCond());
+        Iterator<List<String>> batches = searchDAO.stream(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.GROUP, AnyDAO.DEFAULT_PAGE_SIZE).iterator();
+        for (int page = 1; batches.hasNext(); page++) {
             status.set("Processing " + total + " groups: page " + page + " of " + pages);
 
-            List<Group> groups;
-            if (StringUtils.isBlank(this.conf.getMatchingCond())) {
-                groups = groupDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE);
-            } else {
-                groups = searchDAO.search(
-                        SyncopeConstants.FULL_ADMIN_REALMS,
-                        SearchCondConverter.convert(searchCondVisitor, this.conf.getMatchingCond()),
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.USER);
-            }
-
-            doExtract(handler, groups);
+            doExtract(handler, groupDAO.findByKeys(batches.next()));
 
             status.set("Processed " + total + " groups: page " + page + " of " + pages);
         }
@@ -21,6 +21,7 @@ package org.apache.syncope.core.provisioning.java.job.report;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -35,7 +36,7 @@ import org.apache.syncope.common.lib.report.ReconciliationReportletConf.Feature;
 import org.apache.syncope.common.lib.report.ReportletConf;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
-import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
@@ -52,7 +53,7 @@ import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.resource.MappingItem;
 import org.apache.syncope.core.persistence.api.entity.resource.Provision;
 import org.apache.syncope.core.persistence.api.entity.user.User;
-import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorFactory;
 import org.apache.syncope.core.provisioning.api.MappingManager;
@@ -74,14 +75,15 @@ import org.xml.sax.helpers.AttributesImpl;
 @ReportletConfClass(ReconciliationReportletConf.class)
 public class ReconciliationReportlet extends AbstractReportlet {
 
-    private static final int PAGE_SIZE = 10;
-
     @Autowired
     private UserDAO userDAO;
 
     @Autowired
     private GroupDAO groupDAO;
 
+    @Autowired
+    private AnyObjectDAO anyObjectDAO;
+
     @Autowired
     private AnyTypeDAO anyTypeDAO;
 
@@ -98,7 +100,7 @@ public class ReconciliationReportlet extends AbstractReportlet {
     private AnyUtilsFactory anyUtilsFactory;
 
     @Autowired
-    private SearchCondVisitor searchCondVisitor;
+    private SearchCondCache searchCondCache;
 
     private ReconciliationReportletConf conf;
 
@@ -380,13 +382,19 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(total));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.USER) + 's', atts);
 
-            for (int page = 1; page <= pages; page++) {
+            // keyset pagination, as the cost of offset-based paging grows with the page number
+            List<String> keys = userDAO.findAllKeys(null, AnyDAO.DEFAULT_PAGE_SIZE);
+            for (int page = 1; !keys.isEmpty(); page++) {
                 status.set("Processing " + total + " users: page " + page + " of " + pages);
 
-                doExtract(handler, userDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE));
+                doExtract(handler, userDAO.findByKeys(keys));
+
+                keys = keys.size() < AnyDAO.DEFAULT_PAGE_SIZE
+                        ? List.of()
+                        : userDAO.findAllKeys(keys.get(keys.size() - 1), AnyDAO.DEFAULT_PAGE_SIZE);
             }
         } else {
-            SearchCond cond = SearchCondConverter.convert(searchCondVisitor, this.conf.getUserMatchingCond());
+            SearchCond cond = searchCondCache.get(this.conf.getUserMatchingCond());
 
             int total = searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER);
             int pages = (total / AnyDAO.DEFAULT_PAGE_SIZE) + 1;
@@ -396,16 +404,12 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(total));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.USER) + 's', atts);
 
-            for (int page = 1; page <= pages; page++) {
+            Iterator<List<String>> batches = searchDAO.stream(
+                    SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER, AnyDAO.DEFAULT_PAGE_SIZE).iterator();
+            for (int page = 1; batches.hasNext(); page++) {
                 status.set("Processing " + total + " users: page " + page + " of " + pages);
 
-                doExtract(handler, searchDAO.search(
-                        SyncopeConstants.FULL_ADMIN_REALMS,
-                        cond,
-                        page,
-                        PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.USER));
+                doExtract(handler, userDAO.findByKeys(batches.next()));
             }
         }
         handler.endElement("", "", getAnyElementName(AnyTypeKind.USER) + 's');
@@ -420,13 +424,19 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(total));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.GROUP) + 's', atts);
 
-            for (int page = 1; page <= pages; page++) {
+            // keyset pagination, as the cost of offset-based paging grows with the page number
+            List<String> keys = groupDAO.findAllKeys(null, AnyDAO.DEFAULT_PAGE_SIZE);
+            for (int page = 1; !keys.isEmpty(); page++) {
                 status.set("Processing " + total + " groups: page " + page + " of " + pages);
 
-                doExtract(handler, groupDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE));
+                doExtract(handler, groupDAO.findByKeys(keys));
+
+                keys = keys.size() < AnyDAO.DEFAULT_PAGE_SIZE
+                        ? List.of()
+                        : groupDAO.findAllKeys(keys.get(keys.size() - 1), AnyDAO.DEFAULT_PAGE_SIZE);
             }
         } else {
-            SearchCond cond = SearchCondConverter.convert(searchCondVisitor, this.conf.getUserMatchingCond());
+            SearchCond cond = searchCondCache.get(this.conf.getGroupMatchingCond());
 
             int total = searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.GROUP);
             int pages = (total / AnyDAO.DEFAULT_PAGE_SIZE) + 1;
@@ -436,16 +446,12 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(total));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.GROUP) + 's', atts);
 
-            for (int page = 1; page <= pages; page++) {
+            Iterator<List<String>> batches = searchDAO.stream(
+                    SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.GROUP, AnyDAO.DEFAULT_PAGE_SIZE).iterator();
+            for (int page = 1; batches.hasNext(); page++) {
                 status.set("Processing " + total + " groups: page " + page + " of " + pages);
 
-                doExtract(handler, searchDAO.search(
-                        SyncopeConstants.FULL_ADMIN_REALMS,
-                        cond,
-                        page,
-                        PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.GROUP));
+                doExtract(handler, groupDAO.findByKeys(batches.next()));
             }
         }
         handler.endElement("", "", getAnyElementName(AnyTypeKind.GROUP) + 's');
@@ -458,7 +464,7 @@ public class ReconciliationReportlet extends AbstractReportlet {
                         ? SearchCond.getLeaf(anyTypeCond)
                         : SearchCond.getAnd(
                                 SearchCond.getLeaf(anyTypeCond),
-                                SearchCondConverter.convert(searchCondVisitor, this.conf.getAnyObjectMatchingCond()));
+                                searchCondCache.get(this.conf.getAnyObjectMatchingCond()));
 
                 int total = searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.ANY_OBJECT);
                 int pages = (total / AnyDAO.DEFAULT_PAGE_SIZE) + 1;
@@ -470,17 +476,16 @@ public class ReconciliationReportlet extends AbstractReportlet {
                 atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(total));
                 handler.startElement("", "", getAnyElementName(AnyTypeKind.ANY_OBJECT) + 's', atts);
 
-                for (int page = 1; page <= pages; page++) {
+                Iterator<List<String>> batches = searchDAO.stream(
+                        SyncopeConstants.FULL_ADMIN_REALMS,
+                        cond,
+                        AnyTypeKind.ANY_OBJECT,
+                        AnyDAO.DEFAULT_PAGE_SIZE).iterator();
+                for (int page = 1; batches.hasNext(); page++) {
                     status.set("Processing " + total + " any objects " + anyType.getKey()
                             + ": page " + page + " of " + pages);
 
-                    doExtract(handler, searchDAO.search(
-                            SyncopeConstants.FULL_ADMIN_REALMS,
-                            cond,
-                            page,
-                            PAGE_SIZE,
-                            List.of(),
-                            AnyTypeKind.ANY_OBJECT));
+                    doExtract(handler, anyObjectDAO.findByKeys(batches.next()));
                 }
 
                 handler.endElement("", "", getAnyElementName(AnyTypeKind.ANY_OBJECT) + 's');
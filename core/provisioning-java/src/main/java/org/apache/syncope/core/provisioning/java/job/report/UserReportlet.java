@@ -19,6 +19,7 @@
 package org.apache.syncope.core.provisioning.java.job.report;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
@@ -36,14 +37,14 @@ import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.user.User;
-import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.ReportletConfClass;
 import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.URelationship;
-import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
 import org.apache.syncope.core.provisioning.api.data.AnyObjectDataBinder;
 import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
 import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
@@ -71,7 +72,7 @@ public class UserReportlet extends AbstractReportlet {
     private AnyObjectDataBinder anyObjectDataBinder;
 
     @Autowired
-    private SearchCondVisitor searchCondVisitor;
+    private SearchCondCache searchCondCache;
 
     private UserReportletConf conf;
 
@@ -349,7 +350,7 @@ public class UserReportlet extends AbstractReportlet {
         return StringUtils.isBlank(conf.getMatchingCond())
                 ? userDAO.count()
                 : searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS,
-                        SearchCondConverter.convert(searchCondVisitor, this.conf.getMatchingCond()), AnyTypeKind.USER);
+                        searchCondCache.get(this.conf.getMatchingCond()), AnyTypeKind.USER);
     }
 
     @Override
@@ -372,23 +373,15 @@ public class UserReportlet extends AbstractReportlet {
 
         status.set("Processing " + total + " users in " + pages + " pages");
 
-        for (int page = 1; page <= pages; page++) {
+        SearchCond cond = StringUtils.isBlank(this.conf.getMatchingCond())
+                ? userDAO.getAllMatchingCond()
+                : searchCondCache.get(this.conf.getMatchingCond());
+        Iterator<List<String>> batches = searchDAO.stream(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER, AnyDAO.DEFAULT_PAGE_SIZE).iterator();
+        for (int page = 1; batches.hasNext(); page++) {
             status.set("Processing " + total + " users: page " + page + " of " + pages);
 
-            List<User> users;
-            if (StringUtils.isBlank(this.conf.getMatchingCond())) {
-                users = userDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE);
-            } else {
-                users = searchDAO.search(
-                        SyncopeConstants.FULL_ADMIN_REALMS,
-                        SearchCondConverter.convert(searchCondVisitor, this.conf.getMatchingCond()),
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        AnyTypeKind.USER);
-            }
-
-            doExtract(handler, users);
+            doExtract(handler, userDAO.findByKeys(batches.next()));
         }
     }
 }
@@ -27,7 +27,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import org.apache.commons.jexl3.MapContext;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.apache.commons.jexl3.JexlContext;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.keymaster.client.api.ConfParamOps;
@@ -49,6 +53,7 @@ import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
@@ -62,8 +67,7 @@ import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.user.User;
-import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
-import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
 import org.apache.syncope.core.provisioning.api.DerAttrHandler;
 import org.apache.syncope.core.provisioning.api.IntAttrName;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
@@ -71,15 +75,19 @@ import org.apache.syncope.core.provisioning.api.data.AnyObjectDataBinder;
 import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
 import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.provisioning.api.event.AfterHandlingEvent;
+import org.apache.syncope.core.provisioning.api.event.AuditNotificationChangedEvent;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.apache.syncope.core.provisioning.api.notification.RecipientsProvider;
 import org.apache.syncope.core.provisioning.api.IntAttrNameParser;
 import org.apache.syncope.core.provisioning.api.jexl.JexlUtils;
 import org.apache.syncope.core.spring.ImplementationManager;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Transactional(rollbackFor = { Throwable.class })
 public class DefaultNotificationManager implements NotificationManager {
@@ -156,7 +164,17 @@ public class DefaultNotificationManager implements NotificationManager {
     private IntAttrNameParser intAttrNameParser;
 
     @Autowired
-    private SearchCondVisitor searchCondVisitor;
+    private SearchCondCache searchCondCache;
+
+    /**
+     * Keys of active notifications by event, per domain; reloaded upon changes.
+     */
+    protected final Map<String, Map<String, List<String>>> notifiable = new ConcurrentHashMap<>();
+
+    /**
+     * Number of changes notified so far, per domain.
+     */
+    protected final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
 
     @Transactional(readOnly = true)
     @Override
@@ -169,23 +187,19 @@ public class DefaultNotificationManager implements NotificationManager {
      *
      * @param notification notification to take as model
      * @param any the any object this task is about
-     * @param jexlVars JEXL variables
+     * @param jexlContext JEXL context
      * @return notification task, fully populated
      */
     private NotificationTask getNotificationTask(
             final Notification notification,
             final Any<?> any,
-            final Map<String, Object> jexlVars) {
-
-        if (any != null) {
-            virAttrHander.getValues(any);
-        }
+            final LazyMapContext jexlContext) {
 
         List<User> recipients = new ArrayList<>();
 
         if (notification.getRecipientsFIQL() != null) {
             recipients.addAll(searchDAO.<User>search(
-                    SearchCondConverter.convert(searchCondVisitor, notification.getRecipientsFIQL()),
+                    searchCondCache.get(notification.getRecipientsFIQL()),
                     List.of(), AnyTypeKind.USER));
         }
 
@@ -194,7 +208,7 @@ public class DefaultNotificationManager implements NotificationManager {
         }
 
         Set<String> recipientEmails = new HashSet<>();
-        List<UserTO> recipientTOs = new ArrayList<>(recipients.size());
+        List<User> notified = new ArrayList<>(recipients.size());
         recipients.forEach(recipient -> {
             virAttrHander.getValues(recipient);
 
@@ -203,7 +217,7 @@ public class DefaultNotificationManager implements NotificationManager {
                 LOG.warn("{} cannot be notified: {} not found", recipient, notification.getRecipientAttrName());
             } else {
                 recipientEmails.add(email);
-                recipientTOs.add(userDataBinder.getUserTO(recipient, true));
+                notified.add(recipient);
             }
         });
 
@@ -221,9 +235,10 @@ public class DefaultNotificationManager implements NotificationManager {
             }
         }
 
-        jexlVars.put("recipients", recipientTOs);
-        jexlVars.put("syncopeConf", confParamOps.list(SyncopeConstants.MASTER_DOMAIN));
-        jexlVars.put("events", notification.getEvents());
+        jexlContext.setLazy("recipients", () -> notified.stream().
+                map(recipient -> userDataBinder.getUserTO(recipient, true)).
+                collect(Collectors.toList()));
+        jexlContext.set("events", notification.getEvents());
 
         NotificationTask task = entityFactory.newEntity(NotificationTask.class);
         task.setNotification(notification);
@@ -237,23 +252,52 @@ public class DefaultNotificationManager implements NotificationManager {
         task.setSubject(notification.getSubject());
 
         if (StringUtils.isNotBlank(notification.getTemplate().getTextTemplate())) {
-            task.setTextBody(evaluate(notification.getTemplate().getTextTemplate(), jexlVars));
+            task.setTextBody(evaluate(notification.getTemplate().getTextTemplate(), jexlContext));
         }
         if (StringUtils.isNotBlank(notification.getTemplate().getHTMLTemplate())) {
-            task.setHtmlBody(evaluate(notification.getTemplate().getHTMLTemplate(), jexlVars));
+            task.setHtmlBody(evaluate(notification.getTemplate().getHTMLTemplate(), jexlContext));
         }
 
         return task;
     }
 
-    private static String evaluate(final String template, final Map<String, Object> jexlVars) {
+    private static String evaluate(final String template, final JexlContext jexlContext) {
         StringWriter writer = new StringWriter();
         JexlUtils.newJxltEngine().
                 createTemplate(template).
-                evaluate(new MapContext(jexlVars), writer);
+                evaluate(jexlContext, writer);
         return writer.toString();
     }
 
+    /**
+     * Indexes the keys of active notifications by the events they are listening to.
+     *
+     * @param domain domain
+     * @return keys of active notifications, by event
+     */
+    protected Map<String, List<String>> notifiable(final String domain) {
+        Map<String, List<String>> byEvent = notifiable.get(domain);
+        if (byEvent == null) {
+            AtomicLong generation = generations.computeIfAbsent(domain, k -> new AtomicLong());
+            long expected = generation.get();
+
+            Map<String, List<String>> loaded = new HashMap<>();
+            notificationDAO.findAll().stream().filter(Notification::isActive).
+                    forEach(notification -> notification.getEvents().forEach(event -> loaded.
+                    computeIfAbsent(event, e -> new ArrayList<>()).add(notification.getKey())));
+
+            // do not store if any change was notified meanwhile
+            byEvent = notifiable.compute(domain, (k, current) -> current != null
+                    ? current
+                    : generation.get() == expected ? loaded : null);
+            if (byEvent == null) {
+                byEvent = loaded;
+            }
+        }
+
+        return byEvent;
+    }
+
     @Override
     public boolean notificationsAvailable(
             final AuditElements.EventCategoryType type,
@@ -261,12 +305,16 @@ public class DefaultNotificationManager implements NotificationManager {
             final String subcategory,
             final String event) {
 
-        final String successEvent = AuditLoggerName.buildEvent(type, category, subcategory, event, Result.SUCCESS);
-        final String failureEvent = AuditLoggerName.buildEvent(type, category, subcategory, event, Result.FAILURE);
-        return notificationDAO.findAll().stream().
-                anyMatch(notification -> notification.isActive()
-                && (notification.getEvents().contains(successEvent)
-                || notification.getEvents().contains(failureEvent)));
+        Map<String, List<String>> byEvent = notifiable(AuthContextUtils.getDomain());
+        return byEvent.containsKey(AuditLoggerName.buildEvent(type, category, subcategory, event, Result.SUCCESS))
+                || byEvent.containsKey(AuditLoggerName.buildEvent(type, category, subcategory, event, Result.FAILURE));
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void reload(final AuditNotificationChangedEvent event) {
+        generations.computeIfAbsent(event.getDomain(), k -> new AtomicLong()).incrementAndGet();
+        notifiable.remove(event.getDomain());
     }
 
     @Override
@@ -295,6 +343,13 @@ public class DefaultNotificationManager implements NotificationManager {
             final Object output,
             final Object... input) {
 
+        String currentEvent = AuditLoggerName.buildEvent(type, category, subcategory, event, condition);
+        List<String> notificationKeys = notifiable(AuthContextUtils.getDomain()).get(currentEvent);
+        if (notificationKeys == null) {
+            LOG.debug("No active notifications found for event {}", currentEvent);
+            return List.of();
+        }
+
         Any<?> any = null;
 
         if (before instanceof UserTO) {
@@ -330,52 +385,59 @@ public class DefaultNotificationManager implements NotificationManager {
         AnyType anyType = Optional.ofNullable(any).map(Any::getType).orElse(null);
         LOG.debug("Search notification for [{}]{}", anyType, any);
 
+        Predicate<SearchCond> matcher = any == null ? null : anyMatchDAO.matcher(any);
+
+        LazyMapContext model = new LazyMapContext();
+        model.set("who", who);
+        model.set("type", type);
+        model.set("category", category);
+        model.set("subcategory", subcategory);
+        model.set("event", event);
+        model.set("condition", condition);
+        model.set("before", before);
+        model.set("output", output);
+        model.set("input", input);
+        model.setLazy("syncopeConf", () -> confParamOps.list(SyncopeConstants.MASTER_DOMAIN));
+
+        if (any instanceof User) {
+            User user = (User) any;
+            model.setLazy("user", () -> userDataBinder.getUserTO(user, true));
+        } else if (any instanceof Group) {
+            Group group = (Group) any;
+            model.setLazy("group", () -> groupDataBinder.getGroupTO(group, true));
+        } else if (any instanceof AnyObject) {
+            AnyObject anyObject = (AnyObject) any;
+            model.setLazy("anyObject", () -> anyObjectDataBinder.getAnyObjectTO(anyObject, true));
+        }
+
         List<NotificationTask> notifications = new ArrayList<>();
-        for (Notification notification : notificationDAO.findAll()) {
+        for (String notificationKey : notificationKeys) {
+            Notification notification = notificationDAO.find(notificationKey);
+            if (notification == null || !notification.isActive()) {
+                LOG.debug("Notification {} is not active, task will not be created", notificationKey);
+                continue;
+            }
+
             if (LOG.isDebugEnabled()) {
                 notification.getAbouts().forEach(
                         about -> LOG.debug("Notification about {} defined: {}", about.getAnyType(), about.get()));
             }
 
-            if (notification.isActive()) {
-                String currentEvent = AuditLoggerName.buildEvent(type, category, subcategory, event, condition);
-                if (!notification.getEvents().contains(currentEvent)) {
-                    LOG.debug("No events found about {}", any);
-                } else if (anyType == null || any == null
-                        || !notification.getAbout(anyType).isPresent()
-                        || anyMatchDAO.matches(any, SearchCondConverter.convert(
-                                searchCondVisitor, notification.getAbout(anyType).get().get()))) {
-
-                    LOG.debug("Creating notification task for event {} about {}", currentEvent, any);
-
-                    final Map<String, Object> model = new HashMap<>();
-                    model.put("who", who);
-                    model.put("type", type);
-                    model.put("category", category);
-                    model.put("subcategory", subcategory);
-                    model.put("event", event);
-                    model.put("condition", condition);
-                    model.put("before", before);
-                    model.put("output", output);
-                    model.put("input", input);
-
-                    if (any instanceof User) {
-                        model.put("user", userDataBinder.getUserTO((User) any, true));
-                    } else if (any instanceof Group) {
-                        model.put("group", groupDataBinder.getGroupTO((Group) any, true));
-                    } else if (any instanceof AnyObject) {
-                        model.put("anyObject", anyObjectDataBinder.getAnyObjectTO((AnyObject) any, true));
-                    }
+            if (anyType == null || any == null
+                    || notification.getAbout(anyType).isEmpty()
+                    || matcher.test(searchCondCache.get(notification.getAbout(anyType).get().get()))) {
 
-                    NotificationTask notificationTask = getNotificationTask(notification, any, model);
-                    notificationTask = taskDAO.save(notificationTask);
-                    notifications.add(notificationTask);
+                LOG.debug("Creating notification task for event {} about {}", currentEvent, any);
+
+                // virtual attribute values are read from the connectors only once a task is actually built
+                if (notifications.isEmpty() && any != null) {
+                    virAttrHander.getValues(any);
                 }
-            } else {
-                LOG.debug("Notification {} is not active, task will not be created", notification.getKey());
+
+                notifications.add(getNotificationTask(notification, any, model.copy()));
             }
         }
-        return notifications;
+        return notifications.isEmpty() ? notifications : taskDAO.saveAll(notifications);
     }
 
     private String getRecipientEmail(final String recipientAttrName, final User user) {
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.notification;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.apache.commons.jexl3.MapContext;
+
+/**
+ * JEXL context whose variables can be bound to suppliers, invoked only when templates actually access them;
+ * supplied values are then kept, and shared with the contexts obtained via {@link #copy()}.
+ */
+class LazyMapContext extends MapContext {
+
+    private static class Lazy {
+
+        private final Supplier<?> supplier;
+
+        private Object value;
+
+        private boolean supplied;
+
+        Lazy(final Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        synchronized Object get() {
+            if (!supplied) {
+                value = supplier.get();
+                supplied = true;
+            }
+            return value;
+        }
+    }
+
+    private final Map<String, Object> vars;
+
+    LazyMapContext() {
+        this(new HashMap<>());
+    }
+
+    private LazyMapContext(final Map<String, Object> vars) {
+        super(vars);
+        this.vars = vars;
+    }
+
+    public void setLazy(final String name, final Supplier<?> supplier) {
+        set(name, new Lazy(supplier));
+    }
+
+    @Override
+    public Object get(final String name) {
+        Object value = super.get(name);
+        return value instanceof Lazy ? ((Lazy) value).get() : value;
+    }
+
+    public LazyMapContext copy() {
+        return new LazyMapContext(new HashMap<>(vars));
+    }
+}
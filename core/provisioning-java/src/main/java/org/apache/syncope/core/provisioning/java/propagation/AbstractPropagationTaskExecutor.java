@@ -21,6 +21,7 @@ package org.apache.syncope.core.provisioning.java.propagation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -76,6 +77,7 @@ import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
 import org.identityconnectors.framework.common.objects.Name;
 import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationalAttributes;
 import org.identityconnectors.framework.common.objects.Uid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -156,6 +158,9 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
     @Autowired
     protected OutboundMatcher outboundMatcher;
 
+    @Autowired
+    protected PropagationBatcher batcher;
+
     protected List<PropagationActions> getPropagationActions(final ExternalResource resource) {
         List<PropagationActions> result = new ArrayList<>();
 
@@ -204,8 +209,13 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         Uid result;
         if (beforeObj == null) {
             LOG.debug("Create {} on {}", attributes, task.getResource().getKey());
-            result = connector.create(
-                    new ObjectClass(task.getObjectClassName()), attributes, null, propagationAttempted);
+            result = batcher.create(
+                    task,
+                    connector,
+                    new ObjectClass(task.getObjectClassName()),
+                    attributes,
+                    null,
+                    propagationAttempted);
 
             task.getResource().getProvision(task.getAnyType()).ifPresent(provision -> {
                 if (provision.getUidOnCreate() != null) {
@@ -252,7 +262,9 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                 // 3. provision entry
                 LOG.debug("Update {} on {}", strictlyModified, task.getResource().getKey());
 
-                result = connector.update(
+                result = batcher.update(
+                        task,
+                        connector,
                         beforeObj.getObjectClass(),
                         new Uid(beforeObj.getUid().getUidValue()),
                         strictlyModified,
@@ -322,7 +334,8 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
             if (task.getAnyTypeKind() == null || !resources.contains(task.getResource().getKey())) {
                 LOG.debug("Delete {} on {}", beforeObj.getUid(), task.getResource().getKey());
 
-                connector.delete(beforeObj.getObjectClass(), beforeObj.getUid(), null, propagationAttempted);
+                batcher.delete(
+                        task, connector, beforeObj.getObjectClass(), beforeObj.getUid(), null, propagationAttempted);
                 result = beforeObj.getUid();
             } else {
                 result = createOrUpdate(task, beforeObj, connector, propagationAttempted);
@@ -463,29 +476,38 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
 
             actions.forEach(action -> action.onError(task, execution, e));
         } finally {
-            // Try to read remote object AFTER any actual operation
-            if (connector != null) {
-                if (uid != null) {
-                    task.setConnObjectKey(uid.getUidValue());
+            if (uid != null) {
+                task.setConnObjectKey(uid.getUidValue());
+            }
+
+            if (task.getResource().isLightweightPropagation()) {
+                // Trust the returned Uid rather than reading remote object AFTER the actual operation
+                if (task.getOperation() != ResourceOperation.DELETE) {
+                    // nothing propagated, or failure: remote object is assumed unchanged
+                    afterObj = uid == null ? beforeObj : buildAfterObj(task, beforeObj, uid);
                 }
-                try {
-                    afterObj = provision == null && orgUnit == null
-                            ? null
-                            : orgUnit == null
-                                    ? getRemoteObject(task, connector, provision, actions, true)
-                                    : getRemoteObject(task, connector, orgUnit, actions, true);
-                } catch (Exception ignore) {
-                    // ignore exception
-                    LOG.error("Error retrieving after object", ignore);
+            } else {
+                // Try to read remote object AFTER any actual operation
+                if (connector != null) {
+                    try {
+                        afterObj = provision == null && orgUnit == null
+                                ? null
+                                : orgUnit == null
+                                        ? getRemoteObject(task, connector, provision, actions, true)
+                                        : getRemoteObject(task, connector, orgUnit, actions, true);
+                    } catch (Exception ignore) {
+                        // ignore exception
+                        LOG.error("Error retrieving after object", ignore);
+                    }
                 }
-            }
 
-            if (task.getOperation() != ResourceOperation.DELETE && afterObj == null && uid != null) {
-                afterObj = new ConnectorObjectBuilder().
-                        setObjectClass(new ObjectClass(task.getObjectClassName())).
-                        setUid(uid).
-                        setName(AttributeUtil.getNameFromAttributes(task.getAttributes())).
-                        build();
+                if (task.getOperation() != ResourceOperation.DELETE && afterObj == null && uid != null) {
+                    afterObj = new ConnectorObjectBuilder().
+                            setObjectClass(new ObjectClass(task.getObjectClassName())).
+                            setUid(uid).
+                            setName(AttributeUtil.getNameFromAttributes(task.getAttributes())).
+                            build();
+                }
             }
 
             execution.setStart(start);
@@ -553,6 +575,46 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         return execution;
     }
 
+    /**
+     * Builds the remote object as expected after the successful propagation of the given task, without reading it
+     * from the connector: attributes of the remote object read before propagation, if any, are overridden by the
+     * propagated attributes.
+     *
+     * @param task propagation task
+     * @param beforeObj remote object read before propagation, if any
+     * @param uid Uid returned by the connector
+     * @return remote object after propagation
+     */
+    protected ConnectorObject buildAfterObj(
+            final PropagationTask task,
+            final ConnectorObject beforeObj,
+            final Uid uid) {
+
+        Map<String, Attribute> attrs = new HashMap<>();
+        if (beforeObj != null) {
+            beforeObj.getAttributes().forEach(attr -> attrs.put(attr.getName().toUpperCase(), attr));
+        }
+        task.getAttributes().stream().
+                filter(attr -> !MANDATORY_MISSING_ATTR_NAME.equals(attr.getName())
+                && !MANDATORY_NULL_OR_EMPTY_ATTR_NAME.equals(attr.getName())
+                && !OperationalAttributes.PASSWORD_NAME.equals(attr.getName())).
+                forEach(attr -> attrs.put(attr.getName().toUpperCase(), attr));
+        attrs.remove(Uid.NAME.toUpperCase());
+
+        Name name = AttributeUtil.getNameFromAttributes(new HashSet<>(attrs.values()));
+        if (name == null) {
+            name = new Name(uid.getUidValue());
+        }
+        attrs.remove(Name.NAME.toUpperCase());
+
+        return new ConnectorObjectBuilder().
+                setObjectClass(new ObjectClass(task.getObjectClassName())).
+                setUid(uid).
+                setName(name).
+                addAttributes(attrs.values()).
+                build();
+    }
+
     protected abstract void doExecute(
             Collection<PropagationTaskInfo> taskInfos, PropagationReporter reporter, boolean nullPriorityAsync,
             String executor);
@@ -665,7 +727,8 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                 ? task.getConnObjectKey()
                 : task.getOldConnObjectKey();
 
-        List<ConnectorObject> matches = outboundMatcher.match(task, connector, provision, actions, connObjectKeyValue);
+        List<ConnectorObject> matches = outboundMatcher.match(
+                task, connector, provision, actions, connObjectKeyValue, task.getResource().isLightweightPropagation());
         LOG.debug("Found for propagation task {}: {}", task, matches);
 
         return matches.isEmpty() ? null : matches.get(0);
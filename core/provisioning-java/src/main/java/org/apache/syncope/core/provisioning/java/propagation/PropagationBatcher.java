@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.provisioning.api.BatchConnector;
+import org.apache.syncope.core.provisioning.api.BatchConnectorOperation;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Groups the create / update / delete operations requested by concurrent propagation tasks towards the same
+ * {@link BatchConnector} and object class, then performs them with a single invocation of
+ * {@link BatchConnector#batch(org.identityconnectors.framework.common.objects.ObjectClass, java.util.List)}.
+ *
+ * A batch is performed as soon as it reaches the configured size or, otherwise, when the configured time window since
+ * its first operation has elapsed; in both cases, by one of the threads waiting for the outcome.
+ * Operations on connectors not implementing {@link BatchConnector} - as the default {@code ConnectorFacadeProxy} -
+ * or not supporting batches for the given object class, or related to resources with non-NULL propagation priority,
+ * are performed straight away, one by one.
+ */
+public class PropagationBatcher {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(PropagationBatcher.class);
+
+    protected static class Batch {
+
+        protected final BatchConnector connector;
+
+        protected final ObjectClass objectClass;
+
+        protected final List<BatchConnectorOperation> operations = new ArrayList<>();
+
+        protected Batch(final BatchConnector connector, final ObjectClass objectClass) {
+            this.connector = connector;
+            this.objectClass = objectClass;
+        }
+    }
+
+    protected final int batchSize;
+
+    protected final long batchWindow;
+
+    protected final Map<Pair<Connector, ObjectClass>, Batch> open = new HashMap<>();
+
+    /**
+     * @param batchSize maximum number of operations per batch; values lower than 2 disable batching
+     * @param batchWindow maximum time, in milliseconds, to wait for further operations to be added to a batch
+     */
+    public PropagationBatcher(final int batchSize, final long batchWindow) {
+        this.batchSize = batchSize;
+        this.batchWindow = batchWindow;
+    }
+
+    protected boolean isBatchable(
+            final PropagationTask task,
+            final Connector connector,
+            final ObjectClass objectClass) {
+
+        return batchSize > 1
+                && connector instanceof BatchConnector
+                && ((BatchConnector) connector).isBatchSupported(objectClass)
+                && task.getResource().getPropagationPriority() == null;
+    }
+
+    public Uid create(
+            final PropagationTask task,
+            final Connector connector,
+            final ObjectClass objectClass,
+            final Set<Attribute> attrs,
+            final OperationOptions options,
+            final AtomicReference<Boolean> propagationAttempted) {
+
+        return isBatchable(task, connector, objectClass)
+                ? submit((BatchConnector) connector, objectClass, new BatchConnectorOperation(
+                        ResourceOperation.CREATE, null, attrs, options, propagationAttempted))
+                : connector.create(objectClass, attrs, options, propagationAttempted);
+    }
+
+    public Uid update(
+            final PropagationTask task,
+            final Connector connector,
+            final ObjectClass objectClass,
+            final Uid uid,
+            final Set<Attribute> attrs,
+            final OperationOptions options,
+            final AtomicReference<Boolean> propagationAttempted) {
+
+        return isBatchable(task, connector, objectClass)
+                ? submit((BatchConnector) connector, objectClass, new BatchConnectorOperation(
+                        ResourceOperation.UPDATE, uid, attrs, options, propagationAttempted))
+                : connector.update(objectClass, uid, attrs, options, propagationAttempted);
+    }
+
+    public void delete(
+            final PropagationTask task,
+            final Connector connector,
+            final ObjectClass objectClass,
+            final Uid uid,
+            final OperationOptions options,
+            final AtomicReference<Boolean> propagationAttempted) {
+
+        if (isBatchable(task, connector, objectClass)) {
+            submit((BatchConnector) connector, objectClass, new BatchConnectorOperation(
+                    ResourceOperation.DELETE, uid, null, options, propagationAttempted));
+        } else {
+            connector.delete(objectClass, uid, options, propagationAttempted);
+        }
+    }
+
+    protected Uid submit(
+            final BatchConnector connector,
+            final ObjectClass objectClass,
+            final BatchConnectorOperation operation) {
+
+        Pair<Connector, ObjectClass> key = Pair.of(connector, objectClass);
+
+        Batch batch;
+        Batch full = null;
+        synchronized (open) {
+            batch = open.computeIfAbsent(key, k -> new Batch(connector, objectClass));
+            batch.operations.add(operation);
+            if (batch.operations.size() >= batchSize) {
+                open.remove(key);
+                full = batch;
+            }
+        }
+
+        if (full == null) {
+            try {
+                return operation.getResult().get(batchWindow, TimeUnit.MILLISECONDS);
+            } catch (java.util.concurrent.TimeoutException e) {
+                // time window elapsed: perform the batch, unless some other thread already took care of that
+                synchronized (open) {
+                    if (open.get(key) == batch) {
+                        open.remove(key);
+                        full = batch;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConnectorException("Interrupted while waiting for batch", e);
+            } catch (ExecutionException e) {
+                throw unwrap(e);
+            }
+        }
+
+        if (full != null) {
+            perform(full);
+        }
+
+        try {
+            return operation.getResult().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectorException("Interrupted while waiting for batch", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    protected void perform(final Batch batch) {
+        LOG.debug("Performing {} operations on {}", batch.operations.size(), batch.objectClass);
+
+        try {
+            batch.connector.batch(batch.objectClass, batch.operations);
+        } catch (RuntimeException e) {
+            LOG.error("While performing batch on {}", batch.objectClass, e);
+            batch.operations.forEach(operation -> operation.failed(e));
+        }
+
+        batch.operations.stream().filter(operation -> !operation.getResult().isDone()).
+                forEach(operation -> operation.failed(new ConnectorException("No outcome reported for " + operation)));
+    }
+
+    protected static RuntimeException unwrap(final ExecutionException e) {
+        return e.getCause() instanceof RuntimeException
+                ? (RuntimeException) e.getCause()
+                : new ConnectorException(e.getCause());
+    }
+}
@@ -58,6 +58,7 @@ import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.resource.Item;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.IntAttrNameParser;
+import org.apache.syncope.core.provisioning.java.cache.ItemTransformerCache;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.apache.syncope.core.spring.ImplementationManager;
 import org.identityconnectors.framework.common.objects.Attribute;
@@ -109,6 +110,9 @@ public class InboundMatcher {
     @Autowired
     private IntAttrNameParser intAttrNameParser;
 
+    @Autowired
+    private ItemTransformerCache itemTransformerCache;
+
     @Autowired
     private AnyUtilsFactory anyUtilsFactory;
 
@@ -207,7 +211,7 @@ public class InboundMatcher {
             final ExternalResource resource) {
 
         String finalConnObjectKeyValue = connObjectKeyValue;
-        for (ItemTransformer transformer : MappingUtils.getItemTransformers(connObjectKeyItem)) {
+        for (ItemTransformer transformer : itemTransformerCache.get(connObjectKeyItem)) {
             List<Object> output = transformer.beforePull(
                     connObjectKeyItem,
                     null,
@@ -414,7 +418,7 @@ public class InboundMatcher {
             return List.of();
         }
 
-        for (ItemTransformer transformer : MappingUtils.getItemTransformers(connObjectKeyItem.get())) {
+        for (ItemTransformer transformer : itemTransformerCache.get(connObjectKeyItem.get())) {
             List<Object> output = transformer.beforePull(
                     connObjectKeyItem.get(),
                     null,
@@ -24,6 +24,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
@@ -100,8 +102,41 @@ public class OutboundMatcher {
             final List<PropagationActions> actions,
             final String connObjectKeyValue) {
 
+        return match(task, connector, provision, actions, connObjectKeyValue, false);
+    }
+
+    /**
+     * Matches the given propagation task against remote objects.
+     *
+     * @param task propagation task
+     * @param connector connector
+     * @param provision provision
+     * @param actions propagation actions
+     * @param connObjectKeyValue connector object key value
+     * @param propagatedOnly whether only the connector object key and the attributes propagated by the given task,
+     * besides the ones required by propagation actions, shall be read; virtual attribute values are not refreshed in
+     * such case
+     * @return matching remote objects
+     */
+    public List<ConnectorObject> match(
+            final PropagationTask task,
+            final Connector connector,
+            final Provision provision,
+            final List<PropagationActions> actions,
+            final String connObjectKeyValue,
+            final boolean propagatedOnly) {
+
         Optional<PushCorrelationRule> rule = rule(provision);
 
+        Set<String> propagated = task.getAttributes().stream().
+                map(attr -> attr.getName().toUpperCase()).collect(Collectors.toSet());
+        Predicate<MappingItem> itemFilter = propagatedOnly
+                ? item -> item.isConnObjectKey() || propagated.contains(item.getExtAttrName().toUpperCase())
+                : item -> true;
+        Optional<Collection<LinkingMappingItem>> linkingItems = propagatedOnly
+                ? Optional.of(List.of())
+                : Optional.empty();
+
         boolean isLinkedAccount = task.getAnyTypeKind() == AnyTypeKind.USER
                 && userDAO.linkedAccountExists(task.getEntityKey(), connObjectKeyValue);
         Any<?> any = null;
@@ -119,23 +154,25 @@ public class OutboundMatcher {
                         connector,
                         rule.get().getFilter(any, provision),
                         provision,
+                        itemFilter,
                         Optional.of(moreAttrsToGet.toArray(new String[0])),
-                        Optional.empty()));
+                        linkingItems));
             } else {
                 MappingUtils.getConnObjectKeyItem(provision).ifPresent(connObjectKeyItem -> matchByConnObjectKeyValue(
                         connector,
                         connObjectKeyItem,
                         connObjectKeyValue,
                         provision,
+                        itemFilter,
                         Optional.of(moreAttrsToGet.toArray(new String[0])),
-                        Optional.empty()).
+                        linkingItems).
                         ifPresent(result::add));
             }
         } catch (RuntimeException e) {
             LOG.error("Could not match {} with any existing {}", any, provision.getObjectClass(), e);
         }
 
-        if (any != null && result.size() == 1) {
+        if (any != null && result.size() == 1 && !propagatedOnly) {
             virAttrHandler.setValues(any, result.get(0));
         }
 
@@ -173,6 +210,7 @@ public class OutboundMatcher {
                         connector,
                         rule.get().getFilter(any, provision),
                         provision,
+                        item -> true,
                         effectiveMATG,
                         ArrayUtils.isEmpty(linkingItems)
                         ? Optional.empty() : Optional.of(List.of(linkingItems))));
@@ -207,11 +245,12 @@ public class OutboundMatcher {
             final Connector connector,
             final Filter filter,
             final Provision provision,
+            final Predicate<MappingItem> itemFilter,
             final Optional<String[]> moreAttrsToGet,
             final Optional<Collection<LinkingMappingItem>> linkingItems) {
 
         Stream<MappingItem> items = Stream.concat(
-                provision.getMapping().getItems().stream(),
+                provision.getMapping().getItems().stream().filter(itemFilter),
                 linkingItems.isPresent()
                 ? linkingItems.get().stream()
                 : virSchemaDAO.findByProvision(provision).stream().map(VirSchema::asLinkingMappingItem));
@@ -250,8 +289,27 @@ public class OutboundMatcher {
             final Optional<String[]> moreAttrsToGet,
             final Optional<Collection<LinkingMappingItem>> linkingItems) {
 
+        return matchByConnObjectKeyValue(
+                connector,
+                connObjectKeyItem,
+                connObjectKeyValue,
+                provision,
+                item -> true,
+                moreAttrsToGet,
+                linkingItems);
+    }
+
+    private Optional<ConnectorObject> matchByConnObjectKeyValue(
+            final Connector connector,
+            final MappingItem connObjectKeyItem,
+            final String connObjectKeyValue,
+            final Provision provision,
+            final Predicate<MappingItem> itemFilter,
+            final Optional<String[]> moreAttrsToGet,
+            final Optional<Collection<LinkingMappingItem>> linkingItems) {
+
         Stream<MappingItem> items = Stream.concat(
-                provision.getMapping().getItems().stream(),
+                provision.getMapping().getItems().stream().filter(itemFilter),
                 linkingItems.isPresent()
                 ? linkingItems.get().stream()
                 : virSchemaDAO.findByProvision(provision).stream().map(VirSchema::asLinkingMappingItem));
@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Dispatches the deltas read from a connector to a fixed number of workers, each with its own bounded queue and
+ * {@link SyncopePullResultHandler}.
+ *
+ * Deltas are partitioned by connector object UID, so that all deltas about the same object are handled in order,
+ * by the same worker; the connector reader is blocked as long as the target worker queue is full.
+ * In case of incremental pull, the sync token is advanced only up to the latest delta such that all the preceding
+ * deltas were successfully handled.
+ */
+public class PullDispatcher implements SyncResultsHandler {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(PullDispatcher.class);
+
+    protected static class Entry {
+
+        protected final long seq;
+
+        protected final SyncDelta delta;
+
+        protected Entry(final long seq, final SyncDelta delta) {
+            this.seq = seq;
+            this.delta = delta;
+        }
+    }
+
+    protected static class Outcome {
+
+        protected final ObjectClass objectClass;
+
+        protected final SyncToken token;
+
+        protected final boolean proceed;
+
+        protected Outcome(final ObjectClass objectClass, final SyncToken token, final boolean proceed) {
+            this.objectClass = objectClass;
+            this.token = token;
+            this.proceed = proceed;
+        }
+    }
+
+    protected static final Entry END = new Entry(-1, null);
+
+    /**
+     * Passed to each worker's handler in place of the actual executor, in order to intercept sync token updates.
+     */
+    protected class WorkerExecutor implements SyncopePullExecutor {
+
+        @Override
+        public void setLatestSyncToken(final ObjectClass objectClass, final SyncToken latestSyncToken) {
+            approvedToken.set(latestSyncToken);
+        }
+
+        @Override
+        public void reportHandled(final ObjectClass objectClass, final Name name) {
+            executor.reportHandled(objectClass, name);
+        }
+
+        @Override
+        public boolean wasInterruptRequested() {
+            return executor.wasInterruptRequested();
+        }
+
+        @Override
+        public void setInterrupted() {
+            executor.setInterrupted();
+        }
+    }
+
+    protected final SyncopePullExecutor executor;
+
+    protected final Authentication authentication;
+
+    protected final List<BlockingQueue<Entry>> queues = new ArrayList<>();
+
+    protected final ExecutorService workers;
+
+    protected final ThreadLocal<SyncToken> approvedToken = new ThreadLocal<>();
+
+    protected final Map<Long, Outcome> outcomes = new HashMap<>();
+
+    protected long nextSeq;
+
+    protected long nextToCommit;
+
+    protected boolean commitHalted;
+
+    protected volatile long haltAt = Long.MAX_VALUE;
+
+    protected volatile boolean stopped;
+
+    protected volatile Throwable failure;
+
+    protected boolean shutdown;
+
+    public PullDispatcher(
+            final int threadPoolSize,
+            final int queueCapacity,
+            final SyncopePullExecutor executor,
+            final Supplier<SyncopePullResultHandler> handlerSupplier) {
+
+        this.executor = executor;
+        this.authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        int size = Math.max(1, threadPoolSize);
+        this.workers = Executors.newFixedThreadPool(size, new CustomizableThreadFactory("pullWorker-"));
+        for (int i = 0; i < size; i++) {
+            BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+            queues.add(queue);
+
+            SyncopePullResultHandler handler = handlerSupplier.get();
+            handler.setPullExecutor(new WorkerExecutor());
+
+            workers.execute(() -> work(queue, handler));
+        }
+    }
+
+    @Override
+    public boolean handle(final SyncDelta delta) {
+        if (stopped || haltAt != Long.MAX_VALUE) {
+            return false;
+        }
+
+        BlockingQueue<Entry> queue = queues.get(Math.floorMod(delta.getUid().getUidValue().hashCode(), queues.size()));
+        try {
+            queue.put(new Entry(nextSeq++, delta));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopped = true;
+        }
+
+        return !stopped && haltAt == Long.MAX_VALUE;
+    }
+
+    protected void work(final BlockingQueue<Entry> queue, final SyncopePullResultHandler handler) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        try {
+            Entry entry;
+            while ((entry = queue.take()) != END) {
+                // deltas preceding the first failure are still handled, as it would happen in sequential mode
+                if (stopped || entry.seq > haltAt) {
+                    completed(entry.seq, new Outcome(entry.delta.getObjectClass(), null, false));
+                    continue;
+                }
+
+                boolean proceed = false;
+                try {
+                    proceed = handler.handle(entry.delta);
+                } catch (Throwable t) {
+                    LOG.error("While handling {}", entry.delta, t);
+                    failure = t;
+                } finally {
+                    completed(entry.seq, new Outcome(entry.delta.getObjectClass(), approvedToken.get(), proceed));
+                    approvedToken.remove();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    protected synchronized void completed(final long seq, final Outcome outcome) {
+        if (!outcome.proceed && seq < haltAt) {
+            haltAt = seq;
+        }
+
+        outcomes.put(seq, outcome);
+        while (!commitHalted && outcomes.containsKey(nextToCommit)) {
+            Outcome next = outcomes.remove(nextToCommit);
+            if (next.token != null) {
+                executor.setLatestSyncToken(next.objectClass, next.token);
+            }
+            if (!next.proceed) {
+                commitHalted = true;
+            }
+            nextToCommit++;
+        }
+    }
+
+    /**
+     * Waits for all the dispatched deltas to be handled, then stops the workers.
+     *
+     * @throws JobExecutionException if any unexpected error occurred while handling deltas
+     */
+    public void shutdown() throws JobExecutionException {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+
+        try {
+            for (BlockingQueue<Entry> queue : queues) {
+                queue.put(END);
+            }
+            workers.shutdown();
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.debug("Waiting for pull workers to complete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+
+        if (failure != null) {
+            throw new JobExecutionException("While handling pulled objects", failure);
+        }
+    }
+
+    /**
+     * Discards all the deltas not yet handled, then stops the workers.
+     */
+    public void abort() {
+        stopped = true;
+        try {
+            shutdown();
+        } catch (JobExecutionException e) {
+            LOG.debug("While aborting", e);
+        }
+    }
+}
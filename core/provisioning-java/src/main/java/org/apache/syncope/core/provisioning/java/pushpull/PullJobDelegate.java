@@ -25,9 +25,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.syncope.common.lib.types.ResourceOperation;
@@ -62,6 +65,7 @@ import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.identityconnectors.framework.common.objects.Name;
 import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
 import org.identityconnectors.framework.common.objects.SyncToken;
 import org.apache.syncope.core.provisioning.api.pushpull.ReconFilterBuilder;
 import org.apache.syncope.core.provisioning.java.DefaultProvisionSorter;
@@ -81,7 +85,7 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
     @Autowired
     protected AnyUtilsFactory anyUtilsFactory;
 
-    protected final Map<ObjectClass, SyncToken> latestSyncTokens = new HashMap<>();
+    protected final Map<ObjectClass, SyncToken> latestSyncTokens = new ConcurrentHashMap<>();
 
     protected final Map<ObjectClass, MutablePair<Integer, String>> handled = new HashMap<>();
 
@@ -94,13 +98,15 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
 
     @Override
     public void reportHandled(final ObjectClass objectClass, final Name name) {
-        MutablePair<Integer, String> pair = handled.get(objectClass);
-        if (pair == null) {
-            pair = MutablePair.of(0, null);
-            handled.put(objectClass, pair);
+        synchronized (handled) {
+            MutablePair<Integer, String> pair = handled.get(objectClass);
+            if (pair == null) {
+                pair = MutablePair.of(0, null);
+                handled.put(objectClass, pair);
+            }
+            pair.setLeft(pair.getLeft() + 1);
+            pair.setRight(name.getNameValue());
         }
-        pair.setLeft(pair.getLeft() + 1);
-        pair.setRight(name.getNameValue());
     }
 
     @Override
@@ -116,13 +122,15 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
     @Override
     public String currentStatus() {
         synchronized (status) {
-            if (!handled.isEmpty()) {
-                StringBuilder builder = new StringBuilder("Processed:\n");
-                handled.forEach((key, value) -> builder.append(' ').append(value.getLeft()).append('\t').
-                        append(key.getObjectClassValue()).
-                        append(" / latest: ").append(value.getRight()).
-                        append('\n'));
-                status.set(builder.toString());
+            synchronized (handled) {
+                if (!handled.isEmpty()) {
+                    StringBuilder builder = new StringBuilder("Processed:\n");
+                    handled.forEach((key, value) -> builder.append(' ').append(value.getLeft()).append('\t').
+                            append(key.getObjectClassValue()).
+                            append(" / latest: ").append(value.getRight()).
+                            append('\n'));
+                    status.set(builder.toString());
+                }
             }
         }
         return status.get();
@@ -183,6 +191,68 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
         return handler;
     }
 
+    protected SyncopePullResultHandler buildHandler(
+            final Provision provision,
+            final GroupPullResultHandler ghandler) {
+
+        SyncopePullResultHandler handler;
+        switch (provision.getAnyType().getKind()) {
+            case USER:
+                handler = buildUserHandler();
+                break;
+
+            case GROUP:
+                handler = ghandler == null ? buildGroupHandler() : ghandler;
+                break;
+
+            case ANY_OBJECT:
+            default:
+                handler = buildAnyObjectHandler();
+        }
+        handler.setProfile(profile);
+        handler.setPullExecutor(this);
+
+        return handler;
+    }
+
+    /**
+     * Builds a handler for a pull worker; group handlers are also added to the given list, for group owners to be
+     * set once all workers completed.
+     *
+     * @param kind any type kind being pulled
+     * @param ghandlers group handlers built so far
+     * @param task provides the task within each transaction of the worker, see {@link WorkerProvisioningProfile}
+     * @return handler for a pull worker
+     */
+    protected SyncopePullResultHandler buildWorkerHandler(
+            final AnyTypeKind kind,
+            final List<GroupPullResultHandler> ghandlers,
+            final Supplier<PullTask> task) {
+
+        SyncopePullResultHandler handler;
+        switch (kind) {
+            case USER:
+                handler = buildUserHandler();
+                break;
+
+            case GROUP:
+                GroupPullResultHandler ghandler = buildGroupHandler();
+                synchronized (ghandlers) {
+                    ghandlers.add(ghandler);
+                }
+                handler = ghandler;
+                break;
+
+            case ANY_OBJECT:
+            default:
+                handler = buildAnyObjectHandler();
+        }
+        handler.setProfile(new WorkerProvisioningProfile<>(profile, task));
+        handler.setPullExecutor(this);
+
+        return handler;
+    }
+
     @Override
     protected String doExecuteProvisioning(
             final PullTask pullTask,
@@ -284,29 +354,28 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
             }
         }
 
-        GroupPullResultHandler ghandler = buildGroupHandler();
+        String pullTaskKey = pullTask.getKey();
+        List<GroupPullResultHandler> ghandlers = new ArrayList<>();
+        ghandlers.add(buildGroupHandler());
         for (Provision provision : pullTask.getResource().getProvisions().stream().
                 filter(provision -> provision.getMapping() != null).sorted(provisionSorter).
                 collect(Collectors.toList())) {
 
             status.set("Pulling " + provision.getObjectClass().getObjectClassValue());
 
-            SyncopePullResultHandler handler;
-            switch (provision.getAnyType().getKind()) {
-                case USER:
-                    handler = buildUserHandler();
-                    break;
+            SyncopePullResultHandler handler = buildHandler(provision, ghandlers.get(0));
 
-                case GROUP:
-                    handler = ghandler;
-                    break;
-
-                case ANY_OBJECT:
-                default:
-                    handler = buildAnyObjectHandler();
-            }
-            handler.setProfile(profile);
-            handler.setPullExecutor(this);
+            PullDispatcher dispatcher = pullTask.getThreadPoolSize() > 1
+                    ? new PullDispatcher(
+                            pullTask.getThreadPoolSize(),
+                            pullTask.getQueueCapacity(),
+                            this,
+                            () -> buildWorkerHandler(
+                                    provision.getAnyType().getKind(),
+                                    ghandlers,
+                                    () -> taskDAO.find(pullTaskKey)))
+                    : null;
+            SyncResultsHandler resultsHandler = dispatcher == null ? handler : dispatcher;
 
             try {
                 Set<String> moreAttrsToGet = new HashSet<>();
@@ -326,9 +395,14 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                         connector.sync(
                                 provision.getObjectClass(),
                                 provision.getSyncToken(),
-                                handler,
+                                resultsHandler,
                                 options);
 
+                        // sync token can be saved only once all dispatched deltas were handled
+                        if (dispatcher != null) {
+                            dispatcher.shutdown();
+                        }
+
                         if (!dryRun) {
                             provision.setSyncToken(latestSyncTokens.get(provision.getObjectClass()));
                             resourceDAO.save(provision.getResource());
@@ -339,7 +413,7 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                         connector.filteredReconciliation(
                                 provision.getObjectClass(),
                                 ImplementationManager.build(pullTask.getReconFilterBuilder()),
-                                handler,
+                                resultsHandler,
                                 options);
                         break;
 
@@ -347,11 +421,15 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                     default:
                         connector.fullReconciliation(
                                 provision.getObjectClass(),
-                                handler,
+                                resultsHandler,
                                 options);
                         break;
                 }
 
+                if (dispatcher != null) {
+                    dispatcher.shutdown();
+                }
+
                 if (provision.getUidOnCreate() != null) {
                     AnyUtils anyUtils = anyUtilsFactory.getInstance(provision.getAnyType().getKind());
                     profile.getResults().stream().
@@ -363,14 +441,19 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                             });
                 }
             } catch (Throwable t) {
+                if (dispatcher != null) {
+                    dispatcher.abort();
+                }
                 throw new JobExecutionException("While pulling from connector", t);
             }
 
         }
-        try {
-            setGroupOwners(ghandler);
-        } catch (Exception e) {
-            LOG.error("While setting group owners", e);
+        for (GroupPullResultHandler ghandler : ghandlers) {
+            try {
+                setGroupOwners(ghandler);
+            } catch (Exception e) {
+                LOG.error("While setting group owners", e);
+            }
         }
 
         if (!profile.isDryRun()) {
@@ -20,16 +20,23 @@ package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
-import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
@@ -45,7 +52,7 @@ import org.apache.syncope.core.persistence.api.entity.resource.Provision;
 import org.apache.syncope.core.persistence.api.entity.task.PushTask;
 import org.apache.syncope.core.persistence.api.entity.task.PushTaskAnyFilter;
 import org.apache.syncope.core.persistence.api.entity.user.User;
-import org.apache.syncope.core.persistence.api.search.SearchCondVisitor;
+import org.apache.syncope.core.persistence.api.search.SearchCondCache;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ProvisionSorter;
 import org.apache.syncope.core.provisioning.api.pushpull.AnyObjectPushResultHandler;
@@ -60,6 +67,9 @@ import org.apache.syncope.core.spring.ImplementationManager;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
 
@@ -76,37 +86,49 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
     protected AnyUtilsFactory anyUtilsFactory;
 
     @Autowired
-    protected SearchCondVisitor searchCondVisitor;
+    protected SearchCondCache searchCondCache;
 
     protected ProvisioningProfile<PushTask, PushActions> profile;
 
     protected final Map<String, MutablePair<Integer, String>> handled = new HashMap<>();
 
     protected void reportHandled(final String anyType, final String key) {
-        MutablePair<Integer, String> pair = handled.get(anyType);
-        if (pair == null) {
-            pair = MutablePair.of(0, null);
-            handled.put(anyType, pair);
+        synchronized (handled) {
+            MutablePair<Integer, String> pair = handled.get(anyType);
+            if (pair == null) {
+                pair = MutablePair.of(0, null);
+                handled.put(anyType, pair);
+            }
+            pair.setLeft(pair.getLeft() + 1);
+            pair.setRight(key);
         }
-        pair.setLeft(pair.getLeft() + 1);
-        pair.setRight(key);
     }
 
     @Override
     public String currentStatus() {
         synchronized (status) {
-            if (!handled.isEmpty()) {
-                StringBuilder builder = new StringBuilder("Processed:\n");
-                handled.forEach((key, value) -> builder.append(' ').append(value.getLeft()).append('\t').
-                        append(key).
-                        append(" / latest: ").append(value.getRight()).
-                        append('\n'));
-                status.set(builder.toString());
+            synchronized (handled) {
+                if (!handled.isEmpty()) {
+                    StringBuilder builder = new StringBuilder("Processed:\n");
+                    handled.forEach((key, value) -> builder.append(' ').append(value.getLeft()).append('\t').
+                            append(key).
+                            append(" / latest: ").append(value.getRight()).
+                            append('\n'));
+                    status.set(builder.toString());
+                }
             }
         }
         return status.get();
     }
 
+    protected static String getName(final Any<?> any) {
+        return any instanceof User
+                ? ((User) any).getUsername()
+                : any instanceof Group
+                        ? ((Group) any).getName()
+                        : ((AnyObject) any).getName();
+    }
+
     protected void doHandle(
             final List<? extends Any<?>> anys,
             final SyncopePushResultHandler handler,
@@ -116,13 +138,7 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
         for (int i = 0; i < anys.size() && !interrupt; i++) {
             try {
                 handler.handle(anys.get(i).getKey());
-                reportHandled(
-                        anys.get(i).getType().getKey(),
-                        (anys.get(i) instanceof User
-                        ? ((User) anys.get(i)).getUsername()
-                        : anys.get(i) instanceof Group
-                        ? ((Group) anys.get(i)).getName()
-                        : ((AnyObject) anys.get(i)).getName()));
+                reportHandled(anys.get(i).getType().getKey(), getName(anys.get(i)));
             } catch (Exception e) {
                 LOG.warn("Failure pushing '{}' on '{}'", anys.get(i), resource, e);
                 throw new JobExecutionException("While pushing " + anys.get(i) + " on " + resource, e);
@@ -130,6 +146,83 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
         }
     }
 
+    /**
+     * Pushes the entities matching the given batches of keys by means of a pool of workers, each running
+     * {@link SyncopePushResultHandler#handle(java.lang.String)} in its own transaction.
+     * Batches are read only as long as less than {@code threadPoolSize + queueCapacity} entities are waiting to be
+     * pushed; the first failure stops reading further batches and is reported once all running workers completed.
+     *
+     * @param batches batches of entity keys to push
+     * @param anyDAO DAO to read entities from
+     * @param handlerSupplier provides the push handler for each worker, see {@link #buildWorkerHandler}
+     * @param pushTask push task
+     * @throws JobExecutionException if any failure occurred while pushing
+     */
+    protected void doHandle(
+            final Iterator<List<String>> batches,
+            final AnyDAO<?> anyDAO,
+            final Supplier<SyncopePushResultHandler> handlerSupplier,
+            final PushTask pushTask)
+            throws JobExecutionException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Semaphore permits = new Semaphore(pushTask.getThreadPoolSize() + pushTask.getQueueCapacity());
+        AtomicReference<JobExecutionException> failure = new AtomicReference<>();
+        ThreadLocal<SyncopePushResultHandler> handler = ThreadLocal.withInitial(handlerSupplier);
+        String resource = String.valueOf(pushTask.getResource());
+
+        ExecutorService workers = Executors.newFixedThreadPool(
+                pushTask.getThreadPoolSize(), new CustomizableThreadFactory("pushWorker-"));
+        try {
+            while (batches.hasNext() && !interrupt && failure.get() == null) {
+                for (Iterator<? extends Any<?>> itor = anyDAO.findByKeys(batches.next()).iterator();
+                        itor.hasNext() && !interrupt && failure.get() == null;) {
+
+                    // entities are not shared with workers, as they belong to the persistence context of this thread
+                    Any<?> any = itor.next();
+                    String key = any.getKey();
+                    String anyType = any.getType().getKey();
+                    String name = getName(any);
+
+                    permits.acquire();
+                    workers.execute(() -> {
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        try {
+                            if (!interrupt && failure.get() == null) {
+                                handler.get().handle(key);
+                                reportHandled(anyType, name);
+                            }
+                        } catch (Exception e) {
+                            LOG.warn("Failure pushing '{}' on '{}'", key, resource, e);
+                            failure.compareAndSet(null, new JobExecutionException(
+                                    "While pushing " + key + " on " + resource, e));
+                        } finally {
+                            SecurityContextHolder.clearContext();
+                            permits.release();
+                        }
+                    });
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new JobExecutionException("Interrupted while pushing", e));
+        } finally {
+            workers.shutdown();
+            try {
+                while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOG.debug("Waiting for push workers to complete");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                workers.shutdownNow();
+            }
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
     protected RealmPushResultHandler buildRealmHandler() {
         return (RealmPushResultHandler) ApplicationContextProvider.getBeanFactory().
                 createBean(DefaultRealmPushResultHandler.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
@@ -150,6 +243,37 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
                 createBean(DefaultGroupPushResultHandler.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
     }
 
+    protected SyncopePushResultHandler buildHandler(final AnyTypeKind kind) {
+        SyncopePushResultHandler handler;
+        switch (kind) {
+            case USER:
+                handler = buildUserHandler();
+                break;
+
+            case GROUP:
+                handler = buildGroupHandler();
+                break;
+
+            case ANY_OBJECT:
+            default:
+                handler = buildAnyObjectHandler();
+        }
+        return handler;
+    }
+
+    /**
+     * Builds a handler for a push worker.
+     *
+     * @param kind any type kind being pushed
+     * @param task provides the task within each transaction of the worker, see {@link WorkerProvisioningProfile}
+     * @return handler for a push worker
+     */
+    protected SyncopePushResultHandler buildWorkerHandler(final AnyTypeKind kind, final Supplier<PushTask> task) {
+        SyncopePushResultHandler handler = buildHandler(kind);
+        handler.setProfile(new WorkerProvisioningProfile<>(profile, task));
+        return handler;
+    }
+
     @Override
     protected String doExecuteProvisioning(
             final PushTask pushTask,
@@ -206,6 +330,7 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
         }
 
         // ...then provisions for any types
+        String pushTaskKey = pushTask.getKey();
         ProvisionSorter provisionSorter = new DefaultProvisionSorter();
         if (pushTask.getResource().getProvisionSorter() != null) {
             try {
@@ -223,40 +348,27 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
 
             AnyDAO<?> anyDAO = anyUtilsFactory.getInstance(provision.getAnyType().getKind()).dao();
 
-            SyncopePushResultHandler handler;
-            switch (provision.getAnyType().getKind()) {
-                case USER:
-                    handler = buildUserHandler();
-                    break;
-
-                case GROUP:
-                    handler = buildGroupHandler();
-                    break;
-
-                case ANY_OBJECT:
-                default:
-                    handler = buildAnyObjectHandler();
-            }
-            handler.setProfile(profile);
+            AnyTypeKind kind = provision.getAnyType().getKind();
 
             Optional<? extends PushTaskAnyFilter> anyFilter = pushTask.getFilter(provision.getAnyType());
             String filter = anyFilter.map(PushTaskAnyFilter::getFIQLCond).orElse(null);
             SearchCond cond = StringUtils.isBlank(filter)
                     ? anyDAO.getAllMatchingCond()
-                    : SearchCondConverter.convert(searchCondVisitor, filter);
-            int count = searchDAO.count(
+                    : searchCondCache.get(filter);
+            Iterator<List<String>> batches = searchDAO.stream(
                     Set.of(profile.getTask().getSourceRealm().getFullPath()),
                     cond,
-                    provision.getAnyType().getKind());
-            for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1 && !interrupt; page++) {
-                List<? extends Any<?>> anys = searchDAO.search(
-                        Set.of(profile.getTask().getSourceRealm().getFullPath()),
-                        cond,
-                        page,
-                        AnyDAO.DEFAULT_PAGE_SIZE,
-                        List.of(),
-                        provision.getAnyType().getKind());
-                doHandle(anys, handler, pushTask.getResource());
+                    kind,
+                    AnyDAO.DEFAULT_PAGE_SIZE).iterator();
+            if (pushTask.getThreadPoolSize() > 1) {
+                doHandle(batches, anyDAO, () -> buildWorkerHandler(kind, () -> taskDAO.find(pushTaskKey)), pushTask);
+            } else {
+                SyncopePushResultHandler handler = buildHandler(kind);
+                handler.setProfile(profile);
+
+                while (batches.hasNext() && !interrupt) {
+                    doHandle(anyDAO.findByKeys(batches.next()), handler, pushTask.getResource());
+                }
             }
         }
 
@@ -272,7 +384,10 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
 
         status.set("Push done");
 
-        String result = createReport(profile.getResults(), pushTask.getResource(), dryRun);
+        String result;
+        synchronized (profile.getResults()) {
+            result = createReport(profile.getResults(), pushTask.getResource(), dryRun);
+        }
         LOG.debug("Push result: {}", result);
         return result;
     }
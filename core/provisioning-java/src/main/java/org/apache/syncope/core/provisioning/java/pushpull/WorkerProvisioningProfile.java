@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import java.util.List;
+import java.util.function.Supplier;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.common.lib.types.ConflictResolutionAction;
+import org.apache.syncope.core.persistence.api.entity.task.ProvisioningTask;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningActions;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Profile for handlers running on {@link PullDispatcher} or {@link PushJobDelegate} workers: results, actions and
+ * settings are those of the job profile, but the task is not shared, since entities are bound to the persistence
+ * context of the thread which loaded them. The task is instead obtained again within each transaction of the worker,
+ * and kept until that transaction completes.
+ *
+ * @param <T> actual task type
+ * @param <A> actual actions type
+ */
+public class WorkerProvisioningProfile<T extends ProvisioningTask, A extends ProvisioningActions>
+        extends ProvisioningProfile<T, A> {
+
+    private final ProvisioningProfile<T, A> profile;
+
+    private final Supplier<T> task;
+
+    public WorkerProvisioningProfile(final ProvisioningProfile<T, A> profile, final Supplier<T> task) {
+        super(profile.getConnector(), null);
+        this.profile = profile;
+        this.task = task;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T getTask() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return task.get();
+        }
+
+        T current = (T) TransactionSynchronizationManager.getResource(this);
+        if (current == null) {
+            current = task.get();
+            TransactionSynchronizationManager.bindResource(this, current);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(WorkerProvisioningProfile.this);
+                }
+            });
+        }
+        return current;
+    }
+
+    @Override
+    public List<ProvisioningReport> getResults() {
+        return profile.getResults();
+    }
+
+    @Override
+    public boolean isDryRun() {
+        return profile.isDryRun();
+    }
+
+    @Override
+    public ConflictResolutionAction getConflictResolutionAction() {
+        return profile.getConflictResolutionAction();
+    }
+
+    @Override
+    public String getExecutor() {
+        return profile.getExecutor();
+    }
+
+    @Override
+    public List<A> getActions() {
+        return profile.getActions();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.core.persistence.api.dao.CSVPullDAO;
+import org.apache.syncope.core.persistence.api.entity.CSVPull;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.spring.security.SecureRandomUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores the CSV files uploaded for asynchronous pull, and the reports written while each of them is pulled, on the
+ * database of the current domain: this way, the pulling job can run on any node of the cluster, and its reports can
+ * be read from any node as well.
+ * All data are identified by the same key, which is also the name of the pulling job; they are removed once expired,
+ * the given retention time after the pull completed.
+ */
+public class CSVPullSpool {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(CSVPullSpool.class);
+
+    @Autowired
+    private CSVPullDAO csvPullDAO;
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    private final Duration retention;
+
+    public CSVPullSpool(final Duration retention) {
+        this.retention = retention;
+    }
+
+    private Date expiryTime() {
+        return new Date(System.currentTimeMillis() + retention.toMillis());
+    }
+
+    public String spool(final InputStream csv) throws IOException {
+        int expired = csvPullDAO.deleteExpired();
+        if (expired > 0) {
+            LOG.debug("Removed {} expired CSV pulls", expired);
+        }
+
+        CSVPull csvPull = entityFactory.newEntity(CSVPull.class);
+        csvPull.setKey(SecureRandomUtils.generateRandomUUID().toString());
+        // the pull is not expected to last longer than the retention time; expiry is anyway moved on when completed
+        csvPull.setExpiryTime(expiryTime());
+        csvPull.setCSV(csv.readAllBytes());
+        return csvPullDAO.save(csvPull).getKey();
+    }
+
+    /**
+     * @param key CSV pull key
+     * @return CSV content, unless already pulled
+     */
+    @Transactional(readOnly = true)
+    public Optional<InputStream> getCSV(final String key) {
+        return Optional.ofNullable(csvPullDAO.find(key)).
+                map(CSVPull::getCSV).
+                map(ByteArrayInputStream::new);
+    }
+
+    /**
+     * @param key CSV pull key
+     * @param report report to store
+     * @return whether the CSV pull still exists; if not, the pull should be stopped
+     */
+    public boolean report(final String key, final ProvisioningReport report) {
+        return csvPullDAO.addReport(key, POJOHelper.serialize(report));
+    }
+
+    /**
+     * Removes the pulled CSV content, and sets the CSV pull to expire after the retention time.
+     *
+     * @param key CSV pull key
+     */
+    public void completed(final String key) {
+        Optional.ofNullable(csvPullDAO.find(key)).ifPresent(csvPull -> {
+            csvPull.setCSV(null);
+            csvPull.setExpiryTime(expiryTime());
+            csvPullDAO.save(csvPull);
+        });
+    }
+
+    public Optional<List<ProvisioningReport>> getReports(final String key) {
+        if (csvPullDAO.find(key) == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(csvPullDAO.findReports(key).stream().
+                map(report -> POJOHelper.deserialize(report, ProvisioningReport.class)).
+                collect(Collectors.toList()));
+    }
+
+    public boolean delete(final String key) {
+        if (csvPullDAO.find(key) == null) {
+            return false;
+        }
+
+        csvPullDAO.delete(key);
+        return true;
+    }
+}
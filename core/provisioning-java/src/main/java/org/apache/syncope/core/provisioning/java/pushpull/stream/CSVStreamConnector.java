@@ -34,6 +34,7 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.rest.api.beans.AbstractCSVSpec;
 import org.apache.syncope.common.rest.api.beans.CSVPullSpec;
 import org.apache.syncope.core.persistence.api.entity.ConnInstance;
 import org.apache.syncope.core.provisioning.api.Connector;
@@ -60,6 +61,20 @@ public class CSVStreamConnector implements Connector, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(CSVStreamConnector.class);
 
+    public static CsvSchema.Builder csvSchema(final AbstractCSVSpec spec) {
+        CsvSchema.Builder schemaBuilder = new CsvSchema.Builder().setUseHeader(true).
+                setColumnSeparator(spec.getColumnSeparator()).
+                setArrayElementSeparator(spec.getArrayElementSeparator()).
+                setQuoteChar(spec.getQuoteChar()).
+                setLineSeparator(spec.getLineSeparator()).
+                setNullValue(spec.getNullValue()).
+                setAllowComments(spec.isAllowComments());
+        if (spec.getEscapeChar() != null) {
+            schemaBuilder.setEscapeChar(spec.getEscapeChar());
+        }
+        return schemaBuilder;
+    }
+
     private final String keyColumn;
 
     private final String arrayElementsSeparator;
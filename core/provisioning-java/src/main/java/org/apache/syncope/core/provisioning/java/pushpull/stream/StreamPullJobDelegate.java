@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.apache.syncope.common.lib.to.PullTaskTO;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
@@ -54,10 +55,13 @@ import org.apache.syncope.core.spring.ImplementationManager;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import org.apache.syncope.core.provisioning.api.pushpull.stream.SyncopeStreamPullExecutor;
+import org.apache.syncope.core.provisioning.java.pushpull.PullDispatcher;
 import org.apache.syncope.core.provisioning.java.pushpull.PullJobDelegate;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.apache.syncope.core.spring.security.SecureRandomUtils;
+import org.identityconnectors.framework.common.objects.Name;
 import org.identityconnectors.framework.common.objects.ObjectClass;
 
 @Component
@@ -72,6 +76,33 @@ public class StreamPullJobDelegate extends PullJobDelegate implements SyncopeStr
     @Autowired
     private PlainSchemaDAO plainSchemaDAO;
 
+    private Consumer<ProvisioningReport> reportConsumer;
+
+    /**
+     * Hands reports over to the given consumer as soon as the related rows are handled, instead of collecting all of
+     * them in memory for the value returned by {@link #pull}.
+     *
+     * @param reportConsumer report consumer
+     */
+    public void setReportConsumer(final Consumer<ProvisioningReport> reportConsumer) {
+        this.reportConsumer = reportConsumer;
+    }
+
+    private void flushReports() {
+        if (reportConsumer != null && profile != null) {
+            synchronized (profile.getResults()) {
+                profile.getResults().forEach(reportConsumer);
+                profile.getResults().clear();
+            }
+        }
+    }
+
+    @Override
+    public void reportHandled(final ObjectClass objectClass, final Name name) {
+        super.reportHandled(objectClass, name);
+        flushReports();
+    }
+
     private PullPolicy pullPolicy(
             final AnyType anyType,
             final ConflictResolutionAction conflictResolutionAction,
@@ -143,6 +174,7 @@ public class StreamPullJobDelegate extends PullJobDelegate implements SyncopeStr
     }
 
     private ExternalResource externalResource(
+            final String resourceKey,
             final AnyType anyType,
             final String keyColumn,
             final List<String> columns,
@@ -152,7 +184,7 @@ public class StreamPullJobDelegate extends PullJobDelegate implements SyncopeStr
         Provision provision = provision(anyType, keyColumn, columns);
 
         ExternalResource resource = entityFactory.newEntity(ExternalResource.class);
-        resource.setKey("StreamPull_" + SecureRandomUtils.generateRandomUUID().toString());
+        resource.setKey(resourceKey);
         resource.add(provision);
         provision.setResource(resource);
 
@@ -161,6 +193,31 @@ public class StreamPullJobDelegate extends PullJobDelegate implements SyncopeStr
         return resource;
     }
 
+    private PullTask pullTask(
+            final String resourceKey,
+            final AnyType anyType,
+            final String keyColumn,
+            final List<String> columns,
+            final ConflictResolutionAction conflictResolutionAction,
+            final String pullCorrelationRule,
+            final PullTaskTO pullTaskTO) throws JobExecutionException {
+
+        PullTask pullTask = entityFactory.newEntity(PullTask.class);
+        pullTask.setResource(externalResource(
+                resourceKey, anyType, keyColumn, columns, conflictResolutionAction, pullCorrelationRule));
+        pullTask.setMatchingRule(pullTaskTO.getMatchingRule());
+        pullTask.setUnmatchingRule(pullTaskTO.getUnmatchingRule());
+        pullTask.setPullMode(PullMode.FULL_RECONCILIATION);
+        pullTask.setPerformCreate(true);
+        pullTask.setPerformUpdate(true);
+        pullTask.setPerformDelete(false);
+        pullTask.setSyncStatus(false);
+        pullTask.setDestinationRealm(realmDAO.findByFullPath(pullTaskTO.getDestinationRealm()));
+        pullTask.setRemediation(pullTaskTO.isRemediation());
+        return pullTask;
+    }
+
+    @Transactional
     @Override
     public List<ProvisioningReport> pull(
             final AnyType anyType,
@@ -169,7 +226,8 @@ public class StreamPullJobDelegate extends PullJobDelegate implements SyncopeStr
             final ConflictResolutionAction conflictResolutionAction,
             final String pullCorrelationRule,
             final Connector connector,
-            final PullTaskTO pullTaskTO) throws JobExecutionException {
+            final PullTaskTO pullTaskTO,
+            final String executor) throws JobExecutionException {
 
         LOG.debug("Executing stream pull");
 
@@ -188,48 +246,54 @@ public class StreamPullJobDelegate extends PullJobDelegate implements SyncopeStr
         });
 
         try {
-            ExternalResource resource =
-                    externalResource(anyType, keyColumn, columns, conflictResolutionAction, pullCorrelationRule);
-            Provision provision = resource.getProvisions().get(0);
-
-            PullTask pullTask = entityFactory.newEntity(PullTask.class);
-            pullTask.setResource(resource);
-            pullTask.setMatchingRule(pullTaskTO.getMatchingRule());
-            pullTask.setUnmatchingRule(pullTaskTO.getUnmatchingRule());
-            pullTask.setPullMode(PullMode.FULL_RECONCILIATION);
-            pullTask.setPerformCreate(true);
-            pullTask.setPerformUpdate(true);
-            pullTask.setPerformDelete(false);
-            pullTask.setSyncStatus(false);
-            pullTask.setDestinationRealm(realmDAO.findByFullPath(pullTaskTO.getDestinationRealm()));
-            pullTask.setRemediation(pullTaskTO.isRemediation());
+            String resourceKey = "StreamPull_" + SecureRandomUtils.generateRandomUUID().toString();
+            PullTask pullTask = pullTask(
+                    resourceKey,
+                    anyType,
+                    keyColumn,
+                    columns,
+                    conflictResolutionAction,
+                    pullCorrelationRule,
+                    pullTaskTO);
+            Provision provision = pullTask.getResource().getProvisions().get(0);
 
             profile = new ProvisioningProfile<>(connector, pullTask);
             profile.setDryRun(false);
             profile.setConflictResolutionAction(ConflictResolutionAction.FIRSTMATCH);
+            profile.setExecutor(executor);
             profile.getActions().addAll(actions);
 
             for (PullActions action : actions) {
                 action.beforeAll(profile);
             }
 
-            SyncopePullResultHandler handler;
-            GroupPullResultHandler ghandler = buildGroupHandler();
-            switch (anyType.getKind()) {
-                case USER:
-                    handler = buildUserHandler();
-                    break;
-
-                case GROUP:
-                    handler = ghandler;
-                    break;
-
-                case ANY_OBJECT:
-                default:
-                    handler = buildAnyObjectHandler();
-            }
-            handler.setProfile(profile);
-            handler.setPullExecutor(this);
+            String anyTypeKey = anyType.getKey();
+            List<GroupPullResultHandler> ghandlers = new ArrayList<>();
+            ghandlers.add(buildGroupHandler());
+            SyncopePullResultHandler handler = buildHandler(provision, ghandlers.get(0));
+
+            // rows are read by the calling thread and handed over to workers through bounded queues
+            PullDispatcher dispatcher = pullTaskTO.getThreadPoolSize() > 1
+                    ? new PullDispatcher(
+                            pullTaskTO.getThreadPoolSize(),
+                            pullTaskTO.getQueueCapacity(),
+                            this,
+                            () -> buildWorkerHandler(anyType.getKind(), ghandlers, () -> {
+                                // the task is not persistent: build it again, from entities of the worker
+                                try {
+                                    return pullTask(
+                                            resourceKey,
+                                            anyTypeDAO.find(anyTypeKey),
+                                            keyColumn,
+                                            columns,
+                                            conflictResolutionAction,
+                                            pullCorrelationRule,
+                                            pullTaskTO);
+                                } catch (JobExecutionException e) {
+                                    throw new IllegalStateException(e);
+                                }
+                            }))
+                    : null;
 
             // execute filtered pull
             Set<String> moreAttrsToGet = new HashSet<>();
@@ -239,26 +303,43 @@ public class StreamPullJobDelegate extends PullJobDelegate implements SyncopeStr
                     MappingUtils.getPullItems(provision.getMapping().getItems().stream()),
                     virSchemaDAO.findByProvision(provision).stream().map(VirSchema::asLinkingMappingItem));
 
-            connector.fullReconciliation(
-                    provision.getObjectClass(),
-                    handler,
-                    MappingUtils.buildOperationOptions(mapItems, moreAttrsToGet.toArray(new String[0])));
-
+            status.set("Pulling " + provision.getObjectClass().getObjectClassValue());
             try {
-                setGroupOwners(ghandler);
+                connector.fullReconciliation(
+                        provision.getObjectClass(),
+                        dispatcher == null ? handler : dispatcher,
+                        MappingUtils.buildOperationOptions(mapItems, moreAttrsToGet.toArray(new String[0])));
+
+                if (dispatcher != null) {
+                    dispatcher.shutdown();
+                }
             } catch (Exception e) {
-                LOG.error("While setting group owners", e);
+                if (dispatcher != null) {
+                    dispatcher.abort();
+                }
+                throw e;
+            }
+
+            for (GroupPullResultHandler ghandler : ghandlers) {
+                try {
+                    setGroupOwners(ghandler);
+                } catch (Exception e) {
+                    LOG.error("While setting group owners", e);
+                }
             }
 
             for (PullActions action : actions) {
                 action.afterAll(profile);
             }
 
+            status.set("Pull done");
             return profile.getResults();
         } catch (Exception e) {
             throw e instanceof JobExecutionException
                     ? (JobExecutionException) e
                     : new JobExecutionException("While stream pulling", e);
+        } finally {
+            flushReports();
         }
     }
 }
@@ -19,12 +19,17 @@
 package org.apache.syncope.core.provisioning.java.pushpull.stream;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import org.apache.syncope.common.lib.to.ProvisioningReport;
 import org.apache.syncope.common.lib.to.PushTaskTO;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
 import org.apache.syncope.common.lib.types.IdMImplementationType;
 import org.apache.syncope.common.lib.types.MappingPurpose;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.ImplementationDAO;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
@@ -132,6 +137,15 @@ public class StreamPushJobDelegate extends PushJobDelegate implements SyncopeStr
         return resource;
     }
 
+    /**
+     * Pushes to the stream, once all has been set up, via the given handler.
+     */
+    @FunctionalInterface
+    protected interface StreamHandling {
+
+        void handle(SyncopePushResultHandler handler, ExternalResource resource) throws JobExecutionException;
+    }
+
     @Override
     public List<ProvisioningReport> push(
             final AnyType anyType,
@@ -142,6 +156,58 @@ public class StreamPushJobDelegate extends PushJobDelegate implements SyncopeStr
             final PushTaskTO pushTaskTO,
             final String executor) throws JobExecutionException {
 
+        return push(anyType, columns, connector, propagationActions, pushTaskTO, executor,
+                (handler, resource) -> doHandle(anys, handler, resource));
+    }
+
+    @Override
+    public List<ProvisioningReport> push(
+            final AnyType anyType,
+            final Iterator<List<String>> batches,
+            final List<String> columns,
+            final Connector connector,
+            final List<String> propagationActions,
+            final PushTaskTO pushTaskTO,
+            final String executor) throws JobExecutionException {
+
+        AnyDAO<?> anyDAO = anyUtilsFactory.getInstance(anyType.getKind()).dao();
+        return push(anyType, columns, connector, propagationActions, pushTaskTO, executor,
+                (handler, resource) -> {
+                    while (batches.hasNext() && !interrupt) {
+                        doHandle(anyDAO, batches.next(), handler, resource);
+                    }
+                });
+    }
+
+    private <A extends Any<?>> void doHandle(
+            final AnyDAO<A> anyDAO,
+            final List<String> keys,
+            final SyncopePushResultHandler handler,
+            final ExternalResource resource) throws JobExecutionException {
+
+        // keep the order of the given keys, which reflects the requested sorting
+        Map<String, Integer> positions = new HashMap<>(keys.size());
+        keys.forEach(key -> positions.put(key, positions.size()));
+        List<A> anys = new ArrayList<>(anyDAO.findByKeys(keys));
+        anys.sort(Comparator.comparing(any -> positions.get(any.getKey())));
+        try {
+            doHandle(anys, handler, resource);
+        } finally {
+            // pushed entities, and whatever was loaded while pushing them, are not needed anymore
+            anyDAO.flush();
+            anyDAO.clear();
+        }
+    }
+
+    protected List<ProvisioningReport> push(
+            final AnyType anyType,
+            final List<String> columns,
+            final Connector connector,
+            final List<String> propagationActions,
+            final PushTaskTO pushTaskTO,
+            final String executor,
+            final StreamHandling handling) throws JobExecutionException {
+
         LOG.debug("Executing stream push as {}", executor);
         this.executor = executor;
 
@@ -196,7 +262,7 @@ public class StreamPushJobDelegate extends PushJobDelegate implements SyncopeStr
             }
             handler.setProfile(profile);
 
-            doHandle(anys, handler, provision.getResource());
+            handling.handle(handler, provision.getResource());
 
             for (PushActions action : pushActions) {
                 action.afterAll(profile);
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.common.lib.types.AuditLoggerName;
+import org.apache.syncope.common.lib.types.LoggerLevel;
+import org.apache.syncope.common.lib.types.LoggerType;
+import org.apache.syncope.core.persistence.api.dao.LoggerDAO;
+import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.Logger;
+import org.apache.syncope.core.persistence.api.entity.Notification;
+import org.apache.syncope.core.persistence.jpa.entity.JPALogger;
+import org.apache.syncope.core.persistence.jpa.entity.JPANotification;
+import org.apache.syncope.core.provisioning.api.AuditManager;
+import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.orm.jpa.EntityManagerFactoryInfo;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Changes to audit loggers and notifications must be seen by {@link AuditManager} and {@link NotificationManager}
+ * once committed, either locally or by another node of the cluster.
+ */
+public class AuditNotificationChangedEventTest extends AbstractTest {
+
+    private static final AuditLoggerName AUDIT_LOGGER_NAME = new AuditLoggerName(
+            AuditElements.EventCategoryType.LOGIC, "AuditNotificationChangedEventTest", null, "test",
+            AuditElements.Result.SUCCESS);
+
+    private static final String NOTIFICATION_KEY = "e00945b5-1184-4d43-8e45-4318a8dcdfd4";
+
+    @Autowired
+    private AuditManager auditManager;
+
+    @Autowired
+    private NotificationManager notificationManager;
+
+    @Autowired
+    private LoggerDAO loggerDAO;
+
+    @Autowired
+    private NotificationDAO notificationDAO;
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    @Autowired
+    @Qualifier("Master")
+    private PlatformTransactionManager txManager;
+
+    private TransactionTemplate txTemplate() {
+        return new TransactionTemplate(txManager);
+    }
+
+    private boolean auditRequested() {
+        return txTemplate().execute(status -> auditManager.auditRequested(
+                "admin",
+                AUDIT_LOGGER_NAME.getType(),
+                AUDIT_LOGGER_NAME.getCategory(),
+                AUDIT_LOGGER_NAME.getSubcategory(),
+                AUDIT_LOGGER_NAME.getEvent()));
+    }
+
+    private boolean notificationsAvailable() {
+        return txTemplate().execute(status -> notificationManager.notificationsAvailable(
+                AuditElements.EventCategoryType.CUSTOM, null, null, "requestPasswordReset"));
+    }
+
+    /**
+     * Notifies about changes committed by another node, as the configured OpenJPA {@code RemoteCommitProvider} does.
+     *
+     * @param updated updated entity classes
+     */
+    private static void remoteCommit(final Class<?>... updated) {
+        EntityManagerFactory emf = EntityManagerFactoryUtils.findEntityManagerFactory(
+                ApplicationContextProvider.getBeanFactory(), SyncopeConstants.MASTER_DOMAIN);
+        ((OpenJPAEntityManagerFactorySPI) ((EntityManagerFactoryInfo) emf).getNativeEntityManagerFactory()).
+                getConfiguration().getRemoteCommitEventManager().fireEvent(new RemoteCommitEvent(
+                RemoteCommitEvent.PAYLOAD_EXTENTS,
+                null,
+                Set.of(),
+                Arrays.stream(updated).map(Class::getName).collect(Collectors.toSet()),
+                Set.of()));
+    }
+
+    @Test
+    public void auditLogger() {
+        assertFalse(auditRequested());
+
+        txTemplate().executeWithoutResult(status -> {
+            Logger logger = entityFactory.newEntity(Logger.class);
+            logger.setKey(AUDIT_LOGGER_NAME.toLoggerName());
+            logger.setType(LoggerType.AUDIT);
+            logger.setLevel(LoggerLevel.DEBUG);
+            loggerDAO.save(logger);
+        });
+        assertTrue(auditRequested());
+
+        txTemplate().executeWithoutResult(status -> {
+            Logger logger = loggerDAO.find(AUDIT_LOGGER_NAME.toLoggerName());
+            logger.setLevel(LoggerLevel.OFF);
+            loggerDAO.save(logger);
+        });
+        assertFalse(auditRequested());
+
+        txTemplate().executeWithoutResult(status -> loggerDAO.delete(AUDIT_LOGGER_NAME.toLoggerName()));
+        assertFalse(auditRequested());
+    }
+
+    @Test
+    public void auditLoggerRemoteCommit() {
+        assertFalse(auditRequested());
+
+        // as written by another node: no event is published here
+        txTemplate().executeWithoutResult(status -> entityManager().createNativeQuery(
+                "INSERT INTO " + JPALogger.TABLE + "(logName,logLevel,logType) VALUES (?1,'DEBUG','AUDIT')").
+                setParameter(1, AUDIT_LOGGER_NAME.toLoggerName()).executeUpdate());
+        assertFalse(auditRequested());
+
+        remoteCommit(JPALogger.class);
+        assertTrue(auditRequested());
+
+        txTemplate().executeWithoutResult(status -> entityManager().createNativeQuery(
+                "DELETE FROM " + JPALogger.TABLE + " WHERE logName=?1").
+                setParameter(1, AUDIT_LOGGER_NAME.toLoggerName()).executeUpdate());
+        remoteCommit(JPALogger.class);
+        assertFalse(auditRequested());
+    }
+
+    @Test
+    public void notification() {
+        assertTrue(notificationsAvailable());
+
+        txTemplate().executeWithoutResult(status -> {
+            Notification notification = notificationDAO.find(NOTIFICATION_KEY);
+            notification.setActive(false);
+            notificationDAO.save(notification);
+        });
+        assertFalse(notificationsAvailable());
+
+        txTemplate().executeWithoutResult(status -> {
+            Notification notification = notificationDAO.find(NOTIFICATION_KEY);
+            notification.setActive(true);
+            notificationDAO.save(notification);
+        });
+        assertTrue(notificationsAvailable());
+    }
+
+    @Test
+    public void notificationRemoteCommit() {
+        assertTrue(notificationsAvailable());
+
+        // as written by another node: no event is published here
+        txTemplate().executeWithoutResult(status -> entityManager().createNativeQuery(
+                "UPDATE " + JPANotification.TABLE + " SET active=?1 WHERE id=?2").
+                setParameter(1, false).setParameter(2, NOTIFICATION_KEY).executeUpdate());
+        assertTrue(notificationsAvailable());
+
+        remoteCommit(JPANotification.class);
+        assertFalse(notificationsAvailable());
+
+        txTemplate().executeWithoutResult(status -> entityManager().createNativeQuery(
+                "UPDATE " + JPANotification.TABLE + " SET active=?1 WHERE id=?2").
+                setParameter(1, true).setParameter(2, NOTIFICATION_KEY).executeUpdate());
+        remoteCommit(JPANotification.class);
+        assertTrue(notificationsAvailable());
+    }
+}
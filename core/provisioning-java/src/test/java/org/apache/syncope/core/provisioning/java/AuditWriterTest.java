@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class AuditWriterTest {
+
+    private static class TestWrite implements AuditWriter.AuditWrite {
+
+        private final String value;
+
+        private final List<String> written;
+
+        private final CountDownLatch latch;
+
+        TestWrite(final String value, final List<String> written, final CountDownLatch latch) {
+            this.value = value;
+            this.written = written;
+            this.latch = latch;
+        }
+
+        @Override
+        public void write() {
+            try {
+                latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (written) {
+                written.add(value);
+            }
+        }
+
+        @Override
+        public String serialize() {
+            return value;
+        }
+    }
+
+    @Test
+    public void sync() {
+        AuditWriter writer = new AuditWriter(0, 10, 1000, AuditWriter.OverflowPolicy.BLOCK, null);
+        assertFalse(writer.isAsync());
+        assertEquals(1, writer.getBatchSize());
+
+        List<String> written = new ArrayList<>();
+        writer.submit(new TestWrite("1", written, new CountDownLatch(0)));
+        assertEquals(List.of("1"), written);
+    }
+
+    @Test
+    public void batches() {
+        List<Integer> flushed = new ArrayList<>();
+        List<String> written = new ArrayList<>();
+
+        AuditWriter writer = new AuditWriter(100, 3, 60000, AuditWriter.OverflowPolicy.BLOCK, null);
+        writer.addFlushHook(() -> {
+            synchronized (written) {
+                flushed.add(written.size());
+            }
+        });
+
+        CountDownLatch latch = new CountDownLatch(0);
+        for (int i = 0; i < 7; i++) {
+            writer.submit(new TestWrite(String.valueOf(i), written, latch));
+        }
+        writer.destroy();
+
+        // two full batches, then the remaining entry is written on shutdown, without waiting for the interval
+        assertEquals(List.of("0", "1", "2", "3", "4", "5", "6"), written);
+        assertEquals(List.of(3, 6, 7), flushed);
+
+        // once stopped, entries are written synchronously, and flushed right away
+        writer.submit(new TestWrite("7", written, latch));
+        assertEquals(8, written.size());
+        assertEquals(List.of(3, 6, 7, 8), flushed);
+    }
+
+    @Test
+    public void destroyWithDeadWorker() throws InterruptedException {
+        List<String> written = new ArrayList<>();
+
+        AuditWriter writer = new AuditWriter(1, 1, 100, AuditWriter.OverflowPolicy.BLOCK, null);
+        writer.worker.interrupt();
+        writer.worker.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(writer.worker.isAlive());
+
+        // the queue is now full and nobody is going to take from it
+        writer.submit(new TestWrite("0", written, new CountDownLatch(0)));
+        assertEquals(1, writer.queue.size());
+
+        // does not hang, and still writes what was queued
+        writer.destroy();
+        assertEquals(List.of("0"), written);
+    }
+
+    @Test
+    public void flushInterval() throws InterruptedException {
+        List<String> written = new ArrayList<>();
+        CountDownLatch flushed = new CountDownLatch(1);
+
+        AuditWriter writer = new AuditWriter(100, 1000, 100, AuditWriter.OverflowPolicy.BLOCK, null);
+        writer.addFlushHook(flushed::countDown);
+
+        writer.submit(new TestWrite("0", written, new CountDownLatch(0)));
+        assertTrue(flushed.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("0"), written);
+
+        writer.destroy();
+    }
+
+    @Test
+    public void drop() {
+        List<String> written = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        AuditWriter writer = new AuditWriter(1, 1, 1000, AuditWriter.OverflowPolicy.DROP, null);
+        // the first entry is taken by the worker, which then waits; the second one fills the queue
+        writer.submit(new TestWrite("0", written, latch));
+        while (writer.queue.size() > 0) {
+            Thread.onSpinWait();
+        }
+        writer.submit(new TestWrite("1", written, latch));
+        writer.submit(new TestWrite("2", written, latch));
+        writer.submit(new TestWrite("3", written, latch));
+        assertEquals(2, writer.getDropped());
+
+        latch.countDown();
+        writer.destroy();
+        assertEquals(List.of("0", "1"), written);
+    }
+
+    @Test
+    public void spill() throws IOException {
+        Path spillFile = Files.createTempFile("audit", ".json");
+        try {
+            List<String> written = new ArrayList<>();
+            CountDownLatch latch = new CountDownLatch(1);
+
+            AuditWriter writer = new AuditWriter(1, 1, 1000, AuditWriter.OverflowPolicy.SPILL, spillFile);
+            writer.submit(new TestWrite("0", written, latch));
+            while (writer.queue.size() > 0) {
+                Thread.onSpinWait();
+            }
+            writer.submit(new TestWrite("1", written, latch));
+            writer.submit(new TestWrite("2", written, latch));
+            writer.submit(new TestWrite("3", written, latch));
+
+            latch.countDown();
+            writer.destroy();
+            assertEquals(List.of("0", "1"), written);
+            assertEquals(List.of("2", "3"), Files.readAllLines(spillFile, StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(spillFile);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
 
 @Import({ SecurityContext.class, PersistenceContext.class, ProvisioningContext.class, WorkflowContext.class })
 @Configuration
@@ -38,4 +39,9 @@ public class ProvisioningTestContext {
         pspc.setIgnoreUnresolvablePlaceholders(true);
         return pspc;
     }
+
+    @Bean
+    public static TransactionalEventListenerFactory transactionalEventListenerFactory() {
+        return new TransactionalEventListenerFactory();
+    }
 }
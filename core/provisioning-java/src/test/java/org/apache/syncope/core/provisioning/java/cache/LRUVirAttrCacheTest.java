@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.env.MockEnvironment;
+
+public class LRUVirAttrCacheTest extends AbstractTest {
+
+    @Autowired
+    private VirAttrCache virAttrCache;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Test
+    public void lru() {
+        LRUVirAttrCache cache = new LRUVirAttrCache();
+        cache.setMaxCacheSize(LRUVirAttrCache.SEGMENTS);
+
+        // same any object key: all entries go to the same segment, which can hold a single entry
+        cache.put("USER", "key", "schema1", new VirAttrCacheValue(List.of("value1")));
+        cache.put("USER", "key", "schema2", new VirAttrCacheValue(List.of("value2")));
+
+        assertNull(cache.get("USER", "key", "schema1"));
+        VirAttrCacheValue value = cache.get("USER", "key", "schema2");
+        assertTrue(cache.isValidEntry(value));
+        assertEquals(List.of("value2"), value.getValues());
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void ttl() {
+        LRUVirAttrCache cache = new LRUVirAttrCache();
+        cache.setEnvironment(new MockEnvironment().
+                withProperty("virAttrCache.ttl", "60").
+                withProperty("virAttrCache.schemaTtl", "short:0, long:600"));
+
+        cache.put("USER", "key", "short", new VirAttrCacheValue(List.of("value")));
+        cache.put("USER", "key", "long", new VirAttrCacheValue(List.of("value")));
+        cache.put("USER", "key", "default", new VirAttrCacheValue(List.of("value")));
+
+        assertNull(cache.get("USER", "key", "short"));
+        assertNotNull(cache.get("USER", "key", "long"));
+        assertNotNull(cache.get("USER", "key", "default"));
+
+        cache.expire("USER", "key", "long");
+        assertNull(cache.get("USER", "key", "long"));
+
+        VirAttrCacheValue value = cache.get("USER", "key", "default");
+        value.forceExpiring();
+        assertFalse(cache.isValidEntry(value));
+        assertNull(cache.get("USER", "key", "default"));
+    }
+
+    @Test
+    public void expireByAnyKey() {
+        LRUVirAttrCache cache = new LRUVirAttrCache();
+
+        cache.put("USER", "key1", "schema1", new VirAttrCacheValue(List.of("value")));
+        cache.put("USER", "key1", "schema2", new VirAttrCacheValue(List.of("value")));
+        cache.put("GROUP", "key1", "schema1", new VirAttrCacheValue(List.of("value")));
+        cache.put("USER", "key2", "schema1", new VirAttrCacheValue(List.of("value")));
+        assertEquals(4, cache.size());
+
+        cache.expire("USER", "key1");
+
+        assertNull(cache.get("USER", "key1", "schema1"));
+        assertNull(cache.get("USER", "key1", "schema2"));
+        assertNotNull(cache.get("GROUP", "key1", "schema1"));
+        assertNotNull(cache.get("USER", "key2", "schema1"));
+        assertEquals(2, cache.size());
+
+        // null type matches any type
+        cache.expire(null, "key1");
+        assertNull(cache.get("GROUP", "key1", "schema1"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void expireUponDelete() {
+        virAttrCache.put("USER", "key3", "schema1", new VirAttrCacheValue(List.of("value")));
+        virAttrCache.put("USER", "key4", "schema1", new VirAttrCacheValue(List.of("value")));
+
+        publisher.publishEvent(new AnyDeletedEvent(
+                this, AnyTypeKind.USER, "key3", "name", SyncopeConstants.MASTER_DOMAIN));
+
+        assertFalse(virAttrCache.isValidEntry(virAttrCache.get("USER", "key3", "schema1")));
+        assertTrue(virAttrCache.isValidEntry(virAttrCache.get("USER", "key4", "schema1")));
+    }
+}
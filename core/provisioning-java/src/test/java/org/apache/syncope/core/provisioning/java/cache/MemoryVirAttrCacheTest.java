@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+import org.junit.jupiter.api.Test;
+
+public class MemoryVirAttrCacheTest {
+
+    @Test
+    public void expireByAnyKey() {
+        MemoryVirAttrCache cache = new MemoryVirAttrCache();
+
+        cache.put("USER", "key1", "schema1", new VirAttrCacheValue(List.of("value")));
+        cache.put("USER", "key1", "schema2", new VirAttrCacheValue(List.of("value")));
+        cache.put("GROUP", "key1", "schema1", new VirAttrCacheValue(List.of("value")));
+        cache.put("USER", "key2", "schema1", new VirAttrCacheValue(List.of("value")));
+
+        cache.expire("USER", "key1");
+
+        assertFalse(cache.isValidEntry(cache.get("USER", "key1", "schema1")));
+        assertFalse(cache.isValidEntry(cache.get("USER", "key1", "schema2")));
+        assertTrue(cache.isValidEntry(cache.get("GROUP", "key1", "schema1")));
+        assertTrue(cache.isValidEntry(cache.get("USER", "key2", "schema1")));
+
+        // null type matches any type
+        cache.expire(null, "key1");
+        assertFalse(cache.isValidEntry(cache.get("GROUP", "key1", "schema1")));
+        assertTrue(cache.isValidEntry(cache.get("USER", "key2", "schema1")));
+    }
+
+    @Test
+    public void free() {
+        MemoryVirAttrCache cache = new MemoryVirAttrCache();
+        cache.setMaxCacheSize(2);
+
+        cache.put("USER", "key1", "schema1", new VirAttrCacheValue(List.of("value")));
+        cache.put("USER", "key2", "schema1", new VirAttrCacheValue(List.of("value")));
+        cache.expire("USER", "key1");
+
+        // the expired entry is freed, along with its index
+        cache.put("USER", "key3", "schema1", new VirAttrCacheValue(List.of("value")));
+        assertEquals(2, cache.cache.size());
+        assertFalse(cache.byAnyKey.containsKey("key1"));
+        assertEquals(cache.cache.keySet(), cache.byAnyKey.values().stream().
+                flatMap(Set::stream).collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.syncope.core.provisioning.api.jexl.JexlUtils;
+import org.junit.jupiter.api.Test;
+
+public class LazyMapContextTest {
+
+    private static String evaluate(final String template, final LazyMapContext context) {
+        StringWriter writer = new StringWriter();
+        JexlUtils.newJxltEngine().createTemplate(template).evaluate(context, writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void suppliedOnlyWhenAccessed() {
+        AtomicInteger supplied = new AtomicInteger();
+
+        LazyMapContext context = new LazyMapContext();
+        context.set("event", "create");
+        context.setLazy("user", () -> "user" + supplied.incrementAndGet());
+
+        assertEquals("create", evaluate("${event}", context.copy()));
+        assertEquals(0, supplied.get());
+
+        LazyMapContext copy = context.copy();
+        assertTrue(copy.has("user"));
+        assertEquals("create user1", evaluate("${event} ${user}", copy));
+        assertEquals(1, supplied.get());
+
+        // supplied values are shared among copies
+        assertEquals("user1", evaluate("${user}", context.copy()));
+        assertEquals(1, supplied.get());
+
+        // variables set on copies do not leak to the original context
+        copy.set("recipients", "none");
+        assertFalse(context.has("recipients"));
+    }
+}
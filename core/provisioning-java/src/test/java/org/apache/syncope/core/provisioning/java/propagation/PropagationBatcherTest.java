@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.provisioning.api.BatchConnector;
+import org.apache.syncope.core.provisioning.api.BatchConnectorOperation;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.jupiter.api.Test;
+
+public class PropagationBatcherTest extends AbstractTest {
+
+    private static PropagationTask task(final Integer priority) {
+        ExternalResource resource = mock(ExternalResource.class);
+        lenient().when(resource.getPropagationPriority()).thenReturn(priority);
+
+        PropagationTask task = mock(PropagationTask.class);
+        lenient().when(task.getResource()).thenReturn(resource);
+        return task;
+    }
+
+    private static BatchConnector connector(final List<Integer> batchSizes) {
+        BatchConnector connector = mock(BatchConnector.class);
+        lenient().when(connector.isBatchSupported(any(ObjectClass.class))).thenReturn(true);
+        doAnswer(ic -> {
+            List<BatchConnectorOperation> operations = ic.getArgument(1);
+            synchronized (batchSizes) {
+                batchSizes.add(operations.size());
+            }
+            operations.forEach(operation -> {
+                String value = operation.getAttrs().stream().
+                        filter(attr -> Name.NAME.equals(attr.getName())).
+                        findFirst().map(attr -> attr.getValue().get(0).toString()).orElse(null);
+                operation.getPropagationAttempted().set(true);
+                if ("fail".equals(value)) {
+                    operation.failed(new ConnectorException("Failure for " + value));
+                } else {
+                    operation.succeeded(new Uid(value));
+                }
+            });
+            return null;
+        }).when(connector).batch(any(ObjectClass.class), anyList());
+        return connector;
+    }
+
+    @Test
+    public void batchBySize() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        BatchConnector connector = connector(batchSizes);
+        PropagationBatcher batcher = new PropagationBatcher(5, 60000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<Uid>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                String name = "name" + i;
+                results.add(executor.submit(() -> batcher.create(
+                        task(null),
+                        connector,
+                        ObjectClass.ACCOUNT,
+                        Set.of(new Name(name)),
+                        null,
+                        new AtomicReference<>(false))));
+            }
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals("name" + i, results.get(i).get().getUidValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(List.of(5), batchSizes);
+    }
+
+    @Test
+    public void batchByWindow() {
+        List<Integer> batchSizes = new ArrayList<>();
+        BatchConnector connector = connector(batchSizes);
+        PropagationBatcher batcher = new PropagationBatcher(10, 100);
+
+        AtomicReference<Boolean> propagationAttempted = new AtomicReference<>(false);
+        Uid uid = batcher.create(
+                task(null), connector, ObjectClass.ACCOUNT, Set.of(new Name("single")), null, propagationAttempted);
+        assertEquals("single", uid.getUidValue());
+        assertTrue(propagationAttempted.get());
+
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    public void failure() {
+        BatchConnector connector = connector(new ArrayList<>());
+        PropagationBatcher batcher = new PropagationBatcher(10, 10);
+
+        assertThrows(ConnectorException.class, () -> batcher.create(
+                task(null), connector, ObjectClass.ACCOUNT, Set.of(new Name("fail")), null,
+                new AtomicReference<>(false)));
+    }
+
+    @Test
+    public void fallback() {
+        Connector connector = mock(Connector.class);
+        PropagationBatcher batcher = new PropagationBatcher(10, 10);
+        batcher.delete(task(null), connector, ObjectClass.ACCOUNT, new Uid("uid"), null, new AtomicReference<>());
+        verify(connector).delete(any(ObjectClass.class), any(Uid.class), isNull(), any());
+
+        BatchConnector batchConnector = mock(BatchConnector.class);
+        batcher.delete(task(1), batchConnector, ObjectClass.ACCOUNT, new Uid("uid"), null, new AtomicReference<>());
+        verify(batchConnector, times(1)).delete(any(ObjectClass.class), any(Uid.class), isNull(), any());
+        verify(batchConnector, never()).batch(any(ObjectClass.class), anyList());
+
+        BatchConnector unsupported = mock(BatchConnector.class);
+        when(unsupported.isBatchSupported(any(ObjectClass.class))).thenReturn(false);
+        batcher.delete(task(null), unsupported, ObjectClass.ACCOUNT, new Uid("uid"), null, new AtomicReference<>());
+        verify(unsupported, times(1)).delete(any(ObjectClass.class), any(Uid.class), isNull(), any());
+        verify(unsupported, never()).batch(any(ObjectClass.class), anyList());
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.propagation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.Attr;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.to.ConnObjectTO;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ExecStatus;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.provisioning.api.BatchConnector;
+import org.apache.syncope.core.provisioning.api.BatchConnectorOperation;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationTaskInfo;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.AttributeUtil;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.OperationalAttributes;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class PropagationTaskExecutorTest extends AbstractTest {
+
+    private static final String RESOURCE = "resource-testdb";
+
+    @Autowired
+    private PropagationTaskExecutor taskExecutor;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private TaskDAO taskDAO;
+
+    @Autowired
+    @Qualifier("Master")
+    private PlatformTransactionManager txManager;
+
+    private PropagationBatcher batcher;
+
+    private ThreadPoolTaskExecutor asyncExecutor;
+
+    private final List<String> entityKeys = new ArrayList<>();
+
+    private TransactionTemplate txTemplate() {
+        return new TransactionTemplate(txManager);
+    }
+
+    private List<PropagationTaskInfo> taskInfos(final Connector connector, final String... names) {
+        ExternalResource resource = txTemplate().execute(status -> AuthContextUtils.callAsAdmin(
+                SyncopeConstants.MASTER_DOMAIN, () -> resourceDAO.find(RESOURCE)));
+
+        List<PropagationTaskInfo> taskInfos = new ArrayList<>();
+        for (String name : names) {
+            String entityKey = UUID.randomUUID().toString();
+            entityKeys.add(entityKey);
+
+            PropagationTaskInfo taskInfo = new PropagationTaskInfo(resource);
+            taskInfo.setObjectClassName(ObjectClass.ACCOUNT_NAME);
+            taskInfo.setAnyTypeKind(AnyTypeKind.USER);
+            taskInfo.setAnyType(AnyTypeKind.USER.name());
+            taskInfo.setEntityKey(entityKey);
+            taskInfo.setOperation(ResourceOperation.CREATE);
+            taskInfo.setConnObjectKey(name);
+            taskInfo.setAttributes(POJOHelper.serialize(Set.of(
+                    new Name(name), AttributeBuilder.build("SURNAME", "surname " + name))));
+            taskInfo.setConnector(connector);
+            taskInfos.add(taskInfo);
+        }
+        return taskInfos;
+    }
+
+    private Map<String, List<String>> execStatuses() {
+        return txTemplate().execute(status -> AuthContextUtils.callAsAdmin(SyncopeConstants.MASTER_DOMAIN, () -> {
+            Map<String, List<String>> execStatuses = new HashMap<>();
+            ExternalResource resource = resourceDAO.find(RESOURCE);
+            entityKeys.forEach(entityKey -> taskDAO.<PropagationTask>findAll(
+                    TaskType.PROPAGATION, resource, null, AnyTypeKind.USER, entityKey, -1, -1, List.of()).
+                    forEach(task -> task.getExecs().stream().map(TaskExec::getStatus).
+                    forEach(execStatus -> execStatuses.computeIfAbsent(
+                    task.getConnObjectKey(), k -> new ArrayList<>()).add(execStatus))));
+            return execStatuses;
+        }));
+    }
+
+    private void lightweight(final boolean lightweight) {
+        txTemplate().execute(status -> AuthContextUtils.callAsAdmin(SyncopeConstants.MASTER_DOMAIN, () -> {
+            ExternalResource resource = resourceDAO.find(RESOURCE);
+            resource.setLightweightPropagation(lightweight);
+            return resourceDAO.save(resource);
+        }));
+    }
+
+    private static Map<String, List<String>> attrs(final ConnObjectTO connObject) {
+        return connObject.getAttrs().stream().collect(Collectors.toMap(Attr::getSchema, Attr::getValues));
+    }
+
+    private PropagationReporter execute(final List<PropagationTaskInfo> taskInfos) {
+        // tasks towards resources with no propagation priority are executed - and their executions stored - by
+        // concurrent threads, each in its own transaction as at runtime
+        ThreadPoolTaskExecutor transactional = new ThreadPoolTaskExecutor();
+        transactional.setCorePoolSize(5);
+        transactional.setTaskDecorator(runnable -> () -> txTemplate().executeWithoutResult(status -> runnable.run()));
+        // each transaction commits only after the related task was reported as complete: wait for all of them
+        transactional.setWaitForTasksToCompleteOnShutdown(true);
+        transactional.setAwaitTerminationSeconds(30);
+        transactional.initialize();
+        ReflectionTestUtils.setField(taskExecutor, "taskExecutor", transactional);
+
+        try {
+            return AuthContextUtils.callAsAdmin(SyncopeConstants.MASTER_DOMAIN,
+                    () -> taskExecutor.execute(taskInfos, false, "admin"));
+        } finally {
+            transactional.shutdown();
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        // batches of 3 operations, with no time window: any batch is performed only when full
+        batcher = (PropagationBatcher) ReflectionTestUtils.getField(taskExecutor, "batcher");
+        ReflectionTestUtils.setField(taskExecutor, "batcher", new PropagationBatcher(3, 60000));
+
+        asyncExecutor = (ThreadPoolTaskExecutor) ReflectionTestUtils.getField(taskExecutor, "taskExecutor");
+    }
+
+    @AfterEach
+    public void cleanup() {
+        ReflectionTestUtils.setField(taskExecutor, "batcher", batcher);
+        ReflectionTestUtils.setField(taskExecutor, "taskExecutor", asyncExecutor);
+
+        lightweight(false);
+
+        txTemplate().execute(status -> AuthContextUtils.callAsAdmin(SyncopeConstants.MASTER_DOMAIN, () -> {
+            ExternalResource resource = resourceDAO.find(RESOURCE);
+            entityKeys.forEach(entityKey -> taskDAO.<PropagationTask>findAll(
+                    TaskType.PROPAGATION, resource, null, AnyTypeKind.USER, entityKey, -1, -1, List.of()).
+                    forEach(taskDAO::delete));
+            return null;
+        }));
+        entityKeys.clear();
+    }
+
+    @Test
+    public void batch() {
+        List<List<String>> batches = new ArrayList<>();
+
+        BatchConnector connector = mock(BatchConnector.class);
+        when(connector.isBatchSupported(any(ObjectClass.class))).thenReturn(true);
+        doAnswer(ic -> {
+            List<BatchConnectorOperation> operations = ic.getArgument(1);
+
+            List<String> names = new ArrayList<>();
+            operations.forEach(operation -> {
+                String name = AttributeUtil.getNameFromAttributes(operation.getAttrs()).getNameValue();
+                names.add(name);
+
+                operation.getPropagationAttempted().set(true);
+                if ("fail".equals(name)) {
+                    operation.failed(new ConnectorException("Could not create " + name));
+                } else {
+                    operation.succeeded(new Uid(name));
+                }
+            });
+            synchronized (batches) {
+                batches.add(names);
+            }
+            return null;
+        }).when(connector).batch(any(ObjectClass.class), anyList());
+
+        execute(taskInfos(connector, "batch1", "fail", "batch2"));
+
+        // one single batch for the three tasks...
+        assertEquals(1, batches.size());
+        assertEquals(Set.of("batch1", "fail", "batch2"), Set.copyOf(batches.get(0)));
+        verify(connector, never()).create(any(ObjectClass.class), anySet(), any(), any());
+
+        // ...but one execution for each task
+        Map<String, List<String>> execStatuses = execStatuses();
+        assertEquals(3, execStatuses.size());
+        assertEquals(List.of(ExecStatus.SUCCESS.name()), execStatuses.get("batch1"));
+        assertEquals(List.of(ExecStatus.SUCCESS.name()), execStatuses.get("batch2"));
+        assertEquals(List.of(ExecStatus.FAILURE.name()), execStatuses.get("fail"));
+    }
+
+    @Test
+    public void perObjectFallback() {
+        Connector connector = mock(Connector.class);
+        when(connector.create(any(ObjectClass.class), anySet(), any(), any())).thenAnswer(ic -> {
+            Set<Attribute> attrs = ic.getArgument(1);
+            String name = AttributeUtil.getNameFromAttributes(attrs).getNameValue();
+
+            ic.<AtomicReference<Boolean>>getArgument(3).set(true);
+            if ("fail".equals(name)) {
+                throw new ConnectorException("Could not create " + name);
+            }
+            return new Uid(name);
+        });
+
+        execute(taskInfos(connector, "single1", "fail", "single2"));
+
+        verify(connector, times(3)).create(any(ObjectClass.class), anySet(), any(), any());
+
+        Map<String, List<String>> execStatuses = execStatuses();
+        assertEquals(3, execStatuses.size());
+        assertEquals(List.of(ExecStatus.SUCCESS.name()), execStatuses.get("single1"));
+        assertEquals(List.of(ExecStatus.SUCCESS.name()), execStatuses.get("single2"));
+        assertEquals(List.of(ExecStatus.FAILURE.name()), execStatuses.get("fail"));
+    }
+
+    @Test
+    public void batchNotSupported() {
+        BatchConnector connector = mock(BatchConnector.class);
+        when(connector.isBatchSupported(any(ObjectClass.class))).thenReturn(false);
+        when(connector.create(any(ObjectClass.class), anySet(), any(), any())).thenAnswer(ic -> {
+            Set<Attribute> attrs = ic.getArgument(1);
+            ic.<AtomicReference<Boolean>>getArgument(3).set(true);
+            return new Uid(AttributeUtil.getNameFromAttributes(attrs).getNameValue());
+        });
+
+        execute(taskInfos(connector, "unsupported1", "unsupported2"));
+
+        verify(connector, times(2)).create(any(ObjectClass.class), anySet(), any(), any());
+        verify(connector, never()).batch(any(ObjectClass.class), anyList());
+
+        Map<String, List<String>> execStatuses = execStatuses();
+        assertEquals(List.of(ExecStatus.SUCCESS.name()), execStatuses.get("unsupported1"));
+        assertEquals(List.of(ExecStatus.SUCCESS.name()), execStatuses.get("unsupported2"));
+    }
+
+    @Test
+    public void postRead() {
+        Connector connector = mock(Connector.class);
+        when(connector.create(any(ObjectClass.class), anySet(), any(), any())).thenAnswer(ic -> {
+            ic.<AtomicReference<Boolean>>getArgument(3).set(true);
+            return new Uid("regular1");
+        });
+
+        execute(taskInfos(connector, "regular1"));
+
+        // remote object read before and after propagation, with all mapped attributes
+        ArgumentCaptor<OperationOptions> options = ArgumentCaptor.forClass(OperationOptions.class);
+        verify(connector, times(2)).getObject(
+                any(ObjectClass.class), any(Attribute.class), anyBoolean(), options.capture());
+        options.getAllValues().forEach(option -> assertTrue(
+                Set.of(option.getAttributesToGet()).contains(OperationalAttributes.PASSWORD_NAME)));
+    }
+
+    @Test
+    public void lightweightCreate() {
+        lightweight(true);
+
+        Connector connector = mock(Connector.class);
+        when(connector.create(any(ObjectClass.class), anySet(), any(), any())).thenAnswer(ic -> {
+            ic.<AtomicReference<Boolean>>getArgument(3).set(true);
+            return new Uid("light1");
+        });
+
+        PropagationReporter reporter = execute(taskInfos(connector, "light1"));
+
+        // remote object read only before propagation, with connector object key and propagated attributes only
+        ArgumentCaptor<OperationOptions> options = ArgumentCaptor.forClass(OperationOptions.class);
+        verify(connector).getObject(any(ObjectClass.class), any(Attribute.class), anyBoolean(), options.capture());
+        assertEquals(
+                Set.of(Name.NAME, Uid.NAME, OperationalAttributes.ENABLE_NAME, "ID"),
+                Set.of(options.getValue().getAttributesToGet()));
+
+        // remote object after propagation built out of the propagated attributes
+        assertEquals(1, reporter.getStatuses().size());
+        assertEquals(ExecStatus.SUCCESS, reporter.getStatuses().get(0).getStatus());
+        assertNull(reporter.getStatuses().get(0).getBeforeObj());
+        assertEquals(
+                Map.of(
+                        Uid.NAME, List.of("light1"),
+                        Name.NAME, List.of("light1"),
+                        "SURNAME", List.of("surname light1")),
+                attrs(reporter.getStatuses().get(0).getAfterObj()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void lightweightUpdate() {
+        lightweight(true);
+
+        Connector connector = mock(Connector.class);
+        when(connector.getObject(any(ObjectClass.class), any(Attribute.class), anyBoolean(), any())).
+                thenReturn(new ConnectorObjectBuilder().
+                        setObjectClass(ObjectClass.ACCOUNT).
+                        setUid("light2").
+                        setName("light2").
+                        addAttribute(AttributeBuilder.build("SURNAME", "old surname")).
+                        addAttribute(AttributeBuilder.build("EMAIL", "light2@syncope.apache.org")).
+                        build());
+        when(connector.update(any(ObjectClass.class), any(Uid.class), anySet(), any(), any())).thenAnswer(ic -> {
+            ic.<AtomicReference<Boolean>>getArgument(4).set(true);
+            return ic.getArgument(1);
+        });
+
+        List<PropagationTaskInfo> taskInfos = taskInfos(connector, "light2");
+        taskInfos.get(0).setOperation(ResourceOperation.UPDATE);
+        PropagationReporter reporter = execute(taskInfos);
+
+        // the attributes read before propagation are not sent back...
+        ArgumentCaptor<Set<Attribute>> attrs = ArgumentCaptor.forClass(Set.class);
+        verify(connector).update(any(ObjectClass.class), any(Uid.class), attrs.capture(), any(), any());
+        assertEquals(
+                Set.of(Name.NAME, "SURNAME"),
+                attrs.getValue().stream().map(Attribute::getName).collect(Collectors.toSet()));
+        // ...and the remote object is not read after propagation
+        verify(connector).getObject(any(ObjectClass.class), any(Attribute.class), anyBoolean(), any());
+
+        // remote object after propagation built out of the one read before, overridden by propagated attributes
+        assertEquals(1, reporter.getStatuses().size());
+        assertEquals(ExecStatus.SUCCESS, reporter.getStatuses().get(0).getStatus());
+        assertEquals(
+                Map.of(
+                        Uid.NAME, List.of("light2"),
+                        Name.NAME, List.of("light2"),
+                        "SURNAME", List.of("surname light2"),
+                        "EMAIL", List.of("light2@syncope.apache.org")),
+                attrs(reporter.getStatuses().get(0).getAfterObj()));
+    }
+}
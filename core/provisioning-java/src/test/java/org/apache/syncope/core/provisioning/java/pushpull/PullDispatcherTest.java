@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncDeltaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobExecutionException;
+
+public class PullDispatcherTest {
+
+    private static SyncDelta delta(final String uid, final int token) {
+        return new SyncDeltaBuilder().
+                setDeltaType(SyncDeltaType.CREATE_OR_UPDATE).
+                setUid(new Uid(uid)).
+                setToken(new SyncToken(token)).
+                setObject(new ConnectorObjectBuilder().
+                        setObjectClass(ObjectClass.ACCOUNT).setUid(uid).setName(uid).build()).
+                build();
+    }
+
+    private static SyncopePullResultHandler handler(
+            final Map<String, List<Integer>> handled,
+            final String failingUid) {
+
+        SyncopePullResultHandler handler = mock(SyncopePullResultHandler.class);
+        AtomicReference<SyncopePullExecutor> executor = new AtomicReference<>();
+        doAnswer(ic -> {
+            executor.set(ic.getArgument(0));
+            return null;
+        }).when(handler).setPullExecutor(any(SyncopePullExecutor.class));
+        when(handler.handle(any(SyncDelta.class))).thenAnswer(ic -> {
+            SyncDelta delta = ic.getArgument(0);
+            handled.computeIfAbsent(delta.getUid().getUidValue(), k -> new ArrayList<>()).
+                    add((Integer) delta.getToken().getValue());
+
+            if (delta.getUid().getUidValue().equals(failingUid)) {
+                return false;
+            }
+
+            executor.get().setLatestSyncToken(delta.getObjectClass(), delta.getToken());
+            return true;
+        });
+        return handler;
+    }
+
+    private static SyncopePullExecutor executor(final AtomicReference<SyncToken> latestSyncToken) {
+        SyncopePullExecutor executor = mock(SyncopePullExecutor.class);
+        doAnswer(ic -> {
+            latestSyncToken.set(ic.getArgument(1));
+            return null;
+        }).when(executor).setLatestSyncToken(any(ObjectClass.class), any(SyncToken.class));
+        return executor;
+    }
+
+    @Test
+    public void orderPerObject() throws JobExecutionException {
+        Map<String, List<Integer>> handled = new ConcurrentHashMap<>();
+        AtomicReference<SyncToken> latestSyncToken = new AtomicReference<>();
+
+        PullDispatcher dispatcher = new PullDispatcher(
+                4, 2, executor(latestSyncToken), () -> handler(handled, null));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(dispatcher.handle(delta("uid" + (i % 10), i)));
+        }
+        dispatcher.shutdown();
+
+        assertEquals(10, handled.size());
+        handled.forEach((uid, tokens) -> {
+            assertEquals(10, tokens.size());
+            for (int i = 1; i < tokens.size(); i++) {
+                assertTrue(tokens.get(i - 1) < tokens.get(i));
+            }
+        });
+        assertEquals(99, latestSyncToken.get().getValue());
+    }
+
+    @Test
+    public void syncTokenStopsAtFailure() throws JobExecutionException {
+        Map<String, List<Integer>> handled = new ConcurrentHashMap<>();
+        AtomicReference<SyncToken> latestSyncToken = new AtomicReference<>();
+
+        PullDispatcher dispatcher = new PullDispatcher(
+                3, 10, executor(latestSyncToken), () -> handler(handled, "failing"));
+        for (int i = 0; i < 5; i++) {
+            dispatcher.handle(delta("uid" + i, i));
+        }
+        dispatcher.handle(delta("failing", 5));
+        for (int i = 6; i < 10; i++) {
+            dispatcher.handle(delta("uid" + i, i));
+        }
+        dispatcher.shutdown();
+
+        assertEquals(4, latestSyncToken.get().getValue());
+        assertFalse(dispatcher.handle(delta("uid10", 10)));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.task.PushTask;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushResultHandler;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobExecutionException;
+
+public class PushJobDelegateTest extends AbstractTest {
+
+    private static UserDAO userDAO() {
+        AnyType anyType = mock(AnyType.class);
+        when(anyType.getKey()).thenReturn("USER");
+
+        UserDAO userDAO = mock(UserDAO.class);
+        when(userDAO.findByKeys(anyList())).thenAnswer(ic -> {
+            List<String> keys = ic.getArgument(0);
+            return keys.stream().map(key -> {
+                User user = mock(User.class);
+                lenient().when(user.getKey()).thenReturn(key);
+                lenient().when(user.getUsername()).thenReturn("username" + key);
+                lenient().when(user.getType()).thenReturn(anyType);
+                return user;
+            }).collect(Collectors.toList());
+        });
+        return userDAO;
+    }
+
+    private static PushTask pushTask() {
+        PushTask pushTask = mock(PushTask.class);
+        when(pushTask.getThreadPoolSize()).thenReturn(4);
+        when(pushTask.getQueueCapacity()).thenReturn(2);
+        return pushTask;
+    }
+
+    private static List<List<String>> batches(final int size) {
+        return ListUtils.partition(
+                IntStream.range(0, size).mapToObj(String::valueOf).collect(Collectors.toList()), 10);
+    }
+
+    @Test
+    public void concurrentPush() throws JobExecutionException {
+        Set<String> pushed = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger();
+        List<Integer> maxRunning = new ArrayList<>();
+
+        SyncopePushResultHandler handler = mock(SyncopePushResultHandler.class);
+        when(handler.handle(anyString())).thenAnswer(ic -> {
+            int current = running.incrementAndGet();
+            synchronized (maxRunning) {
+                maxRunning.add(current);
+            }
+            Thread.sleep(5);
+            pushed.add(ic.getArgument(0));
+            running.decrementAndGet();
+            return true;
+        });
+
+        PushJobDelegate delegate = new PushJobDelegate();
+        delegate.doHandle(batches(100).iterator(), userDAO(), () -> handler, pushTask());
+
+        assertEquals(100, pushed.size());
+        assertTrue(maxRunning.stream().allMatch(current -> current <= 4));
+        assertTrue(delegate.currentStatus().contains("100\tUSER"));
+    }
+
+    @Test
+    public void failureStopsPush() {
+        Set<String> pushed = ConcurrentHashMap.newKeySet();
+
+        SyncopePushResultHandler handler = mock(SyncopePushResultHandler.class);
+        when(handler.handle(anyString())).thenAnswer(ic -> {
+            String key = ic.getArgument(0);
+            if ("5".equals(key)) {
+                throw new IllegalStateException("Failure on " + key);
+            }
+            pushed.add(key);
+            return true;
+        });
+
+        PushJobDelegate delegate = new PushJobDelegate();
+        JobExecutionException e = assertThrows(
+                JobExecutionException.class,
+                () -> delegate.doHandle(batches(1000).iterator(), userDAO(), () -> handler, pushTask()));
+        assertTrue(e.getMessage().contains("5"));
+        assertTrue(pushed.size() < 999);
+    }
+
+    @Test
+    public void handlerPerWorker() throws JobExecutionException {
+        Map<SyncopePushResultHandler, Set<Thread>> threads = new ConcurrentHashMap<>();
+
+        PushJobDelegate delegate = new PushJobDelegate();
+        delegate.doHandle(batches(100).iterator(), userDAO(), () -> {
+            SyncopePushResultHandler handler = mock(SyncopePushResultHandler.class);
+            when(handler.handle(anyString())).thenAnswer(ic -> {
+                threads.computeIfAbsent(handler, k -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread());
+                return true;
+            });
+            return handler;
+        }, pushTask());
+
+        // handlers, and the entities they load, are never shared among workers
+        assertTrue(threads.size() <= 4);
+        assertTrue(threads.values().stream().allMatch(handlerThreads -> handlerThreads.size() == 1));
+        assertTrue(delegate.currentStatus().contains("100\tUSER"));
+    }
+}
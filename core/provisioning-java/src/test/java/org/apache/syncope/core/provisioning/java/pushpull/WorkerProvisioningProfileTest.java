@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.core.persistence.api.entity.task.PullTask;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class WorkerProvisioningProfileTest {
+
+    @Test
+    public void taskPerTransaction() {
+        // the test context might have left synchronization active on this thread
+        boolean active = TransactionSynchronizationManager.isSynchronizationActive();
+        List<TransactionSynchronization> suspended = List.of();
+        if (active) {
+            suspended = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        try {
+            doTaskPerTransaction();
+        } finally {
+            if (active) {
+                TransactionSynchronizationManager.initSynchronization();
+                suspended.forEach(TransactionSynchronizationManager::registerSynchronization);
+            }
+        }
+    }
+
+    private static void doTaskPerTransaction() {
+        ProvisioningProfile<PullTask, PullActions> profile =
+                new ProvisioningProfile<>(mock(Connector.class), mock(PullTask.class));
+        profile.setDryRun(true);
+
+        AtomicInteger loaded = new AtomicInteger();
+        WorkerProvisioningProfile<PullTask, PullActions> workerProfile = new WorkerProvisioningProfile<>(
+                profile, () -> {
+                    loaded.incrementAndGet();
+                    return mock(PullTask.class);
+                });
+
+        // shares results and settings with the job profile, but not the task
+        assertSame(profile.getConnector(), workerProfile.getConnector());
+        workerProfile.getResults().add(new ProvisioningReport());
+        assertEquals(1, profile.getResults().size());
+        assertEquals(profile.isDryRun(), workerProfile.isDryRun());
+        assertNotSame(profile.getTask(), workerProfile.getTask());
+
+        // without transaction, the task is obtained every time
+        assertEquals(1, loaded.get());
+        workerProfile.getTask();
+        assertEquals(2, loaded.get());
+
+        // within a transaction, the task is obtained once, then released when the transaction completes
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            PullTask task = workerProfile.getTask();
+            assertSame(task, workerProfile.getTask());
+            assertEquals(3, loaded.get());
+
+            TransactionSynchronizationManager.getSynchronizations().
+                    forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            assertNotSame(task, workerProfile.getTask());
+            assertEquals(4, loaded.get());
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations().
+                    forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
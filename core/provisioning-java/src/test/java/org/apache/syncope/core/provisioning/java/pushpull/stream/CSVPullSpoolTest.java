@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import org.apache.syncope.common.lib.to.ProvisioningReport;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class CSVPullSpoolTest extends AbstractTest {
+
+    @Autowired
+    private CSVPullSpool spool;
+
+    private static ProvisioningReport report(final String name) {
+        ProvisioningReport report = new ProvisioningReport();
+        report.setName(name);
+        report.setStatus(ProvisioningReport.Status.SUCCESS);
+        return report;
+    }
+
+    private static String spool(final CSVPullSpool spool) throws IOException {
+        return spool.spool(new ByteArrayInputStream("username\nrossini\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void spool() throws IOException {
+        String key = spool(spool);
+        try (InputStream csv = spool.getCSV(key).get()) {
+            assertEquals("username\nrossini\n", new String(csv.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(spool.getReports(key).get().isEmpty());
+
+        assertTrue(spool.report(key, report("rossini")));
+        List<ProvisioningReport> reports = spool.getReports(key).get();
+        assertEquals(1, reports.size());
+        assertEquals("rossini", reports.get(0).getName());
+
+        // once completed, the CSV content is removed but reports are still available
+        spool.completed(key);
+        assertFalse(spool.getCSV(key).isPresent());
+        assertEquals(1, spool.getReports(key).get().size());
+
+        assertTrue(spool.delete(key));
+        assertFalse(spool.getReports(key).isPresent());
+        assertFalse(spool.delete(key));
+
+        // reports of removed pulls are not stored, so that the pulling job - wherever running - can stop
+        assertFalse(spool.report(key, report("verdi")));
+    }
+
+    @Test
+    public void expiry() throws IOException {
+        // pulls expire as soon as stored or completed
+        CSVPullSpool expiring = new CSVPullSpool(Duration.ofMinutes(-1));
+        ApplicationContextProvider.getBeanFactory().autowireBean(expiring);
+
+        String key = spool(expiring);
+        expiring.report(key, report("rossini"));
+        expiring.completed(key);
+        assertTrue(expiring.getReports(key).isPresent());
+
+        // expired pulls are removed as further CSV files are stored
+        String other = spool(spool);
+        entityManager().flush();
+        entityManager().clear();
+        assertFalse(spool.getReports(key).isPresent());
+        assertTrue(spool.getReports(other).isPresent());
+    }
+}
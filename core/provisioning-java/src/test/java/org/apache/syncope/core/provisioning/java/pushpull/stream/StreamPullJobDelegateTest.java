@@ -20,12 +20,18 @@ package org.apache.syncope.core.provisioning.java.pushpull.stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.PullTaskTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
@@ -35,20 +41,76 @@ import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.UnmatchingRule;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.task.PullTask;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.common.lib.to.ProvisioningReport;
 import org.apache.syncope.common.rest.api.beans.CSVPullSpec;
+import org.apache.syncope.core.provisioning.api.pushpull.GroupPullResultHandler;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.stream.SyncopeStreamPullExecutor;
 import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.identityconnectors.framework.common.objects.SyncDelta;
 import org.junit.jupiter.api.Test;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Transactional("Master")
 public class StreamPullJobDelegateTest extends AbstractTest {
 
+    /**
+     * Transaction management is not enabled in the test context: gives each row handled by workers its own
+     * transaction, as the handlers do at runtime.
+     */
+    public static class TransactionalWorkersPullJobDelegate extends StreamPullJobDelegate {
+
+        @Autowired
+        @Qualifier("Master")
+        private PlatformTransactionManager txManager;
+
+        @Override
+        protected SyncopePullResultHandler buildWorkerHandler(
+                final AnyTypeKind kind,
+                final List<GroupPullResultHandler> ghandlers,
+                final Supplier<PullTask> task) {
+
+            SyncopePullResultHandler handler = super.buildWorkerHandler(kind, ghandlers, task);
+            TransactionTemplate txTemplate = new TransactionTemplate(txManager);
+            return new SyncopePullResultHandler() {
+
+                @Override
+                public ProvisioningProfile<PullTask, PullActions> getProfile() {
+                    return handler.getProfile();
+                }
+
+                @Override
+                public void setProfile(final ProvisioningProfile<PullTask, PullActions> profile) {
+                    handler.setProfile(profile);
+                }
+
+                @Override
+                public void setPullExecutor(final SyncopePullExecutor executor) {
+                    handler.setPullExecutor(executor);
+                }
+
+                @Override
+                public boolean handle(final SyncDelta delta) {
+                    return txTemplate.execute(status -> handler.handle(delta));
+                }
+            };
+        }
+    }
+
     @Autowired
     private SyncopeStreamPullExecutor streamPullExecutor;
 
@@ -58,6 +120,10 @@ public class StreamPullJobDelegateTest extends AbstractTest {
     @Autowired
     private UserDAO userDAO;
 
+    @Autowired
+    @Qualifier("Master")
+    private PlatformTransactionManager txManager;
+
     @Test
     public void pull() throws JobExecutionException, IOException {
         List<String> columns = List.of(
@@ -103,7 +169,8 @@ public class StreamPullJobDelegateTest extends AbstractTest {
                         ConflictResolutionAction.IGNORE,
                         null,
                         connector,
-                        pullTask);
+                        pullTask,
+                        "StreamPullJobDelegateTest");
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
@@ -122,4 +189,95 @@ public class StreamPullJobDelegateTest extends AbstractTest {
         assertEquals("donizetti", donizetti.getUsername());
         assertEquals("Gaetano", donizetti.getPlainAttr("firstname").get().getValuesAsStrings().get(0));
     }
+
+    /**
+     * Rows are handled by workers, each in its own transaction: no test transaction is started, and pulled users
+     * are removed afterwards.
+     */
+    @Test
+    @Transactional(value = "Master", propagation = Propagation.NOT_SUPPORTED)
+    public void concurrentPull() {
+        List<String> columns = List.of("username", "email", "surname", "firstname", "fullname", "userId");
+
+        StringBuilder csv = new StringBuilder();
+        csv.append(columns.stream().collect(Collectors.joining(",")));
+        csv.append('\n');
+        IntStream.range(0, 20).forEach(i -> {
+            csv.append("concurrent").append(i).append(',');
+            csv.append("concurrent").append(i).append("@apache.org,");
+            csv.append("Concurrent,");
+            csv.append("User").append(i).append(',');
+            csv.append("User").append(i).append(" Concurrent,");
+            csv.append("concurrent").append(i).append("@apache.org");
+            csv.append('\n');
+        });
+
+        PullTaskTO pullTask = new PullTaskTO();
+        pullTask.setDestinationRealm(SyncopeConstants.ROOT_REALM);
+        pullTask.setRemediation(false);
+        pullTask.setMatchingRule(MatchingRule.UPDATE);
+        pullTask.setUnmatchingRule(UnmatchingRule.PROVISION);
+        pullTask.setThreadPoolSize(4);
+        pullTask.setQueueCapacity(2);
+
+        // as for asynchronous CSV pull: a new delegate, handing reports over as rows are handled
+        StreamPullJobDelegate delegate = (StreamPullJobDelegate) ApplicationContextProvider.getBeanFactory().
+                createBean(TransactionalWorkersPullJobDelegate.class, AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false);
+        List<ProvisioningReport> reports = Collections.synchronizedList(new ArrayList<>());
+        delegate.setReportConsumer(reports::add);
+
+        TransactionTemplate txTemplate = new TransactionTemplate(txManager);
+        List<ProvisioningReport> results = txTemplate.execute(status -> AuthContextUtils.callAsAdmin(
+                SyncopeConstants.MASTER_DOMAIN, () -> {
+                    try (CSVStreamConnector connector = new CSVStreamConnector(
+                            "username",
+                            ";",
+                            new CsvSchema.Builder().setUseHeader(true),
+                            new ByteArrayInputStream(csv.toString().getBytes()),
+                            null)) {
+
+                        return delegate.pull(
+                                anyTypeDAO.findUser(),
+                                "username",
+                                connector.getColumns(new CSVPullSpec()),
+                                ConflictResolutionAction.IGNORE,
+                                null,
+                                connector,
+                                pullTask,
+                                "StreamPullJobDelegateTest");
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+
+        try {
+            assertTrue(results.isEmpty());
+            assertTrue(delegate.currentStatus().contains("20"));
+
+            assertEquals(20, reports.size());
+            assertTrue(reports.stream().allMatch(report -> report.getStatus() == ProvisioningReport.Status.SUCCESS
+                    && report.getOperation() == ResourceOperation.CREATE));
+            assertEquals(
+                    IntStream.range(0, 20).mapToObj(i -> "concurrent" + i).collect(Collectors.toSet()),
+                    reports.stream().map(ProvisioningReport::getName).collect(Collectors.toSet()));
+
+            txTemplate.executeWithoutResult(status -> AuthContextUtils.callAsAdmin(
+                    SyncopeConstants.MASTER_DOMAIN, () -> {
+                        reports.forEach(report -> {
+                            User user = userDAO.find(report.getKey());
+                            assertNotNull(user);
+                            assertEquals(report.getName(), user.getUsername());
+                            assertEquals("Concurrent", user.getPlainAttr("surname").get().getValuesAsStrings().get(0));
+                        });
+                        return null;
+                    }));
+        } finally {
+            txTemplate.executeWithoutResult(status -> AuthContextUtils.callAsAdmin(
+                    SyncopeConstants.MASTER_DOMAIN, () -> {
+                        IntStream.range(0, 20).mapToObj(i -> userDAO.findByUsername("concurrent" + i)).
+                                filter(Objects::nonNull).forEach(userDAO::delete);
+                        return null;
+                    }));
+        }
+    }
 }
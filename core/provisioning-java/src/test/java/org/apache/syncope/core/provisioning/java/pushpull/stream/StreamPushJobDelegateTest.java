@@ -25,11 +25,15 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.to.ProvisioningReport;
@@ -118,4 +122,47 @@ public class StreamPushJobDelegateTest extends AbstractTest {
             }
         }
     }
+
+    @Test
+    public void pushInBatches() throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        PushTaskTO pushTask = new PushTaskTO();
+        pushTask.setMatchingRule(MatchingRule.UPDATE);
+        pushTask.setUnmatchingRule(UnmatchingRule.PROVISION);
+
+        // reverse order, to check that it is preserved within each batch
+        List<String> keys = new ArrayList<>(userDAO.findAllKeys(1, 100));
+        Collections.reverse(keys);
+        List<List<String>> batches = List.of(
+                keys.subList(0, 2), keys.subList(2, 3), keys.subList(3, keys.size()));
+
+        List<ProvisioningReport> results = AuthContextUtils.callAsAdmin(SyncopeConstants.MASTER_DOMAIN, () -> {
+            try (CSVStreamConnector connector = new CSVStreamConnector(
+                    null,
+                    ";",
+                    new CsvSchema.Builder().setUseHeader(true),
+                    null,
+                    os)) {
+
+                return streamPushExecutor.push(
+                        anyTypeDAO.findUser(),
+                        batches.iterator(),
+                        List.of("username", "email"),
+                        connector,
+                        List.of(),
+                        pushTask,
+                        "user");
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertEquals(keys, results.stream().map(ProvisioningReport::getKey).collect(Collectors.toList()));
+
+        MappingIterator<Map<String, String>> reader = new CsvMapper().readerFor(Map.class).
+                with(CsvSchema.emptySchema().withHeader()).readValues(os.toByteArray());
+        assertEquals(
+                results.stream().map(ProvisioningReport::getName).collect(Collectors.toList()),
+                reader.readAll().stream().map(row -> row.get("username")).collect(Collectors.toList()));
+    }
 }
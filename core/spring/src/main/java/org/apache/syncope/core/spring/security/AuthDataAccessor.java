@@ -129,6 +129,9 @@ public class AuthDataAccessor {
     @Autowired
     protected ImplementationLookup implementationLookup;
 
+    @Autowired
+    protected JWTPrincipalCache principalCache;
+
     private Map<String, JWTSSOProvider> jwtSSOProviders;
 
     public JWTSSOProvider getJWTSSOProvider(final String issuer) {
@@ -366,6 +369,7 @@ public class AuthDataAccessor {
     public Pair<String, Set<SyncopeGrantedAuthority>> authenticate(final JWTAuthentication authentication) {
         String username;
         Set<SyncopeGrantedAuthority> authorities;
+        String userKey;
 
         if (adminUser.equals(authentication.getClaims().getSubject())) {
             AccessToken accessToken = accessTokenDAO.find(authentication.getClaims().getJWTID());
@@ -376,6 +380,7 @@ public class AuthDataAccessor {
 
             username = adminUser;
             authorities = getAdminAuthorities();
+            userKey = null;
         } else {
             JWTSSOProvider jwtSSOProvider = getJWTSSOProvider(authentication.getClaims().getIssuer());
             Pair<User, Set<SyncopeGrantedAuthority>> resolved = jwtSSOProvider.resolve(authentication.getClaims());
@@ -386,6 +391,7 @@ public class AuthDataAccessor {
             }
 
             User user = resolved.getLeft();
+            userKey = user.getKey();
             username = user.getUsername();
             authorities = resolved.getRight() == null ? Set.of() : resolved.getRight();
             LOG.debug("JWT {} issued by {} resolved to User {} with authorities {}",
@@ -409,7 +415,9 @@ public class AuthDataAccessor {
             }
         }
 
-        return Pair.of(username, authorities);
+        Pair<String, Set<SyncopeGrantedAuthority>> principal = Pair.of(username, authorities);
+        principalCache.put(authentication.getDetails().getDomain(), authentication.getClaims(), userKey, principal);
+        return principal;
     }
 
     @Transactional
@@ -55,18 +55,22 @@ public class JWTAuthenticationFilter extends BasicAuthenticationFilter {
 
     private final DefaultCredentialChecker credentialChecker;
 
+    private final JWTPrincipalCache principalCache;
+
     public JWTAuthenticationFilter(
             final AuthenticationManager authenticationManager,
             final AuthenticationEntryPoint authenticationEntryPoint,
             final SyncopeAuthenticationDetailsSource authenticationDetailsSource,
             final AuthDataAccessor dataAccessor,
-            final DefaultCredentialChecker credentialChecker) {
+            final DefaultCredentialChecker credentialChecker,
+            final JWTPrincipalCache principalCache) {
 
         super(authenticationManager);
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.authenticationDetailsSource = authenticationDetailsSource;
         this.dataAccessor = dataAccessor;
         this.credentialChecker = credentialChecker;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -97,12 +101,12 @@ public class JWTAuthenticationFilter extends BasicAuthenticationFilter {
 
             JWTAuthentication jwtAuthentication =
                     new JWTAuthentication(jwt.getJWTClaimsSet(), authenticationDetailsSource.buildDetails(request));
-            AuthContextUtils.callAsAdmin(jwtAuthentication.getDetails().getDomain(), () -> {
-                Pair<String, Set<SyncopeGrantedAuthority>> authenticated = dataAccessor.authenticate(jwtAuthentication);
-                jwtAuthentication.setUsername(authenticated.getLeft());
-                jwtAuthentication.getAuthorities().addAll(authenticated.getRight());
-                return null;
-            });
+            Pair<String, Set<SyncopeGrantedAuthority>> authenticated = principalCache.get(
+                    jwtAuthentication.getDetails().getDomain(), jwtAuthentication.getClaims()).
+                    orElseGet(() -> AuthContextUtils.callAsAdmin(jwtAuthentication.getDetails().getDomain(),
+                    () -> dataAccessor.authenticate(jwtAuthentication)));
+            jwtAuthentication.setUsername(authenticated.getLeft());
+            jwtAuthentication.getAuthorities().addAll(authenticated.getRight());
             SecurityContextHolder.getContext().setAuthentication(jwtAuthentication);
 
             chain.doFilter(request, response);
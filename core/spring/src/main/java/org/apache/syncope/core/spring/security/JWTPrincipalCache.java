@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
+import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
+import org.apache.syncope.core.provisioning.api.event.PrincipalChangedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-domain cache of the principals resolved from JWTs, so that repeated requests bearing the same JWT do not need
+ * to access the internal storage again.
+ *
+ * Each entry is kept until the earliest between JWT expiration and the configured maximum TTL, unless the related user
+ * or access token, or any role, is changed in the meantime - either locally or on another node of the same cluster.
+ */
+public class JWTPrincipalCache {
+
+    protected static class Entry {
+
+        protected final String issuer;
+
+        protected final String subject;
+
+        protected final String userKey;
+
+        protected final Pair<String, Set<SyncopeGrantedAuthority>> principal;
+
+        protected final long expireAt;
+
+        protected Entry(
+                final JWTClaimsSet claims,
+                final String userKey,
+                final Pair<String, Set<SyncopeGrantedAuthority>> principal,
+                final long expireAt) {
+
+            this.issuer = claims.getIssuer();
+            this.subject = claims.getSubject();
+            this.userKey = userKey;
+            this.principal = principal;
+            this.expireAt = expireAt;
+        }
+    }
+
+    protected static class DomainEntries {
+
+        protected final Map<String, Entry> byJWTID = new ConcurrentHashMap<>();
+
+        protected final Map<String, Set<String>> byUser = new ConcurrentHashMap<>();
+
+        protected void clear() {
+            byJWTID.clear();
+            byUser.clear();
+        }
+    }
+
+    protected final long maxTtl;
+
+    protected final int maxSize;
+
+    protected final Map<String, DomainEntries> domains = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxTtl maximum time, in seconds, to keep each entry; values lower than 1 disable caching
+     * @param maxSize maximum number of entries per domain
+     */
+    public JWTPrincipalCache(final long maxTtl, final int maxSize) {
+        this.maxTtl = maxTtl * 1000L;
+        this.maxSize = maxSize;
+    }
+
+    public Optional<Pair<String, Set<SyncopeGrantedAuthority>>> get(final String domain, final JWTClaimsSet claims) {
+        DomainEntries entries = domains.get(domain);
+        if (entries == null || claims.getJWTID() == null) {
+            return Optional.empty();
+        }
+
+        Entry entry = entries.byJWTID.get(claims.getJWTID());
+        if (entry == null
+                || !Objects.equals(entry.issuer, claims.getIssuer())
+                || !Objects.equals(entry.subject, claims.getSubject())) {
+
+            return Optional.empty();
+        }
+        if (entry.expireAt <= System.currentTimeMillis()) {
+            entries.byJWTID.remove(claims.getJWTID(), entry);
+            return Optional.empty();
+        }
+
+        return Optional.of(entry.principal);
+    }
+
+    public void put(
+            final String domain,
+            final JWTClaimsSet claims,
+            final String userKey,
+            final Pair<String, Set<SyncopeGrantedAuthority>> principal) {
+
+        if (maxTtl <= 0 || claims.getJWTID() == null || claims.getExpirationTime() == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long expireAt = Math.min(now + maxTtl, claims.getExpirationTime().getTime());
+        if (expireAt <= now) {
+            return;
+        }
+
+        DomainEntries entries = domains.computeIfAbsent(domain, k -> new DomainEntries());
+        if (entries.byJWTID.size() >= maxSize) {
+            entries.byJWTID.values().removeIf(entry -> entry.expireAt <= now);
+            if (entries.byJWTID.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+
+        entries.byJWTID.put(claims.getJWTID(), new Entry(claims, userKey, principal, expireAt));
+        if (userKey != null) {
+            entries.byUser.computeIfAbsent(userKey, k -> ConcurrentHashMap.newKeySet()).add(claims.getJWTID());
+        }
+    }
+
+    /**
+     * Discards the entries about the given user or access token; all entries for the given domain if both are
+     * {@code null}.
+     *
+     * @param domain domain
+     * @param userKey user key
+     * @param accessTokenKey access token key, e.g. JWT id
+     */
+    public void invalidate(final String domain, final String userKey, final String accessTokenKey) {
+        DomainEntries entries = domains.get(domain);
+        if (entries == null) {
+            return;
+        }
+
+        if (accessTokenKey != null) {
+            entries.byJWTID.remove(accessTokenKey);
+        }
+        if (userKey != null) {
+            Optional.ofNullable(entries.byUser.remove(userKey)).ifPresent(jwtIDs -> jwtIDs.forEach(
+                    entries.byJWTID::remove));
+        }
+        if (accessTokenKey == null && userKey == null) {
+            entries.clear();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void changed(final PrincipalChangedEvent event) {
+        invalidate(event.getDomain(), event.getUserKey(), event.getAccessTokenKey());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void changed(final AnyCreatedUpdatedEvent<Any<?>> event) {
+        if (event.getAny() instanceof User) {
+            invalidate(event.getDomain(), event.getAny().getKey(), null);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void changed(final AnyDeletedEvent event) {
+        if (event.getAnyTypeKind() == AnyTypeKind.USER) {
+            invalidate(event.getDomain(), event.getAnyKey(), null);
+        }
+    }
+}
@@ -107,6 +107,14 @@ public class SecurityContext implements EnvironmentAware {
                 jwsKey());
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public JWTPrincipalCache jwtPrincipalCache() {
+        return new JWTPrincipalCache(
+                env.getProperty("jwtPrincipalCache.maxTtl", Long.class, 60L),
+                env.getProperty("jwtPrincipalCache.maxSize", Integer.class, 10000));
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public PasswordGenerator passwordGenerator() {
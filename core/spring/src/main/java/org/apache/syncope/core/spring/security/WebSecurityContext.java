@@ -100,7 +100,8 @@ public class WebSecurityContext extends WebSecurityConfigurerAdapter {
                 basicAuthenticationEntryPoint,
                 authenticationDetailsSource,
                 ctx.getBean(AuthDataAccessor.class),
-                ctx.getBean(DefaultCredentialChecker.class));
+                ctx.getBean(DefaultCredentialChecker.class),
+                ctx.getBean(JWTPrincipalCache.class));
 
         http.authorizeRequests().
                 antMatchers("/**").permitAll().and().
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.util.Date;
+import java.util.Set;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.IdRepoEntitlement;
+import org.apache.syncope.core.provisioning.api.event.PrincipalChangedEvent;
+import org.junit.jupiter.api.Test;
+
+public class JWTPrincipalCacheTest {
+
+    private static JWTClaimsSet claims(final String jwtId, final String subject, final long expiresIn) {
+        return new JWTClaimsSet.Builder().
+                jwtID(jwtId).
+                subject(subject).
+                issuer("issuer").
+                expirationTime(new Date(System.currentTimeMillis() + expiresIn)).
+                build();
+    }
+
+    private static Pair<String, Set<SyncopeGrantedAuthority>> principal(final String username) {
+        return Pair.of(username, Set.of(new SyncopeGrantedAuthority(IdRepoEntitlement.USER_READ)));
+    }
+
+    @Test
+    public void getAndPut() {
+        JWTPrincipalCache cache = new JWTPrincipalCache(60, 10);
+
+        JWTClaimsSet claims = claims("jwt1", "user1", 60000);
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, claims).isPresent());
+
+        cache.put(SyncopeConstants.MASTER_DOMAIN, claims, "key1", principal("user1"));
+        assertEquals(principal("user1"), cache.get(SyncopeConstants.MASTER_DOMAIN, claims).get());
+
+        // same JWT id, but different domain or subject
+        assertFalse(cache.get("Two", claims).isPresent());
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, claims("jwt1", "user2", 60000)).isPresent());
+
+        // expired JWT
+        JWTClaimsSet expired = claims("jwt2", "user1", -1000);
+        cache.put(SyncopeConstants.MASTER_DOMAIN, expired, "key1", principal("user1"));
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, expired).isPresent());
+
+        // caching disabled
+        JWTPrincipalCache disabled = new JWTPrincipalCache(0, 10);
+        disabled.put(SyncopeConstants.MASTER_DOMAIN, claims, "key1", principal("user1"));
+        assertFalse(disabled.get(SyncopeConstants.MASTER_DOMAIN, claims).isPresent());
+    }
+
+    @Test
+    public void invalidate() {
+        JWTPrincipalCache cache = new JWTPrincipalCache(60, 10);
+
+        JWTClaimsSet claims1 = claims("jwt1", "user1", 60000);
+        JWTClaimsSet claims2 = claims("jwt2", "user1", 60000);
+        JWTClaimsSet claims3 = claims("jwt3", "user2", 60000);
+        cache.put(SyncopeConstants.MASTER_DOMAIN, claims1, "key1", principal("user1"));
+        cache.put(SyncopeConstants.MASTER_DOMAIN, claims2, "key1", principal("user1"));
+        cache.put(SyncopeConstants.MASTER_DOMAIN, claims3, "key2", principal("user2"));
+
+        cache.changed(new PrincipalChangedEvent(this, SyncopeConstants.MASTER_DOMAIN, null, "jwt1"));
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, claims1).isPresent());
+        assertTrue(cache.get(SyncopeConstants.MASTER_DOMAIN, claims2).isPresent());
+
+        cache.changed(new PrincipalChangedEvent(this, SyncopeConstants.MASTER_DOMAIN, "key1", null));
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, claims2).isPresent());
+        assertTrue(cache.get(SyncopeConstants.MASTER_DOMAIN, claims3).isPresent());
+
+        cache.changed(new PrincipalChangedEvent(this, SyncopeConstants.MASTER_DOMAIN, null, null));
+        assertFalse(cache.get(SyncopeConstants.MASTER_DOMAIN, claims3).isPresent());
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.elasticsearch.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.DomainHolder;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Keeps the Elasticsearch indexes in line with users, groups and any objects by means of bulk requests.
+ *
+ * Keys of changed users, groups and any objects are collected per domain - multiple changes to the same key
+ * resulting in a single request - and flushed by a background thread as soon as {@code bulkSize} keys are pending or,
+ * otherwise, every {@code flushInterval} milliseconds.
+ * Documents are built at flush time out of the current content: existing items are indexed anew, missing ones are
+ * removed from the index.
+ * Items which could not be indexed are offered to the {@link ElasticsearchRetryQueue}, polled again every
+ * {@code retryInterval} milliseconds.
+ * While the indexes behind an alias are being rebuilt, keys about to be indexed are also recorded in the
+ * {@link ElasticsearchChangeLog}, to be replayed on the new index before this is put behind the alias.
+ */
+public class ElasticsearchBulkIndexer implements InitializingBean, DisposableBean {
+
+    protected static final Logger LOG = LoggerFactory.getLogger(ElasticsearchBulkIndexer.class);
+
+    @Autowired
+    protected RestHighLevelClient client;
+
+    @Autowired
+    protected ElasticsearchUtils elasticsearchUtils;
+
+    @Autowired
+    protected ElasticsearchRetryQueue retryQueue;
+
+    @Autowired
+    protected ElasticsearchChangeLog changeLog;
+
+    @Autowired
+    protected DomainHolder domainHolder;
+
+    protected int bulkSize = 500;
+
+    protected long flushInterval = 1000;
+
+    protected long retryInterval = 60000;
+
+    protected int reindexWorkers = 4;
+
+    protected final Map<String, Set<Pair<AnyTypeKind, String>>> pending = new ConcurrentHashMap<>();
+
+    protected final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    protected ScheduledExecutorService scheduler;
+
+    public int getBulkSize() {
+        return bulkSize;
+    }
+
+    public void setBulkSize(final int bulkSize) {
+        this.bulkSize = bulkSize;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(final long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public long getRetryInterval() {
+        return retryInterval;
+    }
+
+    public void setRetryInterval(final long retryInterval) {
+        this.retryInterval = retryInterval;
+    }
+
+    public int getReindexWorkers() {
+        return reindexWorkers;
+    }
+
+    public void setReindexWorkers(final int reindexWorkers) {
+        this.reindexWorkers = reindexWorkers;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "elasticsearchBulkIndexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::retry, retryInterval, retryInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.execute(this::flush);
+            scheduler.shutdown();
+            if (!scheduler.awaitTermination(flushInterval + 10000, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Pending items not indexed: {}", pending);
+            }
+        }
+    }
+
+    protected Set<Pair<AnyTypeKind, String>> pending(final String domain) {
+        return pending.computeIfAbsent(domain, d -> new LinkedHashSet<>());
+    }
+
+    /**
+     * Schedules the given users, groups or any objects for indexing.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param keys any keys
+     */
+    public void enqueue(final String domain, final AnyTypeKind kind, final Collection<String> keys) {
+        Set<Pair<AnyTypeKind, String>> queue = pending(domain);
+        int size;
+        synchronized (queue) {
+            keys.forEach(key -> queue.add(Pair.of(kind, key)));
+            size = queue.size();
+        }
+
+        if (size >= bulkSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * Starts recording the keys of users, groups or any objects changed in the given domain, to be replayed once the
+     * new index for the given kind has been populated.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     */
+    public void startChangeLog(final String domain, final AnyTypeKind kind) {
+        AuthContextUtils.callAsAdmin(domain, () -> {
+            changeLog.start(domain, kind);
+            return null;
+        });
+    }
+
+    /**
+     * Removes and returns the keys recorded so far.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @return keys recorded since the change log was started or last drained
+     */
+    public List<String> drainChangeLog(final String domain, final AnyTypeKind kind) {
+        return AuthContextUtils.callAsAdmin(domain, () -> changeLog.drain(domain, kind));
+    }
+
+    /**
+     * Stops recording and returns the keys recorded since last drained.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @return keys recorded since the change log was last drained
+     */
+    public List<String> stopChangeLog(final String domain, final AnyTypeKind kind) {
+        return AuthContextUtils.callAsAdmin(domain, () -> changeLog.stop(domain, kind));
+    }
+
+    protected List<Pair<AnyTypeKind, String>> drain(final String domain, final int max) {
+        List<Pair<AnyTypeKind, String>> items = new ArrayList<>();
+
+        Set<Pair<AnyTypeKind, String>> queue = pending(domain);
+        synchronized (queue) {
+            for (Iterator<Pair<AnyTypeKind, String>> itor = queue.iterator(); itor.hasNext() && items.size() < max;) {
+                items.add(itor.next());
+                itor.remove();
+            }
+        }
+
+        return items;
+    }
+
+    /**
+     * Indexes all pending items.
+     */
+    public void flush() {
+        flushRequested.set(false);
+
+        pending.keySet().forEach(domain -> {
+            try {
+                for (List<Pair<AnyTypeKind, String>> items = drain(domain, bulkSize); !items.isEmpty();
+                        items = drain(domain, bulkSize)) {
+
+                    index(domain, items);
+                }
+            } catch (Exception e) {
+                LOG.error("While indexing pending items for domain {}", domain, e);
+            }
+        });
+    }
+
+    /**
+     * Attempts again to index the items found in the retry queue, for all domains.
+     */
+    protected void retry() {
+        domainHolder.getDomains().keySet().forEach(domain -> {
+            try {
+                // stop as soon as some failure is reported, as further attempts are likely to fail as well
+                List<Pair<AnyTypeKind, String>> items = poll(domain);
+                while (!items.isEmpty() && index(domain, items) == 0) {
+                    items = poll(domain);
+                }
+            } catch (Exception e) {
+                LOG.error("While polling retry queue for domain {}", domain, e);
+            }
+        });
+    }
+
+    protected List<Pair<AnyTypeKind, String>> poll(final String domain) {
+        return AuthContextUtils.callAsAdmin(domain, () -> retryQueue.poll(domain, bulkSize));
+    }
+
+    protected static boolean isRetryable(final RestStatus status) {
+        return status == RestStatus.TOO_MANY_REQUESTS || status.getStatus() >= 500;
+    }
+
+    /**
+     * Indexes the given items with a bulk request per any type kind; those which could not be indexed because of
+     * transient failures are offered to the retry queue.
+     * Keys are recorded in the change log before being indexed: either the change is committed before the indexes
+     * started being rebuilt, hence loaded into the new index, or it is replayed later on.
+     *
+     * @param domain domain
+     * @param items any type kind and key of the items to index
+     * @return number of items offered to the retry queue
+     */
+    public int index(final String domain, final List<Pair<AnyTypeKind, String>> items) {
+        Map<AnyTypeKind, List<String>> byKind = items.stream().collect(Collectors.groupingBy(
+                Pair::getLeft,
+                () -> new EnumMap<>(AnyTypeKind.class),
+                Collectors.mapping(Pair::getRight, Collectors.toList())));
+
+        int failed = 0;
+        for (Map.Entry<AnyTypeKind, List<String>> entry : byKind.entrySet()) {
+            try {
+                AuthContextUtils.callAsAdmin(domain, () -> {
+                    changeLog.record(domain, entry.getKey(), entry.getValue());
+                    return null;
+                });
+            } catch (Exception e) {
+                LOG.error("Could not record in the change log: {} {}", entry.getKey(), entry.getValue(), e);
+            }
+
+            List<String> keys = index(
+                    domain, entry.getKey(), entry.getValue(),
+                    ElasticsearchUtils.getContextDomainName(domain, entry.getKey()));
+            if (!keys.isEmpty()) {
+                LOG.warn("Offering {} {} for domain {} to the retry queue", keys.size(), entry.getKey(), domain);
+                try {
+                    AuthContextUtils.callAsAdmin(domain, () -> {
+                        retryQueue.offer(domain, entry.getKey(), keys);
+                        return null;
+                    });
+                } catch (Exception e) {
+                    LOG.error("Could not offer to the retry queue: {} {}", entry.getKey(), keys, e);
+                }
+                failed += keys.size();
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Indexes the given users, groups or any objects on the given index or alias, with a single bulk request.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param keys any keys
+     * @param index index or alias name
+     * @return keys which could not be indexed because of transient failures
+     */
+    public List<String> index(
+            final String domain,
+            final AnyTypeKind kind,
+            final List<String> keys,
+            final String index) {
+
+        return AuthContextUtils.callAsAdmin(domain, () -> {
+            List<String> failed = new ArrayList<>();
+            try {
+                BulkRequest bulkRequest = new BulkRequest();
+                bulkRequest.add(elasticsearchUtils.requests(index, kind, keys));
+
+                // response items are reported in the same order as requests, hence as keys
+                BulkResponse response = client.bulk(bulkRequest, RequestOptions.DEFAULT);
+                if (response.hasFailures()) {
+                    BulkItemResponse[] responseItems = response.getItems();
+                    for (int i = 0; i < responseItems.length; i++) {
+                        if (responseItems[i].isFailed()) {
+                            if (isRetryable(responseItems[i].getFailure().getStatus())) {
+                                failed.add(keys.get(i));
+                            } else {
+                                LOG.error("Could not index {} {}: {}",
+                                        kind, keys.get(i), responseItems[i].getFailureMessage());
+                            }
+                        }
+                    }
+                }
+                LOG.debug("{} {} indexed on {} in {}", keys.size() - failed.size(), kind, index, response.getTook());
+            } catch (Exception e) {
+                LOG.error("While indexing {} {} on {}", keys.size(), kind, index, e);
+
+                failed.clear();
+                failed.addAll(keys);
+            }
+            return failed;
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "ElasticsearchBulkIndexer{"
+                + "bulkSize=" + bulkSize + ", flushInterval=" + flushInterval + ", retryInterval=" + retryInterval
+                + ", pending=" + pending.values().stream().mapToInt(Set::size).sum()
+                + '}';
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.elasticsearch.client;
+
+import java.util.Collection;
+import java.util.List;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+
+/**
+ * Records the users, groups and any objects changed while the indexes behind some alias are being rebuilt, so that
+ * such changes can be replayed on the new index before this is put behind the alias.
+ *
+ * As changes might be handled by any node of the cluster while the indexes are rebuilt by one of them, implementations
+ * are expected to rely on storage shared among nodes.
+ * All methods are always invoked within the context of the given domain.
+ */
+public interface ElasticsearchChangeLog {
+
+    /**
+     * Starts recording the changes for the given kind, discarding any leftover from previous recordings.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     */
+    void start(String domain, AnyTypeKind kind);
+
+    /**
+     * Records the given keys, if recording was started for the given kind; does nothing otherwise.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param keys any keys
+     */
+    void record(String domain, AnyTypeKind kind, Collection<String> keys);
+
+    /**
+     * Removes and returns the keys recorded so far.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @return keys recorded since recording was started or last drained
+     */
+    List<String> drain(String domain, AnyTypeKind kind);
+
+    /**
+     * Stops recording and returns the keys recorded since last drained.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @return keys recorded since last drained
+     */
+    List<String> stop(String domain, AnyTypeKind kind);
+}
@@ -21,6 +21,7 @@ package org.apache.syncope.ext.elasticsearch.client;
 import java.util.List;
 
 import org.apache.http.HttpHost;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,34 @@ public class ElasticsearchClientContext {
         return new ElasticsearchIndexManager();
     }
 
+    @ConditionalOnMissingBean
+    @Bean
+    public ElasticsearchRetryQueue elasticsearchRetryQueue() {
+        return new InMemoryElasticsearchRetryQueue();
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public ElasticsearchChangeLog elasticsearchChangeLog() {
+        return new InMemoryElasticsearchChangeLog();
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public ElasticsearchBulkIndexer elasticsearchBulkIndexer(
+            @Value("${elasticsearch.indexer.bulkSize:500}") final int bulkSize,
+            @Value("${elasticsearch.indexer.flushInterval:1000}") final long flushInterval,
+            @Value("${elasticsearch.indexer.retryInterval:60000}") final long retryInterval,
+            @Value("${elasticsearch.indexer.reindexWorkers:4}") final int reindexWorkers) {
+
+        ElasticsearchBulkIndexer indexer = new ElasticsearchBulkIndexer();
+        indexer.setBulkSize(bulkSize);
+        indexer.setFlushInterval(flushInterval);
+        indexer.setRetryInterval(retryInterval);
+        indexer.setReindexWorkers(reindexWorkers);
+        return indexer;
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public ElasticsearchUtils elasticsearchUtils() {
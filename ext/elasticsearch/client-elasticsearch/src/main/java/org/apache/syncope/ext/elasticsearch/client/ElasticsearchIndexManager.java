@@ -19,27 +19,26 @@
 package org.apache.syncope.ext.elasticsearch.client;
 
 import java.io.IOException;
-import java.util.concurrent.ExecutionException;
+import java.util.Set;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
+import org.apache.syncope.core.provisioning.api.event.DynGroupMembersChangedEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.elasticsearch.action.admin.indices.alias.Alias;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
-import org.elasticsearch.action.delete.DeleteRequest;
-import org.elasticsearch.action.delete.DeleteResponse;
-import org.elasticsearch.action.get.GetRequest;
-import org.elasticsearch.action.get.GetResponse;
-import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
-import org.elasticsearch.action.update.UpdateRequest;
-import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.client.indices.CreateIndexResponse;
 import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
 import org.slf4j.Logger;
@@ -48,7 +47,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
- * Listen to any create / update and delete in order to keep the Elasticsearch indexes consistent.
+ * Listen to any create / update and delete in order to keep the Elasticsearch indexes consistent, via
+ * {@link ElasticsearchBulkIndexer}.
  */
 public class ElasticsearchIndexManager {
 
@@ -60,14 +60,34 @@ public class ElasticsearchIndexManager {
     @Autowired
     private ElasticsearchUtils elasticsearchUtils;
 
+    @Autowired
+    private ElasticsearchBulkIndexer bulkIndexer;
+
     public boolean existsIndex(final String domain, final AnyTypeKind kind) throws IOException {
         return client.indices().exists(
                 new GetIndexRequest(ElasticsearchUtils.getContextDomainName(domain, kind)), RequestOptions.DEFAULT);
     }
 
-    public void createIndex(final String domain, final AnyTypeKind kind)
-            throws InterruptedException, ExecutionException, IOException {
+    /**
+     * Returns the indexes currently behind the alias for the given domain and kind; in case an actual index (rather
+     * than an alias) with such name exists, as created by former versions, this is returned.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @return indexes currently behind the alias for the given domain and kind
+     * @throws IOException in case of errors
+     */
+    public Set<String> getIndexes(final String domain, final AnyTypeKind kind) throws IOException {
+        String alias = ElasticsearchUtils.getContextDomainName(domain, kind);
+
+        if (client.indices().existsAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT)) {
+            return client.indices().getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT).
+                    getAliases().keySet();
+        }
+        return existsIndex(domain, kind) ? Set.of(alias) : Set.of();
+    }
 
+    private CreateIndexRequest createIndexRequest(final String index, final boolean loading) throws IOException {
         XContentBuilder settings = XContentFactory.jsonBuilder().
                 startObject().
                 startObject("analysis").
@@ -84,7 +104,11 @@ public class ElasticsearchIndexManager {
                 endObject().
                 startObject("index").
                 field("number_of_shards", elasticsearchUtils.getNumberOfShards()).
-                field("number_of_replicas", elasticsearchUtils.getNumberOfReplicas()).
+                field("number_of_replicas", loading ? 0 : elasticsearchUtils.getNumberOfReplicas());
+        if (loading) {
+            settings = settings.field("refresh_interval", "-1");
+        }
+        settings = settings.
                 endObject().
                 endObject();
 
@@ -103,61 +127,135 @@ public class ElasticsearchIndexManager {
                 endArray().
                 endObject();
 
+        return new CreateIndexRequest(index).settings(settings).mapping(mapping);
+    }
+
+    /**
+     * Creates a new, empty, index for the given domain and kind, with the alias pointing to it.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @throws IOException in case of errors
+     */
+    public void createIndex(final String domain, final AnyTypeKind kind) throws IOException {
+        String alias = ElasticsearchUtils.getContextDomainName(domain, kind);
+        String index = ElasticsearchUtils.getVersionedIndexName(domain, kind);
+
         CreateIndexResponse response = client.indices().create(
-                new CreateIndexRequest(ElasticsearchUtils.getContextDomainName(domain, kind)).
-                        settings(settings).
-                        mapping(mapping), RequestOptions.DEFAULT);
-        LOG.debug("Successfully created {} for {}: {}",
-                ElasticsearchUtils.getContextDomainName(domain, kind), kind.name(), response);
+                createIndexRequest(index, false).alias(new Alias(alias)), RequestOptions.DEFAULT);
+        LOG.debug("Successfully created {} with alias {}: {}", index, alias, response);
+    }
+
+    /**
+     * Creates a new index for the given domain and kind, not reachable via the alias and with refresh and replicas
+     * disabled, for bulk loading; {@link #completeIndex(java.lang.String)} is to be invoked once done.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @return name of the created index
+     * @throws IOException in case of errors
+     */
+    public String createLoadingIndex(final String domain, final AnyTypeKind kind) throws IOException {
+        String index = ElasticsearchUtils.getVersionedIndexName(domain, kind);
+
+        CreateIndexResponse response = client.indices().create(
+                createIndexRequest(index, true), RequestOptions.DEFAULT);
+        LOG.debug("Successfully created {} for loading: {}", index, response);
+
+        return index;
+    }
+
+    /**
+     * Restores refresh and replicas for an index created via
+     * {@link #createLoadingIndex(java.lang.String, org.apache.syncope.common.lib.types.AnyTypeKind)}, then makes
+     * all loaded documents visible to searches.
+     *
+     * @param index index name
+     * @throws IOException in case of errors
+     */
+    public void completeIndex(final String index) throws IOException {
+        client.indices().putSettings(new UpdateSettingsRequest(index).settings(Settings.builder().
+                putNull("index.refresh_interval").
+                put("index.number_of_replicas", elasticsearchUtils.getNumberOfReplicas())),
+                RequestOptions.DEFAULT);
+        client.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+        LOG.debug("Successfully completed {}", index);
+    }
+
+    /**
+     * Atomically points the alias for the given domain and kind to the given index, then removes the indexes which
+     * were previously behind the alias.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param index index name
+     * @throws IOException in case of errors
+     */
+    public void swapIndex(final String domain, final AnyTypeKind kind, final String index) throws IOException {
+        String alias = ElasticsearchUtils.getContextDomainName(domain, kind);
+        boolean existsAlias = client.indices().existsAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT);
+        Set<String> previous = getIndexes(domain, kind);
+
+        IndicesAliasesRequest request = new IndicesAliasesRequest();
+        if (existsAlias) {
+            previous.forEach(old -> request.addAliasAction(
+                    IndicesAliasesRequest.AliasActions.remove().index(old).alias(alias)));
+        } else if (!previous.isEmpty()) {
+            // an actual index is taking the alias name: drop it within the same atomic operation
+            request.addAliasAction(IndicesAliasesRequest.AliasActions.removeIndex().index(alias));
+        }
+        request.addAliasAction(IndicesAliasesRequest.AliasActions.add().index(index).alias(alias));
+
+        AcknowledgedResponse response = client.indices().updateAliases(request, RequestOptions.DEFAULT);
+        LOG.debug("Successfully swapped {} to {}: {}", alias, index, response);
+
+        if (existsAlias) {
+            for (String old : previous) {
+                if (!old.equals(index)) {
+                    deleteIndex(old);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the given index.
+     *
+     * @param index index name
+     * @throws IOException in case of errors
+     */
+    public void deleteIndex(final String index) throws IOException {
+        AcknowledgedResponse response = client.indices().delete(new DeleteIndexRequest(index), RequestOptions.DEFAULT);
+        LOG.debug("Successfully removed {}: {}", index, response);
     }
 
     public void removeIndex(final String domain, final AnyTypeKind kind) throws IOException {
-        AcknowledgedResponse acknowledgedResponse = client.indices().delete(
-                new DeleteIndexRequest(ElasticsearchUtils.getContextDomainName(domain, kind)), RequestOptions.DEFAULT);
-        LOG.debug("Successfully removed {}: {}",
-                ElasticsearchUtils.getContextDomainName(domain, kind), acknowledgedResponse);
+        for (String index : getIndexes(domain, kind)) {
+            deleteIndex(index);
+        }
     }
 
     @TransactionalEventListener
-    public void after(final AnyCreatedUpdatedEvent<Any<?>> event) throws IOException {
-        GetRequest getRequest = new GetRequest(
-                ElasticsearchUtils.getContextDomainName(
-                        AuthContextUtils.getDomain(), event.getAny().getType().getKind()),
-                event.getAny().getKey());
-        GetResponse getResponse = client.get(getRequest, RequestOptions.DEFAULT);
-        if (getResponse.isExists()) {
-            LOG.debug("About to update index for {}", event.getAny());
-
-            UpdateRequest request = new UpdateRequest(
-                    ElasticsearchUtils.getContextDomainName(
-                            AuthContextUtils.getDomain(), event.getAny().getType().getKind()),
-                    event.getAny().getKey()).
-                    retryOnConflict(elasticsearchUtils.getRetryOnConflict()).
-                    doc(elasticsearchUtils.builder(event.getAny()));
-            UpdateResponse response = client.update(request, RequestOptions.DEFAULT);
-            LOG.debug("Index successfully updated for {}: {}", event.getAny(), response);
-        } else {
-            LOG.debug("About to create index for {}", event.getAny());
-
-            IndexRequest request = new IndexRequest(
-                    ElasticsearchUtils.getContextDomainName(
-                            AuthContextUtils.getDomain(), event.getAny().getType().getKind())).
-                    id(event.getAny().getKey()).
-                    source(elasticsearchUtils.builder(event.getAny()));
-            IndexResponse response = client.index(request, RequestOptions.DEFAULT);
-            LOG.debug("Index successfully created for {}: {}", event.getAny(), response);
-        }
+    public void after(final AnyCreatedUpdatedEvent<Any<?>> event) {
+        LOG.debug("About to enqueue index update for {}", event.getAny());
+
+        bulkIndexer.enqueue(
+                AuthContextUtils.getDomain(), event.getAny().getType().getKind(), Set.of(event.getAny().getKey()));
+    }
+
+    @TransactionalEventListener
+    public void after(final DynGroupMembersChangedEvent event) {
+        LOG.debug("About to enqueue index update for {} users and {} any objects, dynamic members of Group {}",
+                event.getUserKeys().size(), event.getAnyObjectKeys().size(), event.getGroupKey());
+
+        bulkIndexer.enqueue(AuthContextUtils.getDomain(), AnyTypeKind.USER, event.getUserKeys());
+        bulkIndexer.enqueue(AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT, event.getAnyObjectKeys());
     }
 
     @TransactionalEventListener
-    public void after(final AnyDeletedEvent event) throws IOException {
-        LOG.debug("About to delete index for {}[{}]", event.getAnyTypeKind(), event.getAnyKey());
-
-        DeleteRequest request = new DeleteRequest(
-                ElasticsearchUtils.getContextDomainName(AuthContextUtils.getDomain(), event.getAnyTypeKind()),
-                event.getAnyKey());
-        DeleteResponse response = client.delete(request, RequestOptions.DEFAULT);
-        LOG.debug("Index successfully deleted for {}[{}]: {}",
-                event.getAnyTypeKind(), event.getAnyKey(), response);
+    public void after(final AnyDeletedEvent event) {
+        LOG.debug("About to enqueue index removal for {}[{}]", event.getAnyTypeKind(), event.getAnyKey());
+
+        bulkIndexer.enqueue(AuthContextUtils.getDomain(), event.getAnyTypeKind(), Set.of(event.getAnyKey()));
     }
 }
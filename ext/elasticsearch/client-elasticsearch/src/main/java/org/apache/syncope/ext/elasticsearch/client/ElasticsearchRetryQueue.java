@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.elasticsearch.client;
+
+import java.util.Collection;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+
+/**
+ * Holds the users, groups and any objects which could not be indexed, until {@link ElasticsearchBulkIndexer} attempts
+ * again to index them.
+ *
+ * Both methods are always invoked within the context of the given domain.
+ */
+public interface ElasticsearchRetryQueue {
+
+    /**
+     * Enqueues the given keys.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @param keys any keys
+     */
+    void offer(String domain, AnyTypeKind kind, Collection<String> keys);
+
+    /**
+     * Removes and returns the oldest enqueued items.
+     *
+     * @param domain domain
+     * @param max maximum number of items to return
+     * @return any type kind and key of the dequeued items
+     */
+    List<Pair<AnyTypeKind, String>> poll(String domain, int max);
+}
@@ -20,11 +20,14 @@ package org.apache.syncope.ext.elasticsearch.client;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
@@ -35,6 +38,9 @@ import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -209,7 +215,57 @@ public class ElasticsearchUtils {
         return builder.endObject();
     }
 
+    /**
+     * Returns the requests for bringing the index in line with the current content of the given users, groups or any
+     * objects: these are (re)indexed if existing, removed from the index otherwise.
+     *
+     * @param index index or alias name
+     * @param kind any type kind
+     * @param keys any keys
+     * @return requests for usage within a bulk request
+     * @throws IOException in case of errors
+     */
+    @Transactional(readOnly = true)
+    public List<DocWriteRequest<?>> requests(final String index, final AnyTypeKind kind, final List<String> keys)
+            throws IOException {
+
+        AnyDAO<?> anyDAO = kind == AnyTypeKind.USER
+                ? userDAO
+                : kind == AnyTypeKind.GROUP
+                        ? groupDAO
+                        : anyObjectDAO;
+        Map<String, Any<?>> anys = new HashMap<>(keys.size());
+        anyDAO.findByKeys(keys).forEach(any -> anys.put(any.getKey(), any));
+
+        List<DocWriteRequest<?>> requests = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Any<?> any = anys.get(key);
+            requests.add(any == null
+                    ? new DeleteRequest(index, key)
+                    : new IndexRequest(index).id(key).source(builder(any)));
+        }
+        return requests;
+    }
+
+    /**
+     * Returns the alias through which the index for the given domain and kind is searched and updated.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @return alias name
+     */
     public static String getContextDomainName(final String domain, final AnyTypeKind kind) {
         return domain.toLowerCase() + '_' + kind.name().toLowerCase();
     }
+
+    /**
+     * Returns a new name for an index to be put behind the alias for the given domain and kind.
+     *
+     * @param domain domain
+     * @param kind any type kind
+     * @return versioned index name
+     */
+    public static String getVersionedIndexName(final String domain, final AnyTypeKind kind) {
+        return getContextDomainName(domain, kind) + '_' + System.currentTimeMillis();
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.elasticsearch.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+
+/**
+ * {@link ElasticsearchChangeLog} keeping keys in memory, hence only recording the changes handled by the node which
+ * is rebuilding the indexes; used when no shared implementation is available.
+ */
+public class InMemoryElasticsearchChangeLog implements ElasticsearchChangeLog {
+
+    protected final Map<String, Set<String>> changeLogs = new ConcurrentHashMap<>();
+
+    @Override
+    public void start(final String domain, final AnyTypeKind kind) {
+        changeLogs.put(ElasticsearchUtils.getContextDomainName(domain, kind), ConcurrentHashMap.newKeySet());
+    }
+
+    @Override
+    public void record(final String domain, final AnyTypeKind kind, final Collection<String> keys) {
+        Optional.ofNullable(changeLogs.get(ElasticsearchUtils.getContextDomainName(domain, kind))).
+                ifPresent(changeLog -> changeLog.addAll(keys));
+    }
+
+    @Override
+    public List<String> drain(final String domain, final AnyTypeKind kind) {
+        List<String> keys = new ArrayList<>();
+        Optional.ofNullable(changeLogs.get(ElasticsearchUtils.getContextDomainName(domain, kind))).
+                ifPresent(changeLog -> {
+                    for (Iterator<String> itor = changeLog.iterator(); itor.hasNext();) {
+                        keys.add(itor.next());
+                        itor.remove();
+                    }
+                });
+        return keys;
+    }
+
+    @Override
+    public List<String> stop(final String domain, final AnyTypeKind kind) {
+        List<String> keys = drain(domain, kind);
+        Optional.ofNullable(changeLogs.remove(ElasticsearchUtils.getContextDomainName(domain, kind))).
+                ifPresent(keys::addAll);
+        return keys;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.ext.elasticsearch.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+
+/**
+ * {@link ElasticsearchRetryQueue} keeping items in memory, hence losing them upon shutdown; used when no durable
+ * implementation is available.
+ */
+public class InMemoryElasticsearchRetryQueue implements ElasticsearchRetryQueue {
+
+    protected final Map<String, Set<Pair<AnyTypeKind, String>>> queues = new ConcurrentHashMap<>();
+
+    protected Set<Pair<AnyTypeKind, String>> queue(final String domain) {
+        return queues.computeIfAbsent(domain, d -> new LinkedHashSet<>());
+    }
+
+    @Override
+    public void offer(final String domain, final AnyTypeKind kind, final Collection<String> keys) {
+        Set<Pair<AnyTypeKind, String>> queue = queue(domain);
+        synchronized (queue) {
+            keys.forEach(key -> queue.add(Pair.of(kind, key)));
+        }
+    }
+
+    @Override
+    public List<Pair<AnyTypeKind, String>> poll(final String domain, final int max) {
+        List<Pair<AnyTypeKind, String>> items = new ArrayList<>();
+
+        Set<Pair<AnyTypeKind, String>> queue = queue(domain);
+        synchronized (queue) {
+            for (Iterator<Pair<AnyTypeKind, String>> itor = queue.iterator(); itor.hasNext() && items.size() < max;) {
+                items.add(itor.next());
+                itor.remove();
+            }
+        }
+
+        return items;
+    }
+}
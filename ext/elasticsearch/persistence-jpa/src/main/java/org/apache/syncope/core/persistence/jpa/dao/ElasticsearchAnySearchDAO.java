@@ -23,7 +23,6 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -99,8 +98,8 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
                     noRealm.getElements().add("Invalid realm specified: " + realmPath);
                     throw noRealm;
                 } else {
-                    realmDAO.findDescendants(realm).forEach(
-                            descendant -> builder.add(QueryBuilders.termQuery("realm", descendant.getFullPath())));
+                    realmDAO.findDescendantFullPaths(realm).forEach(
+                            descendant -> builder.add(QueryBuilders.termQuery("realm", descendant)));
                 }
             } else {
                 DynRealm dynRealm = dynRealmDAO.find(realmPath);
@@ -113,8 +112,8 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
             }
         });
         if (!dynRealmKeys.isEmpty()) {
-            realmDAO.findAll().forEach(
-                    descendant -> builder.add(QueryBuilders.termQuery("realm", descendant.getFullPath())));
+            realmDAO.findDescendantFullPaths(realmDAO.getRoot()).forEach(
+                    descendant -> builder.add(QueryBuilders.termQuery("realm", descendant)));
         }
 
         return Pair.of(builder, dynRealmKeys);
@@ -124,8 +123,6 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
             final Set<String> adminRealms,
             final SearchCond cond,
             final AnyTypeKind kind,
-            final int from,
-            final int size,
             final List<SortBuilder<?>> sortBuilders) {
 
         Pair<DisMaxQueryBuilder, Set<String>> filter = adminRealmsFilter(adminRealms);
@@ -135,8 +132,8 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
                         : QueryBuilders.boolQuery().
                                 must(filter.getLeft()).
                                 must(getQueryBuilder(buildEffectiveCond(cond, filter.getRight()), kind))).
-                from(from).
-                size(size);
+                // only keys are needed, as matching entities are reloaded anyway
+                fetchSource(false);
         sortBuilders.forEach(sourceBuilder::sort);
 
         return new SearchRequest(ElasticsearchUtils.getContextDomainName(AuthContextUtils.getDomain(), kind)).
@@ -144,9 +141,21 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
                 source(sourceBuilder);
     }
 
+    private SearchHit[] hits(final SearchRequest request) {
+        SearchHit[] hits = null;
+        try {
+            hits = client.search(request, RequestOptions.DEFAULT).getHits().getHits();
+        } catch (Exception e) {
+            LOG.error("While searching in Elasticsearch", e);
+        }
+
+        return ArrayUtils.isEmpty(hits) ? new SearchHit[0] : hits;
+    }
+
     @Override
     protected int doCount(final Set<String> adminRealms, final SearchCond cond, final AnyTypeKind kind) {
-        SearchRequest request = searchRequest(adminRealms, cond, kind, 0, 0, List.of());
+        SearchRequest request = searchRequest(adminRealms, cond, kind, List.of());
+        request.source().size(0);
         try {
             return (int) client.search(request, RequestOptions.DEFAULT).getHits().getTotalHits().value;
         } catch (IOException e) {
@@ -184,6 +193,11 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
                 builders.add(new FieldSortBuilder(sortName).order(SortOrder.valueOf(clause.getDirection().name())));
             }
         });
+
+        // unique tie-breaker, required for consistent paging via search_after
+        if (builders.stream().noneMatch(builder -> "id".equals(((FieldSortBuilder) builder).getFieldName()))) {
+            builders.add(new FieldSortBuilder("id").order(SortOrder.ASC));
+        }
         return builders;
     }
 
@@ -196,25 +210,61 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
             final List<OrderByClause> orderBy,
             final AnyTypeKind kind) {
 
+        if (itemsPerPage == 0) {
+            return List.of();
+        }
+
+        SearchRequest request = searchRequest(adminRealms, cond, kind, sortBuilders(kind, orderBy));
+        int from = itemsPerPage < 0 ? 0 : itemsPerPage * (page <= 0 ? 0 : page - 1);
+        int window = elasticsearchUtils.getIndexMaxResultWindow();
+
+        List<Object> keys = new ArrayList<>();
+        if (itemsPerPage > 0 && from + itemsPerPage <= window) {
+            request.source().from(from).size(itemsPerPage);
+            Stream.of(hits(request)).map(SearchHit::getId).forEach(keys::add);
+        } else {
+            // deep page or whole result set: walk via search_after, as from + size cannot exceed max_result_window
+            int toSkip = from;
+            boolean more = true;
+            while (more) {
+                int size = toSkip > 0
+                        ? Math.min(toSkip, window)
+                        : itemsPerPage < 0 ? window : Math.min(itemsPerPage - keys.size(), window);
+                request.source().size(size);
+
+                SearchHit[] hits = hits(request);
+                if (hits.length > 0) {
+                    request.source().searchAfter(hits[hits.length - 1].getSortValues());
+                }
+                if (toSkip > 0) {
+                    toSkip -= hits.length;
+                } else {
+                    Stream.of(hits).map(SearchHit::getId).forEach(keys::add);
+                }
+
+                more = hits.length == size && (itemsPerPage < 0 || keys.size() < itemsPerPage);
+            }
+        }
+
+        return keys.isEmpty() ? List.of() : buildResult(keys, kind);
+    }
+
+    @Override
+    protected List<String> doSeek(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final String lastKey,
+            final int itemsPerPage,
+            final AnyTypeKind kind) {
+
         SearchRequest request = searchRequest(
-                adminRealms,
-                cond,
-                kind,
-                (itemsPerPage * (page <= 0 ? 0 : page - 1)),
-                (itemsPerPage < 0 ? elasticsearchUtils.getIndexMaxResultWindow() : itemsPerPage),
-                sortBuilders(kind, orderBy));
-
-        SearchHit[] esResult = null;
-        try {
-            esResult = client.search(request, RequestOptions.DEFAULT).getHits().getHits();
-        } catch (Exception e) {
-            LOG.error("While searching in Elasticsearch", e);
+                adminRealms, cond, kind, List.of(new FieldSortBuilder("id").order(SortOrder.ASC)));
+        request.source().size(itemsPerPage < 0 ? elasticsearchUtils.getIndexMaxResultWindow() : itemsPerPage);
+        if (lastKey != null) {
+            request.source().searchAfter(new Object[] { lastKey });
         }
 
-        return ArrayUtils.isEmpty(esResult)
-                ? List.of()
-                : buildResult(Stream.of(Objects.requireNonNull(esResult))
-                        .map(SearchHit::getId).collect(Collectors.toList()), kind);
+        return Stream.of(hits(request)).map(SearchHit::getId).collect(Collectors.toList());
     }
 
     private QueryBuilder getQueryBuilder(final SearchCond cond, final AnyTypeKind kind) {
@@ -369,8 +419,8 @@ public class ElasticsearchAnySearchDAO extends AbstractAnySearchDAO {
 
         DisMaxQueryBuilder builder = QueryBuilders.disMaxQuery();
         if (cond.isFromGroup()) {
-            realmDAO.findDescendants(realm).forEach(
-                    current -> builder.add(QueryBuilders.termQuery("realm", current.getFullPath())));
+            realmDAO.findDescendantFullPaths(realm).forEach(
+                    current -> builder.add(QueryBuilders.termQuery("realm", current)));
         } else {
             for (Realm current = realm; current.getParent() != null; current = current.getParent()) {
                 builder.add(QueryBuilders.termQuery("realm", current.getFullPath()));
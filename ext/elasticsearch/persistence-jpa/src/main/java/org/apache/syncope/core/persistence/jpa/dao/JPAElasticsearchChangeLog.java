@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.jpa.entity.JPAElasticsearchChange;
+import org.apache.syncope.core.spring.security.SecureRandomUtils;
+import org.apache.syncope.ext.elasticsearch.client.ElasticsearchChangeLog;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link ElasticsearchChangeLog} storing keys on the database of each domain, so that changes handled by any node
+ * of the cluster are recorded.
+ */
+@Transactional(rollbackFor = Throwable.class)
+@Repository
+public class JPAElasticsearchChangeLog extends AbstractDAO<Entity> implements ElasticsearchChangeLog {
+
+    private JPAElasticsearchChange change(final AnyTypeKind kind, final String key, final Date recorded) {
+        JPAElasticsearchChange change = new JPAElasticsearchChange();
+        change.setKey(SecureRandomUtils.generateRandomUUID().toString());
+        change.setAnyTypeKind(kind);
+        change.setAnyKey(key);
+        change.setRecorded(recorded);
+        return change;
+    }
+
+    private void delete(final AnyTypeKind kind) {
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPAElasticsearchChange.class.getSimpleName() + " e WHERE e.anyTypeKind = :kind");
+        query.setParameter("kind", kind);
+        query.executeUpdate();
+    }
+
+    @Override
+    public void start(final String domain, final AnyTypeKind kind) {
+        delete(kind);
+        entityManager().persist(change(kind, null, new Date()));
+    }
+
+    @Override
+    public void record(final String domain, final AnyTypeKind kind, final Collection<String> keys) {
+        TypedQuery<Long> query = entityManager().createQuery(
+                "SELECT COUNT(e) FROM " + JPAElasticsearchChange.class.getSimpleName() + " e "
+                + "WHERE e.anyTypeKind = :kind AND e.anyKey IS NULL", Long.class);
+        query.setParameter("kind", kind);
+        if (query.getSingleResult() == 0) {
+            return;
+        }
+
+        Date recorded = new Date();
+        keys.forEach(key -> entityManager().persist(change(kind, key, recorded)));
+    }
+
+    @Override
+    public List<String> drain(final String domain, final AnyTypeKind kind) {
+        TypedQuery<JPAElasticsearchChange> query = entityManager().createQuery(
+                "SELECT e FROM " + JPAElasticsearchChange.class.getSimpleName() + " e "
+                + "WHERE e.anyTypeKind = :kind AND e.anyKey IS NOT NULL ORDER BY e.recorded",
+                JPAElasticsearchChange.class);
+        query.setParameter("kind", kind);
+
+        List<JPAElasticsearchChange> changes = query.getResultList();
+        changes.forEach(change -> entityManager().remove(change));
+
+        return changes.stream().map(JPAElasticsearchChange::getAnyKey).distinct().collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> stop(final String domain, final AnyTypeKind kind) {
+        List<String> keys = drain(domain, kind);
+        delete(kind);
+        return keys;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.TypedQuery;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.jpa.entity.JPAElasticsearchRetry;
+import org.apache.syncope.core.spring.security.SecureRandomUtils;
+import org.apache.syncope.ext.elasticsearch.client.ElasticsearchRetryQueue;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link ElasticsearchRetryQueue} storing items on the database of each domain, so that these are not lost upon
+ * shutdown.
+ */
+@Transactional(rollbackFor = Throwable.class)
+@Repository
+public class JPAElasticsearchRetryQueue extends AbstractDAO<Entity> implements ElasticsearchRetryQueue {
+
+    @Override
+    public void offer(final String domain, final AnyTypeKind kind, final Collection<String> keys) {
+        Date queued = new Date();
+        keys.forEach(key -> {
+            JPAElasticsearchRetry retry = new JPAElasticsearchRetry();
+            retry.setKey(SecureRandomUtils.generateRandomUUID().toString());
+            retry.setAnyTypeKind(kind);
+            retry.setAnyKey(key);
+            retry.setQueued(queued);
+            entityManager().persist(retry);
+        });
+    }
+
+    @Override
+    public List<Pair<AnyTypeKind, String>> poll(final String domain, final int max) {
+        TypedQuery<JPAElasticsearchRetry> query = entityManager().createQuery(
+                "SELECT e FROM " + JPAElasticsearchRetry.class.getSimpleName() + " e ORDER BY e.queued",
+                JPAElasticsearchRetry.class);
+        query.setMaxResults(max);
+
+        List<JPAElasticsearchRetry> retries = query.getResultList();
+        retries.forEach(retry -> entityManager().remove(retry));
+
+        return retries.stream().
+                map(retry -> Pair.of(retry.getAnyTypeKind(), retry.getAnyKey())).
+                distinct().
+                collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.entity;
+
+import java.util.Date;
+import java.util.Optional;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+
+/**
+ * User, group or any object changed while the indexes behind some alias are being rebuilt; the row without any key
+ * marks that changes are being recorded for the given kind.
+ */
+@Entity
+@Table(name = JPAElasticsearchChange.TABLE)
+public class JPAElasticsearchChange extends AbstractGeneratedKeyEntity {
+
+    private static final long serialVersionUID = 6270348226537128532L;
+
+    public static final String TABLE = "ElasticsearchChange";
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private AnyTypeKind anyTypeKind;
+
+    private String anyKey;
+
+    @NotNull
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date recorded;
+
+    public AnyTypeKind getAnyTypeKind() {
+        return anyTypeKind;
+    }
+
+    public void setAnyTypeKind(final AnyTypeKind anyTypeKind) {
+        this.anyTypeKind = anyTypeKind;
+    }
+
+    public String getAnyKey() {
+        return anyKey;
+    }
+
+    public void setAnyKey(final String anyKey) {
+        this.anyKey = anyKey;
+    }
+
+    public Date getRecorded() {
+        return Optional.ofNullable(recorded).map(time -> new Date(time.getTime())).orElse(null);
+    }
+
+    public void setRecorded(final Date recorded) {
+        this.recorded = Optional.ofNullable(recorded).map(time -> new Date(time.getTime())).orElse(null);
+    }
+}
@@ -18,6 +18,15 @@
  */
 package org.apache.syncope.core.provisioning.java.job;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
@@ -25,28 +34,26 @@ import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.ext.elasticsearch.client.ElasticsearchBulkIndexer;
 import org.apache.syncope.ext.elasticsearch.client.ElasticsearchIndexManager;
-import org.apache.syncope.ext.elasticsearch.client.ElasticsearchUtils;
-import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.index.IndexResponse;
-import org.elasticsearch.client.RequestOptions;
-import org.elasticsearch.client.RestHighLevelClient;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
- * Remove and rebuild all Elasticsearch indexes with information from existing users, groups and any objects.
+ * Rebuild all Elasticsearch indexes with information from existing users, groups and any objects.
+ *
+ * Each index is rebuilt as a new index, while searches and updates keep using the current one via alias: keys are
+ * read page by page, each page being indexed via a single bulk request by one of the configured
+ * {@link ElasticsearchBulkIndexer#getReindexWorkers()} concurrent workers; changes received in the meanwhile are then
+ * replayed on the new index, which is finally put behind the alias in place of the current one.
  */
 public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate {
 
-    @Autowired
-    private RestHighLevelClient client;
-
     @Autowired
     private ElasticsearchIndexManager indexManager;
 
     @Autowired
-    private ElasticsearchUtils elasticsearchUtils;
+    private ElasticsearchBulkIndexer bulkIndexer;
 
     @Autowired
     private UserDAO userDAO;
@@ -57,69 +64,102 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate {
     @Autowired
     private AnyObjectDAO anyObjectDAO;
 
+    private List<String> index(
+            final String domain,
+            final AnyTypeKind kind,
+            final List<String> keys,
+            final String index) {
+
+        List<String> failed = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += bulkIndexer.getBulkSize()) {
+            failed.addAll(bulkIndexer.index(
+                    domain,
+                    kind,
+                    keys.subList(from, Math.min(from + bulkIndexer.getBulkSize(), keys.size())),
+                    index));
+        }
+        return failed;
+    }
+
+    private void reindex(final AnyDAO<?> anyDAO, final AnyTypeKind kind, final ExecutorService workers)
+            throws Exception {
+
+        String domain = AuthContextUtils.getDomain();
+
+        String index = indexManager.createLoadingIndex(domain, kind);
+        bulkIndexer.startChangeLog(domain, kind);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+
+            List<String> keys = anyDAO.findAllKeys(null, bulkIndexer.getBulkSize());
+            while (!keys.isEmpty()) {
+                List<String> page = keys;
+                results.add(workers.submit(() -> bulkIndexer.index(domain, kind, page, index)));
+
+                keys = keys.size() < bulkIndexer.getBulkSize()
+                        ? List.of()
+                        : anyDAO.findAllKeys(keys.get(keys.size() - 1), bulkIndexer.getBulkSize());
+            }
+
+            Set<String> replay = new LinkedHashSet<>();
+            for (Future<List<String>> result : results) {
+                replay.addAll(result.get());
+            }
+
+            // replay changes received while loading, as well as failures
+            replay.addAll(bulkIndexer.drainChangeLog(domain, kind));
+            LOG.debug("{} pages of {} loaded on {}, about to replay {}", results.size(), kind, index, replay.size());
+
+            List<String> failed = index(domain, kind, new ArrayList<>(replay), index);
+            if (!failed.isEmpty()) {
+                throw new IllegalStateException("Could not index " + failed.size() + " " + kind + " on " + index);
+            }
+
+            indexManager.completeIndex(index);
+            indexManager.swapIndex(domain, kind, index);
+        } catch (Exception e) {
+            bulkIndexer.stopChangeLog(domain, kind);
+            try {
+                indexManager.deleteIndex(index);
+            } catch (Exception ex) {
+                LOG.error("While removing {}", index, ex);
+            }
+            throw e;
+        }
+
+        // changes recorded after last replay might have been indexed on the previous index
+        List<String> changed = bulkIndexer.stopChangeLog(domain, kind);
+        if (!changed.isEmpty()) {
+            bulkIndexer.enqueue(domain, kind, changed);
+        }
+    }
+
     @Override
     protected String doExecute(final boolean dryRun, final String executor) throws JobExecutionException {
         if (!dryRun) {
             LOG.debug("Start rebuilding indexes");
 
+            // bulk requests are sent by the workers, while keys are read by the job thread; once all workers
+            // are busy, the job thread sends the next bulk request on its own, thus pausing further reads
+            int size = Math.max(1, bulkIndexer.getReindexWorkers());
+            ExecutorService workers = new ThreadPoolExecutor(
+                    size, size, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(size),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
             try {
-                if (indexManager.existsIndex(AuthContextUtils.getDomain(), AnyTypeKind.USER)) {
-                    indexManager.removeIndex(AuthContextUtils.getDomain(), AnyTypeKind.USER);
-                }
-                indexManager.createIndex(AuthContextUtils.getDomain(), AnyTypeKind.USER);
-
-                if (indexManager.existsIndex(AuthContextUtils.getDomain(), AnyTypeKind.GROUP)) {
-                    indexManager.removeIndex(AuthContextUtils.getDomain(), AnyTypeKind.GROUP);
-                }
-                indexManager.createIndex(AuthContextUtils.getDomain(), AnyTypeKind.GROUP);
-
-                if (indexManager.existsIndex(AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT)) {
-                    indexManager.removeIndex(AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT);
-                }
-                indexManager.createIndex(AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT);
-
                 LOG.debug("Indexing users...");
-                for (int page = 1; page <= (userDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (String user : userDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                        IndexRequest request = new IndexRequest(
-                                ElasticsearchUtils.getContextDomainName(
-                                        AuthContextUtils.getDomain(), AnyTypeKind.USER)).
-                                id(user).
-                                source(elasticsearchUtils.builder(userDAO.find(user)));
-                        IndexResponse response = client.index(request, RequestOptions.DEFAULT);
-                        LOG.debug("Index successfully created for {}: {}", user, response);
-                    }
-                }
+                reindex(userDAO, AnyTypeKind.USER, workers);
 
                 LOG.debug("Indexing groups...");
-                for (int page = 1; page <= (groupDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (String group : groupDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                        IndexRequest request = new IndexRequest(
-                                ElasticsearchUtils.getContextDomainName(
-                                        AuthContextUtils.getDomain(), AnyTypeKind.GROUP)).
-                                id(group).
-                                source(elasticsearchUtils.builder(groupDAO.find(group)));
-                        IndexResponse response = client.index(request, RequestOptions.DEFAULT);
-                        LOG.debug("Index successfully created for {}: {}", group, response);
-                    }
-                }
+                reindex(groupDAO, AnyTypeKind.GROUP, workers);
 
                 LOG.debug("Indexing any objects...");
-                for (int page = 1; page <= (anyObjectDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (String anyObject : anyObjectDAO.findAllKeys(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                        IndexRequest request = new IndexRequest(
-                                ElasticsearchUtils.getContextDomainName(
-                                        AuthContextUtils.getDomain(), AnyTypeKind.ANY_OBJECT)).
-                                id(anyObject).
-                                source(elasticsearchUtils.builder(anyObjectDAO.find(anyObject)));
-                        IndexResponse response = client.index(request, RequestOptions.DEFAULT);
-                        LOG.debug("Index successfully created for {}: {}", anyObject, response);
-                    }
-                }
+                reindex(anyObjectDAO, AnyTypeKind.ANY_OBJECT, workers);
 
                 LOG.debug("Rebuild indexes for domain {} successfully completed", AuthContextUtils.getDomain());
             } catch (Exception e) {
                 throw new JobExecutionException("While rebuilding index for domain " + AuthContextUtils.getDomain(), e);
+            } finally {
+                workers.shutdown();
             }
         }
 
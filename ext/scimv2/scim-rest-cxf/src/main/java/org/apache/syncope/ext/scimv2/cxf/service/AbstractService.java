@@ -220,6 +220,7 @@ abstract class AbstractService<R extends SCIMResource> {
                 itemsPerPage,
                 sort,
                 SyncopeConstants.ROOT_REALM,
+                false,
                 false);
 
         if (result.getLeft() > confManager().get().getGeneralConf().getFilterMaxResults()) {
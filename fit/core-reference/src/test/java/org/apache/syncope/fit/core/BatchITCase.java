@@ -340,4 +340,42 @@ public class BatchITCase extends AbstractITCase {
         response = batchResponse.poll();
         assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
     }
+
+    @Test
+    public void syncopeClientParallel() throws IOException {
+        BatchRequest batchRequest = adminClient.batch();
+        UserService batchUserService = batchRequest.getService(UserService.class);
+        for (int i = 0; i < 5; i++) {
+            batchUserService.create(UserITCase.getUniqueSample("batch" + i + "@syncope.apache.org"));
+        }
+
+        // request async processing of independent items
+        BatchResponse batchResponse = batchRequest.commit(true, 3);
+
+        Response response = batchResponse.getResponse();
+        assertEquals(Response.Status.ACCEPTED.getStatusCode(), response.getStatus());
+
+        response = batchResponse.poll(0);
+        for (int i = 0; i < 10 && (response.getStatus() == Response.Status.ACCEPTED.getStatusCode()
+                || response.getHeaderString(RESTHeaders.BATCH_CHUNKS) == null); i++) {
+            // wait a bit...
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+            }
+
+            // check results
+            response = batchResponse.poll(0);
+        }
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals("1", response.getHeaderString(RESTHeaders.BATCH_CHUNKS));
+
+        List<BatchResponseItem> resItems = batchResponse.getItems();
+        assertEquals(5, resItems.size());
+        resItems.forEach(resItem -> assertEquals(Response.Status.CREATED.getStatusCode(), resItem.getStatus()));
+
+        // check results again: removed since the last chunk was returned above
+        response = batchResponse.poll();
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+    }
 }